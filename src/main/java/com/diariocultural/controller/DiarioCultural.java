@@ -4,12 +4,17 @@ package com.diariocultural.controller;
 
 import com.diariocultural.model.*;
 import com.diariocultural.service.Catalogo;
+import com.diariocultural.service.ConsultaMidias;
+import com.diariocultural.service.ConsultaTextual;
+import com.diariocultural.service.DicionarioSugestoes;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -104,8 +109,7 @@ public class DiarioCultural {
 
         try {
             Temporada novaTemporada = new Temporada(numeroTemporada, anoLancamento, anoEncerramento, numeroEpisodios);
-            serie.adicionarTemporada(novaTemporada);
-            catalogo.atualizarSerie(serie);
+            catalogo.alterarSerie(serie, s -> s.adicionarTemporada(novaTemporada));
             return novaTemporada;
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Não foi possível adicionar a temporada: " + e.getMessage(), e);
@@ -115,8 +119,9 @@ public class DiarioCultural {
     /**
      * Marca uma mídia (Livro ou Filme) como consumida.
      * @param midia A mídia a ser marcada como consumida.
+     * @return a nova versão da mídia, guardada no catálogo.
      */
-    public void marcarComoConsumido(Midia midia) {
+    public Midia marcarComoConsumido(Midia midia) {
         if (midia == null) {
             throw new IllegalArgumentException("Mídia não pode ser nula.");
         }
@@ -124,27 +129,25 @@ public class DiarioCultural {
             throw new IllegalArgumentException("Esta ação é suportada apenas para Livros e Filmes.");
         }
 
-        midia.setDataConsumo(LocalDate.now());
-        atualizarMidia(midia);
+        return alterarMidia(midia, m -> m.setDataConsumo(LocalDate.now()));
     }
 
     /**
      * Marca uma temporada específica como consumida e atualiza o estado da série.
      * @param tituloSerie O título da série à qual a temporada pertence.
      * @param numeroTemporada O número da temporada a ser marcada.
+     * @return a nova versão da série, guardada no catálogo.
      */
-    public void marcarTemporadaComoConsumida(String tituloSerie, int numeroTemporada) {
+    public Serie marcarTemporadaComoConsumida(String tituloSerie, int numeroTemporada) {
         Serie serie = catalogo.encontrarSeriePorTitulo(tituloSerie)
                 .orElseThrow(() -> new NoSuchElementException("Série com o título '" + tituloSerie + "' não encontrada."));
 
-        Temporada temporada = serie.getTemporada(numeroTemporada)
-                .orElseThrow(() -> new NoSuchElementException("Temporada número " + numeroTemporada + " não encontrada para a série '" + tituloSerie + "'."));
-
-        temporada.setDataConsumo(LocalDate.now());
-
-        serie.atualizarStatusConsumo();
-
-        catalogo.atualizarSerie(serie);
+        return catalogo.alterarSerie(serie, s -> {
+            Temporada temporada = s.getTemporada(numeroTemporada)
+                    .orElseThrow(() -> new NoSuchElementException("Temporada número " + numeroTemporada + " não encontrada para a série '" + tituloSerie + "'."));
+            temporada.setDataConsumo(LocalDate.now());
+            s.atualizarStatusConsumo();
+        });
     }
 
     /**
@@ -152,8 +155,9 @@ public class DiarioCultural {
      * @param midia A mídia a ser avaliada.
      * @param nota A nota de 1 a 5.
      * @param textoReview O texto da review.
+     * @return a nova versão da mídia, guardada no catálogo.
      */
-    public void avaliarMidia(Midia midia, int nota, String textoReview) {
+    public Midia avaliarMidia(Midia midia, int nota, String textoReview) {
         if (midia == null) {
             throw new IllegalArgumentException("Mídia não pode ser nula.");
         }
@@ -163,9 +167,10 @@ public class DiarioCultural {
 
         try {
             LocalDate hoje = LocalDate.now();
-            midia.setAvaliacao(nota);
-            midia.setReviewTexto(textoReview, hoje.getDayOfMonth(), hoje.getMonthValue(), hoje.getYear());
-            atualizarMidia(midia);
+            return alterarMidia(midia, m -> {
+                m.setAvaliacao(nota);
+                m.setReviewTexto(textoReview, hoje.getDayOfMonth(), hoje.getMonthValue(), hoje.getYear());
+            });
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Dados de avaliação inválidos: " + e.getMessage(), e);
         }
@@ -179,35 +184,36 @@ public class DiarioCultural {
         Serie serie = catalogo.encontrarSeriePorTitulo(tituloSerie)
                 .orElseThrow(() -> new NoSuchElementException("Série com o título '" + tituloSerie + "' não encontrada."));
 
-        Temporada temporada = serie.getTemporada(numeroTemporada)
+        serie.getTemporada(numeroTemporada)
                 .orElseThrow(() -> new NoSuchElementException("Temporada número " + numeroTemporada + " não encontrada para a série '" + tituloSerie + "'."));
 
         try {
             LocalDate hoje = LocalDate.now();
-            temporada.setAvaliacao(nota);
-            temporada.setReviewTexto(textoReview, hoje.getDayOfMonth(), hoje.getMonthValue(), hoje.getYear());
-            catalogo.atualizarSerie(serie);
-            return serie;
+            return catalogo.alterarSerie(serie, s -> {
+                Temporada temporada = s.getTemporada(numeroTemporada).orElseThrow();
+                temporada.setAvaliacao(nota);
+                temporada.setReviewTexto(textoReview, hoje.getDayOfMonth(), hoje.getMonthValue(), hoje.getYear());
+            });
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Não foi possível avaliar a temporada: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Método auxiliar privado para chamar o método de atualização no catálogo.
+     * Método auxiliar privado que aplica a alteração a uma cópia da mídia guardada no catálogo,
+     * para que nenhuma leitura veja a alteração pela metade.
      */
-    private void atualizarMidia(Midia midia) {
+    private Midia alterarMidia(Midia midia, Consumer<Midia> alteracao) {
         if (midia instanceof Livro) {
-            catalogo.atualizarLivro((Livro) midia);
+            return catalogo.alterarLivro((Livro) midia, alteracao::accept);
         } else if (midia instanceof Filme) {
-            catalogo.atualizarFilme((Filme) midia);
-        } else if (midia instanceof Serie) {
-            catalogo.atualizarSerie((Serie) midia);
+            return catalogo.alterarFilme((Filme) midia, alteracao::accept);
         }
+        return catalogo.alterarSerie((Serie) midia, alteracao::accept);
     }
 
     /**
-     * Remove uma mídia do catálogo.
+     * Remove uma mídia do catálogo, identificada pelo seu identificador numérico.
      * @param midia A mídia a ser removida.
      * @return true se a mídia foi removida com sucesso, false caso contrário.
      */
@@ -215,15 +221,26 @@ public class DiarioCultural {
         if (midia == null) return false;
 
         if (midia instanceof Livro) {
-            return catalogo.removerLivro(midia.getTitulo());
+            return catalogo.removerLivroPorId(midia.getId());
         } else if (midia instanceof Filme) {
-            return catalogo.removerFilme(midia.getTitulo());
+            return catalogo.removerFilmePorId(midia.getId());
         } else if (midia instanceof Serie) {
-            return catalogo.removerSerie(midia.getTitulo());
+            return catalogo.removerSeriePorId(midia.getId());
         }
         return false;
     }
 
+    /**
+     * Busca uma mídia de qualquer tipo pelo seu identificador numérico.
+     * @param id O identificador da mídia.
+     * @return A mídia encontrada.
+     * @throws NoSuchElementException se nenhuma mídia tiver o identificador informado.
+     */
+    public Midia buscarMidiaPorId(long id) {
+        return catalogo.encontrarMidiaPorId(id)
+                .orElseThrow(() -> new NoSuchElementException("Nenhuma mídia com o identificador " + id + "."));
+    }
+
     /**
      * Remove uma temporada específica de uma série.
      * @param tituloSerie O título da série.
@@ -246,13 +263,8 @@ public class DiarioCultural {
      * @return Uma lista de livros.
      */
     public List<Livro> listarLivros(String genero, Integer ano, boolean ordenarPorAvaliacao, boolean ascendente) {
-        Stream<Livro> streamDeLivros = catalogo.getLivros().stream();
-        if (genero != null && !genero.trim().isEmpty()) {
-            streamDeLivros = streamDeLivros.filter(livro -> livro.getGenero().equalsIgnoreCase(genero));
-        }
-        if (ano != null) {
-            streamDeLivros = streamDeLivros.filter(livro -> livro.getAnoLancamento() == ano);
-        }
+        String filtroGenero = genero != null && !genero.trim().isEmpty() ? genero : null;
+        Stream<Livro> streamDeLivros = catalogo.filtrarLivros(null, filtroGenero, ano).stream();
         if (ordenarPorAvaliacao) {
             Comparator<Livro> comparator = Comparator.comparingInt(Livro::getAvaliacao);
             if (!ascendente) {
@@ -267,13 +279,8 @@ public class DiarioCultural {
      * Retorna a lista de todos os filmes, com filtros e ordenação opcionais.
      */
     public List<Filme> listarFilmes(String genero, Integer ano, boolean ordenarPorAvaliacao, boolean ascendente) {
-        Stream<Filme> streamDeFilmes = catalogo.getFilmes().stream();
-        if (genero != null && !genero.trim().isEmpty()) {
-            streamDeFilmes = streamDeFilmes.filter(filme -> filme.getGenero().equalsIgnoreCase(genero));
-        }
-        if (ano != null) {
-            streamDeFilmes = streamDeFilmes.filter(filme -> filme.getAnoLancamento() == ano);
-        }
+        String filtroGenero = genero != null && !genero.trim().isEmpty() ? genero : null;
+        Stream<Filme> streamDeFilmes = catalogo.filtrarFilmes(null, null, filtroGenero, ano).stream();
         if (ordenarPorAvaliacao) {
             Comparator<Filme> comparator = Comparator.comparingInt(Filme::getAvaliacao);
             if (!ascendente) {
@@ -288,13 +295,8 @@ public class DiarioCultural {
      * Retorna a lista de todas as séries, com filtros e ordenação opcionais.
      */
     public List<Serie> listarSeries(String genero, Integer ano, boolean ordenarPorAvaliacao, boolean ascendente) {
-        Stream<Serie> streamDeSeries = catalogo.getSeries().stream();
-        if (genero != null && !genero.trim().isEmpty()) {
-            streamDeSeries = streamDeSeries.filter(serie -> serie.getGenero().equalsIgnoreCase(genero));
-        }
-        if (ano != null) {
-            streamDeSeries = streamDeSeries.filter(serie -> serie.getAnoLancamento() == ano);
-        }
+        String filtroGenero = genero != null && !genero.trim().isEmpty() ? genero : null;
+        Stream<Serie> streamDeSeries = catalogo.filtrarSeries(filtroGenero, ano).stream();
         if (ordenarPorAvaliacao) {
             Comparator<Serie> comparator = Comparator.comparingInt(Serie::getAvaliacao);
             if (!ascendente) {
@@ -307,37 +309,84 @@ public class DiarioCultural {
 
     /**
      * Busca por livros que correspondam aos critérios fornecidos.
+     * Título (sem distinção de acentos), autor, gênero e ano são resolvidos pelos índices do
+     * catálogo; o ISBN é verificado apenas nos livros que restarem.
      */
     public List<Livro> buscarLivros(String titulo, String autor, String genero, Integer ano, String isbn) {
-        return catalogo.getLivros().stream()
-                .filter(livro -> titulo == null || livro.getTitulo().toLowerCase().contains(titulo.toLowerCase()))
-                .filter(livro -> autor == null || livro.getAutor().toLowerCase().contains(autor.toLowerCase()))
-                .filter(livro -> genero == null || livro.getGenero().equalsIgnoreCase(genero))
-                .filter(livro -> ano == null || livro.getAnoLancamento() == ano)
+        return catalogo.filtrarLivros(titulo, autor, genero, ano).stream()
                 .filter(livro -> isbn == null || livro.getIsbn().equals(isbn))
                 .collect(Collectors.toList());
     }
 
     /**
      * Busca por filmes que correspondam aos critérios fornecidos.
+     * Título (sem distinção de acentos), diretor, ator, gênero e ano são resolvidos pelos
+     * índices do catálogo.
      */
     public List<Filme> buscarFilmes(String titulo, String diretor, String ator, String genero, Integer ano) {
-        return catalogo.getFilmes().stream()
-                .filter(filme -> titulo == null || filme.getTitulo().toLowerCase().contains(titulo.toLowerCase()))
-                .filter(filme -> diretor == null || filme.getDirecao().toLowerCase().contains(diretor.toLowerCase()))
-                .filter(filme -> ator == null || filme.getElenco().stream().anyMatch(a -> a.toLowerCase().contains(ator.toLowerCase())))
-                .filter(filme -> genero == null || filme.getGenero().equalsIgnoreCase(genero))
-                .filter(filme -> ano == null || filme.getAnoLancamento() == ano)
-                .collect(Collectors.toList());
+        return new ArrayList<>(catalogo.filtrarFilmes(titulo, diretor, ator, genero, ano));
     }
 
     /**
-     * Busca por séries que contenham o termo de busca no título.
+     * Sugere, enquanto o usuário digita, valores da fonte informada com alguma palavra
+     * começando pelo prefixo. Pode ser chamado fora da thread da interface.
+     */
+    public List<String> sugerirTermos(DicionarioSugestoes.Fonte fonte, String prefixo, int limite) {
+        return catalogo.sugerir(fonte, prefixo, limite);
+    }
+
+    /**
+     * Busca por séries que contenham o termo de busca no título, sem distinção de acentos,
+     * pelo índice textual do catálogo.
      */
     public List<Serie> buscarSeriesPorTitulo(String termoBusca) {
-        return catalogo.getSeries().stream()
-                .filter(serie -> serie.getTitulo().toLowerCase().contains(termoBusca.toLowerCase()))
-                .collect(Collectors.toList());
+        return catalogo.pesquisarSeries(ConsultaTextual.trecho(termoBusca).nosCampos(ConsultaTextual.Campo.TITULO));
+    }
+
+    /**
+     * Busca livros pelos termos informados no campo indicado (título ou autor), tolerando
+     * erros de digitação; os mais próximos do texto digitado vêm primeiro.
+     */
+    public List<Livro> buscarLivrosAproximados(String termoBusca, ConsultaTextual.Campo campo) {
+        return catalogo.pesquisarLivros(ConsultaTextual.aproximada(termoBusca).nosCampos(campo));
+    }
+
+    /**
+     * Busca filmes pelos termos informados no campo indicado (título, direção ou elenco),
+     * tolerando erros de digitação ("Nolam" encontra os filmes de Christopher Nolan); os mais
+     * próximos do texto digitado vêm primeiro.
+     */
+    public List<Filme> buscarFilmesAproximados(String termoBusca, ConsultaTextual.Campo campo) {
+        return catalogo.pesquisarFilmes(ConsultaTextual.aproximada(termoBusca).nosCampos(campo));
+    }
+
+    /**
+     * Busca séries pelos termos informados no campo indicado (título ou elenco), tolerando
+     * erros de digitação; as mais próximas do texto digitado vêm primeiro.
+     */
+    public List<Serie> buscarSeriesAproximadas(String termoBusca, ConsultaTextual.Campo campo) {
+        return catalogo.pesquisarSeries(ConsultaTextual.aproximada(termoBusca).nosCampos(campo));
+    }
+
+    /**
+     * Busca os livros que atendem a uma consulta composta, com critérios combinados com E e OU.
+     */
+    public List<Livro> consultarLivros(ConsultaMidias consulta) {
+        return catalogo.consultarLivros(consulta);
+    }
+
+    /**
+     * Busca os filmes que atendem a uma consulta composta, com critérios combinados com E e OU.
+     */
+    public List<Filme> consultarFilmes(ConsultaMidias consulta) {
+        return catalogo.consultarFilmes(consulta);
+    }
+
+    /**
+     * Busca as séries que atendem a uma consulta composta, com critérios combinados com E e OU.
+     */
+    public List<Serie> consultarSeries(ConsultaMidias consulta) {
+        return catalogo.consultarSeries(consulta);
     }
 }
 
@@ -0,0 +1,47 @@
+// === DataAtual.java === "Model"
+
+package com.diariocultural.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Data de hoje para as validações do modelo (anos e datas que não podem estar no futuro).
+ * {@link LocalDate#now()} consulta e clona o fuso horário padrão a cada chamada, o que pesa
+ * quando um catálogo inteiro é lido e cada mídia, temporada e review passa pelos setters.
+ * Aqui a data é guardada com o intervalo do dia a que corresponde e só é recalculada quando
+ * o relógio sai desse intervalo (na virada do dia ou se o relógio for atrasado).
+ */
+final class DataAtual {
+    private static volatile Dia atual = calcular(System.currentTimeMillis());
+
+    /**
+     * Construtor privado para impedir que esta classe utilitária seja instanciada.
+     */
+    private DataAtual() {}
+
+    /**
+     * Retorna a data de hoje no fuso horário padrão.
+     * @return a data de hoje.
+     */
+    static LocalDate hoje() {
+        long agora = System.currentTimeMillis();
+        Dia dia = atual;
+        if (agora < dia.inicioMillis || agora >= dia.fimMillis) {
+            dia = calcular(agora);
+            atual = dia;
+        }
+        return dia.data;
+    }
+
+    private static Dia calcular(long agora) {
+        ZoneId zona = ZoneId.systemDefault();
+        LocalDate data = Instant.ofEpochMilli(agora).atZone(zona).toLocalDate();
+        long inicio = data.atStartOfDay(zona).toInstant().toEpochMilli();
+        long fim = data.plusDays(1).atStartOfDay(zona).toInstant().toEpochMilli();
+        return new Dia(data, inicio, fim);
+    }
+
+    private record Dia(LocalDate data, long inicioMillis, long fimMillis) {}
+}
@@ -14,8 +14,10 @@ import java.util.Objects;
 public class Filme extends Midia {
     private Duration tempoDeDuracao;
     private String direcao;
+    private transient String chaveDirecao;
     private String roteiro;
     private List<String> elenco;
+    private transient List<String> chavesElenco;
     private String tituloOriginal;
     private String ondeAssistir;
 
@@ -58,6 +60,17 @@ public class Filme extends Midia {
      */
     public String getDirecao() { return direcao; }
 
+    /**
+     * Retorna a chave de busca da direção, normalizada por {@link Midia#chaveDeBusca(String)}.
+     * @return A chave da direção.
+     */
+    public String getChaveDirecao() {
+        if (chaveDirecao == null && direcao != null) {
+            chaveDirecao = chaveDeBusca(direcao);
+        }
+        return chaveDirecao;
+    }
+
     /**
      * Retorna o(s) roteirista(s) do filme.
      * @return O(s) roteirista(s) do filme.
@@ -70,6 +83,18 @@ public class Filme extends Midia {
      */
     public List<String> getElenco() { return elenco; }
 
+    /**
+     * Retorna as chaves de busca do elenco, normalizadas por {@link Midia#chaveDeBusca(String)}
+     * e recalculadas a cada {@link #setElenco(List)}.
+     * @return As chaves dos atores, somente leitura.
+     */
+    public List<String> getChavesElenco() {
+        if (chavesElenco == null && elenco != null) {
+            chavesElenco = chavesDeBusca(elenco);
+        }
+        return chavesElenco;
+    }
+
     /**
      * Retorna o título original do filme.
      * @return O título original do filme.
@@ -104,6 +129,7 @@ public class Filme extends Midia {
             throw new IllegalArgumentException("O campo 'direção' não pode ser nulo ou vazio.");
         }
         this.direcao = direcao;
+        this.chaveDirecao = chaveDeBusca(direcao);
     }
 
     /**
@@ -128,6 +154,7 @@ public class Filme extends Midia {
             throw new IllegalArgumentException("A lista do elenco não pode ser nula ou vazia.");
         }
         this.elenco = elenco;
+        this.chavesElenco = chavesDeBusca(elenco);
     }
 
     /**
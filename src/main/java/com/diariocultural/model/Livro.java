@@ -14,6 +14,7 @@ public class Livro extends Midia {
     private String editora;
     private String isbn;
     private boolean possuiExemplar;
+    private transient String chaveAutor;
 
     /**
      * Construtor para a classe Livro.
@@ -44,6 +45,17 @@ public class Livro extends Midia {
         return autor;
     }
 
+    /**
+     * Retorna a chave de busca do autor, normalizada por {@link Midia#chaveDeBusca(String)}.
+     * @return A chave do autor.
+     */
+    public String getChaveAutor() {
+        if (chaveAutor == null && autor != null) {
+            chaveAutor = chaveDeBusca(autor);
+        }
+        return chaveAutor;
+    }
+
     /**
      * Retorna a editora do livro.
      * @return A editora do livro.
@@ -78,6 +90,7 @@ public class Livro extends Midia {
             throw new IllegalArgumentException("O nome do autor não pode ser nulo ou vazio.");
         }
         this.autor = autor;
+        this.chaveAutor = chaveDeBusca(autor);
     }
 
     /**
@@ -2,7 +2,12 @@
 
 package com.diariocultural.model;
 
+import java.text.Normalizer;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * Classe abstrata que representa uma mídia.
@@ -11,8 +16,14 @@ import java.time.LocalDate;
  * de uma mídia sejam sempre consistentes através de validações internas.
  * O modelo é responsável por seus dados e regras, e comunica erros
  * através do lançamento de exceções.
+ *
+ * Os atributos usados nas buscas (título, gênero e, nas subclasses, autor, direção e elenco)
+ * guardam também uma chave de busca normalizada ({@link #chaveDeBusca(String)}), calculada
+ * uma única vez pelo setter correspondente. Assim, índices e filtros comparam as chaves
+ * prontas, sem converter o texto de cada mídia a cada busca ou atualização.
  */
 public abstract class Midia {
+    protected long id;
     protected String titulo;
     protected String genero;
     protected int anoLancamento;
@@ -20,6 +31,8 @@ public abstract class Midia {
     protected boolean consumido;
     protected LocalDate dataConsumo;
     protected Review review;
+    private transient String chaveTitulo;
+    private transient String chaveGenero;
 
     /**
      * Construtor da classe Midia.
@@ -39,18 +52,46 @@ public abstract class Midia {
         this.review = null;
     }
 
+    /**
+     * Retorna o identificador numérico da mídia, atribuído pelo catálogo ao adicioná-la.
+     * @return O identificador da mídia (0 se ainda não atribuído).
+     */
+    public long getId() { return id; }
+
     /**
      * Retorna o título da mídia.
      * @return O título da mídia.
      */
     public String getTitulo() { return titulo; }
 
+    /**
+     * Retorna a chave de busca do título, normalizada por {@link #chaveDeBusca(String)}.
+     * @return A chave do título.
+     */
+    public String getChaveTitulo() {
+        if (chaveTitulo == null && titulo != null) {
+            chaveTitulo = chaveDeBusca(titulo);
+        }
+        return chaveTitulo;
+    }
+
     /**
      * Retorna o gênero da mídia.
      * @return O gênero da mídia.
      */
     public String getGenero() { return genero; }
 
+    /**
+     * Retorna a chave de busca do gênero, normalizada por {@link #chaveDeBusca(String)}.
+     * @return A chave do gênero.
+     */
+    public String getChaveGenero() {
+        if (chaveGenero == null && genero != null) {
+            chaveGenero = chaveDeBusca(genero);
+        }
+        return chaveGenero;
+    }
+
     /**
      * Retorna o ano de lançamento da mídia.
      * @return O ano de lançamento da mídia.
@@ -89,6 +130,19 @@ public abstract class Midia {
         return this.review != null ? this.review.getTexto() : null;
     }
 
+    /**
+     * Define o identificador numérico da mídia. Normalmente chamado apenas pelo catálogo,
+     * que garante identificadores únicos e estáveis entre execuções.
+     * @param id O identificador a ser definido.
+     * @throws IllegalArgumentException se o identificador não for positivo.
+     */
+    public void setId(long id) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("O identificador da mídia deve ser positivo: " + id);
+        }
+        this.id = id;
+    }
+
     /**
      * Define o título da mídia.
      * @param titulo O título a ser definido.
@@ -99,6 +153,7 @@ public abstract class Midia {
             throw new IllegalArgumentException("O título não pode ser nulo ou vazio.");
         }
         this.titulo = titulo;
+        this.chaveTitulo = chaveDeBusca(titulo);
     }
 
     /**
@@ -111,6 +166,7 @@ public abstract class Midia {
             throw new IllegalArgumentException("O gênero não pode ser nulo ou vazio.");
         }
         this.genero = genero;
+        this.chaveGenero = chaveDeBusca(genero);
     }
 
     /**
@@ -119,7 +175,7 @@ public abstract class Midia {
      * @throws IllegalArgumentException se o ano for inválido (menor que 1888 ou muito no futuro).
      */
     public void setAnoLancamento(int anoLancamento) {
-        if (anoLancamento < 1888 || anoLancamento > LocalDate.now().getYear() + 2) {
+        if (anoLancamento < 1888 || anoLancamento > DataAtual.hoje().getYear() + 2) {
             throw new IllegalArgumentException("Ano de lançamento inválido: " + anoLancamento);
         }
         this.anoLancamento = anoLancamento;
@@ -161,7 +217,7 @@ public abstract class Midia {
      * @throws IllegalArgumentException se a data de consumo for no futuro.
      */
     public void setDataConsumo(LocalDate dataConsumo) {
-        if (dataConsumo != null && dataConsumo.isAfter(LocalDate.now())) {
+        if (dataConsumo != null && dataConsumo.isAfter(DataAtual.hoje())) {
             throw new IllegalArgumentException("A data de consumo não pode ser uma data no futuro.");
         }
         this.dataConsumo = dataConsumo;
@@ -212,6 +268,54 @@ public abstract class Midia {
                 ", review=" + (review != null ? "Presente" : "Ausente") +
                 '}';
     }
+
+    /**
+     * Converte um texto para a chave de busca: normalizado em NFC (para que formas compostas e
+     * decompostas de um mesmo acento coincidam) e convertido para maiúsculas e depois minúsculas
+     * com {@link Locale#ROOT}. A dupla conversão também iguala letras cuja forma maiúscula é
+     * expandida (como "ß" e "SS"), e o locale fixo evita que a chave mude conforme o idioma da
+     * máquina (como o "i" sem ponto do turco). Um texto só com caracteres Latin-1, o caso mais
+     * comum (inclusive com os acentos do português), já está em NFC e, exceto por "ß" e "µ",
+     * tem a mesma chave em uma única conversão para minúsculas.
+     * @param texto O texto original.
+     * @return A chave do texto, ou null se o texto for nulo.
+     */
+    public static String chaveDeBusca(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        if (isLatin1SemExpansao(texto)) {
+            return texto.toLowerCase(Locale.ROOT);
+        }
+        return Normalizer.normalize(texto, Normalizer.Form.NFC)
+                .toUpperCase(Locale.ROOT)
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isLatin1SemExpansao(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c > 0xFF || c == '\u00DF' || c == '\u00B5') { // "ß" e "µ"
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converte uma lista de textos para as suas chaves de busca, ignorando os nulos.
+     * @param textos Os textos originais.
+     * @return As chaves, na ordem dos textos, em uma lista somente leitura.
+     */
+    protected static List<String> chavesDeBusca(List<String> textos) {
+        List<String> chaves = new ArrayList<>(textos.size());
+        for (String texto : textos) {
+            if (texto != null) {
+                chaves.add(chaveDeBusca(texto));
+            }
+        }
+        return Collections.unmodifiableList(chaves);
+    }
 }
 
 /******************************************************************************************
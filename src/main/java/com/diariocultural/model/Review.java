@@ -72,7 +72,7 @@ public class Review {
         if (dataCriacao == null) {
             throw new IllegalArgumentException("A data de criação não pode ser nula.");
         }
-        if (dataCriacao.isAfter(LocalDate.now())) {
+        if (dataCriacao.isAfter(DataAtual.hoje())) {
             throw new IllegalArgumentException("A data de criação da review não pode ser no futuro.");
         }
         this.dataCriacao = dataCriacao;
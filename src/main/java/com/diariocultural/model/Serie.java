@@ -3,7 +3,6 @@
 package com.diariocultural.model;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -13,12 +12,30 @@ import java.util.Optional;
  * Classe que representa uma série de TV.
  * Herda da classe Midia e gerencia uma coleção de objetos Temporada,
  * contendo regras de negócio específicas para séries.
+ *
+ * A série mantém, a cada temporada adicionada, removida ou alterada, a soma e a contagem
+ * das notas das temporadas avaliadas e a contagem das consumidas: a avaliação da série e
+ * a atualização do seu status de consumo não percorrem as temporadas. As temporadas
+ * avisam a série a que pertencem quando sua nota, consumo ou data de consumo mudam.
+ *
+ * As temporadas são indexadas pelo número ({@link TemporadasPorNumero}): buscar, adicionar
+ * e remover uma temporada não percorrem as demais, mesmo em séries com centenas delas. A
+ * busca pelo identificador também não as percorre.
  */
 public class Serie extends Midia {
     private String tituloOriginal;
     private List<String> elenco;
+    private transient List<String> chavesElenco;
     private String ondeAssistir;
-    private final List<Temporada> temporadasList;
+    private final TemporadasPorNumero temporadasList;
+    private transient List<Temporada> temporadasSomenteLeitura;
+    // Agregados derivados das temporadas, refeitos por adicionarTemporada a cada leitura.
+    private transient int somaAvaliacoes;
+    private transient int temporadasAvaliadas;
+    private transient int temporadasConsumidas;
+    // Maior data de consumo entre as temporadas; recalculada apenas quando a maior sai.
+    private transient LocalDate ultimaDataConsumo;
+    private transient boolean ultimaDataValida = true;
 
     /**
      * Construtor para a classe Serie.
@@ -37,7 +54,7 @@ public class Serie extends Midia {
         this.setElenco(elenco);
         this.setTituloOriginal(tituloOriginal);
         this.setOndeAssistir(ondeAssistir);
-        this.temporadasList = new ArrayList<>();
+        this.temporadasList = new TemporadasPorNumero();
     }
 
     /**
@@ -56,6 +73,18 @@ public class Serie extends Midia {
         return elenco;
     }
 
+    /**
+     * Retorna as chaves de busca do elenco, normalizadas por {@link Midia#chaveDeBusca(String)}
+     * e recalculadas a cada {@link #setElenco(List)}.
+     * @return As chaves dos atores, somente leitura.
+     */
+    public List<String> getChavesElenco() {
+        if (chavesElenco == null && elenco != null) {
+            chavesElenco = chavesDeBusca(elenco);
+        }
+        return chavesElenco;
+    }
+
     /**
      * Retorna onde a série pode ser assistida.
      * @return O serviço ou local onde a série está disponível.
@@ -65,16 +94,20 @@ public class Serie extends Midia {
     }
 
     /**
-     * Retorna uma cópia não modificável da lista de temporadas da série.
+     * Retorna uma visão não modificável das temporadas da série, em ordem crescente de número.
+     * A visão é sempre a mesma e acompanha as alterações; percorrê-la por posição não aloca nada.
      * @return A lista de temporadas.
      */
     public List<Temporada> getTemporadasList() {
-        return Collections.unmodifiableList(temporadasList);
+        if (temporadasSomenteLeitura == null) {
+            temporadasSomenteLeitura = Collections.unmodifiableList(temporadasList);
+        }
+        return temporadasSomenteLeitura;
     }
 
     /**
      * Retorna o número de temporadas da série.
-     * Este valor é derivado dinamicamente do tamanho da lista de temporadas.
+     * Este valor é derivado dinamicamente da quantidade de temporadas armazenadas.
      * @return O número total de temporadas.
      */
     public int getNumeroTemporadas() {
@@ -91,6 +124,7 @@ public class Serie extends Midia {
             throw new IllegalArgumentException("A lista do elenco não pode ser nula ou vazia.");
         }
         this.elenco = elenco;
+        this.chavesElenco = chavesDeBusca(elenco);
     }
 
     /**
@@ -116,19 +150,19 @@ public class Serie extends Midia {
     /**
      * Adiciona uma temporada à série, se o número da temporada ainda não existir.
      * @param temporada A temporada a ser adicionada.
-     * @throws IllegalArgumentException se a temporada for nula ou se uma temporada com o mesmo número já existir.
+     * @throws IllegalArgumentException se a temporada for nula, se uma temporada com o mesmo número já existir
+     *         ou se ela já pertencer a outra série.
      */
     public void adicionarTemporada(Temporada temporada) {
         if (temporada == null) {
             throw new IllegalArgumentException("Não é possível adicionar uma temporada nula.");
         }
-        boolean jaExiste = this.temporadasList.stream()
-                .anyMatch(t -> t.getNumero() == temporada.getNumero());
-
-        if (jaExiste) {
+        if (temporadasList.comNumero(temporada.getNumero()) != null) {
             throw new IllegalArgumentException("A temporada de número " + temporada.getNumero() + " já existe para esta série.");
         }
-        this.temporadasList.add(temporada);
+        temporada.vincular(this);
+        this.temporadasList.inserir(temporada);
+        incluir(temporada.getAvaliacao(), temporada.isConsumido(), temporada.getDataConsumo());
     }
 
     /**
@@ -137,12 +171,19 @@ public class Serie extends Midia {
      * @return true se a temporada foi encontrada e removida, false caso contrário.
      */
     public boolean removerTemporada(int numeroTemporada) {
-        return this.temporadasList.removeIf(t -> t.getNumero() == numeroTemporada);
+        Temporada removida = this.temporadasList.removerNumero(numeroTemporada);
+        if (removida == null) {
+            return false;
+        }
+        retirar(removida.getAvaliacao(), removida.isConsumido(), removida.getDataConsumo());
+        removida.desvincular();
+        return true;
     }
 
     /**
      * Verifica o estado de todas as temporadas e atualiza o status de consumo da série.
      * A série só é considerada consumida se todas as suas temporadas estiverem consumidas.
+     * Usa os contadores mantidos pela série, sem percorrer as temporadas.
      */
     public void atualizarStatusConsumo() {
         if (temporadasList.isEmpty()) {
@@ -150,48 +191,120 @@ public class Serie extends Midia {
             return;
         }
 
-        boolean todasConsumidas = temporadasList.stream().allMatch(Temporada::isConsumido);
+        boolean todasConsumidas = temporadasConsumidas == temporadasList.size();
 
         this.setConsumido(todasConsumidas);
 
         if (todasConsumidas) {
-            temporadasList.stream()
-                    .map(Temporada::getDataConsumo)
-                    .filter(Objects::nonNull)
-                    .max(LocalDate::compareTo)
-                    .ifPresent(this::setDataConsumo);
+            LocalDate ultima = getUltimaDataConsumo();
+            if (ultima != null) {
+                this.setDataConsumo(ultima);
+            }
         } else {
             this.setDataConsumo(null);
         }
     }
 
+    /**
+     * Busca uma temporada pelo seu identificador numérico, sem percorrer as temporadas.
+     * @param idTemporada O identificador da temporada.
+     * @return um Optional contendo a Temporada se encontrada, ou um Optional vazio caso contrário.
+     */
+    public Optional<Temporada> getTemporadaPorId(long idTemporada) {
+        return Optional.ofNullable(this.temporadasList.comId(idTemporada));
+    }
+
     /**
      * Busca uma temporada pelo seu número.
      * @param numeroTemporada O número da temporada a ser buscada.
      * @return um Optional contendo a Temporada se encontrada, ou um Optional vazio caso contrário.
      */
     public Optional<Temporada> getTemporada(int numeroTemporada) {
-        return this.temporadasList.stream()
-                .filter(t -> t.getNumero() == numeroTemporada)
-                .findFirst();
+        return Optional.ofNullable(this.temporadasList.comNumero(numeroTemporada));
     }
 
     /**
-     * Calcula e retorna a avaliação geral da série, que é a média arredondada
-     * das avaliações de todas as suas temporadas avaliadas.
+     * Retorna a avaliação geral da série, que é a média arredondada
+     * das avaliações de todas as suas temporadas avaliadas, em tempo constante.
      * Esta é uma sobrescrita necessária, pois a lógica de avaliação de uma série é única.
      *
      * @return A avaliação média da série (1-5), ou 0 se nenhuma temporada foi avaliada.
      */
     @Override
     public int getAvaliacao() {
-        double media = temporadasList.stream()
-                .filter(t -> t.getAvaliacao() > 0)
-                .mapToInt(Temporada::getAvaliacao)
-                .average()
-                .orElse(0.0);
+        return (int) Math.round(getAvaliacaoMedia());
+    }
 
-        return (int) Math.round(media);
+    /**
+     * Retorna a média exata, sem arredondamento, das avaliações das temporadas avaliadas,
+     * mantida a cada alteração das temporadas.
+     * @return A média das avaliações, ou 0.0 se nenhuma temporada foi avaliada.
+     */
+    public double getAvaliacaoMedia() {
+        return temporadasAvaliadas > 0 ? (double) somaAvaliacoes / temporadasAvaliadas : 0.0;
+    }
+
+    /**
+     * Retorna a data de consumo mais recente entre as temporadas.
+     * @return A maior data de consumo, ou null se nenhuma temporada tiver data de consumo.
+     */
+    public LocalDate getUltimaDataConsumo() {
+        if (!ultimaDataValida) {
+            ultimaDataConsumo = temporadasList.stream()
+                    .map(Temporada::getDataConsumo)
+                    .filter(Objects::nonNull)
+                    .max(LocalDate::compareTo)
+                    .orElse(null);
+            ultimaDataValida = true;
+        }
+        return ultimaDataConsumo;
+    }
+
+    /**
+     * Atualiza os agregados da série depois que uma de suas temporadas mudou de nota,
+     * de consumo ou de data de consumo. Chamado pela própria temporada.
+     * @param temporada A temporada alterada, já com o novo estado.
+     * @param avaliacaoAnterior A nota anterior da temporada.
+     * @param consumidaAnterior O status de consumo anterior da temporada.
+     * @param dataAnterior A data de consumo anterior da temporada.
+     */
+    void temporadaAlterada(Temporada temporada, int avaliacaoAnterior, boolean consumidaAnterior, LocalDate dataAnterior) {
+        retirar(avaliacaoAnterior, consumidaAnterior, dataAnterior);
+        incluir(temporada.getAvaliacao(), temporada.isConsumido(), temporada.getDataConsumo());
+    }
+
+    /**
+     * Descarta a busca por identificador depois que uma temporada recebeu um novo
+     * identificador. Chamado pela própria temporada.
+     */
+    void temporadaIdentificada() {
+        temporadasList.identificadoresAlterados();
+    }
+
+    private void incluir(int avaliacao, boolean consumida, LocalDate data) {
+        if (avaliacao > 0) {
+            somaAvaliacoes += avaliacao;
+            temporadasAvaliadas++;
+        }
+        if (consumida) {
+            temporadasConsumidas++;
+        }
+        if (data != null && ultimaDataValida && (ultimaDataConsumo == null || data.isAfter(ultimaDataConsumo))) {
+            ultimaDataConsumo = data;
+        }
+    }
+
+    private void retirar(int avaliacao, boolean consumida, LocalDate data) {
+        if (avaliacao > 0) {
+            somaAvaliacoes -= avaliacao;
+            temporadasAvaliadas--;
+        }
+        if (consumida) {
+            temporadasConsumidas--;
+        }
+        if (data != null && data.equals(ultimaDataConsumo)) {
+            ultimaDataValida = false;
+        }
     }
 
     /**
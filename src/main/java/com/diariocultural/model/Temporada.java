@@ -12,6 +12,7 @@ import java.util.Objects;
  * como número da temporada, anos, episódios e avaliações.
  */
 public class Temporada {
+    private long id;
     private int numero;
     private Integer anoLancamento;
     private Integer anoEncerramento;
@@ -20,6 +21,8 @@ public class Temporada {
     private boolean consumido;
     private LocalDate dataConsumo;
     private Review review;
+    // Série que mantém os agregados desta temporada; não faz parte do estado persistido.
+    private transient Serie serie;
 
     /**
      * Construtor para a classe Temporada.
@@ -42,6 +45,31 @@ public class Temporada {
         this.review = null;
     }
 
+    /**
+     * Retorna o identificador numérico da temporada, atribuído pelo catálogo.
+     * @return O identificador da temporada (0 se ainda não atribuído).
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Define o identificador numérico da temporada. Normalmente chamado apenas pelo catálogo.
+     * @param id O identificador a ser definido.
+     * @throws IllegalArgumentException se o identificador não for positivo.
+     */
+    public void setId(long id) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("O identificador da temporada deve ser positivo: " + id);
+        }
+        if (id != this.id) {
+            this.id = id;
+            if (serie != null) {
+                serie.temporadaIdentificada();
+            }
+        }
+    }
+
     /**
      * Retorna o número da temporada.
      * @return O número da temporada.
@@ -168,8 +196,12 @@ public class Temporada {
         if (avaliacao < 1 || avaliacao > 5) {
             throw new IllegalArgumentException("A nota de avaliação deve ser um valor entre 1 e 5.");
         }
+        int avaliacaoAnterior = this.avaliacao;
+        boolean consumidoAnterior = this.consumido;
+        LocalDate dataAnterior = this.dataConsumo;
         this.avaliacao = avaliacao;
-        this.setConsumido(true);
+        this.consumido = true;
+        notificarSerie(avaliacaoAnterior, consumidoAnterior, dataAnterior);
     }
 
     /**
@@ -178,12 +210,16 @@ public class Temporada {
      * @param consumido O status de consumo.
      */
     public void setConsumido(boolean consumido) {
+        int avaliacaoAnterior = this.avaliacao;
+        boolean consumidoAnterior = this.consumido;
+        LocalDate dataAnterior = this.dataConsumo;
         this.consumido = consumido;
         if (!consumido) {
             this.dataConsumo = null;
             this.avaliacao = 0;
             this.review = null;
         }
+        notificarSerie(avaliacaoAnterior, consumidoAnterior, dataAnterior);
     }
 
     /**
@@ -209,13 +245,17 @@ public class Temporada {
      * @throws IllegalArgumentException se a data for futura.
      */
     public void setDataConsumo(LocalDate dataConsumo) {
-        if (dataConsumo != null && dataConsumo.isAfter(LocalDate.now())) {
+        if (dataConsumo != null && dataConsumo.isAfter(DataAtual.hoje())) {
             throw new IllegalArgumentException("A data de consumo não pode ser uma data no futuro.");
         }
+        int avaliacaoAnterior = this.avaliacao;
+        boolean consumidoAnterior = this.consumido;
+        LocalDate dataAnterior = this.dataConsumo;
         this.dataConsumo = dataConsumo;
         if (this.dataConsumo != null) {
-            this.setConsumido(true);
+            this.consumido = true;
         }
+        notificarSerie(avaliacaoAnterior, consumidoAnterior, dataAnterior);
     }
 
     /**
@@ -242,6 +282,36 @@ public class Temporada {
         }
     }
 
+    /**
+     * Associa a temporada à série que passa a contê-la. Chamado por {@link Serie#adicionarTemporada(Temporada)}.
+     * @param serie A série.
+     * @throws IllegalArgumentException se a temporada já pertencer a outra série.
+     */
+    void vincular(Serie serie) {
+        if (this.serie != null && this.serie != serie) {
+            throw new IllegalArgumentException("A temporada " + numero + " já pertence a outra série.");
+        }
+        this.serie = serie;
+    }
+
+    /**
+     * Desfaz a associação com a série, quando a temporada é removida dela.
+     */
+    void desvincular() {
+        this.serie = null;
+    }
+
+    /**
+     * Avisa a série, se houver, de que a nota, o consumo ou a data de consumo mudaram,
+     * para que ela atualize seus agregados.
+     */
+    private void notificarSerie(int avaliacaoAnterior, boolean consumidoAnterior, LocalDate dataAnterior) {
+        if (serie != null && (avaliacaoAnterior != avaliacao || consumidoAnterior != consumido
+                || !Objects.equals(dataAnterior, dataConsumo))) {
+            serie.temporadaAlterada(this, avaliacaoAnterior, consumidoAnterior, dataAnterior);
+        }
+    }
+
     /**
      * Compara esta temporada com outro objeto para verificar se são iguais.
      * Duas temporadas são consideradas iguais se tiverem o mesmo número.
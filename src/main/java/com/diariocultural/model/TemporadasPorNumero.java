@@ -0,0 +1,219 @@
+// === TemporadasPorNumero.java === "Model"
+
+package com.diariocultural.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Temporadas de uma série indexadas pelo número. Os números baixos e próximos, o caso comum,
+ * ficam em um vetor denso em que a temporada {@code n} ocupa a posição {@code n - 1}: buscar,
+ * inserir e remover custam tempo constante. Números muito acima da quantidade de temporadas
+ * (uma antologia que começa na temporada 1000, por exemplo) vão para um mapa ordenado, em
+ * tempo logarítmico, sem deixar o vetor cheio de posições vazias; quando o vetor cresce, as
+ * temporadas do mapa que passam a caber nele são transferidas.
+ *
+ * Como lista, as temporadas aparecem em ordem crescente de número, lidas de um vetor
+ * compacto criado no primeiro acesso depois de cada alteração: percorrer a lista por
+ * posição não aloca nada. O número de uma temporada não pode mudar enquanto ela estiver aqui.
+ *
+ * A busca pelo identificador usa uma tabela de endereçamento aberto com chaves {@code long},
+ * também criada no primeiro acesso depois de cada alteração (ou da troca do identificador
+ * de uma temporada, avisada pela série).
+ */
+final class TemporadasPorNumero extends AbstractList<Temporada> implements RandomAccess {
+    private static final int CAPACIDADE_DENSA_INICIAL = 8;
+    private static final Temporada[] NENHUMA = new Temporada[0];
+
+    private Temporada[] densas = new Temporada[CAPACIDADE_DENSA_INICIAL];
+    // Apenas números maiores que o tamanho do vetor denso.
+    private final TreeMap<Integer, Temporada> esparsas = new TreeMap<>();
+    private int quantidade;
+    private volatile Temporada[] ordenadas = NENHUMA;
+    private volatile PorId porId;
+
+    /**
+     * Retorna a temporada com o número informado.
+     * @param numero O número da temporada.
+     * @return a temporada, ou null se não houver.
+     */
+    Temporada comNumero(int numero) {
+        if (numero <= 0) {
+            return null;
+        }
+        return numero <= densas.length ? densas[numero - 1] : esparsas.get(numero);
+    }
+
+    /**
+     * Retorna a temporada com o identificador informado.
+     * @param id O identificador da temporada.
+     * @return a temporada, ou null se não houver.
+     */
+    Temporada comId(long id) {
+        if (id <= 0) {
+            return null;
+        }
+        PorId atual = porId;
+        if (atual == null) {
+            atual = new PorId(ordenadas());
+            porId = atual;
+        }
+        return atual.get(id);
+    }
+
+    /**
+     * Descarta a tabela de identificadores; chamado quando o identificador de uma temporada muda.
+     */
+    void identificadoresAlterados() {
+        porId = null;
+    }
+
+    /**
+     * Insere uma temporada, se ainda não houver outra com o mesmo número.
+     * @param temporada A temporada a ser inserida.
+     * @return true se a temporada foi inserida, false se o número já estava ocupado.
+     */
+    boolean inserir(Temporada temporada) {
+        int numero = temporada.getNumero();
+        if (comNumero(numero) != null) {
+            return false;
+        }
+        if (numero > densas.length && numero <= 2 * (quantidade + 1) + CAPACIDADE_DENSA_INICIAL) {
+            crescer(numero);
+        }
+        if (numero <= densas.length) {
+            densas[numero - 1] = temporada;
+        } else {
+            esparsas.put(numero, temporada);
+        }
+        quantidade++;
+        ordenadas = null;
+        porId = null;
+        return true;
+    }
+
+    /**
+     * Remove a temporada com o número informado.
+     * @param numero O número da temporada.
+     * @return a temporada removida, ou null se não houver.
+     */
+    Temporada removerNumero(int numero) {
+        Temporada removida;
+        if (numero <= 0) {
+            return null;
+        } else if (numero <= densas.length) {
+            removida = densas[numero - 1];
+            densas[numero - 1] = null;
+        } else {
+            removida = esparsas.remove(numero);
+        }
+        if (removida != null) {
+            quantidade--;
+            ordenadas = null;
+            porId = null;
+        }
+        return removida;
+    }
+
+    /**
+     * Insere uma temporada na posição do seu número. Existe para a leitura reflexiva da Gson,
+     * que trata o campo da série como uma coleção qualquer; a série usa {@link #inserir(Temporada)}.
+     * @throws IllegalArgumentException se já houver uma temporada com o mesmo número.
+     */
+    @Override
+    public boolean add(Temporada temporada) {
+        if (!inserir(Objects.requireNonNull(temporada))) {
+            throw new IllegalArgumentException("A temporada de número " + temporada.getNumero() + " já existe para esta série.");
+        }
+        return true;
+    }
+
+    @Override
+    public Temporada get(int posicao) {
+        Temporada[] atual = ordenadas();
+        Objects.checkIndex(posicao, atual.length);
+        return atual[posicao];
+    }
+
+    @Override
+    public int size() {
+        return quantidade;
+    }
+
+    /** Retorna o vetor compacto, em ordem de número, recriando-o se houve alteração. */
+    private Temporada[] ordenadas() {
+        Temporada[] atual = ordenadas;
+        if (atual == null) {
+            atual = new Temporada[quantidade];
+            int i = 0;
+            for (Temporada temporada : densas) {
+                if (temporada != null) {
+                    atual[i++] = temporada;
+                }
+            }
+            for (Temporada temporada : esparsas.values()) {
+                atual[i++] = temporada;
+            }
+            ordenadas = atual;
+        }
+        return atual;
+    }
+
+    /** Cresce o vetor denso até caber o número, trazendo do mapa as temporadas que passam a caber. */
+    private void crescer(int numero) {
+        densas = Arrays.copyOf(densas, Math.max(numero, densas.length * 2));
+        SortedMap<Integer, Temporada> cabem = esparsas.headMap(densas.length, true);
+        for (Map.Entry<Integer, Temporada> entrada : cabem.entrySet()) {
+            densas[entrada.getKey() - 1] = entrada.getValue();
+        }
+        cabem.clear();
+    }
+
+    /**
+     * Tabela imutável de identificadores para temporadas, com sondagem linear em dois vetores
+     * paralelos; a chave 0 (temporada ainda sem identificador) marca as posições livres.
+     */
+    private static final class PorId {
+        private final long[] ids;
+        private final Temporada[] temporadas;
+
+        PorId(Temporada[] ordenadas) {
+            int capacidade = Integer.highestOneBit(Math.max(ordenadas.length, 4) * 2 - 1) * 2;
+            ids = new long[capacidade];
+            temporadas = new Temporada[capacidade];
+            int mascara = capacidade - 1;
+            for (Temporada temporada : ordenadas) {
+                long id = temporada.getId();
+                if (id <= 0) {
+                    continue;
+                }
+                int i = posicaoDe(id, mascara);
+                while (ids[i] != 0 && ids[i] != id) {
+                    i = (i + 1) & mascara;
+                }
+                ids[i] = id;
+                temporadas[i] = temporada;
+            }
+        }
+
+        Temporada get(long id) {
+            int mascara = ids.length - 1;
+            for (int i = posicaoDe(id, mascara); ids[i] != 0; i = (i + 1) & mascara) {
+                if (ids[i] == id) {
+                    return temporadas[i];
+                }
+            }
+            return null;
+        }
+
+        private static int posicaoDe(long id, int mascara) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mascara;
+        }
+    }
+}
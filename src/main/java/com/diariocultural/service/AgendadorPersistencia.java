@@ -0,0 +1,164 @@
+// === AgendadorPersistencia.java === "Service"
+
+package com.diariocultural.service;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agenda as gravações do catálogo em uma thread de segundo plano, agrupando
+ * (group commit) as mutações que chegam dentro de uma janela de tempo ou até
+ * um número máximo de operações em uma única escrita. Uma escrita que falha
+ * mantém as operações pendentes e é tentada de novo ao fim da próxima janela
+ * ou no próximo {@link #flush()}.
+ */
+class AgendadorPersistencia implements AutoCloseable {
+    private final Runnable escrita;
+    private final long janelaMillis;
+    private final int maxOperacoes;
+    private final ScheduledExecutorService executor;
+
+    private ScheduledFuture<?> escritaAgendada;
+    private int operacoesPendentes;
+    private long operacoesSolicitadas;
+    private long escritasRealizadas;
+    private RuntimeException ultimaFalha;
+
+    /**
+     * Construtor do agendador.
+     * @param escrita A ação que grava o estado pendente do catálogo.
+     * @param janelaMillis A janela, em milissegundos, durante a qual as mutações são agrupadas.
+     * @param maxOperacoes O número de operações pendentes que força uma escrita imediata.
+     */
+    AgendadorPersistencia(Runnable escrita, long janelaMillis, int maxOperacoes) {
+        this.escrita = escrita;
+        this.janelaMillis = janelaMillis;
+        this.maxOperacoes = maxOperacoes;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "diario-persistencia");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Registra uma nova mutação pendente. A escrita é agendada para o fim da janela,
+     * ou antecipada se o número de operações pendentes atingir o máximo.
+     */
+    synchronized void agendar() {
+        operacoesPendentes++;
+        operacoesSolicitadas++;
+        if (operacoesPendentes >= maxOperacoes) {
+            if (escritaAgendada != null) {
+                escritaAgendada.cancel(false);
+            }
+            escritaAgendada = executor.schedule(this::executar, 0, TimeUnit.MILLISECONDS);
+        } else if (escritaAgendada == null) {
+            escritaAgendada = executor.schedule(this::executar, janelaMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Força a gravação imediata de tudo o que estiver pendente e aguarda sua conclusão,
+     * tentando de novo as operações de uma escrita em segundo plano que falhou.
+     * @throws RuntimeException se a escrita continuar falhando.
+     */
+    void flush() {
+        Future<?> futura;
+        synchronized (this) {
+            if (escritaAgendada != null) {
+                escritaAgendada.cancel(false);
+            }
+            futura = executor.submit(this::executar);
+        }
+        try {
+            futura.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao gravar as mutações pendentes.", e.getCause());
+        }
+        synchronized (this) {
+            if (ultimaFalha != null) {
+                RuntimeException falha = ultimaFalha;
+                ultimaFalha = null;
+                throw falha;
+            }
+        }
+    }
+
+    /**
+     * Retorna quantas escritas foram evitadas pelo agrupamento das mutações.
+     * @return o número de operações solicitadas menos o número de escritas realizadas.
+     */
+    synchronized long getEscritasEconomizadas() {
+        return operacoesSolicitadas - operacoesPendentes - escritasRealizadas;
+    }
+
+    /**
+     * Retorna o número de escritas efetivamente realizadas.
+     * @return o número de escritas.
+     */
+    synchronized long getEscritasRealizadas() {
+        return escritasRealizadas;
+    }
+
+    /**
+     * Grava as mutações pendentes e encerra a thread de segundo plano.
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            synchronized (this) {
+                // Depois de uma falha, não espera pela nova tentativa agendada.
+                if (escritaAgendada != null) {
+                    escritaAgendada.cancel(false);
+                }
+            }
+            executor.shutdown();
+            try {
+                executor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Executa a escrita na thread de segundo plano, se houver operações pendentes.
+     * Se a escrita falhar, as operações voltam a ficar pendentes e uma nova tentativa
+     * é agendada para o fim da janela.
+     */
+    private void executar() {
+        int gravadas;
+        synchronized (this) {
+            escritaAgendada = null;
+            if (operacoesPendentes == 0) {
+                return;
+            }
+            gravadas = operacoesPendentes;
+            operacoesPendentes = 0;
+        }
+        try {
+            escrita.run();
+            synchronized (this) {
+                escritasRealizadas++;
+                ultimaFalha = null;
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                ultimaFalha = e;
+                operacoesPendentes += gravadas;
+                if (escritaAgendada == null && !executor.isShutdown()) {
+                    escritaAgendada = executor.schedule(this::executar, janelaMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+}
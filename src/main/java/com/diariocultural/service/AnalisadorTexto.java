@@ -0,0 +1,86 @@
+// === AnalisadorTexto.java === "Service"
+
+package com.diariocultural.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Normalização dos textos pesquisáveis (títulos e reviews) para o índice textual: os
+ * acentos são removidos pela decomposição canônica (NFD), as letras são passadas para
+ * minúsculas e o texto é dividido em termos, as sequências de letras e dígitos. Assim,
+ * "Ação", "acao" e "AÇÃO" produzem o mesmo termo.
+ *
+ * As palavras vazias do português (artigos, preposições e suas contrações, conjunções
+ * comuns) continuam nas sequências de termos, para as buscas por frase e por trecho, mas
+ * não recebem listas de postagens: apareceriam em quase todas as mídias sem distinguir nenhuma.
+ */
+final class AnalisadorTexto {
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas",
+            "de", "do", "da", "dos", "das", "dum", "duma",
+            "em", "no", "na", "nos", "nas", "num", "numa",
+            "ao", "aos", "por", "pelo", "pela", "pelos", "pelas", "para", "pra", "com",
+            "e", "ou", "que", "se");
+
+    private AnalisadorTexto() {
+    }
+
+    /**
+     * Remove os acentos e passa o texto para minúsculas.
+     * @param texto O texto original.
+     * @return o texto normalizado.
+     */
+    static String dobrar(String texto) {
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder semAcentos = new StringBuilder(decomposto.length());
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                semAcentos.append(c);
+            }
+        }
+        return semAcentos.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normaliza o texto e o divide em termos, na ordem em que aparecem, incluindo as palavras vazias.
+     * @param texto O texto original.
+     * @return os termos normalizados (vazio se o texto não tiver letras nem dígitos).
+     */
+    static List<String> termos(String texto) {
+        String dobrado = dobrar(texto);
+        List<String> termos = new ArrayList<>();
+        int inicio = -1;
+        for (int i = 0; i <= dobrado.length(); i++) {
+            boolean parteDoTermo = i < dobrado.length() && Character.isLetterOrDigit(dobrado.charAt(i));
+            if (parteDoTermo && inicio < 0) {
+                inicio = i;
+            } else if (!parteDoTermo && inicio >= 0) {
+                termos.add(dobrado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return termos;
+    }
+
+    /**
+     * Indica se o termo normalizado é uma palavra vazia, que não é indexada.
+     * @param termo O termo, já normalizado.
+     * @return true se o termo for uma palavra vazia.
+     */
+    static boolean isPalavraVazia(String termo) {
+        return PALAVRAS_VAZIAS.contains(termo);
+    }
+
+    /**
+     * Retorna as palavras vazias, já normalizadas.
+     * @return o conjunto imutável de palavras vazias.
+     */
+    static Set<String> palavrasVazias() {
+        return PALAVRAS_VAZIAS;
+    }
+}
@@ -0,0 +1,505 @@
+// === BitmapIds.java === "Service"
+
+package com.diariocultural.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Conjunto comprimido de identificadores de mídias, usado como lista de postagens dos
+ * índices do catálogo. Segue a ideia dos bitmaps "roaring": os identificadores são
+ * agrupados pelos bits acima dos 16 menos significativos, e cada grupo é guardado em um
+ * bloco próprio, que é um vetor ordenado de {@code char} enquanto tem poucos elementos
+ * (conjuntos esparsos, como os livros de um autor) e um bitmap de 65.536 bits quando
+ * passa de {@value #LIMITE_VETOR} (conjuntos densos, como os livros já consumidos).
+ *
+ * A interseção e a união trabalham bloco a bloco, com o algoritmo adequado a cada par de
+ * representações, e a materialização percorre os identificadores em ordem crescente.
+ */
+class BitmapIds {
+    /** Acima deste número de elementos, um bloco passa a ser um bitmap (8 KiB). */
+    private static final int LIMITE_VETOR = 4096;
+    private static final long MAIOR_ID = (1L << 47) - 1;
+    private static final BitmapIds VAZIO = new BitmapIds(new int[0], new Bloco[0], 0);
+
+    private int[] chaves;
+    private Bloco[] blocos;
+    private int tamanho;
+
+    /**
+     * Construtor do conjunto vazio.
+     */
+    BitmapIds() {
+        this(new int[4], new Bloco[4], 0);
+    }
+
+    private BitmapIds(int[] chaves, Bloco[] blocos, int tamanho) {
+        this.chaves = chaves;
+        this.blocos = blocos;
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Retorna um conjunto vazio compartilhado, que não deve ser alterado.
+     * @return o conjunto vazio.
+     */
+    static BitmapIds vazio() {
+        return VAZIO;
+    }
+
+    /**
+     * Adiciona um identificador ao conjunto.
+     * @param id O identificador, que deve ser positivo e menor que 2^47.
+     * @throws IllegalArgumentException se o identificador estiver fora do intervalo aceito.
+     */
+    void adicionar(long id) {
+        if (id <= 0 || id > MAIOR_ID) {
+            throw new IllegalArgumentException("Identificador fora do intervalo do bitmap: " + id);
+        }
+        int chave = (int) (id >>> 16);
+        int posicao = Arrays.binarySearch(chaves, 0, tamanho, chave);
+        if (posicao < 0) {
+            posicao = -posicao - 1;
+            if (tamanho == chaves.length) {
+                chaves = Arrays.copyOf(chaves, tamanho * 2);
+                blocos = Arrays.copyOf(blocos, tamanho * 2);
+            }
+            System.arraycopy(chaves, posicao, chaves, posicao + 1, tamanho - posicao);
+            System.arraycopy(blocos, posicao, blocos, posicao + 1, tamanho - posicao);
+            chaves[posicao] = chave;
+            blocos[posicao] = new BlocoVetor(new char[4], 0);
+            tamanho++;
+        }
+        blocos[posicao] = blocos[posicao].adicionar((char) id);
+    }
+
+    /**
+     * Remove um identificador do conjunto.
+     * @param id O identificador a ser removido.
+     * @return true se o identificador estava no conjunto.
+     */
+    boolean remover(long id) {
+        if (id <= 0 || id > MAIOR_ID) {
+            return false;
+        }
+        int posicao = Arrays.binarySearch(chaves, 0, tamanho, (int) (id >>> 16));
+        if (posicao < 0) {
+            return false;
+        }
+        Bloco bloco = blocos[posicao];
+        int antes = bloco.cardinalidade();
+        bloco = bloco.remover((char) id);
+        if (bloco.cardinalidade() == antes) {
+            return false;
+        }
+        if (bloco.cardinalidade() == 0) {
+            System.arraycopy(chaves, posicao + 1, chaves, posicao, tamanho - posicao - 1);
+            System.arraycopy(blocos, posicao + 1, blocos, posicao, tamanho - posicao - 1);
+            tamanho--;
+            blocos[tamanho] = null;
+        } else {
+            blocos[posicao] = bloco;
+        }
+        return true;
+    }
+
+    /**
+     * Indica se o identificador está no conjunto.
+     * @param id O identificador buscado.
+     * @return true se o identificador está no conjunto.
+     */
+    boolean contem(long id) {
+        if (id <= 0 || id > MAIOR_ID) {
+            return false;
+        }
+        int posicao = Arrays.binarySearch(chaves, 0, tamanho, (int) (id >>> 16));
+        return posicao >= 0 && blocos[posicao].contem((char) id);
+    }
+
+    /**
+     * Retorna o número de identificadores no conjunto.
+     * @return a cardinalidade do conjunto.
+     */
+    int cardinalidade() {
+        int total = 0;
+        for (int i = 0; i < tamanho; i++) {
+            total += blocos[i].cardinalidade();
+        }
+        return total;
+    }
+
+    /**
+     * Indica se o conjunto está vazio.
+     * @return true se não há nenhum identificador.
+     */
+    boolean isVazio() {
+        return tamanho == 0;
+    }
+
+    /**
+     * Percorre os identificadores em ordem crescente.
+     * @param acao A ação executada para cada identificador.
+     */
+    void paraCada(LongConsumer acao) {
+        for (int i = 0; i < tamanho; i++) {
+            blocos[i].paraCada((long) chaves[i] << 16, acao);
+        }
+    }
+
+    /**
+     * Calcula a interseção (E) dos conjuntos informados, ignorando os nulos (critérios
+     * ausentes). Os conjuntos são combinados do menor para o maior, de modo que o custo
+     * depende dos critérios mais seletivos.
+     * @param conjuntos Os conjuntos a serem combinados; nulos são ignorados.
+     * @return a interseção, ou null se todos forem nulos. Pode ser um dos próprios
+     *         argumentos, quando só um não for nulo, e por isso não deve ser alterada.
+     */
+    static BitmapIds e(BitmapIds... conjuntos) {
+        List<BitmapIds> presentes = new ArrayList<>(conjuntos.length);
+        for (BitmapIds conjunto : conjuntos) {
+            if (conjunto != null) {
+                presentes.add(conjunto);
+            }
+        }
+        if (presentes.isEmpty()) {
+            return null;
+        }
+        presentes.sort(Comparator.comparingInt(BitmapIds::cardinalidade));
+        BitmapIds resultado = presentes.get(0);
+        for (int i = 1; i < presentes.size() && !resultado.isVazio(); i++) {
+            resultado = e(resultado, presentes.get(i));
+        }
+        return resultado;
+    }
+
+    /**
+     * Calcula a união (OU) dos conjuntos informados.
+     * @param conjuntos Os conjuntos a serem combinados.
+     * @return a união. Pode ser um dos próprios argumentos, quando houver só um, e por
+     *         isso não deve ser alterada.
+     */
+    static BitmapIds ou(Collection<BitmapIds> conjuntos) {
+        BitmapIds resultado = null;
+        for (BitmapIds conjunto : conjuntos) {
+            resultado = resultado == null ? conjunto : ou(resultado, conjunto);
+        }
+        return resultado != null ? resultado : VAZIO;
+    }
+
+    private static BitmapIds e(BitmapIds a, BitmapIds b) {
+        BitmapIds resultado = new BitmapIds(new int[Math.max(1, Math.min(a.tamanho, b.tamanho))],
+                new Bloco[Math.max(1, Math.min(a.tamanho, b.tamanho))], 0);
+        int i = 0;
+        int j = 0;
+        while (i < a.tamanho && j < b.tamanho) {
+            if (a.chaves[i] < b.chaves[j]) {
+                i++;
+            } else if (a.chaves[i] > b.chaves[j]) {
+                j++;
+            } else {
+                Bloco bloco = a.blocos[i].e(b.blocos[j]);
+                if (bloco.cardinalidade() > 0) {
+                    resultado.acrescentar(a.chaves[i], bloco);
+                }
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    private static BitmapIds ou(BitmapIds a, BitmapIds b) {
+        BitmapIds resultado = new BitmapIds(new int[Math.max(1, a.tamanho + b.tamanho)],
+                new Bloco[Math.max(1, a.tamanho + b.tamanho)], 0);
+        int i = 0;
+        int j = 0;
+        while (i < a.tamanho || j < b.tamanho) {
+            if (j == b.tamanho || (i < a.tamanho && a.chaves[i] < b.chaves[j])) {
+                resultado.acrescentar(a.chaves[i], a.blocos[i].copia());
+                i++;
+            } else if (i == a.tamanho || a.chaves[i] > b.chaves[j]) {
+                resultado.acrescentar(b.chaves[j], b.blocos[j].copia());
+                j++;
+            } else {
+                resultado.acrescentar(a.chaves[i], a.blocos[i].ou(b.blocos[j]));
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Acrescenta um bloco ao final; as chaves devem chegar em ordem crescente.
+     */
+    private void acrescentar(int chave, Bloco bloco) {
+        if (tamanho == chaves.length) {
+            chaves = Arrays.copyOf(chaves, tamanho * 2);
+            blocos = Arrays.copyOf(blocos, tamanho * 2);
+        }
+        chaves[tamanho] = chave;
+        blocos[tamanho] = bloco;
+        tamanho++;
+    }
+
+    /**
+     * Os 16 bits menos significativos dos identificadores de um grupo. As operações que
+     * alteram o bloco podem trocar sua representação e, por isso, devolvem o bloco a ser usado.
+     */
+    private abstract static class Bloco {
+        abstract int cardinalidade();
+
+        abstract boolean contem(char valor);
+
+        abstract Bloco adicionar(char valor);
+
+        abstract Bloco remover(char valor);
+
+        abstract Bloco e(Bloco outro);
+
+        abstract Bloco ou(Bloco outro);
+
+        abstract Bloco copia();
+
+        abstract void paraCada(long base, LongConsumer acao);
+    }
+
+    /**
+     * Bloco esparso: vetor ordenado dos valores.
+     */
+    private static final class BlocoVetor extends Bloco {
+        private char[] valores;
+        private int tamanho;
+
+        BlocoVetor(char[] valores, int tamanho) {
+            this.valores = valores;
+            this.tamanho = tamanho;
+        }
+
+        @Override
+        int cardinalidade() {
+            return tamanho;
+        }
+
+        @Override
+        boolean contem(char valor) {
+            return Arrays.binarySearch(valores, 0, tamanho, valor) >= 0;
+        }
+
+        @Override
+        Bloco adicionar(char valor) {
+            // Identificadores novos costumam ser os maiores: o acréscimo ao final dispensa a busca.
+            int posicao = tamanho == 0 || valores[tamanho - 1] < valor
+                    ? -tamanho - 1
+                    : Arrays.binarySearch(valores, 0, tamanho, valor);
+            if (posicao >= 0) {
+                return this;
+            }
+            if (tamanho == LIMITE_VETOR) {
+                return paraBits().adicionar(valor);
+            }
+            posicao = -posicao - 1;
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, Math.min(LIMITE_VETOR, tamanho * 2));
+            }
+            System.arraycopy(valores, posicao, valores, posicao + 1, tamanho - posicao);
+            valores[posicao] = valor;
+            tamanho++;
+            return this;
+        }
+
+        @Override
+        Bloco remover(char valor) {
+            int posicao = Arrays.binarySearch(valores, 0, tamanho, valor);
+            if (posicao >= 0) {
+                System.arraycopy(valores, posicao + 1, valores, posicao, tamanho - posicao - 1);
+                tamanho--;
+            }
+            return this;
+        }
+
+        @Override
+        Bloco e(Bloco outro) {
+            char[] comuns = new char[Math.min(tamanho, outro.cardinalidade())];
+            int n = 0;
+            if (outro instanceof BlocoVetor vetor) {
+                int i = 0;
+                int j = 0;
+                while (i < tamanho && j < vetor.tamanho) {
+                    if (valores[i] < vetor.valores[j]) {
+                        i++;
+                    } else if (valores[i] > vetor.valores[j]) {
+                        j++;
+                    } else {
+                        comuns[n++] = valores[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < tamanho; i++) {
+                    if (outro.contem(valores[i])) {
+                        comuns[n++] = valores[i];
+                    }
+                }
+            }
+            return new BlocoVetor(comuns, n);
+        }
+
+        @Override
+        Bloco ou(Bloco outro) {
+            if (outro instanceof BlocoBits) {
+                return outro.ou(this);
+            }
+            BlocoVetor vetor = (BlocoVetor) outro;
+            char[] todos = new char[tamanho + vetor.tamanho];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < tamanho || j < vetor.tamanho) {
+                if (j == vetor.tamanho || (i < tamanho && valores[i] < vetor.valores[j])) {
+                    todos[n++] = valores[i++];
+                } else if (i == tamanho || valores[i] > vetor.valores[j]) {
+                    todos[n++] = vetor.valores[j++];
+                } else {
+                    todos[n++] = valores[i++];
+                    j++;
+                }
+            }
+            BlocoVetor uniao = new BlocoVetor(todos, n);
+            return n > LIMITE_VETOR ? uniao.paraBits() : uniao;
+        }
+
+        @Override
+        Bloco copia() {
+            return new BlocoVetor(Arrays.copyOf(valores, Math.max(1, tamanho)), tamanho);
+        }
+
+        @Override
+        void paraCada(long base, LongConsumer acao) {
+            for (int i = 0; i < tamanho; i++) {
+                acao.accept(base | valores[i]);
+            }
+        }
+
+        private BlocoBits paraBits() {
+            BlocoBits bits = new BlocoBits(new long[1024], 0);
+            for (int i = 0; i < tamanho; i++) {
+                bits.adicionar(valores[i]);
+            }
+            return bits;
+        }
+    }
+
+    /**
+     * Bloco denso: um bit por valor possível.
+     */
+    private static final class BlocoBits extends Bloco {
+        private final long[] palavras;
+        private int cardinalidade;
+
+        BlocoBits(long[] palavras, int cardinalidade) {
+            this.palavras = palavras;
+            this.cardinalidade = cardinalidade;
+        }
+
+        @Override
+        int cardinalidade() {
+            return cardinalidade;
+        }
+
+        @Override
+        boolean contem(char valor) {
+            return (palavras[valor >>> 6] & (1L << valor)) != 0;
+        }
+
+        @Override
+        Bloco adicionar(char valor) {
+            long antes = palavras[valor >>> 6];
+            palavras[valor >>> 6] = antes | (1L << valor);
+            if (antes != palavras[valor >>> 6]) {
+                cardinalidade++;
+            }
+            return this;
+        }
+
+        @Override
+        Bloco remover(char valor) {
+            long antes = palavras[valor >>> 6];
+            palavras[valor >>> 6] = antes & ~(1L << valor);
+            if (antes != palavras[valor >>> 6]) {
+                cardinalidade--;
+            }
+            // Histerese: só volta a vetor bem abaixo do limite, para não alternar a cada operação.
+            return cardinalidade < LIMITE_VETOR / 2 ? paraVetor() : this;
+        }
+
+        @Override
+        Bloco e(Bloco outro) {
+            if (outro instanceof BlocoVetor) {
+                return outro.e(this);
+            }
+            long[] outras = ((BlocoBits) outro).palavras;
+            long[] comuns = new long[1024];
+            int total = 0;
+            for (int k = 0; k < comuns.length; k++) {
+                comuns[k] = palavras[k] & outras[k];
+                total += Long.bitCount(comuns[k]);
+            }
+            BlocoBits intersecao = new BlocoBits(comuns, total);
+            return total <= LIMITE_VETOR ? intersecao.paraVetor() : intersecao;
+        }
+
+        @Override
+        Bloco ou(Bloco outro) {
+            BlocoBits uniao = (BlocoBits) copia();
+            if (outro instanceof BlocoVetor vetor) {
+                for (int i = 0; i < vetor.tamanho; i++) {
+                    uniao.adicionar(vetor.valores[i]);
+                }
+            } else {
+                long[] outras = ((BlocoBits) outro).palavras;
+                int total = 0;
+                for (int k = 0; k < uniao.palavras.length; k++) {
+                    uniao.palavras[k] |= outras[k];
+                    total += Long.bitCount(uniao.palavras[k]);
+                }
+                uniao.cardinalidade = total;
+            }
+            return uniao;
+        }
+
+        @Override
+        Bloco copia() {
+            return new BlocoBits(palavras.clone(), cardinalidade);
+        }
+
+        @Override
+        void paraCada(long base, LongConsumer acao) {
+            for (int k = 0; k < palavras.length; k++) {
+                long palavra = palavras[k];
+                while (palavra != 0) {
+                    acao.accept(base | ((long) k << 6) | Long.numberOfTrailingZeros(palavra));
+                    palavra &= palavra - 1;
+                }
+            }
+        }
+
+        private BlocoVetor paraVetor() {
+            char[] valores = new char[Math.max(1, cardinalidade)];
+            int n = 0;
+            for (int k = 0; k < palavras.length; k++) {
+                long palavra = palavras[k];
+                while (palavra != 0) {
+                    valores[n++] = (char) ((k << 6) | Long.numberOfTrailingZeros(palavra));
+                    palavra &= palavra - 1;
+                }
+            }
+            return new BlocoVetor(valores, n);
+        }
+    }
+}
@@ -0,0 +1,459 @@
+// === CarregadorParalelo.java === "Service"
+
+package com.diariocultural.service;
+
+import com.diariocultural.model.Filme;
+import com.diariocultural.model.Livro;
+import com.diariocultural.model.Serie;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Carregador paralelo do catálogo. Lê os arquivos (o snapshot único ou os fragmentos)
+ * e divide cada um em seções independentes — as seções de livros, filmes e séries,
+ * subdivididas em trechos de registros — que são interpretadas ao mesmo tempo em um
+ * pool de threads limitado. O resultado é devolvido na ordem original, pronto para ser
+ * juntado nas coleções do catálogo.
+ *
+ * No formato binário, os trechos vêm do índice de offsets (versão 2). No JSON, uma
+ * varredura leve dos bytes localiza os limites de cada elemento dos arrays sem
+ * interpretá-los; se a varredura não reconhecer a estrutura, o arquivo inteiro é
+ * interpretado por uma única tarefa com o {@link LeitorCatalogoJson}, que reporta o erro.
+ */
+class CarregadorParalelo {
+
+    /** Trechos menores do que isso não compensam o custo de uma tarefa própria. */
+    private static final int REGISTROS_MINIMOS_POR_TAREFA = 256;
+    /** Tarefas por thread, para equilibrar seções de tamanhos diferentes. */
+    private static final int TAREFAS_POR_THREAD = 4;
+
+    private static final byte[] ABRE_ARRAY = {'['};
+    private static final byte[] FECHA_ARRAY = {']'};
+
+    private final Gson gson;
+    private final CodecBinarioCatalogo codec;
+    private final FormatoSnapshot formato;
+    private final int paralelismo;
+
+    private long leituraNanos;
+    private long interpretacaoNanos;
+    private int tarefas;
+
+    /**
+     * Construtor do carregador.
+     * @param gson A instância Gson com os adaptadores do modelo registrados.
+     * @param codec O codificador do formato binário.
+     * @param formato O formato dos arquivos a serem carregados.
+     * @param paralelismo O número máximo de threads usadas na leitura e na interpretação.
+     */
+    CarregadorParalelo(Gson gson, CodecBinarioCatalogo codec, FormatoSnapshot formato, int paralelismo) {
+        this.gson = gson;
+        this.codec = codec;
+        this.formato = formato;
+        this.paralelismo = paralelismo;
+    }
+
+    /**
+     * Lê e interpreta os arquivos informados.
+     * @param arquivos Os arquivos de snapshot, na ordem em que as mídias devem ser juntadas.
+     * @return as seções interpretadas, na ordem dos arquivos e, dentro de cada um, na ordem dos registros.
+     * @throws IOException se algum arquivo não puder ser lido ou estiver malformado.
+     */
+    List<CatalogoWrapper> carregar(List<Path> arquivos) throws IOException {
+        ExecutorService executor = paralelismo > 1
+                ? Executors.newFixedThreadPool(paralelismo, r -> {
+                    Thread thread = new Thread(r, "diario-carregamento");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        try {
+            long inicio = System.nanoTime();
+            List<Callable<byte[]>> leituras = new ArrayList<>();
+            for (Path arquivo : arquivos) {
+                leituras.add(() -> Files.readAllBytes(arquivo));
+            }
+            List<byte[]> conteudos = executarTodas(executor, leituras);
+            long fimLeitura = System.nanoTime();
+
+            List<Callable<CatalogoWrapper>> interpretacoes = new ArrayList<>();
+            for (byte[] conteudo : conteudos) {
+                interpretacoes.addAll(formato == FormatoSnapshot.BINARIO ? tarefasBinario(conteudo) : tarefasJson(conteudo));
+            }
+            List<CatalogoWrapper> secoes = executarTodas(executor, interpretacoes);
+
+            this.leituraNanos = fimLeitura - inicio;
+            this.interpretacaoNanos = System.nanoTime() - fimLeitura;
+            this.tarefas = interpretacoes.size();
+            return secoes;
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Retorna o tempo gasto lendo os arquivos no último carregamento.
+     * @return o tempo de leitura, em nanossegundos.
+     */
+    long getLeituraNanos() { return leituraNanos; }
+
+    /**
+     * Retorna o tempo gasto interpretando os arquivos no último carregamento.
+     * @return o tempo de interpretação, em nanossegundos.
+     */
+    long getInterpretacaoNanos() { return interpretacaoNanos; }
+
+    /**
+     * Retorna o número de tarefas de interpretação do último carregamento.
+     * @return o número de tarefas.
+     */
+    int getTarefas() { return tarefas; }
+
+    /**
+     * Retorna o número de threads efetivamente usadas na interpretação.
+     * @return o número de threads.
+     */
+    int getThreads() { return Math.min(paralelismo, Math.max(tarefas, 1)); }
+
+    /**
+     * Executa as tarefas no pool (ou na própria thread, se houver apenas uma) e
+     * devolve os resultados na ordem das tarefas.
+     */
+    private <T> List<T> executarTodas(ExecutorService executor, List<Callable<T>> lista) throws IOException {
+        List<T> resultados = new ArrayList<>(lista.size());
+        try {
+            if (executor == null || lista.size() <= 1) {
+                for (Callable<T> tarefa : lista) {
+                    resultados.add(tarefa.call());
+                }
+                return resultados;
+            }
+            for (Future<T> futuro : executor.invokeAll(lista)) {
+                resultados.add(futuro.get());
+            }
+            return resultados;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Carregamento do catálogo interrompido.");
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof IOException io) throw io;
+            if (causa instanceof RuntimeException re) throw re;
+            if (causa instanceof Error erro) throw erro;
+            throw new IOException(causa);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    // --- FORMATO BINÁRIO ---
+
+    private List<Callable<CatalogoWrapper>> tarefasBinario(byte[] conteudo) throws IOException {
+        if (conteudo.length == 0) {
+            return List.of();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(conteudo);
+        if (CodecBinarioCatalogo.versaoDe(buffer) < CodecBinarioCatalogo.VERSAO_COM_INDICE) {
+            // Sem índice de offsets: o arquivo só pode ser lido em sequência.
+            return List.of(() -> {
+                CatalogoWrapper secao = novaSecao();
+                codec.decodificar(buffer, secao.livros::add, secao.filmes::add, secao.series::add);
+                return secao;
+            });
+        }
+
+        String[] tabela;
+        int[] indice;
+        try {
+            tabela = codec.lerCabecalho(buffer.duplicate());
+            indice = CodecBinarioCatalogo.iniciosDoIndice(buffer);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Snapshot binário corrompido ou truncado.", e);
+        }
+        List<Callable<CatalogoWrapper>> lista = new ArrayList<>();
+        adicionarTrechosBinarios(lista, buffer, tabela, indice[0], codec::lerLivro, s -> s.livros::add);
+        adicionarTrechosBinarios(lista, buffer, tabela, indice[1], codec::lerFilme, s -> s.filmes::add);
+        adicionarTrechosBinarios(lista, buffer, tabela, indice[2], codec::lerSerie, s -> s.series::add);
+        return lista;
+    }
+
+    private <T> void adicionarTrechosBinarios(List<Callable<CatalogoWrapper>> lista, ByteBuffer buffer, String[] tabela,
+                                              int inicioIndice, BiFunction<ByteBuffer, String[], T> decodificador,
+                                              Function<CatalogoWrapper, Consumer<T>> destino) {
+        int quantidade = buffer.getInt(inicioIndice);
+        int tamanho = tamanhoDoTrecho(quantidade);
+        for (int inicio = 0; inicio < quantidade; inicio += tamanho) {
+            int de = inicio;
+            int ate = Math.min(quantidade, inicio + tamanho);
+            lista.add(() -> {
+                CatalogoWrapper secao = novaSecao();
+                Consumer<T> consumidor = destino.apply(secao);
+                try {
+                    for (int i = de; i < ate; i++) {
+                        int offset = buffer.getInt(inicioIndice + Integer.BYTES * (1 + i));
+                        consumidor.accept(decodificador.apply(buffer.duplicate().position(offset), tabela));
+                    }
+                } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+                    throw new IOException("Snapshot binário corrompido ou truncado.", e);
+                }
+                return secao;
+            });
+        }
+    }
+
+    // --- FORMATO JSON ---
+
+    private List<Callable<CatalogoWrapper>> tarefasJson(byte[] conteudo) {
+        List<Callable<CatalogoWrapper>> lista = new ArrayList<>();
+        try {
+            Varredura varredura = new Varredura(conteudo);
+            varredura.percorrer((nome, elementos) -> {
+                switch (nome) {
+                    case "livros" -> adicionarTrechosJson(lista, conteudo, elementos, Livro.class, s -> s.livros::add);
+                    case "filmes" -> adicionarTrechosJson(lista, conteudo, elementos, Filme.class, s -> s.filmes::add);
+                    case "series" -> adicionarTrechosJson(lista, conteudo, elementos, Serie.class, s -> s.series::add);
+                    default -> { }
+                }
+            });
+            return lista;
+        } catch (IOException e) {
+            return List.of(() -> {
+                CatalogoWrapper secao = novaSecao();
+                try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(conteudo), StandardCharsets.UTF_8))) {
+                    new LeitorCatalogoJson(gson).carregar(reader, secao.livros::add, secao.filmes::add, secao.series::add);
+                }
+                return secao;
+            });
+        }
+    }
+
+    private <T> void adicionarTrechosJson(List<Callable<CatalogoWrapper>> lista, byte[] conteudo, int[] elementos,
+                                          Class<T> tipo, Function<CatalogoWrapper, Consumer<T>> destino) {
+        int quantidade = elementos.length / 2;
+        int tamanho = tamanhoDoTrecho(quantidade);
+        for (int inicio = 0; inicio < quantidade; inicio += tamanho) {
+            int de = elementos[2 * inicio];
+            int ate = elementos[2 * (Math.min(quantidade, inicio + tamanho) - 1) + 1];
+            lista.add(() -> {
+                CatalogoWrapper secao = novaSecao();
+                Consumer<T> consumidor = destino.apply(secao);
+                // Os elementos do trecho, com as vírgulas entre eles, formam um array JSON válido.
+                InputStream trecho = new SequenceInputStream(Collections.enumeration(List.of(
+                        new ByteArrayInputStream(ABRE_ARRAY),
+                        new ByteArrayInputStream(conteudo, de, ate - de),
+                        new ByteArrayInputStream(FECHA_ARRAY))));
+                try (JsonReader reader = new JsonReader(new InputStreamReader(trecho, StandardCharsets.UTF_8))) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        T midia = gson.fromJson(reader, tipo);
+                        if (midia != null) {
+                            consumidor.accept(midia);
+                        }
+                    }
+                    reader.endArray();
+                }
+                return secao;
+            });
+        }
+    }
+
+    private int tamanhoDoTrecho(int quantidade) {
+        int tarefasDesejadas = paralelismo * TAREFAS_POR_THREAD;
+        return Math.max(REGISTROS_MINIMOS_POR_TAREFA, (quantidade + tarefasDesejadas - 1) / tarefasDesejadas);
+    }
+
+    private static CatalogoWrapper novaSecao() {
+        CatalogoWrapper secao = new CatalogoWrapper();
+        secao.livros = new ArrayList<>();
+        secao.filmes = new ArrayList<>();
+        secao.series = new ArrayList<>();
+        return secao;
+    }
+
+    /**
+     * Recebe cada array encontrado no objeto raiz do JSON.
+     */
+    @FunctionalInterface
+    private interface VisitanteSecao {
+        /**
+         * @param nome O nome do campo.
+         * @param elementos Pares [início, fim) com a posição de cada elemento do array.
+         */
+        void visitar(String nome, int[] elementos);
+    }
+
+    /**
+     * Varredura leve do JSON do snapshot: percorre os bytes acompanhando apenas strings
+     * e aninhamento, para localizar os elementos dos arrays do objeto raiz. Os caracteres
+     * estruturais do JSON são ASCII e nunca aparecem dentro de sequências UTF-8 multibyte,
+     * então a varredura pode trabalhar diretamente sobre os bytes.
+     */
+    private static final class Varredura {
+        private final byte[] b;
+        private int pos;
+
+        Varredura(byte[] conteudo) {
+            this.b = conteudo;
+        }
+
+        void percorrer(VisitanteSecao visitante) throws IOException {
+            espacos();
+            if (pos == b.length) {
+                return; // Arquivo vazio.
+            }
+            esperar('{');
+            espacos();
+            if (atual() == '}') {
+                return;
+            }
+            while (true) {
+                espacos();
+                esperar('"');
+                int inicioChave = pos;
+                pularString();
+                String nome = new String(b, inicioChave, pos - 1 - inicioChave, StandardCharsets.UTF_8);
+                espacos();
+                esperar(':');
+                espacos();
+                if (atual() == '[') {
+                    visitante.visitar(nome, elementosDoArray());
+                } else {
+                    pularValor();
+                }
+                espacos();
+                byte separador = proximo();
+                if (separador == '}') {
+                    return;
+                }
+                if (separador != ',') {
+                    throw new IOException("Separador inesperado na posição " + (pos - 1));
+                }
+            }
+        }
+
+        private int[] elementosDoArray() throws IOException {
+            esperar('[');
+            espacos();
+            if (atual() == ']') {
+                pos++;
+                return new int[0];
+            }
+            int[] elementos = new int[64];
+            int n = 0;
+            while (true) {
+                espacos();
+                if (n + 2 > elementos.length) {
+                    elementos = Arrays.copyOf(elementos, elementos.length * 2);
+                }
+                elementos[n++] = pos;
+                pularValor();
+                elementos[n++] = pos;
+                espacos();
+                byte separador = proximo();
+                if (separador == ']') {
+                    return Arrays.copyOf(elementos, n);
+                }
+                if (separador != ',') {
+                    throw new IOException("Separador inesperado na posição " + (pos - 1));
+                }
+            }
+        }
+
+        private void pularValor() throws IOException {
+            byte c = atual();
+            if (c == '"') {
+                pos++;
+                pularString();
+            } else if (c == '{' || c == '[') {
+                int profundidade = 0;
+                do {
+                    c = proximo();
+                    if (c == '"') {
+                        pularString();
+                    } else if (c == '{' || c == '[') {
+                        profundidade++;
+                    } else if (c == '}' || c == ']') {
+                        profundidade--;
+                    }
+                } while (profundidade > 0);
+            } else {
+                int inicio = pos;
+                while (pos < b.length && b[pos] != ',' && b[pos] != '}' && b[pos] != ']' && !espaco(b[pos])) {
+                    pos++;
+                }
+                if (pos == inicio) {
+                    throw new IOException("Valor esperado na posição " + pos);
+                }
+            }
+        }
+
+        /** Avança até depois das aspas que fecham a string; a posição atual está logo após as aspas de abertura. */
+        private void pularString() throws IOException {
+            while (true) {
+                byte c = proximo();
+                if (c == '\\') {
+                    proximo();
+                } else if (c == '"') {
+                    return;
+                }
+            }
+        }
+
+        private void esperar(char esperado) throws IOException {
+            if (proximo() != esperado) {
+                throw new IOException("'" + esperado + "' esperado na posição " + (pos - 1));
+            }
+        }
+
+        private byte atual() throws IOException {
+            if (pos >= b.length) {
+                throw new IOException("Fim inesperado do JSON.");
+            }
+            return b[pos];
+        }
+
+        private byte proximo() throws IOException {
+            byte c = atual();
+            pos++;
+            return c;
+        }
+
+        private void espacos() {
+            while (pos < b.length && espaco(b[pos])) {
+                pos++;
+            }
+        }
+
+        private static boolean espaco(byte c) {
+            return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+        }
+    }
+}
@@ -4,32 +4,123 @@ package com.diariocultural.service;
 
 import com.diariocultural.model.Filme;
 import com.diariocultural.model.Livro;
+import com.diariocultural.model.Midia;
+import com.diariocultural.model.Review;
 import com.diariocultural.model.Serie;
+import com.diariocultural.model.Temporada;
 import com.diariocultural.utils.DurationAdapter;
+import com.diariocultural.utils.FilmeAdapter;
+import com.diariocultural.utils.LivroAdapter;
 import com.diariocultural.utils.LocalDateAdapter;
+import com.diariocultural.utils.ReviewAdapter;
+import com.diariocultural.utils.SerieAdapter;
+import com.diariocultural.utils.TemporadaAdapter;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * Gerencia a coleção de mídias, utilizando JSON para a persistência em arquivo.
  * Atua como a camada de serviço (Service/Repository) da aplicação.
+ * Opcionalmente, as mutações podem ser registradas em um journal (ver {@link ConfiguracaoCatalogo}),
+ * caso em que o snapshot só é regravado nos checkpoints, e o snapshot pode ser gravado
+ * no formato binário compacto ({@link FormatoSnapshot#BINARIO}) em vez de JSON e dividido
+ * em fragmentos por tipo de mídia e partição, regravando apenas os fragmentos alterados.
+ *
+ * O catálogo pode ser usado por várias threads: as alterações são serializadas por um
+ * {@link StampedLock}, as buscas por título e por identificador são leituras otimistas sem
+ * bloqueio, os filtros e consultas leem sob o lock de leitura e as listagens devolvem
+ * instantâneos imutáveis publicados atomicamente.
+ *
+ * Além do título, as mídias são indexadas por gênero, ano, consumo e avaliação, e ainda por
+ * autor (livros), direção e elenco (filmes): as buscas e os filtros ({@link FiltroMidias})
+ * combinam os bitmaps de identificadores dos índices, atualizados a cada alteração, em vez
+ * de percorrer o catálogo. Títulos, títulos originais, reviews e nomes são cobertos por um
+ * índice textual ({@link ConsultaTextual}), sem distinção de acentos e, na busca aproximada,
+ * tolerando erros de digitação. Opcionalmente, um espelho colunar ({@link ColunasMidias})
+ * mantém os atributos numéricos das mídias em vetores primitivos para as estatísticas.
  */
-public class Catalogo {
-    private List<Livro> livros;
-    private List<Filme> filmes;
-    private List<Serie> series;
+public class Catalogo implements AutoCloseable {
+    private final GeradorIds ids = new GeradorIds();
+    private final IndiceInvertido<Livro, String> livrosPorAutor = IndiceInvertido.porChave(Livro::getChaveAutor);
+    private final IndiceInvertido<Filme, String> filmesPorDiretor = IndiceInvertido.porChave(Filme::getChaveDirecao);
+    private final IndiceInvertido<Filme, String> filmesPorAtor = IndiceInvertido.porChaves(Filme::getChavesElenco);
+    private final IndiceTextual<Livro> textosLivros = new IndiceTextual<>(Map.of(
+            ConsultaTextual.Campo.TITULO, livro -> Collections.singletonList(livro.getTitulo()),
+            ConsultaTextual.Campo.REVIEW, livro -> Collections.singletonList(livro.getReviewTexto()),
+            ConsultaTextual.Campo.AUTOR, livro -> Collections.singletonList(livro.getAutor())));
+    private final IndiceTextual<Filme> textosFilmes = new IndiceTextual<>(Map.of(
+            ConsultaTextual.Campo.TITULO, filme -> Collections.singletonList(filme.getTitulo()),
+            ConsultaTextual.Campo.TITULO_ORIGINAL, filme -> Collections.singletonList(filme.getTituloOriginal()),
+            ConsultaTextual.Campo.REVIEW, filme -> Collections.singletonList(filme.getReviewTexto()),
+            ConsultaTextual.Campo.DIRECAO, filme -> Collections.singletonList(filme.getDirecao()),
+            ConsultaTextual.Campo.ELENCO, Filme::getElenco));
+    private final IndiceTextual<Serie> textosSeries = new IndiceTextual<>(Map.of(
+            ConsultaTextual.Campo.TITULO, serie -> Collections.singletonList(serie.getTitulo()),
+            ConsultaTextual.Campo.TITULO_ORIGINAL, serie -> Collections.singletonList(serie.getTituloOriginal()),
+            ConsultaTextual.Campo.REVIEW, Catalogo::reviewsDaSerie,
+            ConsultaTextual.Campo.ELENCO, Serie::getElenco));
+    private final ColecaoMidias<Livro> livros = new ColecaoMidias<>(ids, List.of(livrosPorAutor, textosLivros));
+    private final ColecaoMidias<Filme> filmes = new ColecaoMidias<>(ids, List.of(filmesPorDiretor, filmesPorAtor, textosFilmes));
+    private final ColecaoMidias<Serie> series = new ColecaoMidias<>(ids, List.of(textosSeries));
+    private final PlanejadorConsultas<Livro> consultasLivros = livros.planejador()
+            .comFonte(ConsultaMidias.Criterio.TITULO, fonteTextual(textosLivros, ConsultaTextual.Campo.TITULO))
+            .comFonte(ConsultaMidias.Criterio.AUTOR, ColecaoMidias.fonteDoAtributo(livrosPorAutor,
+                    criterio -> contendo(criterio.getTexto()), Livro::getChaveAutor))
+            .comFonte(ConsultaMidias.Criterio.ISBN, fonteSemIndice(
+                    criterio -> livro -> livro.getIsbn().equals(criterio.getTexto())));
+    private final PlanejadorConsultas<Filme> consultasFilmes = filmes.planejador()
+            .comFonte(ConsultaMidias.Criterio.TITULO, fonteTextual(textosFilmes, ConsultaTextual.Campo.TITULO))
+            .comFonte(ConsultaMidias.Criterio.DIRECAO, ColecaoMidias.fonteDoAtributo(filmesPorDiretor,
+                    criterio -> contendo(criterio.getTexto()), Filme::getChaveDirecao))
+            .comFonte(ConsultaMidias.Criterio.ATOR, ColecaoMidias.fonteDoIndice(filmesPorAtor,
+                    criterio -> contendo(criterio.getTexto()),
+                    criterio -> algumContendo(criterio.getTexto(), Filme::getChavesElenco)));
+    // As séries não têm índice de atores: o elenco é buscado como trecho no índice textual.
+    private final PlanejadorConsultas<Serie> consultasSeries = series.planejador()
+            .comFonte(ConsultaMidias.Criterio.TITULO, fonteTextual(textosSeries, ConsultaTextual.Campo.TITULO))
+            .comFonte(ConsultaMidias.Criterio.ATOR, fonteTextual(textosSeries, ConsultaTextual.Campo.ELENCO));
+    private static final ToIntFunction<Filme> SEGUNDOS_DO_FILME =
+            filme -> filme.getTempoDeDuracao() != null ? (int) filme.getTempoDeDuracao().toSeconds() : 0;
+    private final ColunasMidias<Livro> colunasLivros;
+    private final ColunasMidias<Filme> colunasFilmes;
+    private final ColunasMidias<Serie> colunasSeries;
     private final Path caminhoDoArquivo;
     private final Gson gson;
+    private final CodecBinarioCatalogo codecBinario = new CodecBinarioCatalogo();
+    private final ConfiguracaoCatalogo configuracao;
+    private final JournalMutacoes journal;
+    private final AgendadorPersistencia agendador;
+    private final FragmentosCatalogo fragmentos;
+    private MetricasCarregamento metricasCarregamento = new MetricasCarregamento(0, 0, 0, 0, 0);
+    private final List<RegistroMutacao> registrosNaoGravados = new ArrayList<>();
+    private final StampedLock lock = new StampedLock();
+    private final Map<DicionarioSugestoes.Fonte, DicionarioSugestoes> sugestoes = new ConcurrentHashMap<>();
 
     /**
      * Construtor padrão para a aplicação principal.
@@ -39,75 +130,555 @@ public class Catalogo {
         this(Paths.get("data", "diario_cultural.json").toString());
     }
 
+    /**
+     * Construtor para a aplicação principal com configuração de persistência explícita.
+     * Usa o caminho de persistência padrão.
+     * @param configuracao As opções de persistência.
+     */
+    public Catalogo(ConfiguracaoCatalogo configuracao) {
+        this(Paths.get("data", "diario_cultural.json").toString(), configuracao);
+    }
+
     /**
      * Construtor para testes.
      * Permite especificar um caminho de arquivo diferente para isolar os testes.
      * @param caminhoArquivo O caminho para o arquivo de persistência (ex: um arquivo temporário).
      */
     public Catalogo(String caminhoArquivo) {
+        this(caminhoArquivo, ConfiguracaoCatalogo.padrao());
+    }
+
+    /**
+     * Construtor com configuração de persistência explícita.
+     * @param caminhoArquivo O caminho para o arquivo de persistência.
+     * @param configuracao As opções de persistência (journal, checkpoint, agendamento).
+     */
+    public Catalogo(String caminhoArquivo, ConfiguracaoCatalogo configuracao) {
         // CORREÇÃO: Adicionado o registro do DurationAdapter.
-        this.gson = new GsonBuilder()
+        // As mídias usam adaptadores escritos à mão, evitando a reflexão da Gson na leitura e na gravação.
+        GsonBuilder builder = new GsonBuilder()
                 .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter()) // Garante que o Duration seja tratado corretamente
-                .setPrettyPrinting()
-                .create();
+                .registerTypeAdapter(Livro.class, new LivroAdapter())
+                .registerTypeAdapter(Filme.class, new FilmeAdapter())
+                .registerTypeAdapter(Serie.class, new SerieAdapter())
+                .registerTypeAdapter(Temporada.class, new TemporadaAdapter())
+                .registerTypeAdapter(Review.class, new ReviewAdapter());
+        Gson gsonCompacto = builder.create();
+        this.gson = builder.setPrettyPrinting().create();
 
+        this.configuracao = configuracao;
         this.caminhoDoArquivo = Paths.get(caminhoArquivo);
-        this.livros = new ArrayList<>();
-        this.filmes = new ArrayList<>();
-        this.series = new ArrayList<>();
+        this.fragmentos = configuracao.isFragmentacaoAtiva()
+                ? new FragmentosCatalogo(caminhoDoArquivo, configuracao.getParticoesPorTipo(), configuracao.getFormato())
+                : null;
+        if (configuracao.isEspelhoColunarAtivo()) {
+            this.colunasLivros = new ColunasMidias<>(null);
+            this.colunasFilmes = new ColunasMidias<>(SEGUNDOS_DO_FILME);
+            this.colunasSeries = new ColunasMidias<>(null);
+            livros.anexar(colunasLivros);
+            filmes.anexar(colunasFilmes);
+            series.anexar(colunasSeries);
+        } else {
+            this.colunasLivros = null;
+            this.colunasFilmes = null;
+            this.colunasSeries = null;
+        }
         carregarDados();
+
+        int reaplicados = 0;
+        if (configuracao.isJournalAtivo()) {
+            this.journal = new JournalMutacoes(Paths.get(caminhoArquivo + ".journal"), gsonCompacto);
+            reaplicados = journal.reaplicar(this::aplicarRegistro);
+        } else {
+            this.journal = null;
+        }
+        // Registros gravados antes da existência dos identificadores recebem um na carga;
+        // o checkpoint os torna permanentes.
+        boolean idsAtribuidos = ids.getGerados() > 0;
+        if (idsAtribuidos && fragmentos != null) {
+            fragmentos.marcarTodosSujos();
+        }
+        if (reaplicados > 0 || idsAtribuidos) {
+            long stamp = lock.writeLock();
+            try {
+                gravarCheckpoint();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        } else if (fragmentos != null && fragmentos.possuiSujos()) {
+            salvarDados(); // Conclui a migração do arquivo único ou a redistribuição das partições.
+        }
+
+        this.agendador = configuracao.isAgendamentoAtivo()
+                ? new AgendadorPersistencia(this::gravarPendentes, configuracao.getJanelaAgendamentoMillis(), configuracao.getMaxOperacoesPorEscrita())
+                : null;
     }
 
     /**
-     * Retorna uma cópia da lista de livros para evitar modificações externas.
-     * @return a lista de todos os livros.
+     * Retorna um instantâneo imutável dos livros, compartilhado entre as leituras até a próxima
+     * alteração do catálogo; a chamada não copia a coleção quando nada mudou.
+     * @return a lista imutável de todos os livros.
+     */
+    public List<Livro> getLivros() { return instantaneo(livros); }
+
+    /**
+     * Retorna um instantâneo imutável dos filmes, compartilhado entre as leituras até a próxima
+     * alteração do catálogo; a chamada não copia a coleção quando nada mudou.
+     * @return a lista imutável de todos os filmes.
      */
-    public List<Livro> getLivros() { return new ArrayList<>(this.livros); }
+    public List<Filme> getFilmes() { return instantaneo(filmes); }
 
     /**
-     * Retorna uma cópia da lista de filmes para evitar modificações externas.
-     * @return a lista de todos os filmes.
+     * Retorna um instantâneo imutável das séries, compartilhado entre as leituras até a próxima
+     * alteração do catálogo; a chamada não copia a coleção quando nada mudou.
+     * @return a lista imutável de todas as séries.
      */
-    public List<Filme> getFilmes() { return new ArrayList<>(this.filmes); }
+    public List<Serie> getSeries() { return instantaneo(series); }
 
     /**
-     * Retorna uma cópia da lista de séries para evitar modificações externas.
-     * @return a lista de todas as séries.
+     * Retorna os tempos de cada fase do carregamento feito na construção do catálogo.
+     * @return as métricas do carregamento (zeradas se não havia arquivo para carregar).
      */
-    public List<Serie> getSeries() { return new ArrayList<>(this.series); }
+    public MetricasCarregamento getMetricasCarregamento() { return metricasCarregamento; }
+
+    /**
+     * Retorna a versão do catálogo, que aumenta a cada alteração. Permite que uma tela
+     * saiba se os instantâneos que ela guardou ainda correspondem ao estado atual.
+     * @return a versão atual do catálogo.
+     */
+    public long getVersao() {
+        return livros.getVersao() + filmes.getVersao() + series.getVersao();
+    }
 
     /**
-     * Encontra um livro pelo título.
+     * Encontra um livro pelo título, sem distinção de maiúsculas e minúsculas, consultando o índice de títulos.
      * @param titulo O título a ser buscado.
      * @return um Optional contendo o Livro se encontrado, ou um Optional vazio.
      */
     public Optional<Livro> encontrarLivroPorTitulo(String titulo) {
-        return livros.stream()
-                .filter(l -> l.getTitulo().equalsIgnoreCase(titulo))
-                .findFirst();
+        return lerOtimista(() -> livros.primeira(titulo));
     }
 
     /**
-     * Encontra um filme pelo título.
+     * Encontra um livro pelo seu identificador numérico.
+     * @param id O identificador buscado.
+     * @return um Optional contendo o Livro se encontrado, ou um Optional vazio.
+     */
+    public Optional<Livro> encontrarLivroPorId(long id) {
+        return lerOtimista(() -> livros.comId(id));
+    }
+
+    /**
+     * Encontra um filme pelo título, sem distinção de maiúsculas e minúsculas, consultando o índice de títulos.
      * @param titulo O título a ser buscado.
      * @return um Optional contendo o Filme se encontrado, ou um Optional vazio.
      */
     public Optional<Filme> encontrarFilmePorTitulo(String titulo) {
-        return filmes.stream()
-                .filter(f -> f.getTitulo().equalsIgnoreCase(titulo))
-                .findFirst();
+        return lerOtimista(() -> filmes.primeira(titulo));
     }
 
     /**
-     * Encontra uma série pelo título.
+     * Encontra um filme pelo seu identificador numérico.
+     * @param id O identificador buscado.
+     * @return um Optional contendo o Filme se encontrado, ou um Optional vazio.
+     */
+    public Optional<Filme> encontrarFilmePorId(long id) {
+        return lerOtimista(() -> filmes.comId(id));
+    }
+
+    /**
+     * Encontra uma série pelo título, sem distinção de maiúsculas e minúsculas, consultando o índice de títulos.
      * @param titulo O título a ser buscado.
      * @return um Optional contendo a Serie se encontrada, ou um Optional vazio.
      */
     public Optional<Serie> encontrarSeriePorTitulo(String titulo) {
-        return series.stream()
-                .filter(s -> s.getTitulo().equalsIgnoreCase(titulo))
-                .findFirst();
+        return lerOtimista(() -> series.primeira(titulo));
+    }
+
+    /**
+     * Encontra uma série pelo seu identificador numérico.
+     * @param id O identificador buscado.
+     * @return um Optional contendo a Serie se encontrada, ou um Optional vazio.
+     */
+    public Optional<Serie> encontrarSeriePorId(long id) {
+        return lerOtimista(() -> series.comId(id));
+    }
+
+    /**
+     * Encontra uma mídia de qualquer tipo pelo seu identificador numérico, que é único
+     * entre livros, filmes e séries.
+     * @param id O identificador buscado.
+     * @return um Optional contendo a mídia se encontrada, ou um Optional vazio.
+     */
+    public Optional<Midia> encontrarMidiaPorId(long id) {
+        return lerOtimista(() -> livros.comId(id).<Midia>map(m -> m)
+                .or(() -> filmes.comId(id))
+                .or(() -> series.comId(id)));
+    }
+
+    /**
+     * Busca os livros de um autor, sem distinção de maiúsculas e minúsculas, consultando o índice de autores.
+     * @param autor O nome completo do autor.
+     * @return os livros do autor, na ordem dos identificadores.
+     */
+    public List<Livro> buscarLivrosPorAutor(String autor) {
+        return lerComLock(() -> livros.comIds(livrosPorAutor.ids(chaveDe(autor))));
+    }
+
+    /**
+     * Busca os livros de um gênero, sem distinção de maiúsculas e minúsculas, consultando o índice de gêneros.
+     * @param genero O gênero buscado.
+     * @return os livros do gênero, na ordem dos identificadores.
+     */
+    public List<Livro> buscarLivrosPorGenero(String genero) {
+        return buscarPorGenero(livros, genero);
+    }
+
+    /**
+     * Busca os livros lançados em um ano, consultando o índice de anos.
+     * @param ano O ano de lançamento.
+     * @return os livros do ano, na ordem dos identificadores.
+     */
+    public List<Livro> buscarLivrosPorAno(int ano) {
+        return filtrarLivros(FiltroMidias.todas().comAnos(ano));
+    }
+
+    /**
+     * Filtra os livros pela combinação dos critérios do filtro (gênero, ano, consumo e
+     * avaliação), respondida pelos bitmaps dos índices.
+     * @param filtro Os critérios a serem atendidos.
+     * @return uma nova lista com os livros que atendem a todos os critérios, na ordem dos
+     *         identificadores (todos os livros, na ordem de inserção, se o filtro estiver vazio).
+     */
+    public List<Livro> filtrarLivros(FiltroMidias filtro) {
+        return lerComLock(() -> livros.filtrar(filtro));
+    }
+
+    /**
+     * Filtra os livros pela combinação dos critérios informados, cruzando os conjuntos dos
+     * índices a partir do menor. Critérios nulos (e gêneros em branco) não filtram.
+     * @param trechoAutor Trecho do nome do autor, sem distinção de maiúsculas e minúsculas.
+     * @param genero O gênero exato, sem distinção de maiúsculas e minúsculas.
+     * @param ano O ano de lançamento.
+     * @return os livros que atendem a todos os critérios, na ordem dos identificadores
+     *         (todos os livros, na ordem de inserção, se nenhum critério for informado).
+     */
+    public List<Livro> filtrarLivros(String trechoAutor, String genero, Integer ano) {
+        return filtrarLivros(null, trechoAutor, genero, ano);
+    }
+
+    /**
+     * Filtra os livros pela combinação dos critérios informados, incluindo um trecho do
+     * título, resolvido pelo índice textual. Critérios nulos (e gêneros em branco) não filtram.
+     * @param trechoTitulo Trecho do título, sem distinção de acentos, maiúsculas e minúsculas.
+     * @param trechoAutor Trecho do nome do autor, sem distinção de maiúsculas e minúsculas.
+     * @param genero O gênero exato, sem distinção de maiúsculas e minúsculas.
+     * @param ano O ano de lançamento.
+     * @return os livros que atendem a todos os critérios, na ordem dos identificadores
+     *         (todos os livros, na ordem de inserção, se nenhum critério for informado).
+     */
+    public List<Livro> filtrarLivros(String trechoTitulo, String trechoAutor, String genero, Integer ano) {
+        FiltroMidias filtro = filtroPorGeneroEAno(genero, ano);
+        if (trechoTitulo == null && trechoAutor == null && filtro.isVazio()) {
+            return getLivros();
+        }
+        return lerComLock(() -> livros.filtrar(filtro,
+                trechoTitulo != null ? textosLivros.ids(trechoDoTitulo(trechoTitulo)) : null,
+                trechoAutor != null ? livrosPorAutor.idsOnde(contendo(trechoAutor)) : null));
+    }
+
+    /**
+     * Pesquisa os livros no índice textual (título, review e autor).
+     * @param consulta A consulta textual.
+     * @return os livros encontrados, na ordem dos identificadores (todos os livros, na ordem
+     *         de inserção, se a consulta for um trecho sem letras nem dígitos; dos mais
+     *         próximos aos mais distantes, se for aproximada).
+     */
+    public List<Livro> pesquisarLivros(ConsultaTextual consulta) {
+        return pesquisar(livros, textosLivros, consulta);
+    }
+
+    /**
+     * Responde uma consulta composta aos livros, com critérios sobre título, autor, ISBN,
+     * gênero, anos, nota mínima e consumo combinados com E e OU ({@link ConsultaMidias}).
+     * Os critérios mais seletivos são resolvidos primeiro pelos índices, e os demais são
+     * conferidos apenas nos livros restantes.
+     * @param consulta A consulta.
+     * @return os livros que atendem à consulta, na ordem dos identificadores.
+     * @throws IllegalArgumentException se a consulta usar um critério de filmes (direção ou ator).
+     */
+    public List<Livro> consultarLivros(ConsultaMidias consulta) {
+        return lerComLock(() -> consultasLivros.executar(consulta));
+    }
+
+    /**
+     * Busca os filmes de um diretor, sem distinção de maiúsculas e minúsculas, consultando o índice de direção.
+     * @param diretor O nome completo do diretor.
+     * @return os filmes do diretor, na ordem dos identificadores.
+     */
+    public List<Filme> buscarFilmesPorDiretor(String diretor) {
+        return lerComLock(() -> filmes.comIds(filmesPorDiretor.ids(chaveDe(diretor))));
+    }
+
+    /**
+     * Busca os filmes em cujo elenco está o ator, sem distinção de maiúsculas e minúsculas,
+     * consultando o índice de elenco.
+     * @param ator O nome completo do ator.
+     * @return os filmes do ator, na ordem dos identificadores.
+     */
+    public List<Filme> buscarFilmesPorAtor(String ator) {
+        return lerComLock(() -> filmes.comIds(filmesPorAtor.ids(chaveDe(ator))));
+    }
+
+    /**
+     * Busca os filmes de um gênero, sem distinção de maiúsculas e minúsculas, consultando o índice de gêneros.
+     * @param genero O gênero buscado.
+     * @return os filmes do gênero, na ordem dos identificadores.
+     */
+    public List<Filme> buscarFilmesPorGenero(String genero) {
+        return buscarPorGenero(filmes, genero);
+    }
+
+    /**
+     * Busca os filmes lançados em um ano, consultando o índice de anos.
+     * @param ano O ano de lançamento.
+     * @return os filmes do ano, na ordem dos identificadores.
+     */
+    public List<Filme> buscarFilmesPorAno(int ano) {
+        return filtrarFilmes(FiltroMidias.todas().comAnos(ano));
+    }
+
+    /**
+     * Filtra os filmes pela combinação dos critérios do filtro (gênero, ano, consumo e
+     * avaliação), respondida pelos bitmaps dos índices.
+     * @param filtro Os critérios a serem atendidos.
+     * @return uma nova lista com os filmes que atendem a todos os critérios, na ordem dos
+     *         identificadores (todos os filmes, na ordem de inserção, se o filtro estiver vazio).
+     */
+    public List<Filme> filtrarFilmes(FiltroMidias filtro) {
+        return lerComLock(() -> filmes.filtrar(filtro));
+    }
+
+    /**
+     * Filtra os filmes pela combinação dos critérios informados, cruzando os conjuntos dos
+     * índices a partir do menor. Critérios nulos (e gêneros em branco) não filtram.
+     * @param trechoDiretor Trecho do nome do diretor, sem distinção de maiúsculas e minúsculas.
+     * @param trechoAtor Trecho do nome de algum ator do elenco, sem distinção de maiúsculas e minúsculas.
+     * @param genero O gênero exato, sem distinção de maiúsculas e minúsculas.
+     * @param ano O ano de lançamento.
+     * @return os filmes que atendem a todos os critérios, na ordem dos identificadores
+     *         (todos os filmes, na ordem de inserção, se nenhum critério for informado).
+     */
+    public List<Filme> filtrarFilmes(String trechoDiretor, String trechoAtor, String genero, Integer ano) {
+        return filtrarFilmes(null, trechoDiretor, trechoAtor, genero, ano);
+    }
+
+    /**
+     * Filtra os filmes pela combinação dos critérios informados, incluindo um trecho do
+     * título, resolvido pelo índice textual. Critérios nulos (e gêneros em branco) não filtram.
+     * @param trechoTitulo Trecho do título, sem distinção de acentos, maiúsculas e minúsculas.
+     * @param trechoDiretor Trecho do nome do diretor, sem distinção de maiúsculas e minúsculas.
+     * @param trechoAtor Trecho do nome de algum ator do elenco, sem distinção de maiúsculas e minúsculas.
+     * @param genero O gênero exato, sem distinção de maiúsculas e minúsculas.
+     * @param ano O ano de lançamento.
+     * @return os filmes que atendem a todos os critérios, na ordem dos identificadores
+     *         (todos os filmes, na ordem de inserção, se nenhum critério for informado).
+     */
+    public List<Filme> filtrarFilmes(String trechoTitulo, String trechoDiretor, String trechoAtor,
+                                     String genero, Integer ano) {
+        FiltroMidias filtro = filtroPorGeneroEAno(genero, ano);
+        if (trechoTitulo == null && trechoDiretor == null && trechoAtor == null && filtro.isVazio()) {
+            return getFilmes();
+        }
+        return lerComLock(() -> filmes.filtrar(filtro,
+                trechoTitulo != null ? textosFilmes.ids(trechoDoTitulo(trechoTitulo)) : null,
+                trechoDiretor != null ? filmesPorDiretor.idsOnde(contendo(trechoDiretor)) : null,
+                trechoAtor != null ? filmesPorAtor.idsOnde(contendo(trechoAtor)) : null));
+    }
+
+    /**
+     * Pesquisa os filmes no índice textual (título, título original, review, direção e elenco).
+     * @param consulta A consulta textual.
+     * @return os filmes encontrados, na ordem dos identificadores (todos os filmes, na ordem
+     *         de inserção, se a consulta for um trecho sem letras nem dígitos; dos mais
+     *         próximos aos mais distantes, se for aproximada).
+     */
+    public List<Filme> pesquisarFilmes(ConsultaTextual consulta) {
+        return pesquisar(filmes, textosFilmes, consulta);
+    }
+
+    /**
+     * Responde uma consulta composta aos filmes, com critérios sobre título, direção, elenco,
+     * gênero, anos, nota mínima e consumo combinados com E e OU ({@link ConsultaMidias}).
+     * @param consulta A consulta.
+     * @return os filmes que atendem à consulta, na ordem dos identificadores.
+     * @throws IllegalArgumentException se a consulta usar um critério de livros (autor ou ISBN).
+     */
+    public List<Filme> consultarFilmes(ConsultaMidias consulta) {
+        return lerComLock(() -> consultasFilmes.executar(consulta));
+    }
+
+    /**
+     * Busca as séries de um gênero, sem distinção de maiúsculas e minúsculas, consultando o índice de gêneros.
+     * @param genero O gênero buscado.
+     * @return as séries do gênero, na ordem dos identificadores.
+     */
+    public List<Serie> buscarSeriesPorGenero(String genero) {
+        return buscarPorGenero(series, genero);
+    }
+
+    /**
+     * Busca as séries lançadas em um ano, consultando o índice de anos.
+     * @param ano O ano de lançamento.
+     * @return as séries do ano, na ordem dos identificadores.
+     */
+    public List<Serie> buscarSeriesPorAno(int ano) {
+        return filtrarSeries(FiltroMidias.todas().comAnos(ano));
+    }
+
+    /**
+     * Filtra as séries pela combinação dos critérios do filtro (gênero, ano, consumo e
+     * avaliação), respondida pelos bitmaps dos índices. A avaliação e o consumo de uma
+     * série são os derivados das suas temporadas.
+     * @param filtro Os critérios a serem atendidos.
+     * @return uma nova lista com as séries que atendem a todos os critérios, na ordem dos
+     *         identificadores (todas as séries, na ordem de inserção, se o filtro estiver vazio).
+     */
+    public List<Serie> filtrarSeries(FiltroMidias filtro) {
+        return lerComLock(() -> series.filtrar(filtro));
+    }
+
+    /**
+     * Filtra as séries por gênero e ano, cruzando os conjuntos dos índices. Critérios nulos
+     * (e gêneros em branco) não filtram.
+     * @param genero O gênero exato, sem distinção de maiúsculas e minúsculas.
+     * @param ano O ano de lançamento.
+     * @return as séries que atendem aos critérios, na ordem dos identificadores
+     *         (todas as séries, na ordem de inserção, se nenhum critério for informado).
+     */
+    public List<Serie> filtrarSeries(String genero, Integer ano) {
+        FiltroMidias filtro = filtroPorGeneroEAno(genero, ano);
+        return filtro.isVazio() ? getSeries() : filtrarSeries(filtro);
+    }
+
+    /**
+     * Pesquisa as séries no índice textual (título, título original, reviews da série e das temporadas e elenco).
+     * @param consulta A consulta textual.
+     * @return as séries encontradas, na ordem dos identificadores (todas as séries, na ordem
+     *         de inserção, se a consulta for um trecho sem letras nem dígitos; das mais
+     *         próximas às mais distantes, se for aproximada).
+     */
+    public List<Serie> pesquisarSeries(ConsultaTextual consulta) {
+        return pesquisar(series, textosSeries, consulta);
+    }
+
+    /**
+     * Responde uma consulta composta às séries, com critérios sobre título, elenco, gênero,
+     * anos, nota mínima e consumo combinados com E e OU ({@link ConsultaMidias}). O trecho
+     * do nome de um ator é buscado no índice textual, sem distinção de acentos.
+     * @param consulta A consulta.
+     * @return as séries que atendem à consulta, na ordem dos identificadores.
+     * @throws IllegalArgumentException se a consulta usar um critério de livros ou de direção.
+     */
+    public List<Serie> consultarSeries(ConsultaMidias consulta) {
+        return lerComLock(() -> consultasSeries.executar(consulta));
+    }
+
+    /**
+     * Sugere valores da fonte informada com alguma palavra começando pelo prefixo, para a
+     * busca enquanto o usuário digita. Ver {@link #getSugestoes(DicionarioSugestoes.Fonte)}.
+     * @param fonte A origem dos valores (títulos, autores, diretores ou atores).
+     * @param prefixo O início digitado, sem distinção de acentos, maiúsculas e minúsculas.
+     * @param limite A quantidade máxima de sugestões.
+     * @return as sugestões, sem repetições.
+     */
+    public List<String> sugerir(DicionarioSugestoes.Fonte fonte, String prefixo, int limite) {
+        return getSugestoes(fonte).comPrefixo(prefixo, limite);
+    }
+
+    /**
+     * Retorna o dicionário de sugestões da fonte informada. O dicionário é imutável e
+     * compartilhado pelas consultas até que a coleção de origem seja alterada; o primeiro
+     * pedido depois de uma alteração o reconstrói, fora do lock, a partir do instantâneo da coleção.
+     * @param fonte A origem dos valores.
+     * @return o dicionário atualizado.
+     */
+    public DicionarioSugestoes getSugestoes(DicionarioSugestoes.Fonte fonte) {
+        ColecaoMidias<?> colecao = switch (fonte) {
+            case TITULOS_DE_LIVROS, AUTORES -> livros;
+            case TITULOS_DE_FILMES, DIRETORES, ATORES -> filmes;
+            case TITULOS_DE_SERIES -> series;
+        };
+        long versao = colecao.getVersao();
+        DicionarioSugestoes atual = sugestoes.get(fonte);
+        if (atual == null || atual.getVersao() != versao) {
+            atual = DicionarioSugestoes.construir(valoresSugeridos(fonte), versao);
+            sugestoes.put(fonte, atual);
+        }
+        return atual;
+    }
+
+    /**
+     * Calcula os agregados dos livros: quantidades, nota média, distribuição das notas e dos
+     * anos de lançamento e período de consumo. Com o espelho colunar ativo
+     * ({@link ConfiguracaoCatalogo#comEspelhoColunar(boolean)}), a passada percorre apenas
+     * vetores primitivos; sem ele, percorre os livros.
+     * @return as estatísticas de todos os livros.
+     */
+    public EstatisticasMidias getEstatisticasLivros() {
+        return estatisticas(livros, colunasLivros, null, null, null);
+    }
+
+    /**
+     * Calcula os agregados dos livros consumidos no período informado.
+     * @param inicio A primeira data de consumo aceita, ou null para não limitar.
+     * @param fim A última data de consumo aceita, ou null para não limitar.
+     * @return as estatísticas dos livros com data de consumo no período.
+     * @throws IllegalArgumentException se o fim for anterior ao início.
+     */
+    public EstatisticasMidias getEstatisticasLivros(LocalDate inicio, LocalDate fim) {
+        return estatisticas(livros, colunasLivros, null, inicio, fim);
+    }
+
+    /**
+     * Calcula os agregados dos filmes, incluindo a duração somada (de todos e dos consumidos).
+     * Usa o espelho colunar, se ativo, como {@link #getEstatisticasLivros()}.
+     * @return as estatísticas de todos os filmes.
+     */
+    public EstatisticasMidias getEstatisticasFilmes() {
+        return estatisticas(filmes, colunasFilmes, SEGUNDOS_DO_FILME, null, null);
+    }
+
+    /**
+     * Calcula os agregados dos filmes consumidos no período informado.
+     * @param inicio A primeira data de consumo aceita, ou null para não limitar.
+     * @param fim A última data de consumo aceita, ou null para não limitar.
+     * @return as estatísticas dos filmes com data de consumo no período.
+     * @throws IllegalArgumentException se o fim for anterior ao início.
+     */
+    public EstatisticasMidias getEstatisticasFilmes(LocalDate inicio, LocalDate fim) {
+        return estatisticas(filmes, colunasFilmes, SEGUNDOS_DO_FILME, inicio, fim);
+    }
+
+    /**
+     * Calcula os agregados das séries, com a avaliação e o consumo derivados das temporadas.
+     * Usa o espelho colunar, se ativo, como {@link #getEstatisticasLivros()}.
+     * @return as estatísticas de todas as séries.
+     */
+    public EstatisticasMidias getEstatisticasSeries() {
+        return estatisticas(series, colunasSeries, null, null, null);
+    }
+
+    /**
+     * Calcula os agregados das séries consumidas no período informado.
+     * @param inicio A primeira data de consumo aceita, ou null para não limitar.
+     * @param fim A última data de consumo aceita, ou null para não limitar.
+     * @return as estatísticas das séries com data de consumo no período.
+     * @throws IllegalArgumentException se o fim for anterior ao início.
+     */
+    public EstatisticasMidias getEstatisticasSeries(LocalDate inicio, LocalDate fim) {
+        return estatisticas(series, colunasSeries, null, inicio, fim);
     }
 
     /**
@@ -116,12 +687,16 @@ public class Catalogo {
      * @return true se o livro foi adicionado com sucesso, false caso contrário.
      */
     public boolean adicionarLivro(Livro livro) {
-        if (livros.contains(livro)) {
-            return false;
+        long stamp = lock.writeLock();
+        try {
+            if (!livros.adicionar(livro)) {
+                return false;
+            }
+            registrar(RegistroMutacao.comMidia(RegistroMutacao.Operacao.ADICIONAR_LIVRO, gson.toJsonTree(livro)));
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        livros.add(livro);
-        salvarDados();
-        return true;
     }
 
     /**
@@ -130,12 +705,16 @@ public class Catalogo {
      * @return true se o filme foi adicionado com sucesso, false caso contrário.
      */
     public boolean adicionarFilme(Filme filme) {
-        if (filmes.contains(filme)) {
-            return false;
+        long stamp = lock.writeLock();
+        try {
+            if (!filmes.adicionar(filme)) {
+                return false;
+            }
+            registrar(RegistroMutacao.comMidia(RegistroMutacao.Operacao.ADICIONAR_FILME, gson.toJsonTree(filme)));
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        filmes.add(filme);
-        salvarDados();
-        return true;
     }
 
     /**
@@ -144,42 +723,98 @@ public class Catalogo {
      * @return true se a série foi adicionada com sucesso, false caso contrário.
      */
     public boolean adicionarSerie(Serie serie) {
-        if (series.contains(serie)) {
-            return false;
+        long stamp = lock.writeLock();
+        try {
+            if (!series.adicionar(serie)) {
+                return false;
+            }
+            registrar(RegistroMutacao.comMidia(RegistroMutacao.Operacao.ADICIONAR_SERIE, gson.toJsonTree(serie)));
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        series.add(serie);
-        salvarDados();
-        return true;
     }
 
     /**
-     * Atualiza um livro existente no catálogo. Remove o antigo e adiciona a nova versão.
+     * Atualiza um livro existente no catálogo. A nova versão ocupa a posição da antiga;
+     * se o livro não existir, ele é adicionado ao final.
      * @param livroAtualizado O objeto Livro com os dados atualizados.
      */
     public void atualizarLivro(Livro livroAtualizado) {
-        livros.remove(livroAtualizado);
-        livros.add(livroAtualizado);
-        salvarDados();
+        long stamp = lock.writeLock();
+        try {
+            livros.atualizar(livroAtualizado);
+            registrar(RegistroMutacao.comMidia(RegistroMutacao.Operacao.ATUALIZAR_LIVRO, gson.toJsonTree(livroAtualizado)));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
-     * Atualiza um filme existente no catálogo. Remove o antigo e adiciona a nova versão.
+     * Atualiza um filme existente no catálogo. A nova versão ocupa a posição da antiga;
+     * se o filme não existir, ele é adicionado ao final.
      * @param filmeAtualizado O objeto Filme com os dados atualizados.
      */
     public void atualizarFilme(Filme filmeAtualizado) {
-        filmes.remove(filmeAtualizado);
-        filmes.add(filmeAtualizado);
-        salvarDados();
+        long stamp = lock.writeLock();
+        try {
+            filmes.atualizar(filmeAtualizado);
+            registrar(RegistroMutacao.comMidia(RegistroMutacao.Operacao.ATUALIZAR_FILME, gson.toJsonTree(filmeAtualizado)));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
-     * Atualiza uma série existente no catálogo. Remove a antiga e adiciona a nova versão.
+     * Atualiza uma série existente no catálogo. A nova versão ocupa a posição da antiga;
+     * se a série não existir, ela é adicionada ao final.
      * @param serieAtualizada O objeto Serie com os dados atualizados.
      */
     public void atualizarSerie(Serie serieAtualizada) {
-        series.remove(serieAtualizada);
-        series.add(serieAtualizada);
-        salvarDados();
+        long stamp = lock.writeLock();
+        try {
+            series.atualizar(serieAtualizada);
+            registrar(RegistroMutacao.comMidia(RegistroMutacao.Operacao.ATUALIZAR_SERIE, gson.toJsonTree(serieAtualizada)));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Altera um livro do catálogo sem expor a alteração pela metade: a alteração é aplicada,
+     * sob o lock de escrita, a uma cópia da versão guardada, que então a substitui. Os
+     * instantâneos já publicados continuam com a versão anterior, intacta; se a alteração
+     * lançar uma exceção, o catálogo não muda.
+     * @param livro O livro a alterar.
+     * @param alteracao A alteração, aplicada à cópia.
+     * @return a nova versão do livro, guardada no catálogo.
+     * @throws IllegalArgumentException se o livro não estiver mais no catálogo (removido por outra thread, por exemplo).
+     */
+    public Livro alterarLivro(Livro livro, Consumer<? super Livro> alteracao) {
+        return alterar(livros, livro, Livro.class, alteracao, RegistroMutacao.Operacao.ATUALIZAR_LIVRO);
+    }
+
+    /**
+     * Altera um filme do catálogo em uma cópia, como {@link #alterarLivro(Livro, Consumer)}.
+     * @param filme O filme a alterar.
+     * @param alteracao A alteração, aplicada à cópia.
+     * @return a nova versão do filme, guardada no catálogo.
+     * @throws IllegalArgumentException se o filme não estiver mais no catálogo.
+     */
+    public Filme alterarFilme(Filme filme, Consumer<? super Filme> alteracao) {
+        return alterar(filmes, filme, Filme.class, alteracao, RegistroMutacao.Operacao.ATUALIZAR_FILME);
+    }
+
+    /**
+     * Altera uma série do catálogo (inclusive as suas temporadas) em uma cópia, como
+     * {@link #alterarLivro(Livro, Consumer)}.
+     * @param serie A série a alterar.
+     * @param alteracao A alteração, aplicada à cópia.
+     * @return a nova versão da série, guardada no catálogo.
+     * @throws IllegalArgumentException se a série não estiver mais no catálogo.
+     */
+    public Serie alterarSerie(Serie serie, Consumer<? super Serie> alteracao) {
+        return alterar(series, serie, Serie.class, alteracao, RegistroMutacao.Operacao.ATUALIZAR_SERIE);
     }
 
     /**
@@ -188,9 +823,35 @@ public class Catalogo {
      * @return true se o livro foi removido, false caso contrário.
      */
     public boolean removerLivro(String titulo) {
-        boolean removido = livros.removeIf(l -> l.getTitulo().equalsIgnoreCase(titulo));
-        if (removido) salvarDados();
-        return removido;
+        long stamp = lock.writeLock();
+        try {
+            boolean removido = livros.removerTitulo(titulo);
+            if (removido) registrar(RegistroMutacao.comTitulo(RegistroMutacao.Operacao.REMOVER_LIVRO, titulo));
+            return removido;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove um livro do catálogo pelo seu identificador numérico. Ao contrário da remoção
+     * pelo título, não afeta outros livros homônimos.
+     * @param id O identificador do livro a ser removido.
+     * @return true se o livro foi removido, false caso contrário.
+     */
+    public boolean removerLivroPorId(long id) {
+        long stamp = lock.writeLock();
+        try {
+            Optional<Livro> livro = livros.comId(id);
+            if (livro.isEmpty()) {
+                return false;
+            }
+            livros.removerId(id);
+            registrar(RegistroMutacao.comId(RegistroMutacao.Operacao.REMOVER_LIVRO, livro.get().getTitulo(), id));
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -199,9 +860,35 @@ public class Catalogo {
      * @return true se o filme foi removido, false caso contrário.
      */
     public boolean removerFilme(String titulo) {
-        boolean removido = filmes.removeIf(f -> f.getTitulo().equalsIgnoreCase(titulo));
-        if (removido) salvarDados();
-        return removido;
+        long stamp = lock.writeLock();
+        try {
+            boolean removido = filmes.removerTitulo(titulo);
+            if (removido) registrar(RegistroMutacao.comTitulo(RegistroMutacao.Operacao.REMOVER_FILME, titulo));
+            return removido;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove um filme do catálogo pelo seu identificador numérico. Ao contrário da remoção
+     * pelo título, não afeta outros filmes homônimos.
+     * @param id O identificador do filme a ser removido.
+     * @return true se o filme foi removido, false caso contrário.
+     */
+    public boolean removerFilmePorId(long id) {
+        long stamp = lock.writeLock();
+        try {
+            Optional<Filme> filme = filmes.comId(id);
+            if (filme.isEmpty()) {
+                return false;
+            }
+            filmes.removerId(id);
+            registrar(RegistroMutacao.comId(RegistroMutacao.Operacao.REMOVER_FILME, filme.get().getTitulo(), id));
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -210,69 +897,734 @@ public class Catalogo {
      * @return true se a série foi removida, false caso contrário.
      */
     public boolean removerSerie(String titulo) {
-        boolean removido = series.removeIf(s -> s.getTitulo().equalsIgnoreCase(titulo));
-        if (removido) salvarDados();
-        return removido;
+        long stamp = lock.writeLock();
+        try {
+            boolean removido = series.removerTitulo(titulo);
+            if (removido) registrar(RegistroMutacao.comTitulo(RegistroMutacao.Operacao.REMOVER_SERIE, titulo));
+            return removido;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove uma série do catálogo pelo seu identificador numérico. Ao contrário da remoção
+     * pelo título, não afeta outras séries homônimas.
+     * @param id O identificador da série a ser removida.
+     * @return true se a série foi removida, false caso contrário.
+     */
+    public boolean removerSeriePorId(long id) {
+        long stamp = lock.writeLock();
+        try {
+            Optional<Serie> serie = series.comId(id);
+            if (serie.isEmpty()) {
+                return false;
+            }
+            series.removerId(id);
+            registrar(RegistroMutacao.comId(RegistroMutacao.Operacao.REMOVER_SERIE, serie.get().getTitulo(), id));
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
-     * Remove uma temporada específica de uma série.
+     * Remove uma temporada específica de uma série. Como nas demais alterações, a remoção é
+     * feita em uma cópia da série, que então substitui a versão publicada.
      * @param tituloSerie O título da série da qual a temporada será removida.
      * @param numeroTemporada O número da temporada a ser removida.
      * @return true se a temporada foi encontrada e removida, false caso contrário.
      */
     public boolean removerTemporada(String tituloSerie, int numeroTemporada) {
-        Optional<Serie> serieOpt = encontrarSeriePorTitulo(tituloSerie);
-        if (serieOpt.isPresent()) {
-            Serie serie = serieOpt.get();
-            boolean removido = serie.removerTemporada(numeroTemporada);
-            if (removido) {
-                salvarDados();
-                return true;
+        long stamp = lock.writeLock();
+        try {
+            Optional<Serie> serieOpt = series.primeira(tituloSerie);
+            if (serieOpt.isEmpty() || serieOpt.get().getTemporada(numeroTemporada).isEmpty()) {
+                return false;
             }
+            Serie copia = copiar(series, serieOpt.get(), Serie.class);
+            copia.removerTemporada(numeroTemporada);
+            series.atualizar(copia); // Publica um novo instantâneo e uma nova versão.
+            registrar(RegistroMutacao.remocaoTemporada(tituloSerie, numeroTemporada));
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        return false;
     }
 
     /**
-     * Salva o conteúdo de todas as listas de mídias em um único arquivo JSON.
+     * Grava um checkpoint: regrava o snapshot JSON completo e descarta o journal.
+     * Sem journal ativo, equivale a simplesmente salvar o snapshot.
+     */
+    public void checkpoint() {
+        long stamp = lock.writeLock();
+        try {
+            gravarCheckpoint();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Força a gravação imediata das mutações ainda pendentes no agendador.
+     * Sem agendamento ativo, as mutações já são gravadas de forma síncrona e este método não faz nada.
+     */
+    public void flush() {
+        if (agendador != null) {
+            agendador.flush();
+        }
+    }
+
+    /**
+     * Retorna quantas escritas em disco foram evitadas pelo agrupamento das mutações.
+     * @return o número de escritas economizadas (0 sem agendamento ativo).
+     */
+    public long getEscritasEconomizadas() {
+        return agendador != null ? agendador.getEscritasEconomizadas() : 0;
+    }
+
+    /**
+     * Exporta o catálogo completo para um arquivo JSON formatado, independentemente do
+     * formato do snapshot configurado, para backup ou uso em outras ferramentas.
+     * @param caminhoArquivo O caminho do arquivo JSON de destino.
+     */
+    public void exportarJson(String caminhoArquivo) {
+        List<Livro> livrosExportados;
+        List<Filme> filmesExportados;
+        List<Serie> seriesExportadas;
+        long stamp = lock.readLock();
+        try {
+            livrosExportados = livros.instantaneo();
+            filmesExportados = filmes.instantaneo();
+            seriesExportadas = series.instantaneo();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        byte[] conteudo = serializarJson(livrosExportados, filmesExportados, seriesExportadas);
+        try {
+            EscritorAtomico.gravar(Paths.get(caminhoArquivo), conteudo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao exportar o catálogo para JSON.", e);
+        }
+    }
+
+    /**
+     * Importa um arquivo JSON no formato do snapshot, substituindo todo o conteúdo do
+     * catálogo, e grava imediatamente um checkpoint no formato configurado.
+     * @param caminhoArquivo O caminho do arquivo JSON de origem.
+     */
+    public void importarJson(String caminhoArquivo) {
+        long stamp = lock.writeLock();
+        try {
+            List<Livro> novosLivros = new ArrayList<>();
+            List<Filme> novosFilmes = new ArrayList<>();
+            List<Serie> novasSeries = new ArrayList<>();
+            try (JsonReader reader = new JsonReader(Files.newBufferedReader(Paths.get(caminhoArquivo)))) {
+                new LeitorCatalogoJson(gson).carregar(reader, novosLivros::add, novosFilmes::add, novasSeries::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao importar o catálogo do arquivo JSON.", e);
+            }
+            livros.substituirTudo(novosLivros);
+            filmes.substituirTudo(novosFilmes);
+            series.substituirTudo(novasSeries);
+            if (fragmentos != null) {
+                fragmentos.marcarTodosSujos();
+            }
+            gravarCheckpoint();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Grava as mutações pendentes e fecha os recursos de persistência abertos pelo
+     * catálogo (thread de gravação e arquivo de journal).
+     */
+    @Override
+    public void close() {
+        if (agendador != null) {
+            agendador.close();
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao fechar o journal de mutações.", e);
+            }
+        }
+    }
+
+    /**
+     * Grava o checkpoint; deve ser chamado com o lock de escrita.
+     */
+    private void gravarCheckpoint() {
+        salvarDados();
+        if (journal != null) {
+            registrosNaoGravados.clear();
+            journal.truncar();
+        }
+    }
+
+    /**
+     * Monta o filtro equivalente aos parâmetros avulsos de gênero e ano.
+     */
+    private static FiltroMidias filtroPorGeneroEAno(String genero, Integer ano) {
+        FiltroMidias filtro = FiltroMidias.todas().comGeneros(genero);
+        return ano != null ? filtro.comAnos(ano) : filtro;
+    }
+
+    /**
+     * Busca exata por gênero; um gênero nulo ou em branco não corresponde a nenhuma mídia.
+     */
+    private <T extends Midia> List<T> buscarPorGenero(ColecaoMidias<T> colecao, String genero) {
+        if (genero == null || genero.isBlank()) {
+            return new ArrayList<>();
+        }
+        return lerComLock(() -> colecao.filtrar(FiltroMidias.todas().comGeneros(genero)));
+    }
+
+    /**
+     * Normaliza um valor buscado nos índices textuais; um valor nulo não corresponde a nenhuma chave.
+     */
+    private static String chaveDe(String valor) {
+        return valor != null ? IndiceTitulos.chave(valor) : null;
+    }
+
+    /**
+     * Filtro dos valores normalizados de um índice que contêm o trecho informado.
+     */
+    private static Predicate<String> contendo(String trecho) {
+        String chave = IndiceTitulos.chave(trecho);
+        return valor -> valor.contains(chave);
+    }
+
+    /**
+     * Conferência das mídias com algum valor normalizado (como um ator do elenco) que contém
+     * o trecho informado, normalizado uma única vez.
+     */
+    private static <T> Predicate<T> algumContendo(String trecho, Function<T, List<String>> valores) {
+        String chave = IndiceTitulos.chave(trecho);
+        return midia -> {
+            for (String valor : valores.apply(midia)) {
+                if (valor.contains(chave)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Consulta por trecho restrita ao título, como a busca das telas.
+     */
+    private static ConsultaTextual trechoDoTitulo(String trecho) {
+        return ConsultaTextual.trecho(trecho).nosCampos(ConsultaTextual.Campo.TITULO);
+    }
+
+    /**
+     * Fonte de um critério de trecho para as consultas compostas, resolvido no índice textual,
+     * no campo informado.
+     */
+    private static <T extends Midia> PlanejadorConsultas.Fonte<T> fonteTextual(IndiceTextual<T> indice,
+                                                                             ConsultaTextual.Campo campo) {
+        return new PlanejadorConsultas.Fonte<>() {
+            @Override
+            public int estimar(ConsultaMidias criterio) {
+                return indice.estimar(ConsultaTextual.trecho(criterio.getTexto()).nosCampos(campo));
+            }
+
+            @Override
+            public BitmapIds ids(ConsultaMidias criterio) {
+                return indice.ids(ConsultaTextual.trecho(criterio.getTexto()).nosCampos(campo));
+            }
+
+            @Override
+            public Predicate<T> conferencia(ConsultaMidias criterio) {
+                LongPredicate corresponde = indice.conferencia(ConsultaTextual.trecho(criterio.getTexto()).nosCampos(campo));
+                return midia -> corresponde.test(midia.getId());
+            }
+        };
+    }
+
+    /**
+     * Fonte de um critério sem índice, apenas conferido nas mídias (como o ISBN).
+     */
+    private static <T extends Midia> PlanejadorConsultas.Fonte<T> fonteSemIndice(Function<ConsultaMidias, Predicate<T>> conferencia) {
+        return new PlanejadorConsultas.Fonte<>() {
+            @Override
+            public int estimar(ConsultaMidias criterio) {
+                return Integer.MAX_VALUE;
+            }
+
+            @Override
+            public BitmapIds ids(ConsultaMidias criterio) {
+                return null;
+            }
+
+            @Override
+            public Predicate<T> conferencia(ConsultaMidias criterio) {
+                return conferencia.apply(criterio);
+            }
+        };
+    }
+
+    /**
+     * Responde uma consulta textual e materializa as mídias encontradas; as da busca
+     * aproximada vêm das mais próximas às mais distantes.
+     */
+    private <T extends Midia> List<T> pesquisar(ColecaoMidias<T> colecao, IndiceTextual<T> indice,
+                                                ConsultaTextual consulta) {
+        if (consulta.getModo() == ConsultaTextual.Modo.APROXIMADA) {
+            return lerComLock(() -> {
+                long[] ordenados = indice.porProximidade(consulta);
+                List<T> encontradas = new ArrayList<>(ordenados.length);
+                for (long id : ordenados) {
+                    colecao.comId(id).ifPresent(encontradas::add);
+                }
+                return encontradas;
+            });
+        }
+        List<T> encontradas = lerComLock(() -> {
+            BitmapIds conjunto = indice.ids(consulta);
+            return conjunto != null ? colecao.comIds(conjunto) : null;
+        });
+        return encontradas != null ? encontradas : new ArrayList<>(instantaneo(colecao));
+    }
+
+    /**
+     * Extrai do instantâneo da coleção os valores de uma fonte de sugestões.
+     */
+    private List<String> valoresSugeridos(DicionarioSugestoes.Fonte fonte) {
+        return switch (fonte) {
+            case TITULOS_DE_LIVROS -> getLivros().stream().map(Livro::getTitulo).toList();
+            case AUTORES -> getLivros().stream().map(Livro::getAutor).toList();
+            case TITULOS_DE_FILMES -> getFilmes().stream().map(Filme::getTitulo).toList();
+            case DIRETORES -> getFilmes().stream().map(Filme::getDirecao).toList();
+            case ATORES -> getFilmes().stream().flatMap(filme -> filme.getElenco().stream()).toList();
+            case TITULOS_DE_SERIES -> getSeries().stream().map(Serie::getTitulo).toList();
+        };
+    }
+
+    /**
+     * Textos da série para o campo de reviews: a review da série e as das temporadas.
+     */
+    private static List<String> reviewsDaSerie(Serie serie) {
+        List<String> textos = new ArrayList<>(serie.getTemporadasList().size() + 1);
+        textos.add(serie.getReviewTexto());
+        for (Temporada temporada : serie.getTemporadasList()) {
+            textos.add(temporada.getReviewTexto());
+        }
+        return textos;
+    }
+
+    /**
+     * Calcula as estatísticas de uma coleção pelo seu espelho colunar ou, sem ele, pelo
+     * instantâneo das mídias. Com algum limite de período, as mídias sem data de consumo
+     * ficam de fora.
+     */
+    private <T extends Midia> EstatisticasMidias estatisticas(ColecaoMidias<T> colecao, ColunasMidias<T> colunas,
+                                                           ToIntFunction<T> duracao, LocalDate inicio, LocalDate fim) {
+        if (inicio != null && fim != null && fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("A data final não pode ser anterior à inicial.");
+        }
+        boolean limitado = inicio != null || fim != null;
+        int primeiroDia = inicio != null ? (int) inicio.toEpochDay() : limitado ? Integer.MIN_VALUE + 1 : Integer.MIN_VALUE;
+        int ultimoDia = fim != null ? (int) fim.toEpochDay() : Integer.MAX_VALUE;
+        if (colunas != null) {
+            return lerComLock(() -> colunas.resumir(primeiroDia, ultimoDia));
+        }
+        return ColunasMidias.resumir(instantaneo(colecao), duracao, primeiroDia, ultimoDia);
+    }
+
+    /**
+     * Executa uma leitura otimista, sem lock: se alguma escrita tiver começado durante a
+     * leitura, o resultado é descartado e a leitura é repetida com o lock de leitura.
+     * Exceções lançadas pela leitura de um estado em modificação também levam à repetição.
+     * Só serve a buscas pontuais (por título ou identificador), que leem poucos campos e não
+     * podem entrar em laço; as que percorrem índices e coleções usam {@link #lerComLock}.
+     */
+    private <R> R lerOtimista(Supplier<R> leitura) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                R resultado = leitura.get();
+                if (lock.validate(stamp)) {
+                    return resultado;
+                }
+            } catch (RuntimeException e) {
+                // Estado lido no meio de uma escrita; repete abaixo, com o lock.
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return leitura.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Executa uma leitura sob o lock de leitura: filtros, consultas, buscas textuais e
+     * estatísticas percorrem mapas e bitmaps que não podem ser lidos durante uma escrita.
+     */
+    private <R> R lerComLock(Supplier<R> leitura) {
+        long stamp = lock.readLock();
+        try {
+            return leitura.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Retorna o instantâneo publicado de uma coleção ou, se ela foi alterada desde o
+     * último, cria um novo sob o lock de leitura, de modo que ele nunca reflete uma
+     * alteração aplicada pela metade.
+     */
+    private <T extends Midia> List<T> instantaneo(ColecaoMidias<T> colecao) {
+        List<T> publicado = colecao.instantaneoPublicado();
+        if (publicado != null) {
+            return publicado;
+        }
+        long stamp = lock.readLock();
+        try {
+            return colecao.instantaneo();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Persiste uma mutação. Com agendamento ativo, apenas enfileira a gravação;
+     * caso contrário, anexa o registro ao journal (disparando um checkpoint ao
+     * atingir o limite configurado) ou, sem journal, regrava o snapshot completo.
+     * @param registro O registro da mutação realizada.
+     */
+    private void registrar(RegistroMutacao registro) {
+        marcarFragmento(registro);
+        if (agendador != null) {
+            if (journal != null) {
+                registrosNaoGravados.add(registro);
+            }
+            agendador.agendar();
+            return;
+        }
+        if (journal == null) {
+            salvarDados();
+            return;
+        }
+        journal.anexar(registro);
+        if (journal.getRegistrosPendentes() >= configuracao.getLimiteCheckpoint()) {
+            gravarCheckpoint();
+        }
+    }
+
+    /**
+     * Executada pelo agendador em segundo plano: grava, em uma única escrita, todas as
+     * mutações acumuladas desde a última gravação. O estado é capturado sob o lock do
+     * catálogo, mas a escrita em disco do snapshot acontece fora dele.
+     */
+    private void gravarPendentes() {
+        if (journal == null) {
+            Map<Path, byte[]> arquivos;
+            long stamp = lock.writeLock();
+            try {
+                arquivos = serializarAlteracoes();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            gravarArquivos(arquivos);
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            journal.anexarTodos(registrosNaoGravados);
+            registrosNaoGravados.clear();
+            if (journal.getRegistrosPendentes() >= configuracao.getLimiteCheckpoint()) {
+                gravarCheckpoint();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copia a versão guardada da mídia pelos adaptadores da Gson, aplica a alteração à cópia e
+     * publica a cópia no lugar da original, tudo sob o lock de escrita.
+     */
+    private <T extends Midia> T alterar(ColecaoMidias<T> colecao, T midia, Class<T> tipo,
+                                        Consumer<? super T> alteracao, RegistroMutacao.Operacao operacao) {
+        long stamp = lock.writeLock();
+        try {
+            T copia = copiar(colecao, midia, tipo);
+            alteracao.accept(copia);
+            colecao.atualizar(copia);
+            registrar(RegistroMutacao.comMidia(operacao, gson.toJsonTree(copia)));
+            return copia;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copia, pelos adaptadores da Gson, a versão guardada da mídia; deve ser chamado com o
+     * lock de escrita.
+     * @throws IllegalArgumentException se a mídia não estiver mais na coleção: alterá-la a
+     *         recolocaria no catálogo e no journal.
+     */
+    private <T extends Midia> T copiar(ColecaoMidias<T> colecao, T midia, Class<T> tipo) {
+        T atual = colecao.comId(midia.getId()).orElseThrow(() ->
+                new IllegalArgumentException("'" + midia.getTitulo() + "' não está mais no catálogo."));
+        return gson.fromJson(gson.toJsonTree(atual), tipo);
+    }
+
+    /**
+     * Reaplica um registro do journal sobre as coleções em memória, sem persistir.
+     * Todas as operações são idempotentes, de modo que reaplicar um registro já
+     * incorporado ao snapshot não altera o resultado.
+     * @param registro O registro a ser reaplicado.
+     */
+    private void aplicarRegistro(RegistroMutacao registro) {
+        marcarFragmento(registro);
+        switch (registro.operacao) {
+            case ADICIONAR_LIVRO -> livros.adicionar(gson.fromJson(registro.midia, Livro.class));
+            case ADICIONAR_FILME -> filmes.adicionar(gson.fromJson(registro.midia, Filme.class));
+            case ADICIONAR_SERIE -> series.adicionar(gson.fromJson(registro.midia, Serie.class));
+            case ATUALIZAR_LIVRO -> livros.atualizar(gson.fromJson(registro.midia, Livro.class));
+            case ATUALIZAR_FILME -> filmes.atualizar(gson.fromJson(registro.midia, Filme.class));
+            case ATUALIZAR_SERIE -> series.atualizar(gson.fromJson(registro.midia, Serie.class));
+            case REMOVER_LIVRO -> {
+                if (registro.id != null) livros.removerId(registro.id);
+                else livros.removerTitulo(registro.titulo);
+            }
+            case REMOVER_FILME -> {
+                if (registro.id != null) filmes.removerId(registro.id);
+                else filmes.removerTitulo(registro.titulo);
+            }
+            case REMOVER_SERIE -> {
+                if (registro.id != null) series.removerId(registro.id);
+                else series.removerTitulo(registro.titulo);
+            }
+            case REMOVER_TEMPORADA -> series.primeira(registro.titulo).ifPresent(s -> {
+                if (s.removerTemporada(registro.numeroTemporada)) {
+                    series.atualizar(s); // Como no caminho ao vivo: reindexa nota, consumo e textos.
+                }
+            });
+        }
+    }
+
+    /**
+     * Marca como alterado o fragmento afetado por uma mutação (somente com fragmentação ativa).
+     * @param registro O registro da mutação.
+     */
+    private void marcarFragmento(RegistroMutacao registro) {
+        if (fragmentos == null) {
+            return;
+        }
+        String titulo = registro.titulo != null
+                ? registro.titulo
+                : registro.midia.getAsJsonObject().get("titulo").getAsString();
+        FragmentosCatalogo.Tipo tipo = switch (registro.operacao) {
+            case ADICIONAR_LIVRO, ATUALIZAR_LIVRO, REMOVER_LIVRO -> FragmentosCatalogo.Tipo.LIVROS;
+            case ADICIONAR_FILME, ATUALIZAR_FILME, REMOVER_FILME -> FragmentosCatalogo.Tipo.FILMES;
+            case ADICIONAR_SERIE, ATUALIZAR_SERIE, REMOVER_SERIE, REMOVER_TEMPORADA -> FragmentosCatalogo.Tipo.SERIES;
+        };
+        fragmentos.marcarSujo(tipo, titulo);
+    }
+
+    /**
+     * Salva o conteúdo de todas as coleções de mídias em um único arquivo, no formato configurado.
      * Garante que o diretório de destino exista antes de salvar.
      */
     private void salvarDados() {
-        try {
-            Files.createDirectories(caminhoDoArquivo.getParent());
+        gravarArquivos(serializarAlteracoes());
+    }
 
-            CatalogoWrapper wrapper = new CatalogoWrapper();
-            wrapper.livros = this.livros;
-            wrapper.filmes = this.filmes;
-            wrapper.series = this.series;
+    /**
+     * Serializa o que precisa ser gravado: o snapshot completo ou, com fragmentação
+     * ativa, apenas os fragmentos alterados desde a última gravação.
+     * @return o conteúdo de cada arquivo a ser gravado, indexado pelo caminho.
+     */
+    private Map<Path, byte[]> serializarAlteracoes() {
+        if (fragmentos == null) {
+            return Map.of(caminhoDoArquivo, serializarSnapshot(livros.valores(), filmes.valores(), series.valores()));
+        }
+        Map<Path, byte[]> arquivos = new LinkedHashMap<>();
+        for (FragmentosCatalogo.Fragmento fragmento : fragmentos.retirarSujos()) {
+            byte[] conteudo = switch (fragmento.tipo()) {
+                case LIVROS -> serializarSnapshot(daParticao(livros.valores(), fragmento), List.of(), List.of());
+                case FILMES -> serializarSnapshot(List.of(), daParticao(filmes.valores(), fragmento), List.of());
+                case SERIES -> serializarSnapshot(List.of(), List.of(), daParticao(series.valores(), fragmento));
+            };
+            arquivos.put(fragmentos.caminhoDe(fragmento), conteudo);
+        }
+        return arquivos;
+    }
+
+    /**
+     * Método auxiliar que seleciona as mídias pertencentes à partição de um fragmento.
+     */
+    private <T extends Midia> List<T> daParticao(Collection<T> midias, FragmentosCatalogo.Fragmento fragmento) {
+        return midias.stream()
+                .filter(m -> fragmentos.particaoDe(m.getTitulo()) == fragmento.particao())
+                .toList();
+    }
 
-            try (Writer writer = Files.newBufferedWriter(caminhoDoArquivo)) {
-                gson.toJson(wrapper, writer);
+    /**
+     * Converte as coleções de mídias informadas para o conteúdo de um snapshot.
+     * @return o conteúdo do snapshot, no formato configurado.
+     */
+    private byte[] serializarSnapshot(Collection<Livro> livros, Collection<Filme> filmes, Collection<Serie> series) {
+        if (configuracao.getFormato() == FormatoSnapshot.BINARIO) {
+            return codecBinario.codificar(livros, filmes, series);
+        }
+        return serializarJson(livros, filmes, series);
+    }
+
+    /**
+     * Converte as coleções de mídias informadas para JSON formatado.
+     * @return os bytes UTF-8 do JSON.
+     */
+    private byte[] serializarJson(Collection<Livro> livros, Collection<Filme> filmes, Collection<Serie> series) {
+        CatalogoWrapper wrapper = new CatalogoWrapper();
+        wrapper.livros = List.copyOf(livros);
+        wrapper.filmes = List.copyOf(filmes);
+        wrapper.series = List.copyOf(series);
+        return gson.toJson(wrapper).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Grava os arquivos de snapshot (ou de fragmentos) no disco.
+     * Cada escrita é feita em um arquivo temporário, forçada para o disco e renomeada
+     * atomicamente, de modo que uma queda nunca deixa o diário truncado. Se uma escrita
+     * fragmentada falhar, todos os fragmentos voltam a ser considerados alterados.
+     * @param arquivos O conteúdo de cada arquivo, indexado pelo caminho.
+     */
+    private void gravarArquivos(Map<Path, byte[]> arquivos) {
+        try {
+            for (Map.Entry<Path, byte[]> arquivo : arquivos.entrySet()) {
+                EscritorAtomico.gravar(arquivo.getKey(), arquivo.getValue());
+            }
+            if (fragmentos != null) {
+                fragmentos.removerObsoletos();
             }
         } catch (IOException e) {
-            throw new UncheckedIOException("Falha crítica ao salvar dados no arquivo JSON.", e);
+            if (fragmentos != null) {
+                fragmentos.marcarTodosSujos();
+            }
+            throw new UncheckedIOException("Falha crítica ao salvar dados no arquivo de persistência.", e);
         }
     }
 
     /**
-     * Carrega os dados do arquivo JSON de persistência.
+     * Carrega os dados do arquivo de persistência (ou dos fragmentos), no formato configurado.
+     * Com uma única thread de carregamento (o padrão), cada arquivo é lido em streaming e cada
+     * mídia é inserida diretamente nas coleções do catálogo; com mais de uma, as seções são
+     * interpretadas em paralelo pelo {@link CarregadorParalelo}. Antes da leitura, trata um arquivo
+     * temporário deixado por uma gravação interrompida. Os tempos de cada fase ficam
+     * disponíveis em {@link #getMetricasCarregamento()}.
      */
     private void carregarDados() {
+        if (fragmentos != null && Files.exists(fragmentos.getDiretorio())) {
+            try {
+                carregar(fragmentos.listarExistentes(this::snapshotValido));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha crítica ao carregar os fragmentos do catálogo.", e);
+            }
+            return;
+        }
+        try {
+            EscritorAtomico.recuperar(caminhoDoArquivo, this::snapshotValido);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao recuperar a gravação interrompida do arquivo JSON.", e);
+        }
         if (Files.notExists(caminhoDoArquivo)) {
             return;
         }
 
-        try (Reader reader = Files.newBufferedReader(caminhoDoArquivo)) {
-            CatalogoWrapper wrapper = gson.fromJson(reader, CatalogoWrapper.class);
+        try {
+            carregar(List.of(caminhoDoArquivo));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha crítica ao carregar dados do arquivo de persistência.", e);
+        }
+        if (fragmentos != null) {
+            fragmentos.marcarTodosSujos(); // Migração de um catálogo gravado em arquivo único.
+        }
+    }
+
+    /**
+     * Carrega os arquivos em streaming, um após o outro, ou em paralelo, conforme o
+     * paralelismo configurado.
+     * @param arquivos Os arquivos de snapshot ou de fragmentos.
+     * @throws IOException se algum arquivo não puder ser lido ou estiver malformado.
+     */
+    private void carregar(List<Path> arquivos) throws IOException {
+        if (configuracao.getParalelismoCarregamento() > 1) {
+            carregarEmParalelo(arquivos);
+            return;
+        }
+        long inicio = System.nanoTime();
+        for (Path arquivo : arquivos) {
+            lerSnapshot(arquivo, livros::adicionar, filmes::adicionar, series::adicionar);
+        }
+        this.metricasCarregamento = new MetricasCarregamento(0, System.nanoTime() - inicio, 0, arquivos.size(), 1);
+    }
+
+    /**
+     * Lê e interpreta os arquivos em paralelo e junta as seções nas coleções do catálogo,
+     * na ordem original, registrando o tempo de cada fase.
+     * @param arquivos Os arquivos de snapshot ou de fragmentos.
+     * @throws IOException se algum arquivo não puder ser lido ou estiver malformado.
+     */
+    private void carregarEmParalelo(List<Path> arquivos) throws IOException {
+        CarregadorParalelo carregador = new CarregadorParalelo(gson, codecBinario,
+                configuracao.getFormato(), configuracao.getParalelismoCarregamento());
+        List<CatalogoWrapper> secoes = carregador.carregar(arquivos);
 
-            if (wrapper != null) {
-                this.livros = wrapper.livros != null ? new ArrayList<>(wrapper.livros) : new ArrayList<>();
-                this.filmes = wrapper.filmes != null ? new ArrayList<>(wrapper.filmes) : new ArrayList<>();
-                this.series = wrapper.series != null ? new ArrayList<>(wrapper.series) : new ArrayList<>();
+        long inicioIndexacao = System.nanoTime();
+        for (CatalogoWrapper secao : secoes) {
+            secao.livros.forEach(livros::adicionar);
+            secao.filmes.forEach(filmes::adicionar);
+            secao.series.forEach(series::adicionar);
+        }
+        this.metricasCarregamento = new MetricasCarregamento(carregador.getLeituraNanos(),
+                carregador.getInterpretacaoNanos(), System.nanoTime() - inicioIndexacao,
+                carregador.getTarefas(), carregador.getThreads());
+    }
+
+    /**
+     * Lê um arquivo de snapshot no formato configurado, entregando cada mídia ao consumidor do seu tipo.
+     * @param arquivo O arquivo de snapshot.
+     * @param destinoLivros Recebe cada livro lido.
+     * @param destinoFilmes Recebe cada filme lido.
+     * @param destinoSeries Recebe cada série lida.
+     * @throws IOException se o arquivo não puder ser lido ou estiver malformado.
+     */
+    private void lerSnapshot(Path arquivo, Consumer<Livro> destinoLivros, Consumer<Filme> destinoFilmes,
+                             Consumer<Serie> destinoSeries) throws IOException {
+        if (configuracao.getFormato() == FormatoSnapshot.BINARIO) {
+            byte[] conteudo = Files.readAllBytes(arquivo);
+            if (conteudo.length > 0) {
+                codecBinario.decodificar(ByteBuffer.wrap(conteudo), destinoLivros, destinoFilmes, destinoSeries);
             }
-        } catch (IOException e) {
-            throw new UncheckedIOException("Falha crítica ao carregar dados do arquivo JSON.", e);
+            return;
+        }
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(arquivo))) {
+            new LeitorCatalogoJson(gson).carregar(reader, destinoLivros, destinoFilmes, destinoSeries);
+        }
+    }
+
+    /**
+     * Verifica se um arquivo contém um snapshot completo e legível.
+     * @param arquivo O arquivo a ser verificado.
+     * @return true se o arquivo puder ser carregado.
+     */
+    private boolean snapshotValido(Path arquivo) {
+        try {
+            lerSnapshot(arquivo, livro -> {}, filme -> {}, serie -> {});
+            return true;
+        } catch (IOException | JsonParseException | IllegalArgumentException | IllegalStateException e) {
+            return false;
         }
     }
 }
@@ -0,0 +1,206 @@
+// === CatalogoMapeado.java === "Service"
+
+package com.diariocultural.service;
+
+import com.diariocultural.model.Filme;
+import com.diariocultural.model.Livro;
+import com.diariocultural.model.Serie;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Visão somente leitura de um snapshot binário, pensada para navegar em acervos grandes.
+ * O arquivo é mapeado em memória e, na abertura, apenas o cabeçalho e a tabela de strings
+ * são lidos; o índice de offsets permanece no próprio arquivo mapeado. Cada mídia só é
+ * materializada no primeiro acesso e fica em um cache de referências suaves, que o
+ * coletor de lixo pode descartar sob pressão de memória — nesse caso ela é simplesmente
+ * decodificada de novo no próximo acesso.
+ *
+ * Requer um snapshot gravado no formato {@link FormatoSnapshot#BINARIO} (versão 2 ou superior).
+ * As mídias devolvidas são cópias desconectadas do arquivo: alterá-las não altera o snapshot.
+ *
+ * É uma API de biblioteca, para ferramentas que inspecionam um snapshot gravado (um backup,
+ * por exemplo) sem carregar o catálogo inteiro; as telas do aplicativo não a usam. Elas
+ * editam o catálogo vivo, que inclui as mutações ainda não gravadas no snapshot (no journal
+ * ou à espera do agendador), e o aplicativo grava o snapshot em JSON por padrão.
+ */
+public class CatalogoMapeado implements AutoCloseable {
+    private final CodecBinarioCatalogo codec = new CodecBinarioCatalogo();
+    private final FileChannel canal;
+    private final MappedByteBuffer buffer;
+    private final String[] tabela;
+    private final Secao<Livro> livros;
+    private final Secao<Filme> filmes;
+    private final Secao<Serie> series;
+
+    /**
+     * Abre e mapeia um snapshot binário.
+     * @param caminhoArquivo O caminho do snapshot binário.
+     * @throws UncheckedIOException se o arquivo não puder ser mapeado ou não for um snapshot binário indexado.
+     */
+    public CatalogoMapeado(String caminhoArquivo) {
+        Path caminho = Paths.get(caminhoArquivo);
+        try {
+            this.canal = FileChannel.open(caminho, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o snapshot binário.", e);
+        }
+        try {
+            this.buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            this.tabela = codec.lerCabecalho(buffer.duplicate(), CodecBinarioCatalogo.VERSAO_COM_INDICE);
+
+            int[] indice = CodecBinarioCatalogo.iniciosDoIndice(buffer);
+            this.livros = new Secao<>(indice[0], codec::lerLivro);
+            this.filmes = new Secao<>(indice[1], codec::lerFilme);
+            this.series = new Secao<>(indice[2], codec::lerSerie);
+        } catch (IOException | IndexOutOfBoundsException | BufferUnderflowException | IllegalArgumentException e) {
+            fecharCanal();
+            throw new UncheckedIOException("Falha ao mapear o snapshot binário.",
+                    e instanceof IOException io ? io : new IOException(e));
+        }
+    }
+
+    /**
+     * Retorna uma lista somente leitura dos livros; cada elemento é materializado ao ser acessado.
+     * @return a lista de livros do snapshot.
+     */
+    public List<Livro> getLivros() { return livros.comoLista(); }
+
+    /**
+     * Retorna uma lista somente leitura dos filmes; cada elemento é materializado ao ser acessado.
+     * @return a lista de filmes do snapshot.
+     */
+    public List<Filme> getFilmes() { return filmes.comoLista(); }
+
+    /**
+     * Retorna uma lista somente leitura das séries; cada elemento é materializado ao ser acessado.
+     * @return a lista de séries do snapshot.
+     */
+    public List<Serie> getSeries() { return series.comoLista(); }
+
+    /**
+     * Retorna quantas mídias estão materializadas no cache neste momento.
+     * @return o número de mídias em memória.
+     */
+    public int getMidiasMaterializadas() {
+        return livros.materializadas() + filmes.materializadas() + series.materializadas();
+    }
+
+    /**
+     * Descarta todas as mídias materializadas, liberando a memória ocupada por elas.
+     */
+    public void descartarMaterializadas() {
+        livros.cache.clear();
+        filmes.cache.clear();
+        series.cache.clear();
+    }
+
+    /**
+     * Fecha o arquivo mapeado. O mapeamento em si é liberado pelo coletor de lixo.
+     */
+    @Override
+    public void close() {
+        descartarMaterializadas();
+        fecharCanal();
+    }
+
+    private void fecharCanal() {
+        try {
+            canal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao fechar o snapshot binário.", e);
+        }
+    }
+
+    /**
+     * Decodifica um registro a partir de sua posição no arquivo mapeado.
+     */
+    @FunctionalInterface
+    private interface Decodificador<T> {
+        T ler(ByteBuffer in, String[] tabela);
+    }
+
+    /**
+     * Uma seção do snapshot (livros, filmes ou séries): o trecho do índice com os offsets
+     * dos seus registros e o cache de mídias já materializadas.
+     */
+    private final class Secao<T> {
+        private final int inicioIndice;
+        private final int quantidade;
+        private final Decodificador<T> decodificador;
+        private final ConcurrentHashMap<Integer, Entrada<T>> cache = new ConcurrentHashMap<>();
+        private final ReferenceQueue<T> descartadas = new ReferenceQueue<>();
+
+        Secao(int inicioIndice, Decodificador<T> decodificador) {
+            this.inicioIndice = inicioIndice;
+            this.quantidade = buffer.getInt(inicioIndice);
+            this.decodificador = decodificador;
+        }
+
+        T get(int posicao) {
+            if (posicao < 0 || posicao >= quantidade) {
+                throw new IndexOutOfBoundsException("Posição " + posicao + " fora do intervalo [0, " + quantidade + ").");
+            }
+            limparDescartadas();
+            Entrada<T> entrada = cache.get(posicao);
+            T midia = entrada != null ? entrada.get() : null;
+            if (midia == null) {
+                int offset = buffer.getInt(inicioIndice + Integer.BYTES * (1 + posicao));
+                midia = decodificador.ler(buffer.duplicate().position(offset), tabela);
+                cache.put(posicao, new Entrada<>(posicao, midia, descartadas));
+            }
+            return midia;
+        }
+
+        int materializadas() {
+            limparDescartadas();
+            return cache.size();
+        }
+
+        List<T> comoLista() {
+            return new AbstractList<>() {
+                @Override
+                public T get(int posicao) { return Secao.this.get(posicao); }
+
+                @Override
+                public int size() { return quantidade; }
+            };
+        }
+
+        /**
+         * Remove do cache as entradas cujas mídias já foram recolhidas pelo coletor de lixo.
+         */
+        private void limparDescartadas() {
+            Object referencia;
+            while ((referencia = descartadas.poll()) != null) {
+                Entrada<?> entrada = (Entrada<?>) referencia;
+                cache.remove(entrada.posicao, entrada);
+            }
+        }
+    }
+
+    /**
+     * Referência suave para uma mídia materializada, que lembra sua posição na seção.
+     */
+    private static final class Entrada<T> extends SoftReference<T> {
+        private final int posicao;
+
+        Entrada(int posicao, T midia, ReferenceQueue<? super T> fila) {
+            super(midia, fila);
+            this.posicao = posicao;
+        }
+    }
+}
@@ -0,0 +1,489 @@
+// === CodecBinarioCatalogo.java === "Service"
+
+package com.diariocultural.service;
+
+import com.diariocultural.model.Filme;
+import com.diariocultural.model.Livro;
+import com.diariocultural.model.Midia;
+import com.diariocultural.model.Review;
+import com.diariocultural.model.Serie;
+import com.diariocultural.model.Temporada;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Codificador e decodificador do formato binário de snapshot do catálogo.
+ *
+ * Layout (versão 3):
+ * <pre>
+ * "DCB" versão
+ * tabela de strings: quantidade, e cada string com tamanho + UTF-8
+ * livros:  quantidade, registros
+ * filmes:  quantidade, registros
+ * series:  quantidade, registros (cada um seguido de suas temporadas)
+ * índice:  para cada seção, quantidade e offsets dos registros (int32)
+ * posição do índice (int32, últimos 4 bytes do arquivo)
+ * </pre>
+ * Inteiros são gravados como varints (datas como epoch-day em zigzag) e as strings
+ * que se repetem entre registros — gêneros, plataformas, elenco, autores, editoras,
+ * direção e roteiro — são gravadas uma única vez na tabela e referenciadas por índice.
+ * O índice de offsets (ausente na versão 1) permite ler um registro isolado sem
+ * percorrer os anteriores, como faz o {@link CatalogoMapeado}. A partir da versão 3,
+ * o estado de cada mídia e temporada pode trazer o seu identificador numérico,
+ * sinalizado por um bit dos flags; registros das versões anteriores são lidos sem ele.
+ */
+class CodecBinarioCatalogo {
+
+    static final byte[] ASSINATURA = {'D', 'C', 'B'};
+    static final int VERSAO = 3;
+    static final int VERSAO_COM_INDICE = 2;
+
+    private static final int FLAG_CONSUMIDO = 1;
+    private static final int FLAG_DATA_CONSUMO = 1 << 1;
+    private static final int FLAG_REVIEW = 1 << 2;
+    private static final int FLAG_POSSUI_EXEMPLAR = 1 << 3;
+    private static final int FLAG_ID = 1 << 4;
+
+    /**
+     * Codifica as três coleções do catálogo em um snapshot binário.
+     * @param livros Os livros do catálogo.
+     * @param filmes Os filmes do catálogo.
+     * @param series As séries do catálogo.
+     * @return os bytes do snapshot.
+     */
+    byte[] codificar(Collection<Livro> livros, Collection<Filme> filmes, Collection<Serie> series) {
+        Map<String, Integer> tabela = new LinkedHashMap<>();
+        for (Livro l : livros) {
+            indexar(tabela, l.getGenero(), l.getAutor(), l.getEditora());
+        }
+        for (Filme f : filmes) {
+            indexar(tabela, f.getGenero(), f.getDirecao(), f.getRoteiro(), f.getOndeAssistir());
+            f.getElenco().forEach(ator -> indexar(tabela, ator));
+        }
+        for (Serie s : series) {
+            indexar(tabela, s.getGenero(), s.getOndeAssistir());
+            s.getElenco().forEach(ator -> indexar(tabela, ator));
+        }
+
+        Saida out = new Saida(64 * (livros.size() + filmes.size() + series.size()) + 256);
+        out.bytes(ASSINATURA);
+        out.varint(VERSAO);
+        out.varint(tabela.size());
+        tabela.keySet().forEach(out::string);
+
+        int[] offsetsLivros = new int[livros.size()];
+        int[] offsetsFilmes = new int[filmes.size()];
+        int[] offsetsSeries = new int[series.size()];
+        int i = 0;
+        out.varint(livros.size());
+        for (Livro l : livros) {
+            offsetsLivros[i++] = out.tamanho();
+            escreverLivro(out, tabela, l);
+        }
+        i = 0;
+        out.varint(filmes.size());
+        for (Filme f : filmes) {
+            offsetsFilmes[i++] = out.tamanho();
+            escreverFilme(out, tabela, f);
+        }
+        i = 0;
+        out.varint(series.size());
+        for (Serie s : series) {
+            offsetsSeries[i++] = out.tamanho();
+            escreverSerie(out, tabela, s);
+        }
+
+        int posicaoIndice = out.tamanho();
+        for (int[] offsets : new int[][]{offsetsLivros, offsetsFilmes, offsetsSeries}) {
+            out.inteiro(offsets.length);
+            for (int offset : offsets) {
+                out.inteiro(offset);
+            }
+        }
+        out.inteiro(posicaoIndice);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodifica um snapshot binário, entregando cada mídia ao consumidor do seu tipo.
+     * O índice de offsets, se presente, é ignorado: os registros são lidos em sequência.
+     * @param buffer O conteúdo do snapshot, posicionado no início.
+     * @param livros Recebe cada livro lido.
+     * @param filmes Recebe cada filme lido.
+     * @param series Recebe cada série lida.
+     * @throws IOException se o conteúdo não for um snapshot válido ou estiver truncado.
+     */
+    void decodificar(ByteBuffer buffer, Consumer<Livro> livros, Consumer<Filme> filmes, Consumer<Serie> series) throws IOException {
+        try {
+            String[] tabela = lerCabecalho(buffer);
+            for (int i = lerVarint(buffer); i > 0; i--) livros.accept(lerLivro(buffer, tabela));
+            for (int i = lerVarint(buffer); i > 0; i--) filmes.accept(lerFilme(buffer, tabela));
+            for (int i = lerVarint(buffer); i > 0; i--) series.accept(lerSerie(buffer, tabela));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Snapshot binário corrompido ou truncado.", e);
+        }
+    }
+
+    /**
+     * Valida a assinatura e a versão e lê a tabela de strings.
+     * @param buffer O conteúdo do snapshot, posicionado no início.
+     * @return a tabela de strings.
+     * @throws IOException se a assinatura ou a versão não forem reconhecidas.
+     */
+    String[] lerCabecalho(ByteBuffer buffer) throws IOException {
+        return lerCabecalho(buffer, 1);
+    }
+
+    /**
+     * Valida a assinatura e a versão e lê a tabela de strings.
+     * @param buffer O conteúdo do snapshot, posicionado no início.
+     * @param versaoMinima A menor versão aceita pelo chamador.
+     * @return a tabela de strings.
+     * @throws IOException se a assinatura ou a versão não forem reconhecidas.
+     */
+    String[] lerCabecalho(ByteBuffer buffer, int versaoMinima) throws IOException {
+        byte[] assinatura = new byte[ASSINATURA.length];
+        buffer.get(assinatura);
+        if (!Arrays.equals(assinatura, ASSINATURA)) {
+            throw new IOException("O arquivo não é um snapshot binário do Diário Cultural.");
+        }
+        int versao = lerVarint(buffer);
+        if (versao < versaoMinima || versao > VERSAO) {
+            throw new IOException("Versão de snapshot binário não suportada: " + versao);
+        }
+        String[] tabela = new String[lerVarint(buffer)];
+        for (int i = 0; i < tabela.length; i++) {
+            tabela[i] = lerString(buffer);
+        }
+        return tabela;
+    }
+
+    /**
+     * Localiza, no índice de offsets, o início do trecho de cada seção. Cada trecho
+     * começa com a quantidade de registros da seção (int32), seguida de um offset
+     * (int32) por registro.
+     * @param buffer O conteúdo completo de um snapshot da versão 2 ou superior.
+     * @return as posições dos trechos de livros, filmes e séries, nessa ordem.
+     */
+    static int[] iniciosDoIndice(ByteBuffer buffer) {
+        int inicioLivros = buffer.getInt(buffer.limit() - Integer.BYTES);
+        int inicioFilmes = inicioLivros + Integer.BYTES * (1 + buffer.getInt(inicioLivros));
+        int inicioSeries = inicioFilmes + Integer.BYTES * (1 + buffer.getInt(inicioFilmes));
+        return new int[]{inicioLivros, inicioFilmes, inicioSeries};
+    }
+
+    /**
+     * Lê a versão de um snapshot sem alterar a posição do buffer.
+     * @param buffer O conteúdo do snapshot.
+     * @return a versão, ou -1 se o conteúdo não começar com a assinatura do formato.
+     */
+    static int versaoDe(ByteBuffer buffer) {
+        if (buffer.limit() <= ASSINATURA.length) {
+            return -1;
+        }
+        for (int i = 0; i < ASSINATURA.length; i++) {
+            if (buffer.get(i) != ASSINATURA[i]) {
+                return -1;
+            }
+        }
+        try {
+            return lerVarint(buffer.duplicate().position(ASSINATURA.length));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    // --- ESCRITA ---
+
+    private void escreverLivro(Saida out, Map<String, Integer> tabela, Livro l) {
+        out.string(l.getTitulo());
+        out.varint(tabela.get(l.getAutor()));
+        out.varint(tabela.get(l.getEditora()));
+        out.string(l.getIsbn());
+        out.varint(tabela.get(l.getGenero()));
+        out.varint(l.getAnoLancamento());
+        escreverEstado(out, l.getId(), l.getAvaliacao(), l.isConsumido(), l.getDataConsumo(), l.getReview(),
+                l.isPossuiExemplar() ? FLAG_POSSUI_EXEMPLAR : 0);
+    }
+
+    private void escreverFilme(Saida out, Map<String, Integer> tabela, Filme f) {
+        out.string(f.getTitulo());
+        out.string(f.getTituloOriginal());
+        out.varint(tabela.get(f.getGenero()));
+        out.varint(f.getAnoLancamento());
+        out.varlong(f.getTempoDeDuracao().toSeconds());
+        out.varint(tabela.get(f.getDirecao()));
+        out.varint(tabela.get(f.getRoteiro()));
+        escreverElenco(out, tabela, f.getElenco());
+        escreverOpcional(out, tabela, f.getOndeAssistir());
+        escreverEstado(out, f.getId(), f.getAvaliacao(), f.isConsumido(), f.getDataConsumo(), f.getReview(), 0);
+    }
+
+    private void escreverSerie(Saida out, Map<String, Integer> tabela, Serie s) {
+        out.string(s.getTitulo());
+        out.string(s.getTituloOriginal());
+        out.varint(tabela.get(s.getGenero()));
+        out.varint(s.getAnoLancamento());
+        escreverElenco(out, tabela, s.getElenco());
+        escreverOpcional(out, tabela, s.getOndeAssistir());
+        // A avaliação de uma série é derivada das temporadas e não precisa ser gravada.
+        escreverEstado(out, s.getId(), 0, s.isConsumido(), s.getDataConsumo(), s.getReview(), 0);
+
+        List<Temporada> temporadas = s.getTemporadasList();
+        out.varint(temporadas.size());
+        for (Temporada t : temporadas) {
+            out.varint(t.getNumero());
+            out.varint(t.getAnoLancamento() != null ? t.getAnoLancamento() + 1 : 0);
+            out.varint(t.getAnoEncerramento() != null ? t.getAnoEncerramento() + 1 : 0);
+            out.varint(t.getNumeroEpisodios());
+            escreverEstado(out, t.getId(), t.getAvaliacao(), t.isConsumido(), t.getDataConsumo(), t.getReview(), 0);
+        }
+    }
+
+    private void escreverElenco(Saida out, Map<String, Integer> tabela, List<String> elenco) {
+        out.varint(elenco.size());
+        for (String ator : elenco) {
+            out.varint(tabela.get(ator));
+        }
+    }
+
+    private void escreverOpcional(Saida out, Map<String, Integer> tabela, String valor) {
+        out.varint(valor != null ? tabela.get(valor) + 1 : 0);
+    }
+
+    private void escreverEstado(Saida out, long id, int avaliacao, boolean consumido, LocalDate dataConsumo, Review review,
+                                int flagsExtras) {
+        int flags = flagsExtras;
+        if (consumido) flags |= FLAG_CONSUMIDO;
+        if (dataConsumo != null) flags |= FLAG_DATA_CONSUMO;
+        if (review != null) flags |= FLAG_REVIEW;
+        if (id > 0) flags |= FLAG_ID;
+        out.varint(flags);
+        out.varint(avaliacao);
+        if (dataConsumo != null) {
+            out.zigzag(dataConsumo.toEpochDay());
+        }
+        if (review != null) {
+            out.string(review.getTexto());
+            out.zigzag(review.getDataCriacao().toEpochDay());
+        }
+        if (id > 0) {
+            out.varlong(id);
+        }
+    }
+
+    private static void indexar(Map<String, Integer> tabela, String... valores) {
+        for (String valor : valores) {
+            if (valor != null) {
+                tabela.putIfAbsent(valor, tabela.size());
+            }
+        }
+    }
+
+    // --- LEITURA ---
+
+    Livro lerLivro(ByteBuffer in, String[] tabela) {
+        String titulo = lerString(in);
+        String autor = tabela[lerVarint(in)];
+        String editora = tabela[lerVarint(in)];
+        String isbn = lerString(in);
+        String genero = tabela[lerVarint(in)];
+        int ano = lerVarint(in);
+        int flags = lerVarint(in);
+        Livro livro = new Livro(titulo, autor, editora, isbn, ano, genero, (flags & FLAG_POSSUI_EXEMPLAR) != 0);
+        lerEstado(in, flags, livro);
+        return livro;
+    }
+
+    Filme lerFilme(ByteBuffer in, String[] tabela) {
+        String titulo = lerString(in);
+        String tituloOriginal = lerString(in);
+        String genero = tabela[lerVarint(in)];
+        int ano = lerVarint(in);
+        long duracaoSegundos = lerVarlong(in);
+        String direcao = tabela[lerVarint(in)];
+        String roteiro = tabela[lerVarint(in)];
+        List<String> elenco = lerElenco(in, tabela);
+        String ondeAssistir = lerOpcional(in, tabela);
+        Filme filme = new Filme(titulo, genero, ano, 1, direcao, roteiro, elenco, tituloOriginal, ondeAssistir);
+        filme.setTempoDeDuracao(Duration.ofSeconds(duracaoSegundos));
+        lerEstado(in, lerVarint(in), filme);
+        return filme;
+    }
+
+    Serie lerSerie(ByteBuffer in, String[] tabela) {
+        String titulo = lerString(in);
+        String tituloOriginal = lerString(in);
+        String genero = tabela[lerVarint(in)];
+        int ano = lerVarint(in);
+        List<String> elenco = lerElenco(in, tabela);
+        String ondeAssistir = lerOpcional(in, tabela);
+        Serie serie = new Serie(titulo, genero, ano, elenco, tituloOriginal, ondeAssistir);
+        lerEstado(in, lerVarint(in), serie);
+
+        for (int i = lerVarint(in); i > 0; i--) {
+            int numero = lerVarint(in);
+            int anoLancamento = lerVarint(in);
+            int anoEncerramento = lerVarint(in);
+            int episodios = lerVarint(in);
+            Temporada temporada = new Temporada(numero,
+                    anoLancamento > 0 ? anoLancamento - 1 : null,
+                    anoEncerramento > 0 ? anoEncerramento - 1 : null,
+                    episodios);
+            int flags = lerVarint(in);
+            int avaliacao = lerVarint(in);
+            if ((flags & FLAG_CONSUMIDO) != 0) temporada.setConsumido(true);
+            if ((flags & FLAG_DATA_CONSUMO) != 0) temporada.setDataConsumo(LocalDate.ofEpochDay(lerZigzag(in)));
+            if ((flags & FLAG_REVIEW) != 0) temporada.setReview(lerReview(in));
+            if (avaliacao > 0) temporada.setAvaliacao(avaliacao);
+            if ((flags & FLAG_ID) != 0) temporada.setId(lerVarlong(in));
+            serie.adicionarTemporada(temporada);
+        }
+        return serie;
+    }
+
+    private List<String> lerElenco(ByteBuffer in, String[] tabela) {
+        int tamanho = lerVarint(in);
+        List<String> elenco = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            elenco.add(tabela[lerVarint(in)]);
+        }
+        return elenco;
+    }
+
+    private String lerOpcional(ByteBuffer in, String[] tabela) {
+        int indice = lerVarint(in);
+        return indice > 0 ? tabela[indice - 1] : null;
+    }
+
+    /**
+     * Restaura o estado de consumo de uma mídia pelos setters do modelo, na ordem
+     * que reproduz o estado gravado sem violar as regras de negócio.
+     */
+    private void lerEstado(ByteBuffer in, int flags, Midia midia) {
+        int avaliacao = lerVarint(in);
+        if ((flags & FLAG_CONSUMIDO) != 0) midia.setConsumido(true);
+        if ((flags & FLAG_DATA_CONSUMO) != 0) midia.setDataConsumo(LocalDate.ofEpochDay(lerZigzag(in)));
+        if ((flags & FLAG_REVIEW) != 0) midia.setReview(lerReview(in));
+        if (avaliacao > 0) midia.setAvaliacao(avaliacao);
+        if ((flags & FLAG_ID) != 0) midia.setId(lerVarlong(in));
+    }
+
+    private Review lerReview(ByteBuffer in) {
+        String texto = lerString(in);
+        LocalDate data = LocalDate.ofEpochDay(lerZigzag(in));
+        return new Review(texto, data.getDayOfMonth(), data.getMonthValue(), data.getYear());
+    }
+
+    static String lerString(ByteBuffer in) {
+        int tamanho = lerVarint(in);
+        if (in.hasArray()) {
+            String valor = new String(in.array(), in.arrayOffset() + in.position(), tamanho, StandardCharsets.UTF_8);
+            in.position(in.position() + tamanho);
+            return valor;
+        }
+        byte[] bytes = new byte[tamanho];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int lerVarint(ByteBuffer in) {
+        long valor = lerVarlong(in);
+        if (valor > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Varint fora do intervalo de int: " + valor);
+        }
+        return (int) valor;
+    }
+
+    static long lerVarlong(ByteBuffer in) {
+        long resultado = 0;
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+            byte b = in.get();
+            resultado |= (long) (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return resultado;
+            }
+        }
+        throw new IllegalArgumentException("Varint malformado.");
+    }
+
+    static long lerZigzag(ByteBuffer in) {
+        long valor = lerVarlong(in);
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    /**
+     * Buffer de saída crescente com as primitivas de escrita do formato.
+     */
+    static final class Saida {
+        private byte[] dados;
+        private int tamanho;
+
+        Saida(int capacidadeInicial) {
+            this.dados = new byte[Math.max(16, capacidadeInicial)];
+        }
+
+        void bytes(byte[] valor) {
+            garantir(valor.length);
+            System.arraycopy(valor, 0, dados, tamanho, valor.length);
+            tamanho += valor.length;
+        }
+
+        void string(String valor) {
+            byte[] utf8 = valor.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length);
+            bytes(utf8);
+        }
+
+        void varint(int valor) {
+            varlong(valor & 0xFFFFFFFFL);
+        }
+
+        void varlong(long valor) {
+            garantir(10);
+            while ((valor & ~0x7FL) != 0) {
+                dados[tamanho++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            dados[tamanho++] = (byte) valor;
+        }
+
+        void inteiro(int valor) {
+            garantir(4);
+            dados[tamanho++] = (byte) (valor >>> 24);
+            dados[tamanho++] = (byte) (valor >>> 16);
+            dados[tamanho++] = (byte) (valor >>> 8);
+            dados[tamanho++] = (byte) valor;
+        }
+
+        void zigzag(long valor) {
+            varlong((valor << 1) ^ (valor >> 63));
+        }
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(dados, tamanho);
+        }
+
+        private void garantir(int extra) {
+            if (tamanho + extra > dados.length) {
+                dados = Arrays.copyOf(dados, Math.max(dados.length * 2, tamanho + extra));
+            }
+        }
+    }
+}
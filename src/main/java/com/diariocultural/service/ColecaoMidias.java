@@ -0,0 +1,398 @@
+// === ColecaoMidias.java === "Service"
+
+package com.diariocultural.service;
+
+import com.diariocultural.model.Midia;
+import com.diariocultural.model.Serie;
+import com.diariocultural.model.Temporada;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Armazena as mídias de um tipo na ordem de inserção, indexadas pela identidade do tipo
+ * ({@code equals}/{@code hashCode}), pelo identificador numérico, pelo título e por índices
+ * secundários: gênero, ano, consumo e nota da avaliação, comuns a todos os tipos, e os informados
+ * na construção, como o índice textual ({@link IndiceTextual}), ou anexados depois, como o
+ * espelho colunar ({@link ColunasMidias}).
+ * Verificar duplicatas, atualizar e remover uma mídia custam tempo constante (mais a
+ * atualização dos índices secundários), e a atualização mantém a mídia na posição em que
+ * ela foi inserida.
+ *
+ * Toda mídia armazenada tem um identificador: as que chegam sem um (e as temporadas de
+ * séries, na mesma situação) recebem o da versão anterior, em uma atualização, ou um
+ * novo, do gerador compartilhado pelas coleções do catálogo.
+ *
+ * Para leitura, a coleção publica um instantâneo imutável das mídias, criado no primeiro
+ * acesso depois de cada alteração e compartilhado por todas as leituras seguintes até a
+ * próxima alteração. Cada alteração também incrementa a versão da coleção.
+ * Alterações e a criação do instantâneo devem acontecer sob o mesmo lock; a leitura do
+ * instantâneo já publicado não precisa dele.
+ *
+ * Como na lista que a antecedeu, as mídias não podem ter título, autor, ISBN, direção ou
+ * ano alterados enquanto estiverem armazenadas: para isso, remova e adicione de novo.
+ */
+class ColecaoMidias<T extends Midia> {
+    // Chave e valor são versões iguais da mesma mídia; o valor é sempre a versão mais recente.
+    private final LinkedHashMap<T, T> itens = new LinkedHashMap<>();
+    private final IndiceTitulos<T> titulos = new IndiceTitulos<>();
+    private final MapaIds<T> porId = new MapaIds<>();
+    private final GeradorIds ids;
+    private final IndiceInvertido<T, String> porGenero = IndiceInvertido.porChave(Midia::getChaveGenero);
+    private final IndiceInvertido<T, Integer> porAno = new IndiceInvertido<>(m -> List.of(m.getAnoLancamento()));
+    private final IndiceInvertido<T, Boolean> porConsumo = new IndiceInvertido<>(m -> List.of(m.isConsumido()));
+    private final IndiceInvertido<T, Integer> porNota = new IndiceInvertido<>(m -> List.of(m.getAvaliacao()));
+    private final List<IndiceSecundario<T>> indices;
+    private volatile List<T> instantaneo = List.of();
+    private volatile long versao;
+
+    /**
+     * Construtor da coleção apenas com os índices secundários comuns.
+     * @param ids O gerador de identificadores, compartilhado com as demais coleções do catálogo.
+     */
+    ColecaoMidias(GeradorIds ids) {
+        this(ids, List.of());
+    }
+
+    /**
+     * Construtor da coleção.
+     * @param ids O gerador de identificadores, compartilhado com as demais coleções do catálogo.
+     * @param adicionais Os índices secundários próprios do tipo, também mantidos pela coleção a cada alteração.
+     */
+    ColecaoMidias(GeradorIds ids, List<? extends IndiceSecundario<T>> adicionais) {
+        this.ids = ids;
+        this.indices = new ArrayList<>(List.of(porGenero, porAno, porConsumo, porNota));
+        this.indices.addAll(adicionais);
+    }
+
+    /**
+     * Passa a manter mais uma estrutura derivada das mídias, como o espelho colunar,
+     * incluindo nela as mídias já armazenadas.
+     * @param indice A estrutura, ainda vazia.
+     */
+    void anexar(IndiceSecundario<T> indice) {
+        for (T midia : itens.values()) {
+            indice.adicionar(midia);
+        }
+        indices.add(indice);
+    }
+
+    /**
+     * Adiciona uma mídia ao final, se não houver outra igual.
+     * @param midia A mídia a ser adicionada.
+     * @return true se a mídia foi adicionada, false se já existia.
+     */
+    boolean adicionar(T midia) {
+        if (itens.containsKey(midia)) {
+            return false;
+        }
+        atribuirIds(midia, null);
+        itens.put(midia, midia);
+        porId.put(midia.getId(), midia);
+        titulos.adicionar(midia);
+        for (IndiceSecundario<T> indice : indices) {
+            indice.adicionar(midia);
+        }
+        invalidar();
+        return true;
+    }
+
+    /**
+     * Substitui a versão armazenada de uma mídia, mantendo sua posição, ou a adiciona
+     * ao final se ela ainda não existir.
+     * @param midia A nova versão da mídia.
+     */
+    void atualizar(T midia) {
+        T anterior = itens.get(midia);
+        atribuirIds(midia, anterior);
+        if (anterior != null && anterior.getId() != midia.getId()) {
+            porId.remove(anterior.getId());
+        }
+        itens.put(midia, midia);
+        porId.put(midia.getId(), midia);
+        titulos.substituir(midia);
+        for (IndiceSecundario<T> indice : indices) {
+            if (anterior != null) {
+                indice.atualizar(anterior.getId(), midia);
+            } else {
+                indice.adicionar(midia);
+            }
+        }
+        invalidar();
+    }
+
+    /**
+     * Remove todas as mídias com o título informado.
+     * @param titulo O título, sem distinção de maiúsculas e minúsculas.
+     * @return true se alguma mídia foi removida.
+     */
+    boolean removerTitulo(String titulo) {
+        List<T> removidas = titulos.removerTitulo(titulo);
+        if (removidas.isEmpty()) {
+            return false;
+        }
+        for (T midia : removidas) {
+            itens.remove(midia);
+            porId.remove(midia.getId());
+            removerDosIndices(midia.getId());
+        }
+        invalidar();
+        return true;
+    }
+
+    /**
+     * Remove a mídia com o identificador informado.
+     * @param id O identificador da mídia.
+     * @return true se a mídia foi removida.
+     */
+    boolean removerId(long id) {
+        T midia = porId.remove(id);
+        if (midia == null) {
+            return false;
+        }
+        itens.remove(midia);
+        titulos.remover(midia);
+        removerDosIndices(id);
+        invalidar();
+        return true;
+    }
+
+    /**
+     * Retorna a mídia com o identificador informado.
+     * @param id O identificador da mídia.
+     * @return um Optional com a mídia, ou vazio se não houver nenhuma.
+     */
+    Optional<T> comId(long id) {
+        return Optional.ofNullable(porId.get(id));
+    }
+
+    /**
+     * Materializa, em uma única passada, as mídias com os identificadores informados.
+     * @param conjunto Os identificadores, normalmente obtidos dos índices secundários.
+     * @return uma nova lista com as mídias encontradas, em ordem crescente de identificador.
+     */
+    List<T> comIds(BitmapIds conjunto) {
+        List<T> encontradas = new ArrayList<>(conjunto.cardinalidade());
+        conjunto.paraCada(id -> {
+            T midia = porId.get(id);
+            if (midia != null) {
+                encontradas.add(midia);
+            }
+        });
+        return encontradas;
+    }
+
+    /**
+     * Filtra as mídias combinando, com E, os bitmaps dos critérios do filtro e os conjuntos
+     * adicionais informados, e materializa o resultado em uma única passada.
+     * @param filtro Os critérios de gênero, ano, consumo e avaliação.
+     * @param adicionais Conjuntos de outros índices a serem combinados; nulos são ignorados.
+     * @return uma nova lista com as mídias que atendem a todos os critérios, em ordem crescente
+     *         de identificador (todas, na ordem de inserção, se não houver critério algum).
+     */
+    List<T> filtrar(FiltroMidias filtro, BitmapIds... adicionais) {
+        BitmapIds[] criterios = Arrays.copyOf(adicionais, adicionais.length + 4);
+        int n = adicionais.length;
+        if (!filtro.getGeneros().isEmpty()) {
+            criterios[n++] = porGenero.idsDeQualquer(filtro.getGeneros().stream().map(IndiceTitulos::chave).toList());
+        }
+        if (!filtro.getAnos().isEmpty()) {
+            criterios[n++] = porAno.idsDeQualquer(filtro.getAnos());
+        }
+        if (filtro.getAnoMinimo() != null) {
+            int minimo = filtro.getAnoMinimo();
+            int maximo = filtro.getAnoMaximo();
+            criterios[n++] = porAno.idsOnde(ano -> ano >= minimo && ano <= maximo);
+        }
+        if (filtro.getConsumida() != null) {
+            criterios[n++] = porConsumo.ids(filtro.getConsumida());
+        }
+        if (filtro.getAvaliada() != null) {
+            criterios[n] = filtro.getAvaliada() ? porNota.idsOnde(nota -> nota > 0) : porNota.ids(0);
+        }
+        BitmapIds conjunto = BitmapIds.e(criterios);
+        return conjunto != null ? comIds(conjunto) : new ArrayList<>(itens.values());
+    }
+
+    /**
+     * Cria o planejador das consultas compostas à coleção, já com as fontes dos critérios
+     * comuns a todos os tipos (gênero, ano, nota mínima e consumo), resolvidos pelos índices
+     * da coleção. O catálogo registra depois as fontes próprias de cada tipo.
+     * @return o novo planejador.
+     */
+    PlanejadorConsultas<T> planejador() {
+        return new PlanejadorConsultas<>(this)
+                .comFonte(ConsultaMidias.Criterio.GENERO, fonteDoAtributo(porGenero,
+                        criterio -> IndiceTitulos.chave(criterio.getTexto())::equals, Midia::getChaveGenero))
+                .comFonte(ConsultaMidias.Criterio.ANO, fonteDoIndice(porAno,
+                        criterio -> ano -> ano >= criterio.getMinimo() && ano <= criterio.getMaximo(),
+                        criterio -> midia -> midia.getAnoLancamento() >= criterio.getMinimo()
+                                && midia.getAnoLancamento() <= criterio.getMaximo()))
+                .comFonte(ConsultaMidias.Criterio.AVALIACAO_MINIMA, fonteDoIndice(porNota,
+                        criterio -> nota -> nota >= criterio.getMinimo(),
+                        criterio -> midia -> midia.getAvaliacao() >= criterio.getMinimo()))
+                .comFonte(ConsultaMidias.Criterio.CONSUMIDA, fonteDoIndice(porConsumo,
+                        criterio -> consumida -> consumida == (criterio.getMinimo() == 1),
+                        criterio -> midia -> midia.isConsumido() == (criterio.getMinimo() == 1)));
+    }
+
+    /**
+     * Fonte de um critério resolvido por um índice invertido: os valores aceitos pelo
+     * critério são filtrados entre os valores distintos do índice, tanto para estimar
+     * quanto para montar o conjunto.
+     * @param indice O índice do atributo.
+     * @param valores Os valores do índice aceitos por um critério.
+     * @param conferencia A conferência de um critério nas mídias, preparada uma vez por consulta.
+     * @return a nova fonte.
+     */
+    static <T extends Midia, K> PlanejadorConsultas.Fonte<T> fonteDoIndice(IndiceInvertido<T, K> indice,
+            Function<ConsultaMidias, Predicate<K>> valores, Function<ConsultaMidias, Predicate<T>> conferencia) {
+        return new PlanejadorConsultas.Fonte<>() {
+            @Override
+            public int estimar(ConsultaMidias criterio) {
+                return indice.contarOnde(valores.apply(criterio));
+            }
+
+            @Override
+            public BitmapIds ids(ConsultaMidias criterio) {
+                return indice.idsOnde(valores.apply(criterio));
+            }
+
+            @Override
+            public Predicate<T> conferencia(ConsultaMidias criterio) {
+                return conferencia.apply(criterio);
+            }
+        };
+    }
+
+    /**
+     * Fonte de um critério sobre um atributo de valor único, já normalizado na mídia: a
+     * conferência aplica às mídias o mesmo teste de valores usado no índice, preparado uma
+     * vez por consulta.
+     * @param indice O índice do atributo.
+     * @param valores Os valores do índice aceitos por um critério.
+     * @param atributo O valor indexado de uma mídia.
+     * @return a nova fonte.
+     */
+    static <T extends Midia, K> PlanejadorConsultas.Fonte<T> fonteDoAtributo(IndiceInvertido<T, K> indice,
+            Function<ConsultaMidias, Predicate<K>> valores, Function<? super T, K> atributo) {
+        return fonteDoIndice(indice, valores, criterio -> {
+            Predicate<K> aceitos = valores.apply(criterio);
+            return midia -> aceitos.test(atributo.apply(midia));
+        });
+    }
+
+    /**
+     * Retorna a quantidade de mídias armazenadas.
+     * @return a quantidade de mídias.
+     */
+    int tamanho() {
+        return itens.size();
+    }
+
+    /**
+     * Retorna a primeira mídia inserida com o título informado.
+     * @param titulo O título, sem distinção de maiúsculas e minúsculas.
+     * @return um Optional com a mídia, ou vazio se não houver nenhuma.
+     */
+    Optional<T> primeira(String titulo) {
+        return titulos.primeira(titulo);
+    }
+
+    /**
+     * Retorna uma visão somente leitura das mídias, na ordem de inserção.
+     * @return as mídias armazenadas.
+     */
+    Collection<T> valores() {
+        return Collections.unmodifiableCollection(itens.values());
+    }
+
+    /**
+     * Retorna o instantâneo imutável das mídias, na ordem de inserção, criando-o se a
+     * coleção foi alterada desde o último. Deve ser chamado sob o lock das alterações.
+     * @return a lista imutável de mídias.
+     */
+    List<T> instantaneo() {
+        List<T> atual = instantaneo;
+        if (atual == null) {
+            atual = List.copyOf(itens.values());
+            instantaneo = atual;
+        }
+        return atual;
+    }
+
+    /**
+     * Retorna o instantâneo já publicado, sem exigir lock.
+     * @return a lista imutável de mídias, ou null se a coleção foi alterada desde o último instantâneo.
+     */
+    List<T> instantaneoPublicado() {
+        return instantaneo;
+    }
+
+    /**
+     * Retorna a versão da coleção, incrementada a cada alteração.
+     * @return a versão atual.
+     */
+    long getVersao() {
+        return versao;
+    }
+
+    /**
+     * Substitui todo o conteúdo pelas mídias informadas, descartando duplicatas.
+     * @param midias As novas mídias, na ordem desejada.
+     */
+    void substituirTudo(Collection<T> midias) {
+        itens.clear();
+        titulos.limpar();
+        porId.limpar();
+        for (IndiceSecundario<T> indice : indices) {
+            indice.limpar();
+        }
+        for (T midia : midias) {
+            adicionar(midia);
+        }
+        invalidar();
+    }
+
+    /**
+     * Garante que a mídia e, se for uma série, suas temporadas tenham identificador,
+     * reaproveitando os da versão anterior quando houver.
+     */
+    private void atribuirIds(T midia, T anterior) {
+        if (midia.getId() > 0) {
+            ids.observar(midia.getId());
+        } else {
+            midia.setId(anterior != null && anterior.getId() > 0 ? anterior.getId() : ids.proximo());
+        }
+        if (midia instanceof Serie serie) {
+            for (Temporada temporada : serie.getTemporadasList()) {
+                if (temporada.getId() > 0) {
+                    ids.observar(temporada.getId());
+                } else {
+                    long idAnterior = anterior instanceof Serie serieAnterior
+                            ? serieAnterior.getTemporada(temporada.getNumero()).map(Temporada::getId).orElse(0L)
+                            : 0L;
+                    temporada.setId(idAnterior > 0 ? idAnterior : ids.proximo());
+                }
+            }
+        }
+    }
+
+    private void removerDosIndices(long id) {
+        for (IndiceSecundario<T> indice : indices) {
+            indice.remover(id);
+        }
+    }
+
+    private void invalidar() {
+        instantaneo = null;
+        versao++;
+    }
+}
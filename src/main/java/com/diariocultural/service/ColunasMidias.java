@@ -0,0 +1,224 @@
+// === ColunasMidias.java === "Service"
+
+package com.diariocultural.service;
+
+import com.diariocultural.model.Midia;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.ToIntFunction;
+
+/**
+ * Espelho colunar das mídias de um tipo: em vez de um objeto por mídia, um vetor primitivo
+ * por atributo (ano de lançamento, nota, situação, dia de consumo e duração), com uma
+ * posição por mídia. Os agregados percorrem esses vetores em sequência, sem seguir
+ * referências, sem boxing e sem chamar os getters, o que os torna muito mais baratos que
+ * uma passada sobre as mídias em catálogos grandes.
+ *
+ * As posições seguem a ordem crescente dos identificadores, encontradas por busca binária:
+ * como os identificadores novos são sempre maiores, uma adição é normalmente um acréscimo
+ * ao final. A remoção apenas marca a posição, e as posições marcadas são descartadas de
+ * uma vez quando passam da metade. Como os índices, o espelho é mantido pela
+ * {@link ColecaoMidias} sob o lock de escrita do catálogo.
+ *
+ * @param <T> O tipo de mídia espelhado.
+ */
+class ColunasMidias<T extends Midia> implements IndiceSecundario<T> {
+    private static final int CAPACIDADE_INICIAL = 64;
+    private static final byte VIVA = 1;
+    private static final byte CONSUMIDA = 2;
+
+    private final ToIntFunction<T> duracao;
+    private long[] ids;
+    private int[] anos;
+    private byte[] notas;
+    private byte[] situacoes;
+    private int[] diasConsumo;
+    private int[] segundos;
+    private int tamanho;
+    private int removidas;
+
+    /**
+     * Construtor do espelho.
+     * @param duracao Função que retorna a duração da mídia em segundos, ou null se o tipo não tiver duração.
+     */
+    ColunasMidias(ToIntFunction<T> duracao) {
+        this.duracao = duracao;
+        alocar(CAPACIDADE_INICIAL);
+    }
+
+    @Override
+    public void adicionar(T midia) {
+        long id = midia.getId();
+        int posicao = tamanho > 0 && ids[tamanho - 1] >= id ? Arrays.binarySearch(ids, 0, tamanho, id) : -tamanho - 1;
+        if (posicao >= 0) {
+            if (situacoes[posicao] == 0) {
+                removidas--;
+            }
+        } else {
+            posicao = -posicao - 1;
+            abrirPosicao(posicao);
+            ids[posicao] = id;
+        }
+        gravar(posicao, midia);
+    }
+
+    @Override
+    public void atualizar(long idAnterior, T midia) {
+        int posicao = idAnterior == midia.getId() ? posicaoDe(idAnterior) : -1;
+        if (posicao >= 0 && situacoes[posicao] != 0) {
+            gravar(posicao, midia);
+        } else {
+            remover(idAnterior);
+            adicionar(midia);
+        }
+    }
+
+    @Override
+    public void remover(long id) {
+        int posicao = posicaoDe(id);
+        if (posicao < 0 || situacoes[posicao] == 0) {
+            return;
+        }
+        situacoes[posicao] = 0;
+        removidas++;
+        if (removidas > CAPACIDADE_INICIAL && removidas * 2 > tamanho) {
+            compactar();
+        }
+    }
+
+    @Override
+    public void limpar() {
+        alocar(CAPACIDADE_INICIAL);
+        tamanho = 0;
+        removidas = 0;
+    }
+
+    /**
+     * Calcula os agregados das mídias espelhadas em uma passada sequencial pelas colunas.
+     * @param primeiroDia O primeiro dia da época de consumo aceito, ou {@link Integer#MIN_VALUE} para não limitar.
+     * @param ultimoDia O último dia da época de consumo aceito, ou {@link Integer#MAX_VALUE} para não limitar.
+     * @return as estatísticas das mídias (com um limite, só as consumidas no período).
+     */
+    EstatisticasMidias resumir(int primeiroDia, int ultimoDia) {
+        EstatisticasMidias.Acumulador acumulador = new EstatisticasMidias.Acumulador();
+        int n = tamanho;
+        int[] anos = this.anos;
+        byte[] notas = this.notas;
+        byte[] situacoes = this.situacoes;
+        int[] diasConsumo = this.diasConsumo;
+        int[] segundos = this.segundos;
+        for (int i = 0; i < n; i++) {
+            int situacao = situacoes[i];
+            int dia = diasConsumo[i];
+            if (situacao != 0 && dia >= primeiroDia && dia <= ultimoDia) {
+                acumulador.acumular(anos[i], notas[i], (situacao & CONSUMIDA) != 0, dia, segundos != null ? segundos[i] : 0);
+            }
+        }
+        return acumulador.concluir();
+    }
+
+    /**
+     * Calcula os mesmos agregados de {@link #resumir(int, int)} percorrendo as próprias mídias,
+     * para quando o espelho não estiver ativo.
+     * @param midias As mídias.
+     * @param duracao Função que retorna a duração da mídia em segundos, ou null se o tipo não tiver duração.
+     * @param primeiroDia O primeiro dia da época de consumo aceito, ou {@link Integer#MIN_VALUE} para não limitar.
+     * @param ultimoDia O último dia da época de consumo aceito, ou {@link Integer#MAX_VALUE} para não limitar.
+     * @return as estatísticas das mídias (com um limite, só as consumidas no período).
+     */
+    static <T extends Midia> EstatisticasMidias resumir(Collection<T> midias, ToIntFunction<T> duracao, int primeiroDia, int ultimoDia) {
+        EstatisticasMidias.Acumulador acumulador = new EstatisticasMidias.Acumulador();
+        for (T midia : midias) {
+            int dia = diaDeConsumo(midia);
+            if (dia >= primeiroDia && dia <= ultimoDia) {
+                acumulador.acumular(midia.getAnoLancamento(), midia.getAvaliacao(), midia.isConsumido(), dia,
+                        duracao != null ? duracao.applyAsInt(midia) : 0);
+            }
+        }
+        return acumulador.concluir();
+    }
+
+    /**
+     * Retorna quantas mídias estão espelhadas.
+     * @return o número de mídias, sem contar as removidas.
+     */
+    int tamanho() {
+        return tamanho - removidas;
+    }
+
+    private static int diaDeConsumo(Midia midia) {
+        return midia.getDataConsumo() != null ? (int) midia.getDataConsumo().toEpochDay() : EstatisticasMidias.Acumulador.SEM_DATA;
+    }
+
+    private void gravar(int posicao, T midia) {
+        anos[posicao] = midia.getAnoLancamento();
+        notas[posicao] = (byte) midia.getAvaliacao();
+        situacoes[posicao] = midia.isConsumido() ? VIVA | CONSUMIDA : VIVA;
+        diasConsumo[posicao] = diaDeConsumo(midia);
+        if (segundos != null) {
+            segundos[posicao] = duracao.applyAsInt(midia);
+        }
+    }
+
+    private int posicaoDe(long id) {
+        return Arrays.binarySearch(ids, 0, tamanho, id);
+    }
+
+    /** Abre uma posição livre, deslocando as seguintes, e cresce as colunas se necessário. */
+    private void abrirPosicao(int posicao) {
+        if (tamanho == ids.length) {
+            int capacidade = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacidade);
+            anos = Arrays.copyOf(anos, capacidade);
+            notas = Arrays.copyOf(notas, capacidade);
+            situacoes = Arrays.copyOf(situacoes, capacidade);
+            diasConsumo = Arrays.copyOf(diasConsumo, capacidade);
+            if (segundos != null) {
+                segundos = Arrays.copyOf(segundos, capacidade);
+            }
+        }
+        int seguintes = tamanho - posicao;
+        if (seguintes > 0) {
+            System.arraycopy(ids, posicao, ids, posicao + 1, seguintes);
+            System.arraycopy(anos, posicao, anos, posicao + 1, seguintes);
+            System.arraycopy(notas, posicao, notas, posicao + 1, seguintes);
+            System.arraycopy(situacoes, posicao, situacoes, posicao + 1, seguintes);
+            System.arraycopy(diasConsumo, posicao, diasConsumo, posicao + 1, seguintes);
+            if (segundos != null) {
+                System.arraycopy(segundos, posicao, segundos, posicao + 1, seguintes);
+            }
+        }
+        tamanho++;
+    }
+
+    /** Descarta as posições das mídias removidas, mantendo a ordem das demais. */
+    private void compactar() {
+        int destino = 0;
+        for (int i = 0; i < tamanho; i++) {
+            if (situacoes[i] != 0) {
+                ids[destino] = ids[i];
+                anos[destino] = anos[i];
+                notas[destino] = notas[i];
+                situacoes[destino] = situacoes[i];
+                diasConsumo[destino] = diasConsumo[i];
+                if (segundos != null) {
+                    segundos[destino] = segundos[i];
+                }
+                destino++;
+            }
+        }
+        Arrays.fill(situacoes, destino, tamanho, (byte) 0);
+        tamanho = destino;
+        removidas = 0;
+    }
+
+    private void alocar(int capacidade) {
+        ids = new long[capacidade];
+        anos = new int[capacidade];
+        notas = new byte[capacidade];
+        situacoes = new byte[capacidade];
+        diasConsumo = new int[capacidade];
+        segundos = duracao != null ? new int[capacidade] : null;
+    }
+}
@@ -0,0 +1,224 @@
+// === ConfiguracaoCatalogo.java === "Service"
+
+package com.diariocultural.service;
+
+/**
+ * Reúne as opções que controlam como o Catalogo persiste seus dados.
+ * O construtor padrão reproduz o comportamento original: cada mutação regrava
+ * o arquivo JSON completo de forma síncrona.
+ */
+public class ConfiguracaoCatalogo {
+    private boolean journalAtivo;
+    private int limiteCheckpoint;
+    private boolean agendamentoAtivo;
+    private long janelaAgendamentoMillis;
+    private int maxOperacoesPorEscrita;
+    private FormatoSnapshot formato;
+    private int particoesPorTipo;
+    private int paralelismoCarregamento;
+    private boolean espelhoColunarAtivo;
+
+    /**
+     * Cria uma configuração com os valores padrão (sem journal).
+     */
+    public ConfiguracaoCatalogo() {
+        this.journalAtivo = false;
+        this.limiteCheckpoint = 1000;
+        this.agendamentoAtivo = false;
+        this.janelaAgendamentoMillis = 0;
+        this.maxOperacoesPorEscrita = 1;
+        this.formato = FormatoSnapshot.JSON;
+        this.particoesPorTipo = 0;
+        this.paralelismoCarregamento = 1;
+        this.espelhoColunarAtivo = false;
+    }
+
+    /**
+     * Retorna uma nova configuração com os valores padrão.
+     * @return a configuração padrão.
+     */
+    public static ConfiguracaoCatalogo padrao() {
+        return new ConfiguracaoCatalogo();
+    }
+
+    /**
+     * Ativa ou desativa o journal de mutações (write-ahead log).
+     * Com o journal ativo, cada mutação vira um pequeno registro anexado ao arquivo
+     * de journal e o snapshot JSON só é regravado nos checkpoints.
+     * @param ativo true para ativar o journal.
+     * @return esta configuração, para encadeamento.
+     */
+    public ConfiguracaoCatalogo comJournal(boolean ativo) {
+        this.journalAtivo = ativo;
+        return this;
+    }
+
+    /**
+     * Define quantos registros o journal acumula antes de um checkpoint automático.
+     * @param limite O número de registros (deve ser positivo).
+     * @return esta configuração, para encadeamento.
+     * @throws IllegalArgumentException se o limite não for positivo.
+     */
+    public ConfiguracaoCatalogo comLimiteCheckpoint(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("O limite de checkpoint deve ser positivo.");
+        }
+        this.limiteCheckpoint = limite;
+        return this;
+    }
+
+    /**
+     * Ativa a gravação agrupada em segundo plano: as mutações que chegarem dentro da
+     * janela (ou até o número máximo de operações) são gravadas em uma única escrita,
+     * fora da thread que fez a alteração. Use {@link Catalogo#flush()} para forçar a gravação.
+     * @param janelaMillis A janela de agrupamento em milissegundos.
+     * @param maxOperacoes O número de operações pendentes que força a escrita antes do fim da janela.
+     * @return esta configuração, para encadeamento.
+     * @throws IllegalArgumentException se a janela for negativa ou o máximo de operações não for positivo.
+     */
+    public ConfiguracaoCatalogo comAgendamento(long janelaMillis, int maxOperacoes) {
+        if (janelaMillis < 0) {
+            throw new IllegalArgumentException("A janela de agendamento não pode ser negativa.");
+        }
+        if (maxOperacoes <= 0) {
+            throw new IllegalArgumentException("O número máximo de operações por escrita deve ser positivo.");
+        }
+        this.agendamentoAtivo = true;
+        this.janelaAgendamentoMillis = janelaMillis;
+        this.maxOperacoesPorEscrita = maxOperacoes;
+        return this;
+    }
+
+    /**
+     * Ativa a escrita em segundo plano sem janela de agrupamento: cada mutação é
+     * gravada assim que possível por uma thread dedicada, de modo que quem chamou
+     * nunca espera pelo fsync. Mutações que chegam durante uma escrita em andamento
+     * são reunidas na escrita seguinte.
+     * @return esta configuração, para encadeamento.
+     */
+    public ConfiguracaoCatalogo comEscritaEmSegundoPlano() {
+        return comAgendamento(0, 1);
+    }
+
+    /**
+     * Define o formato do arquivo de snapshot.
+     * @param formato O formato do snapshot (JSON ou binário).
+     * @return esta configuração, para encadeamento.
+     * @throws IllegalArgumentException se o formato for nulo.
+     */
+    public ConfiguracaoCatalogo comFormato(FormatoSnapshot formato) {
+        if (formato == null) {
+            throw new IllegalArgumentException("O formato do snapshot não pode ser nulo.");
+        }
+        this.formato = formato;
+        return this;
+    }
+
+    /**
+     * Ativa o armazenamento fragmentado: em vez de um único arquivo, o catálogo é
+     * gravado em um arquivo por tipo de mídia, subdividido em partições pelo hash do
+     * título, e cada gravação regrava apenas os fragmentos alterados.
+     * @param particoesPorTipo O número de partições por tipo de mídia (1 para um arquivo por tipo).
+     * @return esta configuração, para encadeamento.
+     * @throws IllegalArgumentException se o número de partições não estiver entre 1 e 100.
+     */
+    public ConfiguracaoCatalogo comFragmentacao(int particoesPorTipo) {
+        if (particoesPorTipo < 1 || particoesPorTipo > 100) {
+            throw new IllegalArgumentException("O número de partições por tipo deve estar entre 1 e 100.");
+        }
+        this.particoesPorTipo = particoesPorTipo;
+        return this;
+    }
+
+    /**
+     * Define quantas threads podem ser usadas para carregar o catálogo na inicialização.
+     * Com mais de uma thread, as seções (e os fragmentos) são interpretadas em paralelo, ao
+     * custo de manter na memória, durante a carga, os bytes de cada arquivo e as seções já
+     * interpretadas; com uma única thread, cada arquivo é lido em streaming e as mídias vão
+     * direto para as coleções. O padrão é uma thread: o paralelismo é opcional, para quem
+     * prefere um carregamento mais rápido a um pico de memória menor.
+     * @param threads O número máximo de threads de carregamento.
+     * @return esta configuração, para encadeamento.
+     * @throws IllegalArgumentException se o número de threads não for positivo.
+     */
+    public ConfiguracaoCatalogo comParalelismoCarregamento(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("O número de threads de carregamento deve ser positivo.");
+        }
+        this.paralelismoCarregamento = threads;
+        return this;
+    }
+
+    /**
+     * Ativa ou desativa o espelho colunar: além das mídias, o catálogo mantém vetores
+     * primitivos com o ano, a nota, o consumo, a data de consumo e a duração de cada mídia,
+     * percorridos pelas estatísticas ({@link Catalogo#getEstatisticasLivros()} e afins) sem
+     * tocar nos objetos. Custa alguns bytes por mídia e um pouco mais em cada alteração.
+     * @param ativo true para manter o espelho.
+     * @return esta configuração, para encadeamento.
+     */
+    public ConfiguracaoCatalogo comEspelhoColunar(boolean ativo) {
+        this.espelhoColunarAtivo = ativo;
+        return this;
+    }
+
+    /**
+     * Verifica se o journal de mutações está ativo.
+     * @return true se o journal estiver ativo.
+     */
+    public boolean isJournalAtivo() { return journalAtivo; }
+
+    /**
+     * Retorna o número de registros do journal que dispara um checkpoint.
+     * @return o limite de checkpoint.
+     */
+    public int getLimiteCheckpoint() { return limiteCheckpoint; }
+
+    /**
+     * Verifica se a gravação agrupada em segundo plano está ativa.
+     * @return true se as escritas forem agendadas.
+     */
+    public boolean isAgendamentoAtivo() { return agendamentoAtivo; }
+
+    /**
+     * Retorna a janela de agrupamento das escritas.
+     * @return a janela em milissegundos.
+     */
+    public long getJanelaAgendamentoMillis() { return janelaAgendamentoMillis; }
+
+    /**
+     * Retorna o número de operações pendentes que força uma escrita.
+     * @return o máximo de operações por escrita.
+     */
+    public int getMaxOperacoesPorEscrita() { return maxOperacoesPorEscrita; }
+
+    /**
+     * Retorna o formato do arquivo de snapshot.
+     * @return o formato do snapshot.
+     */
+    public FormatoSnapshot getFormato() { return formato; }
+
+    /**
+     * Verifica se o armazenamento fragmentado está ativo.
+     * @return true se o catálogo for gravado em fragmentos.
+     */
+    public boolean isFragmentacaoAtiva() { return particoesPorTipo > 0; }
+
+    /**
+     * Retorna o número de partições por tipo de mídia do armazenamento fragmentado.
+     * @return o número de partições (0 se a fragmentação estiver desativada).
+     */
+    public int getParticoesPorTipo() { return particoesPorTipo; }
+
+    /**
+     * Retorna o número máximo de threads usadas no carregamento do catálogo.
+     * @return o paralelismo do carregamento.
+     */
+    public int getParalelismoCarregamento() { return paralelismoCarregamento; }
+
+    /**
+     * Verifica se o espelho colunar das mídias está ativo.
+     * @return true se o catálogo mantiver o espelho colunar.
+     */
+    public boolean isEspelhoColunarAtivo() { return espelhoColunarAtivo; }
+}
@@ -0,0 +1,291 @@
+// === ConsultaMidias.java === "Service"
+
+package com.diariocultural.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Consulta composta às mídias de um tipo: critérios sobre campos diferentes (trechos do
+ * título, do autor, da direção ou do elenco, ISBN, gênero, ano ou intervalo de anos, nota
+ * mínima e consumo) combinados livremente com E e OU, como em
+ * {@code ConsultaMidias.genero("Drama").e(ConsultaMidias.anosEntre(1990, 1999)).e(ConsultaMidias.avaliacaoMinima(4))}.
+ *
+ * A consulta é imutável e só descreve os critérios. O catálogo a responde por um pequeno
+ * planejador ({@link PlanejadorConsultas}): em cada E, os critérios são estimados pelos
+ * índices e resolvidos do mais seletivo ao menos seletivo, e os que encontrariam muito mais
+ * mídias do que as candidatas já restantes são apenas conferidos nessas candidatas.
+ */
+public final class ConsultaMidias {
+
+    /**
+     * Critério simples de uma consulta.
+     */
+    public enum Criterio {
+        /** Trecho do título, sem distinção de acentos, maiúsculas e minúsculas. */
+        TITULO,
+        /** Trecho do nome do autor dos livros, sem distinção de maiúsculas e minúsculas. */
+        AUTOR,
+        /** Trecho do nome da direção dos filmes, sem distinção de maiúsculas e minúsculas. */
+        DIRECAO,
+        /** Trecho do nome de algum ator do elenco de filmes e séries, sem distinção de maiúsculas e minúsculas. */
+        ATOR,
+        /** O ISBN exato dos livros. */
+        ISBN,
+        /** O gênero exato, sem distinção de maiúsculas e minúsculas. */
+        GENERO,
+        /** O ano de lançamento, dentro de um intervalo inclusivo. */
+        ANO,
+        /** A nota mínima da avaliação. */
+        AVALIACAO_MINIMA,
+        /** A situação de consumo. */
+        CONSUMIDA
+    }
+
+    /**
+     * Forma de combinar as partes de uma consulta composta.
+     */
+    enum Operador {
+        E, OU
+    }
+
+    private final Criterio criterio;
+    private final Operador operador;
+    private final String texto;
+    private final int minimo;
+    private final int maximo;
+    private final List<ConsultaMidias> partes;
+
+    private ConsultaMidias(Criterio criterio, String texto, int minimo, int maximo) {
+        this.criterio = criterio;
+        this.operador = null;
+        this.texto = texto;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.partes = List.of();
+    }
+
+    private ConsultaMidias(Operador operador, List<ConsultaMidias> partes) {
+        this.criterio = null;
+        this.operador = operador;
+        this.texto = null;
+        this.minimo = 0;
+        this.maximo = 0;
+        this.partes = Collections.unmodifiableList(partes);
+    }
+
+    /**
+     * Aceita as mídias com o trecho no título.
+     * @param trecho O trecho buscado.
+     * @return o novo critério.
+     * @throws IllegalArgumentException se o trecho for nulo ou estiver em branco.
+     */
+    public static ConsultaMidias titulo(String trecho) {
+        return comTexto(Criterio.TITULO, trecho);
+    }
+
+    /**
+     * Aceita os livros com o trecho no nome do autor.
+     * @param trecho O trecho buscado.
+     * @return o novo critério.
+     * @throws IllegalArgumentException se o trecho for nulo ou estiver em branco.
+     */
+    public static ConsultaMidias autor(String trecho) {
+        return comTexto(Criterio.AUTOR, trecho);
+    }
+
+    /**
+     * Aceita os filmes com o trecho no nome da direção.
+     * @param trecho O trecho buscado.
+     * @return o novo critério.
+     * @throws IllegalArgumentException se o trecho for nulo ou estiver em branco.
+     */
+    public static ConsultaMidias direcao(String trecho) {
+        return comTexto(Criterio.DIRECAO, trecho);
+    }
+
+    /**
+     * Aceita os filmes e séries com o trecho no nome de algum ator do elenco.
+     * @param trecho O trecho buscado.
+     * @return o novo critério.
+     * @throws IllegalArgumentException se o trecho for nulo ou estiver em branco.
+     */
+    public static ConsultaMidias ator(String trecho) {
+        return comTexto(Criterio.ATOR, trecho);
+    }
+
+    /**
+     * Aceita os livros com o ISBN informado.
+     * @param isbn O ISBN exato.
+     * @return o novo critério.
+     * @throws IllegalArgumentException se o ISBN for nulo ou estiver em branco.
+     */
+    public static ConsultaMidias isbn(String isbn) {
+        return comTexto(Criterio.ISBN, isbn);
+    }
+
+    /**
+     * Aceita as mídias do gênero informado.
+     * @param genero O gênero exato, sem distinção de maiúsculas e minúsculas.
+     * @return o novo critério.
+     * @throws IllegalArgumentException se o gênero for nulo ou estiver em branco.
+     */
+    public static ConsultaMidias genero(String genero) {
+        return comTexto(Criterio.GENERO, genero);
+    }
+
+    /**
+     * Aceita as mídias lançadas no ano informado.
+     * @param ano O ano de lançamento.
+     * @return o novo critério.
+     */
+    public static ConsultaMidias ano(int ano) {
+        return anosEntre(ano, ano);
+    }
+
+    /**
+     * Aceita as mídias lançadas entre os anos informados, inclusive.
+     * @param inicio O primeiro ano aceito.
+     * @param fim O último ano aceito.
+     * @return o novo critério.
+     * @throws IllegalArgumentException se o fim for anterior ao início.
+     */
+    public static ConsultaMidias anosEntre(int inicio, int fim) {
+        if (fim < inicio) {
+            throw new IllegalArgumentException("O ano final não pode ser anterior ao inicial.");
+        }
+        return new ConsultaMidias(Criterio.ANO, null, inicio, fim);
+    }
+
+    /**
+     * Aceita as mídias avaliadas com pelo menos a nota informada.
+     * @param nota A nota mínima, de 1 a 5.
+     * @return o novo critério.
+     * @throws IllegalArgumentException se a nota estiver fora do intervalo válido (1-5).
+     */
+    public static ConsultaMidias avaliacaoMinima(int nota) {
+        if (nota < 1 || nota > 5) {
+            throw new IllegalArgumentException("A nota mínima deve ser um valor entre 1 e 5.");
+        }
+        return new ConsultaMidias(Criterio.AVALIACAO_MINIMA, null, nota, 5);
+    }
+
+    /**
+     * Aceita apenas as mídias consumidas (true) ou não consumidas (false).
+     * @param consumida A situação aceita.
+     * @return o novo critério.
+     */
+    public static ConsultaMidias consumida(boolean consumida) {
+        int valor = consumida ? 1 : 0;
+        return new ConsultaMidias(Criterio.CONSUMIDA, null, valor, valor);
+    }
+
+    /**
+     * Combina as consultas com E: as mídias precisam atender a todas.
+     * @param partes As consultas combinadas.
+     * @return a nova consulta.
+     * @throws IllegalArgumentException se nenhuma consulta for informada.
+     */
+    public static ConsultaMidias todas(ConsultaMidias... partes) {
+        return combinar(Operador.E, partes);
+    }
+
+    /**
+     * Combina as consultas com OU: as mídias precisam atender a pelo menos uma.
+     * @param partes As consultas combinadas.
+     * @return a nova consulta.
+     * @throws IllegalArgumentException se nenhuma consulta for informada.
+     */
+    public static ConsultaMidias qualquer(ConsultaMidias... partes) {
+        return combinar(Operador.OU, partes);
+    }
+
+    /**
+     * Combina esta consulta com outra, com E.
+     * @param outra A outra consulta.
+     * @return a nova consulta.
+     */
+    public ConsultaMidias e(ConsultaMidias outra) {
+        return todas(this, outra);
+    }
+
+    /**
+     * Combina esta consulta com outra, com OU.
+     * @param outra A outra consulta.
+     * @return a nova consulta.
+     */
+    public ConsultaMidias ou(ConsultaMidias outra) {
+        return qualquer(this, outra);
+    }
+
+    /**
+     * Retorna o critério simples, ou null se a consulta for uma combinação.
+     */
+    Criterio getCriterio() { return criterio; }
+
+    /**
+     * Retorna o operador da combinação, ou null se a consulta for um critério simples.
+     */
+    Operador getOperador() { return operador; }
+
+    /**
+     * Retorna o texto buscado pelos critérios textuais, como informado.
+     */
+    String getTexto() { return texto; }
+
+    /**
+     * Retorna o menor valor aceito pelos critérios numéricos (ano, nota e consumo, como 0 ou 1).
+     */
+    int getMinimo() { return minimo; }
+
+    /**
+     * Retorna o maior valor aceito pelos critérios numéricos.
+     */
+    int getMaximo() { return maximo; }
+
+    /**
+     * Retorna as partes de uma combinação, somente leitura (vazio em um critério simples).
+     */
+    List<ConsultaMidias> getPartes() { return partes; }
+
+    @Override
+    public String toString() {
+        if (operador != null) {
+            StringBuilder descricao = new StringBuilder("(");
+            for (int i = 0; i < partes.size(); i++) {
+                descricao.append(i > 0 ? " " + operador + " " : "").append(partes.get(i));
+            }
+            return descricao.append(')').toString();
+        }
+        if (texto != null) {
+            return criterio + "~\"" + texto + "\"";
+        }
+        return minimo == maximo ? criterio + "=" + minimo : criterio + "=" + minimo + ".." + maximo;
+    }
+
+    private static ConsultaMidias comTexto(Criterio criterio, String texto) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("O valor do critério " + criterio + " não pode ser nulo ou vazio.");
+        }
+        return new ConsultaMidias(criterio, texto, 0, 0);
+    }
+
+    private static ConsultaMidias combinar(Operador operador, ConsultaMidias... partes) {
+        if (partes.length == 0) {
+            throw new IllegalArgumentException("A combinação precisa de pelo menos uma consulta.");
+        }
+        List<ConsultaMidias> combinadas = new ArrayList<>(partes.length);
+        for (ConsultaMidias parte : partes) {
+            Objects.requireNonNull(parte, "As partes da consulta não podem ser nulas.");
+            // Combinações encadeadas com o mesmo operador ficam planas: a.e(b).e(c) = todas(a, b, c).
+            if (parte.operador == operador) {
+                combinadas.addAll(parte.partes);
+            } else {
+                combinadas.add(parte);
+            }
+        }
+        return combinadas.size() == 1 ? combinadas.get(0) : new ConsultaMidias(operador, combinadas);
+    }
+}
@@ -0,0 +1,138 @@
+// === ConsultaTextual.java === "Service"
+
+package com.diariocultural.service;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Consulta ao índice textual do catálogo, sobre títulos, títulos originais, reviews (das
+ * mídias e das temporadas das séries) e nomes de autores, diretores e atores. O texto
+ * buscado e o das mídias são comparados sem acentos e sem distinção de maiúsculas e
+ * minúsculas: "acao" encontra "Ação".
+ *
+ * Há quatro modos: {@link Modo#TERMOS} (todos os termos, em qualquer ordem e em qualquer
+ * dos campos), {@link Modo#FRASE} (os termos em sequência, em um mesmo campo),
+ * {@link Modo#TRECHO} (o texto como parte de um campo, como a busca por título das telas)
+ * e {@link Modo#APROXIMADA} (como por termos, tolerando erros de digitação).
+ * Por padrão, a consulta considera todos os campos.
+ */
+public class ConsultaTextual {
+
+    /**
+     * Modo de comparação do texto buscado com os campos.
+     */
+    public enum Modo {
+        /** Todos os termos significativos presentes, em qualquer ordem; as palavras vazias são ignoradas. */
+        TERMOS,
+        /** Os termos em sequência, inclusive as palavras vazias. */
+        FRASE,
+        /** O texto como parte do campo, podendo começar e terminar no meio de palavras. */
+        TRECHO,
+        /**
+         * Todos os termos significativos presentes, tolerando erros de digitação: cada termo
+         * aceita os termos indexados a poucas edições dele (uma até cinco letras, duas acima
+         * disso; nenhuma até duas letras), e os resultados vêm dos mais próximos aos mais distantes.
+         */
+        APROXIMADA
+    }
+
+    /**
+     * Campo textual das mídias coberto pelo índice.
+     */
+    public enum Campo {
+        /** O título da mídia. */
+        TITULO,
+        /** O título original de filmes e séries. */
+        TITULO_ORIGINAL,
+        /** O texto da review da mídia e, nas séries, das reviews das temporadas. */
+        REVIEW,
+        /** O autor dos livros. */
+        AUTOR,
+        /** A direção dos filmes. */
+        DIRECAO,
+        /** Os atores do elenco de filmes e séries. */
+        ELENCO
+    }
+
+    private final Modo modo;
+    private final String texto;
+    private final Set<Campo> campos = EnumSet.allOf(Campo.class);
+
+    private ConsultaTextual(Modo modo, String texto) {
+        this.modo = modo;
+        this.texto = Objects.requireNonNull(texto, "O texto da consulta não pode ser nulo.");
+    }
+
+    /**
+     * Cria uma consulta pelos termos do texto, em qualquer ordem.
+     * @param texto O texto buscado.
+     * @return a nova consulta.
+     */
+    public static ConsultaTextual termos(String texto) {
+        return new ConsultaTextual(Modo.TERMOS, texto);
+    }
+
+    /**
+     * Cria uma consulta pela frase, com os termos em sequência.
+     * @param texto A frase buscada.
+     * @return a nova consulta.
+     */
+    public static ConsultaTextual frase(String texto) {
+        return new ConsultaTextual(Modo.FRASE, texto);
+    }
+
+    /**
+     * Cria uma consulta por trecho: o texto pode começar e terminar no meio de palavras.
+     * Um texto sem letras nem dígitos corresponde a todas as mídias.
+     * @param texto O trecho buscado.
+     * @return a nova consulta.
+     */
+    public static ConsultaTextual trecho(String texto) {
+        return new ConsultaTextual(Modo.TRECHO, texto);
+    }
+
+    /**
+     * Cria uma consulta pelos termos do texto, em qualquer ordem, tolerando erros de digitação.
+     * @param texto O texto buscado, possivelmente com erros.
+     * @return a nova consulta.
+     */
+    public static ConsultaTextual aproximada(String texto) {
+        return new ConsultaTextual(Modo.APROXIMADA, texto);
+    }
+
+    /**
+     * Restringe a consulta aos campos informados.
+     * @param campos Os campos considerados.
+     * @return esta consulta, para encadeamento.
+     * @throws IllegalArgumentException se nenhum campo for informado.
+     */
+    public ConsultaTextual nosCampos(Campo... campos) {
+        if (campos.length == 0) {
+            throw new IllegalArgumentException("A consulta precisa de pelo menos um campo.");
+        }
+        this.campos.clear();
+        Collections.addAll(this.campos, campos);
+        return this;
+    }
+
+    /**
+     * Retorna o modo da consulta.
+     * @return o modo.
+     */
+    public Modo getModo() { return modo; }
+
+    /**
+     * Retorna o texto buscado, como informado.
+     * @return o texto.
+     */
+    public String getTexto() { return texto; }
+
+    /**
+     * Retorna os campos considerados.
+     * @return os campos, somente leitura.
+     */
+    public Set<Campo> getCampos() { return Collections.unmodifiableSet(campos); }
+}
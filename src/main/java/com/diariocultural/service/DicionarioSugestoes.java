@@ -0,0 +1,238 @@
+// === DicionarioSugestoes.java === "Service"
+
+package com.diariocultural.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Dicionário imutável para as sugestões da busca enquanto o usuário digita: títulos, autores,
+ * diretores ou atores, encontrados pelo início de qualquer uma de suas palavras, sem acentos
+ * e sem distinção de maiúsculas e minúsculas ("sen" sugere "O Senhor dos Anéis").
+ *
+ * As chaves são os finais dos valores normalizados a partir de cada início de palavra
+ * (palavras vazias não abrem chave), mantidas em vetores primitivos ordenados: cada chave é
+ * só o índice do valor e a posição onde ela começa, sem cópias de texto. Uma consulta é uma
+ * busca binária pela primeira chave com o prefixo, seguida da leitura das chaves seguintes,
+ * e custa O(log n) mais o tamanho do resultado, independentemente do tamanho do dicionário.
+ */
+public final class DicionarioSugestoes {
+
+    /**
+     * Origem dos valores sugeridos pelo catálogo.
+     */
+    public enum Fonte {
+        /** Títulos dos livros. */
+        TITULOS_DE_LIVROS,
+        /** Autores dos livros. */
+        AUTORES,
+        /** Títulos dos filmes. */
+        TITULOS_DE_FILMES,
+        /** Diretores dos filmes. */
+        DIRETORES,
+        /** Atores do elenco dos filmes. */
+        ATORES,
+        /** Títulos das séries. */
+        TITULOS_DE_SERIES
+    }
+
+    private final String[] valores;
+    private final String[] normalizados;
+    // Chave i: o final de normalizados[valorDaChave[i]] a partir de inicioDaChave[i].
+    private final int[] valorDaChave;
+    private final int[] inicioDaChave;
+    private final long versao;
+
+    private DicionarioSugestoes(String[] valores, String[] normalizados, int[] valorDaChave, int[] inicioDaChave,
+                                long versao) {
+        this.valores = valores;
+        this.normalizados = normalizados;
+        this.valorDaChave = valorDaChave;
+        this.inicioDaChave = inicioDaChave;
+        this.versao = versao;
+    }
+
+    /**
+     * Cria um dicionário com os valores informados; valores nulos, em branco ou repetidos são ignorados.
+     * @param valores Os valores sugeridos, na forma em que devem ser exibidos.
+     * @return o novo dicionário.
+     */
+    public static DicionarioSugestoes de(Collection<String> valores) {
+        return construir(valores, 0);
+    }
+
+    /**
+     * Cria um dicionário registrando a versão da coleção de que os valores foram extraídos,
+     * para que o catálogo saiba quando reconstruí-lo.
+     */
+    static DicionarioSugestoes construir(Collection<String> valores, long versao) {
+        Set<String> distintos = new LinkedHashSet<>();
+        for (String valor : valores) {
+            if (valor != null && !valor.isBlank()) {
+                distintos.add(valor);
+            }
+        }
+        String[] originais = distintos.toArray(new String[0]);
+        String[] normalizados = new String[originais.length];
+        int[] valorDaChave = new int[Math.max(16, originais.length * 2)];
+        int[] inicioDaChave = new int[valorDaChave.length];
+        int quantidade = 0;
+        for (int v = 0; v < originais.length; v++) {
+            String normalizado = AnalisadorTexto.dobrar(originais[v]);
+            normalizados[v] = normalizado;
+            for (int inicio = 0; inicio < normalizado.length(); inicio++) {
+                if (iniciaPalavra(normalizado, inicio) && (inicio == 0 || !palavraVaziaEm(normalizado, inicio))) {
+                    if (quantidade == valorDaChave.length) {
+                        valorDaChave = Arrays.copyOf(valorDaChave, quantidade * 2);
+                        inicioDaChave = Arrays.copyOf(inicioDaChave, quantidade * 2);
+                    }
+                    valorDaChave[quantidade] = v;
+                    inicioDaChave[quantidade++] = inicio;
+                }
+            }
+        }
+        int[] ordem = ordenar(normalizados, valorDaChave, inicioDaChave, quantidade);
+        int[] valorOrdenado = new int[quantidade];
+        int[] inicioOrdenado = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            valorOrdenado[i] = valorDaChave[ordem[i]];
+            inicioOrdenado[i] = inicioDaChave[ordem[i]];
+        }
+        return new DicionarioSugestoes(originais, normalizados, valorOrdenado, inicioOrdenado, versao);
+    }
+
+    /**
+     * Retorna os valores em que alguma palavra começa pelo prefixo, na ordem alfabética do
+     * trecho encontrado, sem repetições.
+     * @param prefixo O início digitado, sem distinção de acentos, maiúsculas e minúsculas.
+     * @param limite A quantidade máxima de sugestões.
+     * @return as sugestões, na forma original (vazio se o prefixo estiver em branco).
+     * @throws IllegalArgumentException se o limite for negativo.
+     */
+    public List<String> comPrefixo(String prefixo, int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("O limite de sugestões não pode ser negativo: " + limite);
+        }
+        if (prefixo == null || prefixo.isBlank() || limite == 0) {
+            return List.of();
+        }
+        String buscado = AnalisadorTexto.dobrar(prefixo.strip());
+        Set<String> sugestoes = new LinkedHashSet<>();
+        for (int i = primeiraChaveAPartirDe(buscado); i < valorDaChave.length && sugestoes.size() < limite; i++) {
+            String normalizado = normalizados[valorDaChave[i]];
+            if (!normalizado.startsWith(buscado, inicioDaChave[i])) {
+                break;
+            }
+            sugestoes.add(valores[valorDaChave[i]]);
+        }
+        return new ArrayList<>(sugestoes);
+    }
+
+    /**
+     * Retorna a quantidade de valores distintos.
+     * @return a quantidade de valores.
+     */
+    public int getQuantidadeDeValores() { return valores.length; }
+
+    /**
+     * Retorna a quantidade de chaves (inícios de palavra) indexadas.
+     * @return a quantidade de chaves.
+     */
+    public int getQuantidadeDeChaves() { return valorDaChave.length; }
+
+    /**
+     * Retorna a versão da coleção de origem registrada na construção.
+     */
+    long getVersao() { return versao; }
+
+    /** Busca binária pela primeira chave maior ou igual ao prefixo. */
+    private int primeiraChaveAPartirDe(String prefixo) {
+        int baixo = 0;
+        int alto = valorDaChave.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (comparar(normalizados[valorDaChave[meio]], inicioDaChave[meio], prefixo, 0) < 0) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    /**
+     * Ordena as chaves sem criar objetos por chave: um merge sort dos índices que compara
+     * primeiro os quatro caracteres iniciais de cada chave, empacotados em um long, e só
+     * nos empates percorre os textos.
+     * @return os índices das chaves, em ordem.
+     */
+    private static int[] ordenar(String[] normalizados, int[] valorDaChave, int[] inicioDaChave, int quantidade) {
+        long[] prefixos = new long[quantidade];
+        int[] ordem = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            String texto = normalizados[valorDaChave[i]];
+            long prefixo = 0;
+            for (int j = 0; j < 4; j++) {
+                int posicao = inicioDaChave[i] + j;
+                prefixo = (prefixo << 16) | (posicao < texto.length() ? texto.charAt(posicao) : 0);
+            }
+            prefixos[i] = prefixo;
+            ordem[i] = i;
+        }
+        int[] auxiliar = new int[quantidade];
+        for (int largura = 1; largura < quantidade; largura *= 2) {
+            for (int esquerda = 0; esquerda < quantidade - largura; esquerda += 2 * largura) {
+                int meio = esquerda + largura;
+                int fim = Math.min(esquerda + 2 * largura, quantidade);
+                int a = esquerda;
+                int b = meio;
+                int k = esquerda;
+                while (a < meio && b < fim) {
+                    int x = ordem[a];
+                    int y = ordem[b];
+                    int comparacao = Long.compareUnsigned(prefixos[x], prefixos[y]);
+                    if (comparacao == 0) {
+                        comparacao = comparar(normalizados[valorDaChave[x]], inicioDaChave[x],
+                                normalizados[valorDaChave[y]], inicioDaChave[y]);
+                    }
+                    auxiliar[k++] = comparacao <= 0 ? ordem[a++] : ordem[b++];
+                }
+                System.arraycopy(ordem, a, auxiliar, k, meio - a);
+                k += meio - a;
+                System.arraycopy(ordem, b, auxiliar, k, fim - b);
+                System.arraycopy(auxiliar, esquerda, ordem, esquerda, fim - esquerda);
+            }
+        }
+        return ordem;
+    }
+
+    /** Compara os finais de dois textos, a partir das posições informadas. */
+    private static int comparar(String a, int inicioA, String b, int inicioB) {
+        int tamanho = Math.min(a.length() - inicioA, b.length() - inicioB);
+        for (int i = 0; i < tamanho; i++) {
+            char ca = a.charAt(inicioA + i);
+            char cb = b.charAt(inicioB + i);
+            if (ca != cb) {
+                return ca - cb;
+            }
+        }
+        return (a.length() - inicioA) - (b.length() - inicioB);
+    }
+
+    private static boolean iniciaPalavra(String texto, int posicao) {
+        return Character.isLetterOrDigit(texto.charAt(posicao))
+                && (posicao == 0 || !Character.isLetterOrDigit(texto.charAt(posicao - 1)));
+    }
+
+    private static boolean palavraVaziaEm(String texto, int inicio) {
+        int fim = inicio;
+        while (fim < texto.length() && Character.isLetterOrDigit(texto.charAt(fim))) {
+            fim++;
+        }
+        return AnalisadorTexto.isPalavraVazia(texto.substring(inicio, fim));
+    }
+}
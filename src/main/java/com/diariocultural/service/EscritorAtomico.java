@@ -0,0 +1,106 @@
+// === EscritorAtomico.java === "Service"
+
+package com.diariocultural.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Predicate;
+
+/**
+ * Utilitário para gravações à prova de queda: o conteúdo é escrito em um arquivo
+ * temporário ao lado do destino, forçado para o disco (fsync) e só então renomeado
+ * atomicamente sobre o arquivo original. Uma queda no meio da escrita deixa, no
+ * máximo, um arquivo temporário órfão — nunca um arquivo de dados truncado. Depois da
+ * renomeação, a pasta também é forçada para o disco, para que a nova entrada do
+ * diretório sobreviva a uma queda de energia.
+ */
+final class EscritorAtomico {
+
+    private static final String SUFIXO_TEMPORARIO = ".tmp";
+
+    /**
+     * Construtor privado para impedir que esta classe utilitária seja instanciada.
+     */
+    private EscritorAtomico() {}
+
+    /**
+     * Retorna o caminho do arquivo temporário usado para gravar o destino.
+     * @param destino O arquivo de destino.
+     * @return o caminho do arquivo temporário irmão.
+     */
+    static Path temporarioDe(Path destino) {
+        return destino.resolveSibling(destino.getFileName() + SUFIXO_TEMPORARIO);
+    }
+
+    /**
+     * Grava o conteúdo no destino de forma atômica e durável.
+     * @param destino O arquivo de destino.
+     * @param conteudo Os bytes a serem gravados.
+     * @throws IOException se a escrita, o fsync do arquivo ou a renomeação falharem.
+     */
+    static void gravar(Path destino, byte[] conteudo) throws IOException {
+        Path pasta = destino.toAbsolutePath().getParent();
+        Files.createDirectories(pasta);
+        Path temporario = temporarioDe(destino);
+
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(conteudo);
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            canal.force(true);
+        }
+
+        try {
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+        sincronizarPasta(pasta);
+    }
+
+    /**
+     * Força para o disco a entrada de diretório criada pela renomeação. Nem toda plataforma
+     * permite abrir uma pasta como canal (o Windows, por exemplo, recusa); nesse caso o
+     * fsync da pasta é omitido, e a durabilidade da renomeação fica a cargo do sistema.
+     * @param pasta A pasta do arquivo renomeado.
+     */
+    private static void sincronizarPasta(Path pasta) {
+        try (FileChannel canal = FileChannel.open(pasta, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Plataforma sem fsync de diretórios: a renomeação em si já foi concluída.
+        }
+    }
+
+    /**
+     * Trata um arquivo temporário deixado por uma gravação interrompida.
+     * Se o destino ainda existir, ele é a última versão completa e o temporário é descartado.
+     * Se o destino não existir (queda durante a primeira gravação) e o temporário for válido,
+     * o temporário é promovido a destino; se for inválido, é descartado.
+     * @param destino O arquivo de destino.
+     * @param valido Verifica se o conteúdo de um arquivo pode ser carregado.
+     * @return true se o temporário foi promovido a destino.
+     * @throws IOException se não for possível mover ou apagar o temporário.
+     */
+    static boolean recuperar(Path destino, Predicate<Path> valido) throws IOException {
+        Path temporario = temporarioDe(destino);
+        if (Files.notExists(temporario)) {
+            return false;
+        }
+        if (Files.notExists(destino) && valido.test(temporario)) {
+            Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING);
+            sincronizarPasta(destino.toAbsolutePath().getParent());
+            return true;
+        }
+        Files.delete(temporario);
+        return false;
+    }
+}
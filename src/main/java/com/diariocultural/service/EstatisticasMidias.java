@@ -0,0 +1,222 @@
+// === EstatisticasMidias.java === "Service"
+
+package com.diariocultural.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Agregados das mídias de um tipo (ou das consumidas em um período): quantidades, nota
+ * média, distribuição das notas e dos anos de lançamento, período de consumo e, para os
+ * filmes, a duração somada. Calculados em uma única passada, pelo espelho colunar do
+ * catálogo quando ele estiver ativo ou pelas próprias mídias, com o mesmo resultado.
+ */
+public final class EstatisticasMidias {
+    private final int total;
+    private final int consumidas;
+    private final int avaliadas;
+    private final long somaNotas;
+    private final int[] porNota;
+    private final int anoBase;
+    private final int[] porAno;
+    private final int primeiroDiaConsumo;
+    private final int ultimoDiaConsumo;
+    private final long segundosTotais;
+    private final long segundosConsumidos;
+
+    private EstatisticasMidias(Acumulador acumulador) {
+        this.total = acumulador.total;
+        this.consumidas = acumulador.consumidas;
+        this.avaliadas = acumulador.avaliadas;
+        this.somaNotas = acumulador.somaNotas;
+        this.porNota = acumulador.porNota;
+        this.anoBase = acumulador.anoBase;
+        this.porAno = acumulador.porAno;
+        this.primeiroDiaConsumo = acumulador.primeiroDiaConsumo;
+        this.ultimoDiaConsumo = acumulador.ultimoDiaConsumo;
+        this.segundosTotais = acumulador.segundosTotais;
+        this.segundosConsumidos = acumulador.segundosConsumidos;
+    }
+
+    /**
+     * Retorna o número de mídias consideradas.
+     * @return o total de mídias.
+     */
+    public int getTotal() { return total; }
+
+    /**
+     * Retorna o número de mídias consumidas.
+     * @return o número de consumidas.
+     */
+    public int getConsumidas() { return consumidas; }
+
+    /**
+     * Retorna o número de mídias avaliadas (nota de 1 a 5).
+     * @return o número de avaliadas.
+     */
+    public int getAvaliadas() { return avaliadas; }
+
+    /**
+     * Retorna a média das notas das mídias avaliadas.
+     * @return a nota média, ou 0 se nenhuma mídia foi avaliada.
+     */
+    public double getMediaAvaliacao() {
+        return avaliadas == 0 ? 0.0 : (double) somaNotas / avaliadas;
+    }
+
+    /**
+     * Retorna quantas mídias receberam a nota informada.
+     * @param nota A nota, de 1 a 5.
+     * @return o número de mídias com a nota.
+     * @throws IllegalArgumentException se a nota estiver fora do intervalo válido.
+     */
+    public int getQuantidadeComNota(int nota) {
+        if (nota < 1 || nota > 5) {
+            throw new IllegalArgumentException("A nota de avaliação deve ser um valor entre 1 e 5.");
+        }
+        return porNota[nota];
+    }
+
+    /**
+     * Retorna quantas mídias foram lançadas no ano informado.
+     * @param ano O ano de lançamento.
+     * @return o número de mídias lançadas no ano.
+     */
+    public int getQuantidadeLancadaEm(int ano) {
+        int indice = ano - anoBase;
+        return indice >= 0 && indice < porAno.length ? porAno[indice] : 0;
+    }
+
+    /**
+     * Retorna o ano de lançamento mais antigo entre as mídias.
+     * @return um Optional com o ano, ou vazio se não houver mídias.
+     */
+    public Optional<Integer> getAnoMaisAntigo() {
+        for (int i = 0; i < porAno.length; i++) {
+            if (porAno[i] > 0) {
+                return Optional.of(anoBase + i);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Retorna o ano de lançamento mais recente entre as mídias.
+     * @return um Optional com o ano, ou vazio se não houver mídias.
+     */
+    public Optional<Integer> getAnoMaisRecente() {
+        for (int i = porAno.length - 1; i >= 0; i--) {
+            if (porAno[i] > 0) {
+                return Optional.of(anoBase + i);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Retorna a data de consumo mais antiga entre as mídias.
+     * @return um Optional com a data, ou vazio se nenhuma mídia tiver data de consumo.
+     */
+    public Optional<LocalDate> getPrimeiroConsumo() {
+        return primeiroDiaConsumo == Integer.MAX_VALUE ? Optional.empty() : Optional.of(LocalDate.ofEpochDay(primeiroDiaConsumo));
+    }
+
+    /**
+     * Retorna a data de consumo mais recente entre as mídias.
+     * @return um Optional com a data, ou vazio se nenhuma mídia tiver data de consumo.
+     */
+    public Optional<LocalDate> getUltimoConsumo() {
+        return ultimoDiaConsumo == Integer.MIN_VALUE ? Optional.empty() : Optional.of(LocalDate.ofEpochDay(ultimoDiaConsumo));
+    }
+
+    /**
+     * Retorna a duração somada das mídias (apenas filmes têm duração).
+     * @return a duração total.
+     */
+    public Duration getDuracaoTotal() { return Duration.ofSeconds(segundosTotais); }
+
+    /**
+     * Retorna a duração somada das mídias consumidas (apenas filmes têm duração).
+     * @return a duração consumida.
+     */
+    public Duration getDuracaoConsumida() { return Duration.ofSeconds(segundosConsumidos); }
+
+    @Override
+    public String toString() {
+        return String.format("%d mídias, %d consumidas, %d avaliadas (média %.2f)",
+                total, consumidas, avaliadas, getMediaAvaliacao());
+    }
+
+    /**
+     * Acumula as mídias, uma a uma e só com valores primitivos, até a criação das estatísticas.
+     */
+    static final class Acumulador {
+        /** Dia de consumo das mídias sem data de consumo. */
+        static final int SEM_DATA = Integer.MIN_VALUE;
+
+        private int total;
+        private int consumidas;
+        private int avaliadas;
+        private long somaNotas;
+        private final int[] porNota = new int[6];
+        private int anoBase;
+        private int[] porAno = new int[0];
+        private int primeiroDiaConsumo = Integer.MAX_VALUE;
+        private int ultimoDiaConsumo = Integer.MIN_VALUE;
+        private long segundosTotais;
+        private long segundosConsumidos;
+
+        /**
+         * Acumula uma mídia.
+         * @param ano O ano de lançamento.
+         * @param nota A nota, 0 se a mídia não foi avaliada.
+         * @param consumida Se a mídia foi consumida.
+         * @param diaConsumo O dia da época da data de consumo, ou {@link #SEM_DATA}.
+         * @param segundos A duração em segundos, 0 se o tipo não tiver duração.
+         */
+        void acumular(int ano, int nota, boolean consumida, int diaConsumo, int segundos) {
+            total++;
+            if (consumida) {
+                consumidas++;
+                segundosConsumidos += segundos;
+            }
+            if (nota > 0) {
+                avaliadas++;
+                somaNotas += nota;
+                porNota[nota]++;
+            }
+            contarAno(ano);
+            if (diaConsumo != SEM_DATA) {
+                primeiroDiaConsumo = Math.min(primeiroDiaConsumo, diaConsumo);
+                ultimoDiaConsumo = Math.max(ultimoDiaConsumo, diaConsumo);
+            }
+            segundosTotais += segundos;
+        }
+
+        /**
+         * Cria as estatísticas com o que foi acumulado.
+         * @return as estatísticas.
+         */
+        EstatisticasMidias concluir() {
+            return new EstatisticasMidias(this);
+        }
+
+        private void contarAno(int ano) {
+            if (porAno.length == 0) {
+                anoBase = ano;
+                porAno = new int[16];
+            } else if (ano < anoBase) {
+                int deslocamento = anoBase - ano;
+                int[] maior = new int[porAno.length + deslocamento];
+                System.arraycopy(porAno, 0, maior, deslocamento, porAno.length);
+                porAno = maior;
+                anoBase = ano;
+            } else if (ano - anoBase >= porAno.length) {
+                porAno = Arrays.copyOf(porAno, Math.max(ano - anoBase + 1, porAno.length * 2));
+            }
+            porAno[ano - anoBase]++;
+        }
+    }
+}
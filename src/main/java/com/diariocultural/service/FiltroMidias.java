@@ -0,0 +1,139 @@
+// === FiltroMidias.java === "Service"
+
+package com.diariocultural.service;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Combinação de filtros aplicada às listagens do catálogo. Os valores de um mesmo critério
+ * são alternativas (OU: gênero "Drama" ou "Terror"), e critérios diferentes precisam ser
+ * todos atendidos (E: do gênero escolhido e consumida). Um critério não definido não filtra.
+ *
+ * O catálogo responde cada critério com os bitmaps dos seus índices, combinados antes de
+ * materializar as mídias, em vez de percorrer a coleção uma vez por critério.
+ */
+public class FiltroMidias {
+    private final Set<String> generos = new LinkedHashSet<>();
+    private final Set<Integer> anos = new LinkedHashSet<>();
+    private Integer anoMinimo;
+    private Integer anoMaximo;
+    private Boolean consumida;
+    private Boolean avaliada;
+
+    /**
+     * Retorna um filtro sem critérios, que aceita todas as mídias.
+     * @return o novo filtro.
+     */
+    public static FiltroMidias todas() {
+        return new FiltroMidias();
+    }
+
+    /**
+     * Aceita as mídias de qualquer um dos gêneros informados, sem distinção de maiúsculas
+     * e minúsculas. Gêneros nulos ou em branco são ignorados, como nos campos de filtro das telas.
+     * @param generos Os gêneros aceitos.
+     * @return este filtro, para encadeamento.
+     */
+    public FiltroMidias comGeneros(String... generos) {
+        for (String genero : generos) {
+            if (genero != null && !genero.isBlank()) {
+                this.generos.add(genero);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Aceita as mídias lançadas em qualquer um dos anos informados.
+     * @param anos Os anos aceitos.
+     * @return este filtro, para encadeamento.
+     */
+    public FiltroMidias comAnos(int... anos) {
+        for (int ano : anos) {
+            this.anos.add(ano);
+        }
+        return this;
+    }
+
+    /**
+     * Aceita as mídias lançadas entre os anos informados, inclusive.
+     * @param inicio O primeiro ano aceito.
+     * @param fim O último ano aceito.
+     * @return este filtro, para encadeamento.
+     * @throws IllegalArgumentException se o fim for anterior ao início.
+     */
+    public FiltroMidias comAnosEntre(int inicio, int fim) {
+        if (fim < inicio) {
+            throw new IllegalArgumentException("O ano final não pode ser anterior ao inicial.");
+        }
+        this.anoMinimo = inicio;
+        this.anoMaximo = fim;
+        return this;
+    }
+
+    /**
+     * Aceita apenas as mídias consumidas (true) ou não consumidas (false).
+     * @param consumida A situação aceita, ou null para não filtrar.
+     * @return este filtro, para encadeamento.
+     */
+    public FiltroMidias comConsumida(Boolean consumida) {
+        this.consumida = consumida;
+        return this;
+    }
+
+    /**
+     * Aceita apenas as mídias avaliadas (nota de 1 a 5) ou não avaliadas (nota 0).
+     * @param avaliada A situação aceita, ou null para não filtrar.
+     * @return este filtro, para encadeamento.
+     */
+    public FiltroMidias comAvaliada(Boolean avaliada) {
+        this.avaliada = avaliada;
+        return this;
+    }
+
+    /**
+     * Retorna os gêneros aceitos.
+     * @return os gêneros, vazio se o critério não estiver definido.
+     */
+    public Set<String> getGeneros() { return Collections.unmodifiableSet(generos); }
+
+    /**
+     * Retorna os anos aceitos individualmente.
+     * @return os anos, vazio se o critério não estiver definido.
+     */
+    public Set<Integer> getAnos() { return Collections.unmodifiableSet(anos); }
+
+    /**
+     * Retorna o primeiro ano do intervalo aceito.
+     * @return o ano, ou null se não houver intervalo.
+     */
+    public Integer getAnoMinimo() { return anoMinimo; }
+
+    /**
+     * Retorna o último ano do intervalo aceito.
+     * @return o ano, ou null se não houver intervalo.
+     */
+    public Integer getAnoMaximo() { return anoMaximo; }
+
+    /**
+     * Retorna a situação de consumo aceita.
+     * @return true, false ou null se o critério não estiver definido.
+     */
+    public Boolean getConsumida() { return consumida; }
+
+    /**
+     * Retorna a situação de avaliação aceita.
+     * @return true, false ou null se o critério não estiver definido.
+     */
+    public Boolean getAvaliada() { return avaliada; }
+
+    /**
+     * Indica se o filtro não tem nenhum critério.
+     * @return true se o filtro aceita todas as mídias.
+     */
+    public boolean isVazio() {
+        return generos.isEmpty() && anos.isEmpty() && anoMinimo == null && consumida == null && avaliada == null;
+    }
+}
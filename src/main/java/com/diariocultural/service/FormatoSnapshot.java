@@ -0,0 +1,13 @@
+// === FormatoSnapshot.java === "Service"
+
+package com.diariocultural.service;
+
+/**
+ * Formatos suportados para o arquivo de snapshot do catálogo.
+ */
+public enum FormatoSnapshot {
+    /** JSON legível, formatado com pretty printing (formato original). */
+    JSON,
+    /** Formato binário compacto e versionado, com strings repetidas em uma tabela. */
+    BINARIO
+}
@@ -0,0 +1,185 @@
+// === FragmentosCatalogo.java === "Service"
+
+package com.diariocultural.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Organiza o armazenamento fragmentado do catálogo: um arquivo por tipo de mídia e
+ * por partição (hash do título), guardados em um diretório ao lado do arquivo de
+ * persistência, e a lista dos fragmentos alterados desde a última gravação.
+ * Cada fragmento é um snapshot comum (JSON ou binário) contendo apenas uma seção.
+ * A lista de fragmentos alterados tem sincronização própria, pois uma gravação que falha
+ * fora do lock do catálogo também precisa marcá-los.
+ */
+class FragmentosCatalogo {
+
+    /**
+     * Tipos de mídia, cada um com seu próprio conjunto de fragmentos.
+     */
+    enum Tipo {
+        LIVROS("livros"), FILMES("filmes"), SERIES("series");
+
+        private final String nome;
+
+        Tipo(String nome) {
+            this.nome = nome;
+        }
+    }
+
+    /**
+     * Identifica um fragmento pelo tipo de mídia e pela partição.
+     */
+    record Fragmento(Tipo tipo, int particao) {}
+
+    private static final Pattern NOME_FRAGMENTO = Pattern.compile("(livros|filmes|series)-(\\d+)\\.(json|bin)");
+
+    private final Path diretorio;
+    private final int particoes;
+    private final FormatoSnapshot formato;
+    private final Set<Fragmento> sujos = new LinkedHashSet<>();
+    private final List<Path> obsoletos = new ArrayList<>();
+
+    /**
+     * Construtor dos fragmentos.
+     * @param arquivoBase O arquivo de persistência do catálogo; os fragmentos ficam no diretório "arquivoBase.fragmentos".
+     * @param particoes O número de partições por tipo de mídia.
+     * @param formato O formato dos arquivos de fragmento.
+     */
+    FragmentosCatalogo(Path arquivoBase, int particoes, FormatoSnapshot formato) {
+        this.diretorio = arquivoBase.resolveSibling(arquivoBase.getFileName() + ".fragmentos");
+        this.particoes = particoes;
+        this.formato = formato;
+    }
+
+    /**
+     * Retorna o diretório onde os fragmentos são gravados.
+     * @return o diretório dos fragmentos.
+     */
+    Path getDiretorio() {
+        return diretorio;
+    }
+
+    /**
+     * Calcula a partição de uma mídia a partir do título, sem diferenciar maiúsculas
+     * de minúsculas (as remoções do catálogo comparam títulos com equalsIgnoreCase).
+     * @param titulo O título da mídia.
+     * @return a partição, entre 0 e particoes - 1.
+     */
+    int particaoDe(String titulo) {
+        return Math.floorMod(titulo.toLowerCase(Locale.ROOT).hashCode(), particoes);
+    }
+
+    /**
+     * Marca como alterado o fragmento que contém a mídia com o título informado.
+     * @param tipo O tipo da mídia.
+     * @param titulo O título da mídia.
+     */
+    synchronized void marcarSujo(Tipo tipo, String titulo) {
+        sujos.add(new Fragmento(tipo, particaoDe(titulo)));
+    }
+
+    /**
+     * Marca todos os fragmentos como alterados, forçando a regravação completa.
+     */
+    synchronized void marcarTodosSujos() {
+        for (Tipo tipo : Tipo.values()) {
+            for (int particao = 0; particao < particoes; particao++) {
+                sujos.add(new Fragmento(tipo, particao));
+            }
+        }
+    }
+
+    /**
+     * Verifica se há fragmentos alterados aguardando gravação.
+     * @return true se algum fragmento precisar ser gravado.
+     */
+    synchronized boolean possuiSujos() {
+        return !sujos.isEmpty();
+    }
+
+    /**
+     * Retorna e limpa a lista de fragmentos alterados.
+     * @return os fragmentos que precisam ser gravados.
+     */
+    synchronized List<Fragmento> retirarSujos() {
+        List<Fragmento> retirados = new ArrayList<>(sujos);
+        sujos.clear();
+        return retirados;
+    }
+
+    /**
+     * Retorna o arquivo de um fragmento.
+     * @param fragmento O fragmento.
+     * @return o caminho do arquivo do fragmento.
+     */
+    Path caminhoDe(Fragmento fragmento) {
+        return diretorio.resolve(String.format("%s-%02d.%s", fragmento.tipo().nome, fragmento.particao(), extensao()));
+    }
+
+    /**
+     * Lista os arquivos de fragmento existentes no diretório, no formato configurado.
+     * Fragmentos de partições que não existem mais (o número de partições diminuiu)
+     * também são listados, para que seu conteúdo seja carregado; nesse caso todos os
+     * fragmentos são marcados como alterados e os arquivos antigos ficam registrados
+     * para remoção depois da próxima gravação. Antes da listagem, trata os arquivos
+     * temporários deixados por gravações interrompidas.
+     * @param valido Verifica se o conteúdo de um arquivo temporário pode ser carregado.
+     * @return os arquivos de fragmento, ordenados por tipo e partição.
+     * @throws IOException se o diretório não puder ser listado.
+     */
+    List<Path> listarExistentes(Predicate<Path> valido) throws IOException {
+        try (DirectoryStream<Path> temporarios = Files.newDirectoryStream(diretorio, "*.tmp")) {
+            for (Path temporario : temporarios) {
+                String nome = temporario.getFileName().toString();
+                EscritorAtomico.recuperar(temporario.resolveSibling(nome.substring(0, nome.length() - ".tmp".length())), valido);
+            }
+        }
+
+        List<Path> existentes = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio)) {
+            for (Path arquivo : arquivos) {
+                Matcher m = NOME_FRAGMENTO.matcher(arquivo.getFileName().toString());
+                if (!m.matches() || !m.group(3).equals(extensao())) {
+                    continue;
+                }
+                existentes.add(arquivo);
+                if (Integer.parseInt(m.group(2)) >= particoes) {
+                    obsoletos.add(arquivo);
+                }
+            }
+        }
+        if (!obsoletos.isEmpty()) {
+            marcarTodosSujos();
+        }
+        existentes.sort(null);
+        return existentes;
+    }
+
+    /**
+     * Remove os arquivos de partições que não existem mais. Deve ser chamado somente
+     * depois que todos os fragmentos atuais tiverem sido gravados.
+     * @throws IOException se algum arquivo não puder ser removido.
+     */
+    synchronized void removerObsoletos() throws IOException {
+        for (Path arquivo : obsoletos) {
+            Files.deleteIfExists(arquivo);
+        }
+        obsoletos.clear();
+    }
+
+    private String extensao() {
+        return formato == FormatoSnapshot.BINARIO ? "bin" : "json";
+    }
+}
@@ -0,0 +1,41 @@
+// === GeradorIds.java === "Service"
+
+package com.diariocultural.service;
+
+/**
+ * Gera os identificadores numéricos das mídias e temporadas de um catálogo, únicos entre
+ * todos os tipos. Identificadores já existentes (lidos do snapshot ou do journal) são
+ * observados para que os novos nunca os repitam. Deve ser usado sob o lock de escrita
+ * do catálogo.
+ */
+class GeradorIds {
+    private long ultimo;
+    private long gerados;
+
+    /**
+     * Gera um novo identificador, maior que todos os já gerados ou observados.
+     * @return o novo identificador.
+     */
+    long proximo() {
+        gerados++;
+        return ++ultimo;
+    }
+
+    /**
+     * Retorna quantos identificadores já foram gerados por esta instância.
+     * @return o número de identificadores gerados.
+     */
+    long getGerados() {
+        return gerados;
+    }
+
+    /**
+     * Registra um identificador existente.
+     * @param id O identificador lido de um registro.
+     */
+    void observar(long id) {
+        if (id > ultimo) {
+            ultimo = id;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+// === IndiceInvertido.java === "Service"
+
+package com.diariocultural.service;
+
+import com.diariocultural.model.Midia;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Índice secundário das mídias de um tipo por um atributo (gênero, ano, autor, direção,
+ * elenco, situação...): cada valor normalizado aponta para o conjunto comprimido
+ * ({@link BitmapIds}) dos identificadores das mídias que o possuem. Uma mídia pode ter
+ * vários valores, como os atores do elenco de um filme.
+ *
+ * O índice guarda os valores sob os quais cada mídia foi indexada, porque as mídias são
+ * alteradas no lugar antes de serem atualizadas no catálogo: a remoção usa esses valores,
+ * e não os atuais, e por isso não deixa postagens órfãs.
+ *
+ * @param <T> O tipo de mídia indexado.
+ * @param <K> O tipo do valor indexado, já normalizado pelo extrator.
+ */
+class IndiceInvertido<T extends Midia, K> implements IndiceSecundario<T> {
+    private final Function<T, Collection<K>> extrator;
+    private final Map<K, BitmapIds> postagens = new HashMap<>();
+    private final MapaIds<Set<K>> indexadas = new MapaIds<>();
+
+    /**
+     * Construtor do índice.
+     * @param extrator Função que retorna os valores, já normalizados, sob os quais uma mídia é indexada.
+     */
+    IndiceInvertido(Function<T, Collection<K>> extrator) {
+        this.extrator = extrator;
+    }
+
+    /**
+     * Cria um índice por um atributo textual de valor único, pela chave de busca que a mídia
+     * já guarda normalizada ({@link Midia#chaveDeBusca(String)}).
+     * @param chave Função que retorna a chave do atributo da mídia.
+     * @return o novo índice.
+     */
+    static <T extends Midia> IndiceInvertido<T, String> porChave(Function<T, String> chave) {
+        return new IndiceInvertido<>(midia -> {
+            String valor = chave.apply(midia);
+            return valor != null ? List.of(valor) : List.of();
+        });
+    }
+
+    /**
+     * Cria um índice por um atributo textual de vários valores, pelas chaves de busca que a
+     * mídia já guarda normalizadas ({@link Midia#chaveDeBusca(String)}).
+     * @param chaves Função que retorna as chaves do atributo da mídia.
+     * @return o novo índice.
+     */
+    static <T extends Midia> IndiceInvertido<T, String> porChaves(Function<T, List<String>> chaves) {
+        return new IndiceInvertido<>(midia -> {
+            List<String> valores = chaves.apply(midia);
+            return valores != null ? valores : List.of();
+        });
+    }
+
+    /**
+     * Indexa uma mídia, que já deve ter identificador, sob os seus valores atuais.
+     * @param midia A mídia a ser indexada.
+     */
+    @Override
+    public void adicionar(T midia) {
+        indexar(midia.getId(), Set.copyOf(extrator.apply(midia)));
+    }
+
+    /**
+     * Reindexa uma mídia atualizada. Se o identificador e os valores não mudaram, o que é
+     * o caso mais comum (uma nova avaliação, por exemplo), as listas não são tocadas.
+     * @param idAnterior O identificador da versão anterior da mídia.
+     * @param midia A nova versão da mídia.
+     */
+    @Override
+    public void atualizar(long idAnterior, T midia) {
+        Set<K> chaves = Set.copyOf(extrator.apply(midia));
+        if (idAnterior == midia.getId() && chaves.equals(indexadas.get(idAnterior))) {
+            return;
+        }
+        remover(idAnterior);
+        indexar(midia.getId(), chaves);
+    }
+
+    /**
+     * Remove a mídia com o identificador informado de todas as listas em que ela foi indexada.
+     * @param id O identificador da mídia.
+     */
+    @Override
+    public void remover(long id) {
+        Set<K> chaves = indexadas.remove(id);
+        if (chaves == null) {
+            return;
+        }
+        for (K chave : chaves) {
+            BitmapIds conjunto = postagens.get(chave);
+            if (conjunto != null && conjunto.remover(id) && conjunto.isVazio()) {
+                postagens.remove(chave);
+            }
+        }
+    }
+
+    /**
+     * Retorna os identificadores das mídias indexadas sob o valor informado.
+     * @param chave O valor, normalizado como pelo extrator.
+     * @return o conjunto de identificadores, que não deve ser alterado (vazio se não houver nenhum).
+     */
+    BitmapIds ids(K chave) {
+        BitmapIds conjunto = postagens.get(chave);
+        return conjunto != null ? conjunto : BitmapIds.vazio();
+    }
+
+    /**
+     * Retorna os identificadores das mídias indexadas sob qualquer um dos valores informados (OU).
+     * @param chaves Os valores, normalizados como pelo extrator.
+     * @return o conjunto de identificadores, que não deve ser alterado.
+     */
+    BitmapIds idsDeQualquer(Collection<K> chaves) {
+        List<BitmapIds> encontrados = new ArrayList<>(chaves.size());
+        for (K chave : chaves) {
+            BitmapIds conjunto = postagens.get(chave);
+            if (conjunto != null) {
+                encontrados.add(conjunto);
+            }
+        }
+        return BitmapIds.ou(encontrados);
+    }
+
+    /**
+     * Retorna os identificadores das mídias indexadas sob algum valor que satisfaça o filtro.
+     * Percorre os valores distintos do índice, e não as mídias.
+     * @param filtro O filtro aplicado aos valores normalizados.
+     * @return o conjunto de identificadores, que não deve ser alterado.
+     */
+    BitmapIds idsOnde(Predicate<K> filtro) {
+        List<BitmapIds> encontrados = new ArrayList<>();
+        for (Map.Entry<K, BitmapIds> entrada : postagens.entrySet()) {
+            if (filtro.test(entrada.getKey())) {
+                encontrados.add(entrada.getValue());
+            }
+        }
+        return BitmapIds.ou(encontrados);
+    }
+
+    /**
+     * Conta as mídias indexadas sob algum valor que satisfaça o filtro, sem montar o conjunto.
+     * Em um índice de vários valores por mídia, a mesma mídia pode ser contada mais de uma vez:
+     * a contagem serve como estimativa para o planejamento das consultas.
+     * @param filtro O filtro aplicado aos valores normalizados.
+     * @return a soma dos tamanhos das listas dos valores aceitos.
+     */
+    int contarOnde(Predicate<K> filtro) {
+        long quantidade = 0;
+        for (Map.Entry<K, BitmapIds> entrada : postagens.entrySet()) {
+            if (filtro.test(entrada.getKey())) {
+                quantidade += entrada.getValue().cardinalidade();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, quantidade);
+    }
+
+    /**
+     * Descarta todo o conteúdo do índice.
+     */
+    @Override
+    public void limpar() {
+        postagens.clear();
+        indexadas.limpar();
+    }
+
+    private void indexar(long id, Set<K> chaves) {
+        for (K chave : chaves) {
+            postagens.computeIfAbsent(chave, c -> new BitmapIds()).adicionar(id);
+        }
+        indexadas.put(id, chaves);
+    }
+}
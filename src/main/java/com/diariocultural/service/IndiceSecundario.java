@@ -0,0 +1,38 @@
+// === IndiceSecundario.java === "Service"
+
+package com.diariocultural.service;
+
+import com.diariocultural.model.Midia;
+
+/**
+ * Estrutura derivada das mídias de uma {@link ColecaoMidias} e mantida por ela a cada
+ * alteração, sob o mesmo lock: os índices invertidos e o espelho colunar.
+ *
+ * @param <T> O tipo de mídia acompanhado.
+ */
+interface IndiceSecundario<T extends Midia> {
+
+    /**
+     * Inclui uma mídia, que já deve ter identificador.
+     * @param midia A mídia adicionada à coleção.
+     */
+    void adicionar(T midia);
+
+    /**
+     * Reflete a nova versão de uma mídia já incluída.
+     * @param idAnterior O identificador da versão anterior da mídia.
+     * @param midia A nova versão da mídia.
+     */
+    void atualizar(long idAnterior, T midia);
+
+    /**
+     * Exclui a mídia com o identificador informado, se ela estiver incluída.
+     * @param id O identificador da mídia.
+     */
+    void remover(long id);
+
+    /**
+     * Descarta todo o conteúdo.
+     */
+    void limpar();
+}
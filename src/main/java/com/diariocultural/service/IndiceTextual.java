@@ -0,0 +1,586 @@
+// === IndiceTextual.java === "Service"
+
+package com.diariocultural.service;
+
+import com.diariocultural.model.Midia;
+import com.diariocultural.service.ConsultaTextual.Campo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+
+/**
+ * Índice textual das mídias de um tipo sobre títulos, títulos originais, reviews e nomes,
+ * normalizados pelo {@link AnalisadorTexto} (sem acentos, em minúsculas, divididos em termos).
+ *
+ * Cada termo significativo aponta, por campo, para o bitmap ({@link BitmapIds}) das mídias
+ * em que aparece, o que responde as consultas por termos com interseções de bitmaps. Para
+ * as frases e os trechos, o índice também guarda a sequência de termos de cada campo de cada
+ * mídia: os candidatos saem dos bitmaps e só eles são conferidos nas sequências. O
+ * dicionário de termos é ordenado, e um trecho que termina no meio de uma palavra é
+ * resolvido como um intervalo de prefixos; só o trecho de uma palavra só, que pode estar
+ * em qualquer parte dela, percorre o dicionário de termos distintos (e não as mídias).
+ *
+ * Os termos do dicionário também são indexados por trigramas ({@link IndiceTrigramas}),
+ * para a busca aproximada: cada termo buscado é trocado pelos termos a poucas edições dele,
+ * e as mídias saem das postagens desses termos, sem calcular distâncias contra as mídias.
+ *
+ * Como no {@link IndiceInvertido}, as sequências guardadas também servem para desfazer a
+ * indexação de uma mídia alterada no lugar, sem depender do seu texto atual.
+ *
+ * @param <T> O tipo de mídia indexado.
+ */
+class IndiceTextual<T extends Midia> implements IndiceSecundario<T> {
+    private static final Campo[] CAMPOS = Campo.values();
+
+    private final Map<Campo, Function<T, Collection<String>>> extratores;
+    private final TreeMap<String, Postagens> postagens = new TreeMap<>();
+    private final IndiceTrigramas trigramas = new IndiceTrigramas();
+    private final BitmapIds[] comTexto = new BitmapIds[CAMPOS.length];
+    // Por mídia, a sequência de termos de cada campo (null entre textos distintos de um mesmo campo).
+    private final MapaIds<String[][]> sequencias = new MapaIds<>();
+
+    /**
+     * Construtor do índice.
+     * @param extratores Para cada campo coberto, a função que retorna os textos da mídia
+     *                   naquele campo; textos nulos são ignorados.
+     */
+    IndiceTextual(Map<Campo, Function<T, Collection<String>>> extratores) {
+        this.extratores = new EnumMap<>(extratores);
+        for (int c = 0; c < CAMPOS.length; c++) {
+            comTexto[c] = new BitmapIds();
+        }
+    }
+
+    /**
+     * Indexa uma mídia, que já deve ter identificador, pelos seus textos atuais.
+     * @param midia A mídia a ser indexada.
+     */
+    @Override
+    public void adicionar(T midia) {
+        indexar(midia.getId(), analisar(midia));
+    }
+
+    /**
+     * Reindexa uma mídia atualizada. Se o identificador e os textos não mudaram (uma nova
+     * avaliação, por exemplo), nada é tocado.
+     * @param idAnterior O identificador da versão anterior da mídia.
+     * @param midia A nova versão da mídia.
+     */
+    @Override
+    public void atualizar(long idAnterior, T midia) {
+        String[][] analisada = analisar(midia);
+        if (idAnterior == midia.getId() && Arrays.deepEquals(analisada, sequencias.get(idAnterior))) {
+            return;
+        }
+        remover(idAnterior);
+        indexar(midia.getId(), analisada);
+    }
+
+    /**
+     * Remove a mídia com o identificador informado das postagens de todos os seus termos.
+     * @param id O identificador da mídia.
+     */
+    @Override
+    public void remover(long id) {
+        String[][] analisada = sequencias.remove(id);
+        if (analisada == null) {
+            return;
+        }
+        for (int c = 0; c < CAMPOS.length; c++) {
+            if (analisada[c] == null) {
+                continue;
+            }
+            comTexto[c].remover(id);
+            for (String termo : analisada[c]) {
+                Postagens doTermo = termo != null ? postagens.get(termo) : null;
+                if (doTermo != null && doTermo.remover(c, id)) {
+                    postagens.remove(termo);
+                    trigramas.remover(termo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Descarta todo o conteúdo do índice.
+     */
+    @Override
+    public void limpar() {
+        postagens.clear();
+        trigramas.limpar();
+        sequencias.limpar();
+        for (int c = 0; c < CAMPOS.length; c++) {
+            comTexto[c] = new BitmapIds();
+        }
+    }
+
+    /**
+     * Responde uma consulta textual.
+     * @param consulta A consulta.
+     * @return os identificadores das mídias encontradas, que não devem ser alterados, ou null
+     *         se a consulta não restringe nada (um trecho sem letras nem dígitos).
+     */
+    BitmapIds ids(ConsultaTextual consulta) {
+        List<String> termos = AnalisadorTexto.termos(consulta.getTexto());
+        Set<Campo> campos = consulta.getCampos();
+        switch (consulta.getModo()) {
+            case TERMOS: {
+                BitmapIds encontrados = comTodosOsTermos(termos, campos);
+                return encontrados != null ? encontrados : BitmapIds.vazio();
+            }
+            case FRASE: {
+                if (termos.isEmpty()) {
+                    return BitmapIds.vazio();
+                }
+                BitmapIds candidatos = comTodosOsTermos(termos, campos);
+                return conferir(candidatos != null ? candidatos : comTextoEm(campos), termos, false, campos);
+            }
+            case APROXIMADA:
+                return aproximadas(expandir(termos), campos);
+            default: {
+                if (termos.isEmpty()) {
+                    return null;
+                }
+                BitmapIds candidatos = candidatosDoTrecho(termos, campos);
+                return conferir(candidatos != null ? candidatos : comTextoEm(campos), termos, true, campos);
+            }
+        }
+    }
+
+    /**
+     * Estima, sem montar conjuntos, quantas mídias uma consulta por trecho encontra, para o
+     * planejamento das consultas compostas ({@link PlanejadorConsultas}): a menor contagem
+     * entre os termos do meio, buscados diretamente, e o último, como prefixo. Sem esses
+     * termos (em um trecho de uma palavra só, por exemplo) e nos demais modos, estima todas
+     * as mídias com texto nos campos.
+     * @param consulta A consulta.
+     * @return a estimativa, que pode passar da quantidade real de mídias.
+     */
+    int estimar(ConsultaTextual consulta) {
+        Set<Campo> campos = consulta.getCampos();
+        long estimativa = 0;
+        for (Campo campo : campos) {
+            estimativa += comTexto[campo.ordinal()].cardinalidade();
+        }
+        List<String> termos = AnalisadorTexto.termos(consulta.getTexto());
+        if (consulta.getModo() != ConsultaTextual.Modo.TRECHO) {
+            return (int) Math.min(Integer.MAX_VALUE, estimativa);
+        }
+        int quantidade = termos.size();
+        for (int i = 1; i < quantidade; i++) {
+            String buscado = termos.get(i);
+            int posicao = i;
+            if (AnalisadorTexto.palavrasVazias().stream()
+                    .anyMatch(vazia -> corresponde(vazia, buscado, posicao, quantidade, true))) {
+                continue;
+            }
+            long doTermo = 0;
+            if (i < quantidade - 1) {
+                Postagens postagensDoTermo = postagens.get(buscado);
+                doTermo = postagensDoTermo != null ? postagensDoTermo.contar(campos) : 0;
+            } else {
+                for (Postagens compativel : postagens.subMap(buscado, buscado + Character.MAX_VALUE).values()) {
+                    doTermo += compativel.contar(campos);
+                    if (doTermo >= estimativa) {
+                        break;
+                    }
+                }
+            }
+            estimativa = Math.min(estimativa, doTermo);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, estimativa);
+    }
+
+    /**
+     * Prepara a conferência de uma consulta por trecho, frase ou termos mídia a mídia, pelas
+     * sequências de termos guardadas no índice, sem consultar as postagens. O texto buscado
+     * é analisado uma única vez, aqui, e não a cada mídia conferida.
+     * @param consulta A consulta.
+     * @return a conferência, que recebe o identificador da mídia.
+     * @throws IllegalArgumentException se a consulta for aproximada.
+     */
+    LongPredicate conferencia(ConsultaTextual consulta) {
+        List<String> termos = AnalisadorTexto.termos(consulta.getTexto());
+        Set<Campo> campos = consulta.getCampos();
+        switch (consulta.getModo()) {
+            case TRECHO:
+                if (termos.isEmpty()) {
+                    return id -> true;
+                }
+                return id -> {
+                    String[][] analisada = sequencias.get(id);
+                    return analisada != null && algumCampoContem(analisada, termos, true, campos);
+                };
+            case FRASE:
+                if (termos.isEmpty()) {
+                    return id -> false;
+                }
+                return id -> {
+                    String[][] analisada = sequencias.get(id);
+                    return analisada != null && algumCampoContem(analisada, termos, false, campos);
+                };
+            case TERMOS: {
+                List<List<String>> buscados = new ArrayList<>();
+                for (String termo : termos) {
+                    if (!AnalisadorTexto.isPalavraVazia(termo)) {
+                        buscados.add(List.of(termo));
+                    }
+                }
+                if (buscados.isEmpty()) {
+                    return id -> false;
+                }
+                return id -> {
+                    String[][] analisada = sequencias.get(id);
+                    if (analisada == null) {
+                        return false;
+                    }
+                    for (List<String> termo : buscados) {
+                        if (!algumCampoContem(analisada, termo, false, campos)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+            default:
+                throw new IllegalArgumentException("A busca aproximada não pode ser conferida mídia a mídia.");
+        }
+    }
+
+    /**
+     * Responde uma consulta aproximada ordenando as mídias pela proximidade: a soma, entre os
+     * termos buscados, da menor distância de edição do termo até algum termo da mídia.
+     * @param consulta A consulta, no modo {@link ConsultaTextual.Modo#APROXIMADA}.
+     * @return os identificadores das mídias encontradas, das mais próximas às mais
+     *         distantes e, nos empates, em ordem crescente.
+     */
+    long[] porProximidade(ConsultaTextual consulta) {
+        List<List<IndiceTrigramas.Aproximado>> expansoes = expandir(AnalisadorTexto.termos(consulta.getTexto()));
+        Set<Campo> campos = consulta.getCampos();
+        BitmapIds encontradas = aproximadas(expansoes, campos);
+        long[] ordenados = new long[encontradas.cardinalidade()];
+        int[] n = {0};
+        encontradas.paraCada(id -> {
+            long distancia = 0;
+            for (List<IndiceTrigramas.Aproximado> expansao : expansoes) {
+                for (IndiceTrigramas.Aproximado aproximado : expansao) {
+                    if (postagens.get(aproximado.termo()).contem(campos, id)) {
+                        distancia += aproximado.distancia();
+                        break;
+                    }
+                }
+            }
+            // A distância vai nos bits acima dos identificadores, que cabem em 47 bits.
+            ordenados[n[0]++] = (distancia << 47) | id;
+        });
+        Arrays.sort(ordenados);
+        for (int i = 0; i < ordenados.length; i++) {
+            ordenados[i] &= (1L << 47) - 1;
+        }
+        return ordenados;
+    }
+
+    /**
+     * Para cada termo significativo buscado, os termos do dicionário a poucas edições dele,
+     * do mais próximo ao mais distante. Retorna uma lista vazia se algum não tiver nenhum.
+     */
+    private List<List<IndiceTrigramas.Aproximado>> expandir(List<String> termos) {
+        Set<String> significativos = new LinkedHashSet<>();
+        for (String termo : termos) {
+            if (!AnalisadorTexto.isPalavraVazia(termo)) {
+                significativos.add(termo);
+            }
+        }
+        List<List<IndiceTrigramas.Aproximado>> expansoes = new ArrayList<>(significativos.size());
+        for (String termo : significativos) {
+            int limite = termo.length() <= 2 ? 0 : termo.length() <= 5 ? 1 : 2;
+            List<IndiceTrigramas.Aproximado> aproximados = trigramas.aproximados(termo, limite);
+            if (aproximados.isEmpty()) {
+                return List.of();
+            }
+            expansoes.add(aproximados);
+        }
+        return expansoes;
+    }
+
+    /**
+     * Mídias que têm, para cada termo buscado, algum dos termos aproximados nos campos informados.
+     */
+    private BitmapIds aproximadas(List<List<IndiceTrigramas.Aproximado>> expansoes, Set<Campo> campos) {
+        if (expansoes.isEmpty()) {
+            return BitmapIds.vazio();
+        }
+        BitmapIds[] criterios = new BitmapIds[expansoes.size()];
+        for (int i = 0; i < criterios.length; i++) {
+            List<BitmapIds> encontrados = new ArrayList<>();
+            for (IndiceTrigramas.Aproximado aproximado : expansoes.get(i)) {
+                postagens.get(aproximado.termo()).coletar(campos, encontrados);
+            }
+            criterios[i] = BitmapIds.ou(encontrados);
+        }
+        return BitmapIds.e(criterios);
+    }
+
+    /**
+     * Interseção das postagens dos termos significativos, cada uma unida entre os campos.
+     * Retorna null se não houver termo significativo.
+     */
+    private BitmapIds comTodosOsTermos(List<String> termos, Set<Campo> campos) {
+        Set<String> significativos = new LinkedHashSet<>();
+        for (String termo : termos) {
+            if (!AnalisadorTexto.isPalavraVazia(termo)) {
+                significativos.add(termo);
+            }
+        }
+        if (significativos.isEmpty()) {
+            return null;
+        }
+        BitmapIds[] criterios = new BitmapIds[significativos.size()];
+        int n = 0;
+        for (String termo : significativos) {
+            Postagens doTermo = postagens.get(termo);
+            if (doTermo == null) {
+                return BitmapIds.vazio();
+            }
+            List<BitmapIds> porCampo = new ArrayList<>(campos.size());
+            doTermo.coletar(campos, porCampo);
+            criterios[n++] = BitmapIds.ou(porCampo);
+        }
+        return BitmapIds.e(criterios);
+    }
+
+    /**
+     * Candidatos de um trecho: para cada termo buscado, a união das postagens dos termos do
+     * dicionário compatíveis com ele naquela posição. Os termos do meio são buscados
+     * diretamente e o último, como prefixo, em um intervalo do dicionário ordenado; o
+     * primeiro, que pode ser o final de uma palavra, só percorre o dicionário quando nenhum
+     * outro restringe, assim como o termo único de um trecho de uma palavra só. Um termo
+     * buscado que também é parte de uma palavra vazia, que não tem postagens, não restringe
+     * nada. Retorna null se nenhum restringir.
+     */
+    private BitmapIds candidatosDoTrecho(List<String> termos, Set<Campo> campos) {
+        int quantidade = termos.size();
+        BitmapIds[] criterios = new BitmapIds[quantidade];
+        boolean restringiu = false;
+        for (int i = quantidade - 1; i >= 0; i--) {
+            String buscado = termos.get(i);
+            int posicao = i;
+            if ((i == 0 && restringiu) || AnalisadorTexto.palavrasVazias().stream()
+                    .anyMatch(vazia -> corresponde(vazia, buscado, posicao, quantidade, true))) {
+                continue;
+            }
+            Map<String, Postagens> compativeis;
+            if (i == 0) {
+                compativeis = postagens;
+            } else if (i == quantidade - 1) {
+                compativeis = postagens.subMap(buscado, buscado + Character.MAX_VALUE);
+            } else {
+                Postagens doTermo = postagens.get(buscado);
+                compativeis = doTermo != null ? Map.of(buscado, doTermo) : Map.of();
+            }
+            List<BitmapIds> encontrados = new ArrayList<>();
+            for (Map.Entry<String, Postagens> entrada : compativeis.entrySet()) {
+                if (corresponde(entrada.getKey(), buscado, posicao, quantidade, true)) {
+                    entrada.getValue().coletar(campos, encontrados);
+                }
+            }
+            criterios[i] = BitmapIds.ou(encontrados);
+            restringiu = true;
+        }
+        return BitmapIds.e(criterios);
+    }
+
+    /** União das mídias com algum texto nos campos informados. */
+    private BitmapIds comTextoEm(Set<Campo> campos) {
+        List<BitmapIds> conjuntos = new ArrayList<>(campos.size());
+        for (Campo campo : campos) {
+            conjuntos.add(comTexto[campo.ordinal()]);
+        }
+        return BitmapIds.ou(conjuntos);
+    }
+
+    /** Mantém, dos candidatos, as mídias em que algum dos campos contém a sequência buscada. */
+    private BitmapIds conferir(BitmapIds candidatos, List<String> termos, boolean trecho, Set<Campo> campos) {
+        BitmapIds aceitos = new BitmapIds();
+        candidatos.paraCada(id -> {
+            String[][] analisada = sequencias.get(id);
+            if (analisada != null && algumCampoContem(analisada, termos, trecho, campos)) {
+                aceitos.adicionar(id);
+            }
+        });
+        return aceitos;
+    }
+
+    private static boolean algumCampoContem(String[][] analisada, List<String> termos, boolean trecho, Set<Campo> campos) {
+        for (Campo campo : campos) {
+            String[] sequencia = analisada[campo.ordinal()];
+            if (sequencia != null && contem(sequencia, termos, trecho)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Procura os termos buscados em posições consecutivas da sequência. */
+    private static boolean contem(String[] sequencia, List<String> termos, boolean trecho) {
+        int quantidade = termos.size();
+        for (int inicio = 0; inicio + quantidade <= sequencia.length; inicio++) {
+            int i = 0;
+            while (i < quantidade && corresponde(sequencia[inicio + i], termos.get(i), i, quantidade, trecho)) {
+                i++;
+            }
+            if (i == quantidade) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compara um termo indexado com o termo buscado na posição informada. Em uma frase, os
+     * termos precisam ser iguais; em um trecho, o primeiro termo buscado pode ser o final de
+     * uma palavra, o último pode ser o início, e um trecho de um termo só pode estar em
+     * qualquer parte dela.
+     */
+    private static boolean corresponde(String termo, String buscado, int posicao, int quantidade, boolean trecho) {
+        if (termo == null) {
+            return false;
+        }
+        if (!trecho) {
+            return termo.equals(buscado);
+        }
+        if (quantidade == 1) {
+            return termo.contains(buscado);
+        }
+        if (posicao == 0) {
+            return termo.endsWith(buscado);
+        }
+        if (posicao == quantidade - 1) {
+            return termo.startsWith(buscado);
+        }
+        return termo.equals(buscado);
+    }
+
+    /**
+     * Extrai e normaliza os textos da mídia, campo a campo. Um campo sem termos fica nulo.
+     */
+    private String[][] analisar(T midia) {
+        String[][] analisada = new String[CAMPOS.length][];
+        for (Map.Entry<Campo, Function<T, Collection<String>>> extrator : extratores.entrySet()) {
+            Collection<String> textos = extrator.getValue().apply(midia);
+            List<String> sequencia = new ArrayList<>();
+            for (String texto : textos) {
+                List<String> termos = texto != null ? AnalisadorTexto.termos(texto) : List.of();
+                if (termos.isEmpty()) {
+                    continue;
+                }
+                if (!sequencia.isEmpty()) {
+                    sequencia.add(null);
+                }
+                sequencia.addAll(termos);
+            }
+            if (!sequencia.isEmpty()) {
+                analisada[extrator.getKey().ordinal()] = sequencia.toArray(new String[0]);
+            }
+        }
+        return analisada;
+    }
+
+    /**
+     * Inclui as postagens da mídia e guarda suas sequências, trocando cada termo pela
+     * instância já presente no dicionário.
+     */
+    private void indexar(long id, String[][] analisada) {
+        for (int c = 0; c < CAMPOS.length; c++) {
+            String[] sequencia = analisada[c];
+            if (sequencia == null) {
+                continue;
+            }
+            comTexto[c].adicionar(id);
+            for (int i = 0; i < sequencia.length; i++) {
+                String termo = sequencia[i];
+                if (termo != null && !AnalisadorTexto.isPalavraVazia(termo)) {
+                    Postagens doTermo = postagens.get(termo);
+                    if (doTermo == null) {
+                        doTermo = new Postagens(termo);
+                        postagens.put(termo, doTermo);
+                        trigramas.adicionar(termo);
+                    }
+                    doTermo.adicionar(c, id);
+                    sequencia[i] = doTermo.termo;
+                }
+            }
+        }
+        sequencias.put(id, analisada);
+    }
+
+    /**
+     * Postagens de um termo, separadas por campo, e a instância compartilhada do termo.
+     */
+    private static final class Postagens {
+        private final String termo;
+        private final BitmapIds[] porCampo = new BitmapIds[CAMPOS.length];
+
+        Postagens(String termo) {
+            this.termo = termo;
+        }
+
+        void adicionar(int campo, long id) {
+            if (porCampo[campo] == null) {
+                porCampo[campo] = new BitmapIds();
+            }
+            porCampo[campo].adicionar(id);
+        }
+
+        /** Remove a mídia do campo e indica se o termo ficou sem nenhuma postagem. */
+        boolean remover(int campo, long id) {
+            BitmapIds conjunto = porCampo[campo];
+            if (conjunto != null && conjunto.remover(id) && conjunto.isVazio()) {
+                porCampo[campo] = null;
+            }
+            for (BitmapIds restante : porCampo) {
+                if (restante != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int contar(Set<Campo> campos) {
+            int quantidade = 0;
+            for (Campo campo : campos) {
+                BitmapIds conjunto = porCampo[campo.ordinal()];
+                quantidade += conjunto != null ? conjunto.cardinalidade() : 0;
+            }
+            return quantidade;
+        }
+
+        boolean contem(Set<Campo> campos, long id) {
+            for (Campo campo : campos) {
+                BitmapIds conjunto = porCampo[campo.ordinal()];
+                if (conjunto != null && conjunto.contem(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void coletar(Set<Campo> campos, List<BitmapIds> destino) {
+            for (Campo campo : campos) {
+                BitmapIds conjunto = porCampo[campo.ordinal()];
+                if (conjunto != null) {
+                    destino.add(conjunto);
+                }
+            }
+        }
+    }
+}
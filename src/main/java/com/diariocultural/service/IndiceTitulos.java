@@ -0,0 +1,100 @@
+// === IndiceTitulos.java === "Service"
+
+package com.diariocultural.service;
+
+import com.diariocultural.model.Midia;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Índice em hash das mídias de um tipo pelo título, sem diferenciar maiúsculas de minúsculas.
+ * A chave é a chave de busca do título ({@link Midia#chaveDeBusca(String)}), que cada mídia
+ * já guarda pronta: indexar, substituir e remover uma mídia não normalizam o título de novo.
+ *
+ * Títulos podem se repetir entre mídias diferentes (dois livros homônimos de autores
+ * distintos, por exemplo), por isso cada chave guarda as mídias na ordem de inserção.
+ */
+class IndiceTitulos<T extends Midia> {
+    private final Map<String, List<T>> porTitulo = new HashMap<>();
+
+    /**
+     * Converte um título para a chave do índice.
+     * @param titulo O título original.
+     * @return o título normalizado e sem distinção de caixa.
+     */
+    static String chave(String titulo) {
+        return Midia.chaveDeBusca(titulo);
+    }
+
+    /**
+     * Indexa uma mídia, depois das demais mídias com o mesmo título.
+     * @param midia A mídia a ser indexada.
+     */
+    void adicionar(T midia) {
+        porTitulo.computeIfAbsent(midia.getChaveTitulo(), c -> new ArrayList<>(1)).add(midia);
+    }
+
+    /**
+     * Substitui, na mesma posição, a mídia igual (segundo {@code equals}) à informada,
+     * ou a indexa ao final se ela ainda não estiver no índice.
+     * @param midia A nova versão da mídia.
+     */
+    void substituir(T midia) {
+        List<T> homonimas = porTitulo.computeIfAbsent(midia.getChaveTitulo(), c -> new ArrayList<>(1));
+        int posicao = homonimas.indexOf(midia);
+        if (posicao >= 0) {
+            homonimas.set(posicao, midia);
+        } else {
+            homonimas.add(midia);
+        }
+    }
+
+    /**
+     * Remove do índice a mídia igual (segundo {@code equals}) à informada.
+     * @param midia A mídia a ser removida.
+     */
+    void remover(T midia) {
+        String chave = midia.getChaveTitulo();
+        List<T> homonimas = porTitulo.get(chave);
+        if (homonimas != null && homonimas.remove(midia) && homonimas.isEmpty()) {
+            porTitulo.remove(chave);
+        }
+    }
+
+    /**
+     * Remove do índice todas as mídias com o título informado.
+     * @param titulo O título buscado, sem distinção de caixa.
+     * @return as mídias removidas, na ordem de inserção (vazia se não houver nenhuma).
+     */
+    List<T> removerTitulo(String titulo) {
+        if (titulo == null) {
+            return List.of();
+        }
+        List<T> removidas = porTitulo.remove(chave(titulo));
+        return removidas != null ? removidas : List.of();
+    }
+
+    /**
+     * Retorna a primeira mídia indexada com o título informado.
+     * @param titulo O título buscado, sem distinção de caixa.
+     * @return um Optional com a mídia, ou vazio se não houver nenhuma.
+     */
+    Optional<T> primeira(String titulo) {
+        if (titulo == null) {
+            return Optional.empty();
+        }
+        List<T> homonimas = porTitulo.get(chave(titulo));
+        return homonimas != null ? Optional.of(homonimas.get(0)) : Optional.empty();
+    }
+
+    /**
+     * Descarta todo o conteúdo do índice.
+     */
+    void limpar() {
+        porTitulo.clear();
+    }
+}
@@ -0,0 +1,184 @@
+// === IndiceTrigramas.java === "Service"
+
+package com.diariocultural.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice de trigramas de um conjunto de termos já normalizados, para encontrar os termos
+ * parecidos com um termo digitado com erros ("nolam" encontra "nolan").
+ *
+ * Cada termo é quebrado nas suas sequências de três caracteres, com duas marcas de borda
+ * em cada ponta, e cada trigrama aponta para o bitmap ({@link BitmapIds}) dos códigos dos
+ * termos que o contêm. Uma edição (inserção, remoção, troca ou transposição de vizinhos)
+ * altera no máximo quatro trigramas, de modo que um termo a até {@code k} edições da busca
+ * compartilha com ela pelo menos {@code trigramas - 4k} trigramas. Só os termos que passam
+ * por essa contagem, e pela diferença de tamanho, têm a distância de edição calculada, e
+ * o cálculo é interrompido assim que ela passa do limite.
+ */
+class IndiceTrigramas {
+    private static final char BORDA = '\u0001';
+
+    private final Map<String, Integer> codigos = new HashMap<>();
+    // Os códigos começam em 1, como os identificadores dos bitmaps; a posição 0 fica vazia.
+    private final List<String> termos = new ArrayList<>(List.of(""));
+    private final List<Integer> codigosLivres = new ArrayList<>();
+    private final Map<Long, BitmapIds> postagens = new HashMap<>();
+
+    /**
+     * Termo encontrado e a sua distância de edição até o termo buscado.
+     * @param termo O termo indexado.
+     * @param distancia A distância de edição.
+     */
+    record Aproximado(String termo, int distancia) {
+    }
+
+    /**
+     * Inclui um termo, se ainda não estiver no índice.
+     * @param termo O termo, já normalizado.
+     */
+    void adicionar(String termo) {
+        if (codigos.containsKey(termo)) {
+            return;
+        }
+        int codigo;
+        if (codigosLivres.isEmpty()) {
+            codigo = termos.size();
+            termos.add(termo);
+        } else {
+            codigo = codigosLivres.remove(codigosLivres.size() - 1);
+            termos.set(codigo, termo);
+        }
+        codigos.put(termo, codigo);
+        for (long trigrama : trigramas(termo)) {
+            postagens.computeIfAbsent(trigrama, t -> new BitmapIds()).adicionar(codigo);
+        }
+    }
+
+    /**
+     * Exclui um termo do índice.
+     * @param termo O termo, já normalizado.
+     */
+    void remover(String termo) {
+        Integer codigo = codigos.remove(termo);
+        if (codigo == null) {
+            return;
+        }
+        for (long trigrama : trigramas(termo)) {
+            BitmapIds conjunto = postagens.get(trigrama);
+            if (conjunto != null && conjunto.remover(codigo) && conjunto.isVazio()) {
+                postagens.remove(trigrama);
+            }
+        }
+        termos.set(codigo, null);
+        codigosLivres.add(codigo);
+    }
+
+    /**
+     * Descarta todos os termos.
+     */
+    void limpar() {
+        codigos.clear();
+        termos.clear();
+        termos.add("");
+        codigosLivres.clear();
+        postagens.clear();
+    }
+
+    /**
+     * Retorna os termos a até {@code limite} edições do termo buscado, do mais próximo ao
+     * mais distante (o próprio termo, se indexado, vem primeiro, com distância zero).
+     * @param buscado O termo buscado, já normalizado.
+     * @param limite A distância de edição máxima aceita.
+     * @return os termos encontrados, em ordem crescente de distância.
+     */
+    List<Aproximado> aproximados(String buscado, int limite) {
+        List<Aproximado> encontrados = new ArrayList<>();
+        if (limite == 0) {
+            if (codigos.containsKey(buscado)) {
+                encontrados.add(new Aproximado(buscado, 0));
+            }
+            return encontrados;
+        }
+        long[] daBusca = trigramas(buscado);
+        int minimo = Math.max(1, daBusca.length - 4 * limite);
+        Map<Long, Integer> compartilhados = new HashMap<>();
+        for (long trigrama : daBusca) {
+            BitmapIds conjunto = postagens.get(trigrama);
+            if (conjunto != null) {
+                conjunto.paraCada(codigo -> compartilhados.merge(codigo, 1, Integer::sum));
+            }
+        }
+        for (Map.Entry<Long, Integer> entrada : compartilhados.entrySet()) {
+            if (entrada.getValue() < minimo) {
+                continue;
+            }
+            String termo = termos.get(entrada.getKey().intValue());
+            if (Math.abs(termo.length() - buscado.length()) > limite) {
+                continue;
+            }
+            int distancia = distancia(buscado, termo, limite);
+            if (distancia <= limite) {
+                encontrados.add(new Aproximado(termo, distancia));
+            }
+        }
+        encontrados.sort((a, b) -> a.distancia != b.distancia
+                ? Integer.compare(a.distancia, b.distancia) : a.termo.compareTo(b.termo));
+        return encontrados;
+    }
+
+    /**
+     * Calcula a distância de edição entre dois textos, contando inserções, remoções, trocas
+     * e transposições de caracteres vizinhos (Damerau-Levenshtein restrita), e desiste assim
+     * que todas as alternativas passam do limite.
+     * @param a O primeiro texto.
+     * @param b O segundo texto.
+     * @param limite A maior distância de interesse.
+     * @return a distância, ou {@code limite + 1} se ela for maior que o limite.
+     */
+    static int distancia(String a, String b, int limite) {
+        if (Math.abs(a.length() - b.length()) > limite) {
+            return limite + 1;
+        }
+        int[] anteriorAoAnterior = new int[b.length() + 1];
+        int[] anterior = new int[b.length() + 1];
+        int[] atual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            atual[0] = i;
+            int menorDaLinha = atual[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int custo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int valor = Math.min(Math.min(anterior[j] + 1, atual[j - 1] + 1), anterior[j - 1] + custo);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    valor = Math.min(valor, anteriorAoAnterior[j - 2] + 1);
+                }
+                atual[j] = valor;
+                menorDaLinha = Math.min(menorDaLinha, valor);
+            }
+            if (menorDaLinha > limite) {
+                return limite + 1;
+            }
+            int[] reciclado = anteriorAoAnterior;
+            anteriorAoAnterior = anterior;
+            anterior = atual;
+            atual = reciclado;
+        }
+        return Math.min(anterior[b.length()], limite + 1);
+    }
+
+    /** Os trigramas do termo com duas marcas de borda em cada ponta, empacotados em longs. */
+    private static long[] trigramas(String termo) {
+        String marcado = "" + BORDA + BORDA + termo + BORDA + BORDA;
+        long[] trigramas = new long[marcado.length() - 2];
+        for (int i = 0; i < trigramas.length; i++) {
+            trigramas[i] = ((long) marcado.charAt(i) << 32) | ((long) marcado.charAt(i + 1) << 16) | marcado.charAt(i + 2);
+        }
+        return trigramas;
+    }
+}
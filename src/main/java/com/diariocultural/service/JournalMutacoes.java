@@ -0,0 +1,197 @@
+// === JournalMutacoes.java === "Service"
+
+package com.diariocultural.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Journal (write-ahead log) de mutações do catálogo.
+ * Cada mutação é anexada como uma linha JSON compacta ao final do arquivo,
+ * evitando regravar o snapshot completo a cada alteração. O journal é
+ * reaplicado sobre o snapshot na inicialização e truncado a cada checkpoint.
+ * Cada anexação só retorna depois que os registros foram forçados para o disco.
+ */
+class JournalMutacoes implements AutoCloseable {
+    private final Path caminho;
+    private final Gson gson;
+    private FileChannel canal;
+    private int registrosPendentes;
+
+    /**
+     * Construtor do journal.
+     * @param caminho O caminho do arquivo de journal.
+     * @param gson A instância Gson (sem pretty printing) usada para serializar os registros.
+     */
+    JournalMutacoes(Path caminho, Gson gson) {
+        this.caminho = caminho;
+        this.gson = gson;
+        this.registrosPendentes = 0;
+    }
+
+    /**
+     * Reaplica todos os registros gravados no journal, na ordem em que foram anexados.
+     * Uma última linha incompleta (gravação interrompida por uma queda) é descartada e
+     * removida do arquivo, para que os próximos registros não sejam anexados a ela.
+     * @param aplicador A função que aplica cada registro ao catálogo em memória.
+     * @return o número de registros reaplicados.
+     */
+    int reaplicar(Consumer<RegistroMutacao> aplicador) {
+        if (Files.notExists(caminho)) {
+            return 0;
+        }
+        int aplicados = 0;
+        long fimValido = 0;
+        long tamanho;
+        try (InputStream entrada = new BufferedInputStream(Files.newInputStream(caminho))) {
+            tamanho = Files.size(caminho);
+            ByteArrayOutputStream linha = new ByteArrayOutputStream();
+            long posicao = 0;
+            int b;
+            while ((b = entrada.read()) != -1) {
+                posicao++;
+                if (b != '\n') {
+                    linha.write(b);
+                    continue;
+                }
+                // Só linhas terminadas em '\n' foram gravadas por inteiro.
+                String texto = linha.toString(StandardCharsets.UTF_8);
+                linha.reset();
+                if (!texto.isBlank()) {
+                    RegistroMutacao registro;
+                    try {
+                        registro = gson.fromJson(texto, RegistroMutacao.class);
+                    } catch (JsonParseException e) {
+                        break;
+                    }
+                    if (registro == null || registro.operacao == null) break;
+                    aplicador.accept(registro);
+                    aplicados++;
+                }
+                fimValido = posicao;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha crítica ao ler o journal de mutações.", e);
+        }
+        if (fimValido < tamanho) {
+            descartarApos(fimValido);
+        }
+        this.registrosPendentes = aplicados;
+        return aplicados;
+    }
+
+    /**
+     * Anexa um registro ao final do journal.
+     * @param registro O registro da mutação.
+     */
+    void anexar(RegistroMutacao registro) {
+        try {
+            gravar(gson.toJson(registro) + '\n');
+            registrosPendentes++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha crítica ao anexar registro ao journal.", e);
+        }
+    }
+
+    /**
+     * Anexa um lote de registros ao final do journal com uma única descarga em disco.
+     * @param registros Os registros das mutações, na ordem em que ocorreram.
+     */
+    void anexarTodos(List<RegistroMutacao> registros) {
+        if (registros.isEmpty()) {
+            return;
+        }
+        try {
+            StringBuilder linhas = new StringBuilder();
+            for (RegistroMutacao registro : registros) {
+                linhas.append(gson.toJson(registro)).append('\n');
+            }
+            gravar(linhas.toString());
+            registrosPendentes += registros.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha crítica ao anexar registros ao journal.", e);
+        }
+    }
+
+    /**
+     * Descarta todos os registros do journal. Deve ser chamado somente depois que
+     * o snapshot com o estado completo tiver sido gravado.
+     */
+    void truncar() {
+        try {
+            close();
+            Files.deleteIfExists(caminho);
+            registrosPendentes = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha crítica ao truncar o journal de mutações.", e);
+        }
+    }
+
+    /**
+     * Retorna o número de registros acumulados desde o último checkpoint.
+     * @return o número de registros pendentes.
+     */
+    int getRegistrosPendentes() {
+        return registrosPendentes;
+    }
+
+    /**
+     * Anexa as linhas ao final do arquivo e força a gravação em disco.
+     */
+    private void gravar(String linhas) throws IOException {
+        abrirSeNecessario();
+        ByteBuffer bytes = ByteBuffer.wrap(linhas.getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            canal.write(bytes);
+        }
+        canal.force(false);
+    }
+
+    /**
+     * Corta o arquivo na posição informada, descartando um registro incompleto do final.
+     */
+    private void descartarApos(long posicao) {
+        try (FileChannel arquivo = FileChannel.open(caminho, StandardOpenOption.WRITE)) {
+            arquivo.truncate(posicao);
+            arquivo.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha crítica ao descartar registro incompleto do journal.", e);
+        }
+    }
+
+    /**
+     * Abre o arquivo de journal para anexação, criando o diretório se necessário.
+     */
+    private void abrirSeNecessario() throws IOException {
+        if (canal == null) {
+            Files.createDirectories(caminho.toAbsolutePath().getParent());
+            canal = FileChannel.open(caminho, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * Fecha o arquivo de journal, se estiver aberto.
+     */
+    @Override
+    public void close() throws IOException {
+        if (canal != null) {
+            canal.close();
+            canal = null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+// === LeitorCatalogoJson.java === "Service"
+
+package com.diariocultural.service;
+
+import com.diariocultural.model.Filme;
+import com.diariocultural.model.Livro;
+import com.diariocultural.model.Serie;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Carregador em streaming do snapshot JSON do catálogo.
+ * Percorre os arrays "livros", "filmes" e "series" token a token com um JsonReader,
+ * convertendo uma mídia por vez e entregando-a diretamente ao armazenamento do
+ * catálogo, sem montar o CatalogoWrapper nem listas intermediárias.
+ */
+class LeitorCatalogoJson {
+    private final Gson gson;
+
+    /**
+     * Construtor do leitor.
+     * @param gson A instância Gson com os adaptadores do modelo registrados.
+     */
+    LeitorCatalogoJson(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Lê o documento completo, entregando cada mídia ao consumidor do seu tipo.
+     * Um documento vazio ou "null" é tratado como um catálogo vazio; campos desconhecidos são ignorados.
+     * @param reader O leitor posicionado no início do documento.
+     * @param livros Recebe cada livro lido.
+     * @param filmes Recebe cada filme lido.
+     * @param series Recebe cada série lida.
+     * @throws IOException se o documento estiver malformado ou não puder ser lido.
+     */
+    void carregar(JsonReader reader, Consumer<Livro> livros, Consumer<Filme> filmes, Consumer<Serie> series) throws IOException {
+        JsonToken inicio;
+        try {
+            inicio = reader.peek();
+        } catch (EOFException e) {
+            return; // Arquivo vazio.
+        }
+        if (inicio == JsonToken.NULL) {
+            reader.nextNull();
+            return;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "livros" -> lerArray(reader, Livro.class, livros);
+                case "filmes" -> lerArray(reader, Filme.class, filmes);
+                case "series" -> lerArray(reader, Serie.class, series);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Lê um array de mídias de um mesmo tipo, um elemento por vez.
+     * @param reader O leitor posicionado no início do array.
+     * @param tipo A classe das mídias do array.
+     * @param destino Recebe cada mídia lida.
+     * @throws IOException se o array estiver malformado.
+     */
+    private <T> void lerArray(JsonReader reader, Class<T> tipo, Consumer<T> destino) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            T midia = gson.fromJson(reader, tipo);
+            if (midia != null) {
+                destino.accept(midia);
+            }
+        }
+        reader.endArray();
+    }
+}
@@ -0,0 +1,151 @@
+// === MapaIds.java === "Service"
+
+package com.diariocultural.service;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de identificadores numéricos ({@code long} positivos) para valores, com endereçamento
+ * aberto e sondagem linear em dois vetores paralelos. Evita o boxing das chaves e os nós de
+ * um {@link java.util.HashMap}: uma consulta é um cálculo de hash e, em geral, uma ou duas
+ * comparações de {@code long}. A chave 0 marca as posições livres e, por isso, não é aceita.
+ * A remoção desloca os elementos seguintes do mesmo agrupamento, sem deixar marcadores.
+ */
+class MapaIds<V> {
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    private long[] chaves;
+    private Object[] valores;
+    private int tamanho;
+
+    /**
+     * Construtor do mapa vazio.
+     */
+    MapaIds() {
+        this.chaves = new long[CAPACIDADE_INICIAL];
+        this.valores = new Object[CAPACIDADE_INICIAL];
+    }
+
+    /**
+     * Retorna o valor associado ao identificador.
+     * @param id O identificador buscado.
+     * @return o valor, ou null se o identificador não estiver no mapa.
+     */
+    @SuppressWarnings("unchecked")
+    V get(long id) {
+        if (id <= 0) {
+            return null;
+        }
+        int mascara = chaves.length - 1;
+        for (int i = posicaoDe(id, mascara); chaves[i] != 0; i = (i + 1) & mascara) {
+            if (chaves[i] == id) {
+                return (V) valores[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Associa um valor ao identificador, substituindo o valor anterior, se houver.
+     * @param id O identificador, que deve ser positivo.
+     * @param valor O valor a ser associado.
+     * @throws IllegalArgumentException se o identificador não for positivo.
+     */
+    void put(long id, V valor) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("Identificador inválido: " + id);
+        }
+        if (2 * (tamanho + 1) > chaves.length) {
+            redimensionar(chaves.length * 2);
+        }
+        int mascara = chaves.length - 1;
+        int i = posicaoDe(id, mascara);
+        while (chaves[i] != 0 && chaves[i] != id) {
+            i = (i + 1) & mascara;
+        }
+        if (chaves[i] == 0) {
+            chaves[i] = id;
+            tamanho++;
+        }
+        valores[i] = valor;
+    }
+
+    /**
+     * Remove o identificador do mapa.
+     * @param id O identificador a ser removido.
+     * @return o valor removido, ou null se o identificador não estiver no mapa.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long id) {
+        if (id <= 0) {
+            return null;
+        }
+        int mascara = chaves.length - 1;
+        int i = posicaoDe(id, mascara);
+        while (chaves[i] != id) {
+            if (chaves[i] == 0) {
+                return null;
+            }
+            i = (i + 1) & mascara;
+        }
+        V removido = (V) valores[i];
+        // Desloca para trás os elementos seguintes que não estão mais na sua posição ideal.
+        int livre = i;
+        for (int j = (i + 1) & mascara; chaves[j] != 0; j = (j + 1) & mascara) {
+            int ideal = posicaoDe(chaves[j], mascara);
+            if (((j - ideal) & mascara) >= ((j - livre) & mascara)) {
+                chaves[livre] = chaves[j];
+                valores[livre] = valores[j];
+                livre = j;
+            }
+        }
+        chaves[livre] = 0;
+        valores[livre] = null;
+        tamanho--;
+        return removido;
+    }
+
+    /**
+     * Retorna o número de identificadores no mapa.
+     * @return o tamanho do mapa.
+     */
+    int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Remove todos os identificadores do mapa.
+     */
+    void limpar() {
+        Arrays.fill(chaves, 0);
+        Arrays.fill(valores, null);
+        tamanho = 0;
+    }
+
+    private void redimensionar(int capacidade) {
+        long[] chavesAntigas = chaves;
+        Object[] valoresAntigos = valores;
+        chaves = new long[capacidade];
+        valores = new Object[capacidade];
+        int mascara = capacidade - 1;
+        for (int k = 0; k < chavesAntigas.length; k++) {
+            if (chavesAntigas[k] != 0) {
+                int i = posicaoDe(chavesAntigas[k], mascara);
+                while (chaves[i] != 0) {
+                    i = (i + 1) & mascara;
+                }
+                chaves[i] = chavesAntigas[k];
+                valores[i] = valoresAntigos[k];
+            }
+        }
+    }
+
+    /**
+     * Espalha os bits do identificador (sequencial, na prática) antes de aplicar a máscara,
+     * para que identificadores consecutivos não formem agrupamentos longos.
+     */
+    private static int posicaoDe(long id, int mascara) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+}
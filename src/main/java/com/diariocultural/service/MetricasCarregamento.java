@@ -0,0 +1,86 @@
+// === MetricasCarregamento.java === "Service"
+
+package com.diariocultural.service;
+
+import java.time.Duration;
+
+/**
+ * Tempos das fases do carregamento do catálogo na inicialização, para identificar
+ * onde o tempo de abertura é gasto em catálogos grandes.
+ * <ul>
+ *   <li>leitura: E/S, isto é, leitura dos arquivos do disco para a memória;</li>
+ *   <li>interpretação: conversão do JSON ou do binário em objetos do modelo, feita em paralelo;</li>
+ *   <li>indexação: junção das seções interpretadas nas coleções e índices do catálogo.</li>
+ * </ul>
+ * No carregamento sequencial em streaming, a leitura do disco acontece intercalada com a
+ * interpretação e é contabilizada junto com ela.
+ */
+public class MetricasCarregamento {
+    private final Duration leitura;
+    private final Duration interpretacao;
+    private final Duration indexacao;
+    private final int tarefas;
+    private final int threads;
+
+    /**
+     * Construtor das métricas.
+     * @param leituraNanos O tempo de leitura dos arquivos, em nanossegundos.
+     * @param interpretacaoNanos O tempo de interpretação, em nanossegundos.
+     * @param indexacaoNanos O tempo de indexação, em nanossegundos.
+     * @param tarefas O número de tarefas de interpretação executadas.
+     * @param threads O número de threads usadas na interpretação.
+     */
+    MetricasCarregamento(long leituraNanos, long interpretacaoNanos, long indexacaoNanos, int tarefas, int threads) {
+        this.leitura = Duration.ofNanos(leituraNanos);
+        this.interpretacao = Duration.ofNanos(interpretacaoNanos);
+        this.indexacao = Duration.ofNanos(indexacaoNanos);
+        this.tarefas = tarefas;
+        this.threads = threads;
+    }
+
+    /**
+     * Retorna o tempo gasto lendo os arquivos do disco.
+     * @return a duração da fase de leitura.
+     */
+    public Duration getLeitura() { return leitura; }
+
+    /**
+     * Retorna o tempo gasto convertendo o conteúdo lido em objetos do modelo.
+     * @return a duração da fase de interpretação.
+     */
+    public Duration getInterpretacao() { return interpretacao; }
+
+    /**
+     * Retorna o tempo gasto juntando as seções nas coleções e índices do catálogo.
+     * @return a duração da fase de indexação.
+     */
+    public Duration getIndexacao() { return indexacao; }
+
+    /**
+     * Retorna o tempo total do carregamento.
+     * @return a soma das três fases.
+     */
+    public Duration getTotal() { return leitura.plus(interpretacao).plus(indexacao); }
+
+    /**
+     * Retorna o número de tarefas de interpretação (seções, trechos de seção ou fragmentos).
+     * @return o número de tarefas.
+     */
+    public int getTarefas() { return tarefas; }
+
+    /**
+     * Retorna o número de threads usadas na interpretação.
+     * @return o número de threads.
+     */
+    public int getThreads() { return threads; }
+
+    /**
+     * Retorna um resumo legível dos tempos, adequado para logs.
+     * @return o resumo das métricas.
+     */
+    @Override
+    public String toString() {
+        return String.format("leitura=%.1f ms, interpretação=%.1f ms, indexação=%.1f ms (%d tarefas em %d threads)",
+                leitura.toNanos() / 1e6, interpretacao.toNanos() / 1e6, indexacao.toNanos() / 1e6, tarefas, threads);
+    }
+}
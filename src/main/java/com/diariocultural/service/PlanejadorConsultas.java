@@ -0,0 +1,225 @@
+// === PlanejadorConsultas.java === "Service"
+
+package com.diariocultural.service;
+
+import com.diariocultural.model.Midia;
+import com.diariocultural.service.ConsultaMidias.Criterio;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Responde as consultas compostas ({@link ConsultaMidias}) às mídias de uma coleção.
+ *
+ * Cada critério simples tem uma fonte: uma estimativa barata de quantas mídias ele
+ * encontra, tirada das contagens dos índices sem montar conjuntos; o conjunto de
+ * identificadores do índice, quando houver um; e a conferência do critério nas mídias,
+ * preparada uma vez por consulta (o texto buscado é normalizado na preparação, não a
+ * cada mídia conferida).
+ *
+ * Em um E, as partes são ordenadas pela estimativa e resolvidas da mais seletiva para a
+ * menos seletiva, cruzando os conjuntos. Uma parte que encontraria muito mais mídias do que
+ * as candidatas restantes não tem o seu conjunto montado: ela é apenas conferida nas
+ * candidatas, depois de materializadas. Um OU une os conjuntos das partes; se alguma não
+ * tiver índice, o OU inteiro é conferido nas candidatas. Sem nenhum conjunto, a consulta
+ * confere todas as mídias da coleção.
+ *
+ * @param <T> O tipo de mídia.
+ */
+class PlanejadorConsultas<T extends Midia> {
+    // Uma parte é só conferida quando estima encontrar ao menos tantas vezes mais mídias que as candidatas.
+    private static final int FATOR_CONFERENCIA = 8;
+
+    private final ColecaoMidias<T> colecao;
+    private final Map<Criterio, Fonte<T>> fontes = new EnumMap<>(Criterio.class);
+
+    /**
+     * Fonte de um critério simples.
+     * @param <T> O tipo de mídia.
+     */
+    interface Fonte<T> {
+        /**
+         * Estima, sem montar o conjunto, quantas mídias atendem ao critério.
+         * @param criterio O critério.
+         * @return a estimativa, limitada pelo planejador à quantidade de mídias.
+         */
+        int estimar(ConsultaMidias criterio);
+
+        /**
+         * Retorna o conjunto das mídias que atendem ao critério, pelo índice.
+         * @param criterio O critério.
+         * @return o conjunto, que não deve ser alterado, ou null se não houver índice.
+         */
+        BitmapIds ids(ConsultaMidias criterio);
+
+        /**
+         * Prepara a conferência do critério nas mídias.
+         * @param criterio O critério.
+         * @return o teste que aceita as mídias que atendem ao critério.
+         */
+        Predicate<T> conferencia(ConsultaMidias criterio);
+    }
+
+    /**
+     * Plano de uma parte da consulta: as candidatas e o que ainda falta conferir nelas.
+     * @param candidatos Os identificadores candidatos, ou null para todas as mídias.
+     * @param conferencia O que falta conferir nas candidatas, ou null se elas já são o resultado.
+     */
+    private record Plano<T>(BitmapIds candidatos, Predicate<T> conferencia) {
+    }
+
+    /**
+     * Construtor do planejador.
+     * @param colecao A coleção consultada.
+     */
+    PlanejadorConsultas(ColecaoMidias<T> colecao) {
+        this.colecao = colecao;
+    }
+
+    /**
+     * Registra a fonte de um critério simples.
+     * @param criterio O critério.
+     * @param fonte A fonte.
+     * @return este planejador, para encadeamento.
+     */
+    PlanejadorConsultas<T> comFonte(Criterio criterio, Fonte<T> fonte) {
+        fontes.put(criterio, fonte);
+        return this;
+    }
+
+    /**
+     * Responde a consulta. Deve ser chamado sob o lock de leitura do catálogo.
+     * @param consulta A consulta.
+     * @return uma nova lista com as mídias que atendem à consulta, em ordem crescente de
+     *         identificador (na ordem de inserção, se nenhum critério tiver índice).
+     * @throws IllegalArgumentException se a consulta usar um critério que não se aplica ao tipo de mídia.
+     */
+    List<T> executar(ConsultaMidias consulta) {
+        validar(consulta);
+        Plano<T> plano = planejar(consulta);
+        List<T> candidatas = plano.candidatos() != null
+                ? colecao.comIds(plano.candidatos())
+                : new ArrayList<>(colecao.valores());
+        if (plano.conferencia() != null) {
+            Predicate<T> conferencia = plano.conferencia();
+            candidatas.removeIf(midia -> !conferencia.test(midia));
+        }
+        return candidatas;
+    }
+
+    /**
+     * Estima quantas mídias atendem a uma parte da consulta: o mínimo entre as partes de um
+     * E e a soma das partes de um OU, limitados à quantidade de mídias.
+     */
+    int estimar(ConsultaMidias consulta) {
+        int total = colecao.tamanho();
+        if (consulta.getOperador() == null) {
+            return Math.min(total, fontes.get(consulta.getCriterio()).estimar(consulta));
+        }
+        long estimativa = consulta.getOperador() == ConsultaMidias.Operador.E ? total : 0;
+        for (ConsultaMidias parte : consulta.getPartes()) {
+            int daParte = estimar(parte);
+            estimativa = consulta.getOperador() == ConsultaMidias.Operador.E
+                    ? Math.min(estimativa, daParte)
+                    : estimativa + daParte;
+        }
+        return (int) Math.min(total, estimativa);
+    }
+
+    private Plano<T> planejar(ConsultaMidias consulta) {
+        if (consulta.getOperador() == null) {
+            Fonte<T> fonte = fontes.get(consulta.getCriterio());
+            BitmapIds ids = fonte.ids(consulta);
+            return ids != null ? new Plano<>(ids, null) : new Plano<>(null, fonte.conferencia(consulta));
+        }
+        return consulta.getOperador() == ConsultaMidias.Operador.E ? planejarE(consulta) : planejarOu(consulta);
+    }
+
+    private Plano<T> planejarE(ConsultaMidias consulta) {
+        List<ConsultaMidias> partes = new ArrayList<>(consulta.getPartes());
+        Map<ConsultaMidias, Integer> estimativaDaParte = new IdentityHashMap<>();
+        for (ConsultaMidias parte : partes) {
+            estimativaDaParte.put(parte, estimar(parte));
+        }
+        partes.sort(Comparator.comparingInt(estimativaDaParte::get));
+
+        BitmapIds candidatos = null;
+        List<Predicate<T>> conferencias = new ArrayList<>();
+        for (ConsultaMidias parte : partes) {
+            if (candidatos != null && (long) candidatos.cardinalidade() * FATOR_CONFERENCIA <= estimativaDaParte.get(parte)) {
+                conferencias.add(conferencia(parte));
+                continue;
+            }
+            Plano<T> plano = planejar(parte);
+            if (plano.candidatos() != null) {
+                candidatos = candidatos != null ? BitmapIds.e(candidatos, plano.candidatos()) : plano.candidatos();
+                if (candidatos.isVazio()) {
+                    return new Plano<>(candidatos, null);
+                }
+            }
+            if (plano.conferencia() != null) {
+                conferencias.add(plano.conferencia());
+            }
+        }
+        if (conferencias.isEmpty()) {
+            return new Plano<>(candidatos, null);
+        }
+        return new Plano<>(candidatos, midia -> {
+            for (Predicate<T> conferencia : conferencias) {
+                if (!conferencia.test(midia)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    private Plano<T> planejarOu(ConsultaMidias consulta) {
+        List<BitmapIds> unidos = new ArrayList<>(consulta.getPartes().size());
+        boolean exato = true;
+        for (ConsultaMidias parte : consulta.getPartes()) {
+            Plano<T> plano = planejar(parte);
+            if (plano.candidatos() == null) {
+                // Uma parte sem índice aceita qualquer mídia como candidata: o OU é conferido em todas.
+                return new Plano<>(null, conferencia(consulta));
+            }
+            unidos.add(plano.candidatos());
+            exato &= plano.conferencia() == null;
+        }
+        BitmapIds candidatos = BitmapIds.ou(unidos);
+        return exato ? new Plano<>(candidatos, null) : new Plano<>(candidatos, conferencia(consulta));
+    }
+
+    /** Prepara a conferência de uma parte da consulta nas mídias, sem índices. */
+    private Predicate<T> conferencia(ConsultaMidias consulta) {
+        if (consulta.getOperador() == null) {
+            return fontes.get(consulta.getCriterio()).conferencia(consulta);
+        }
+        List<Predicate<T>> partes = new ArrayList<>(consulta.getPartes().size());
+        for (ConsultaMidias parte : consulta.getPartes()) {
+            partes.add(conferencia(parte));
+        }
+        boolean todas = consulta.getOperador() == ConsultaMidias.Operador.E;
+        return midia -> {
+            for (Predicate<T> parte : partes) {
+                if (parte.test(midia) != todas) {
+                    return !todas;
+                }
+            }
+            return todas;
+        };
+    }
+
+    private void validar(ConsultaMidias consulta) {
+        if (consulta.getOperador() != null) {
+            consulta.getPartes().forEach(this::validar);
+        } else if (!fontes.containsKey(consulta.getCriterio())) {
+            throw new IllegalArgumentException("O critério " + consulta.getCriterio() + " não se aplica a este tipo de mídia.");
+        }
+    }
+}
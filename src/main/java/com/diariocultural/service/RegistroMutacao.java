@@ -0,0 +1,82 @@
+// === RegistroMutacao.java === "Service"
+
+package com.diariocultural.service;
+
+import com.google.gson.JsonElement;
+
+/**
+ * Representa uma única mutação do catálogo, gravada como uma linha do journal.
+ * Carrega a mídia completa (para inclusões e atualizações) ou apenas o título e,
+ * opcionalmente, o identificador (para remoções), o suficiente para reaplicar a
+ * operação na inicialização.
+ */
+class RegistroMutacao {
+
+    /**
+     * Operações suportadas pelo journal.
+     */
+    enum Operacao {
+        ADICIONAR_LIVRO, ADICIONAR_FILME, ADICIONAR_SERIE,
+        ATUALIZAR_LIVRO, ATUALIZAR_FILME, ATUALIZAR_SERIE,
+        REMOVER_LIVRO, REMOVER_FILME, REMOVER_SERIE,
+        REMOVER_TEMPORADA
+    }
+
+    Operacao operacao;
+    JsonElement midia;
+    String titulo;
+    Long id;
+    Integer numeroTemporada;
+
+    /**
+     * Cria um registro que carrega a mídia serializada (inclusão ou atualização).
+     * @param operacao A operação realizada.
+     * @param midia A mídia já convertida para JSON.
+     * @return o registro criado.
+     */
+    static RegistroMutacao comMidia(Operacao operacao, JsonElement midia) {
+        RegistroMutacao registro = new RegistroMutacao();
+        registro.operacao = operacao;
+        registro.midia = midia;
+        return registro;
+    }
+
+    /**
+     * Cria um registro de remoção identificado pelo título.
+     * @param operacao A operação de remoção.
+     * @param titulo O título da mídia removida.
+     * @return o registro criado.
+     */
+    static RegistroMutacao comTitulo(Operacao operacao, String titulo) {
+        RegistroMutacao registro = new RegistroMutacao();
+        registro.operacao = operacao;
+        registro.titulo = titulo;
+        return registro;
+    }
+
+    /**
+     * Cria um registro de remoção identificado pelo identificador numérico da mídia.
+     * O título acompanha o registro para localizar o fragmento afetado.
+     * @param operacao A operação de remoção.
+     * @param titulo O título da mídia removida.
+     * @param id O identificador da mídia removida.
+     * @return o registro criado.
+     */
+    static RegistroMutacao comId(Operacao operacao, String titulo, long id) {
+        RegistroMutacao registro = comTitulo(operacao, titulo);
+        registro.id = id;
+        return registro;
+    }
+
+    /**
+     * Cria um registro de remoção de temporada.
+     * @param tituloSerie O título da série.
+     * @param numeroTemporada O número da temporada removida.
+     * @return o registro criado.
+     */
+    static RegistroMutacao remocaoTemporada(String tituloSerie, int numeroTemporada) {
+        RegistroMutacao registro = comTitulo(Operacao.REMOVER_TEMPORADA, tituloSerie);
+        registro.numeroTemporada = numeroTemporada;
+        return registro;
+    }
+}
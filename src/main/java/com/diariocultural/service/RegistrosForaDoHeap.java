@@ -0,0 +1,516 @@
+// === RegistrosForaDoHeap.java === "Service"
+
+package com.diariocultural.service;
+
+import com.diariocultural.model.Filme;
+import com.diariocultural.model.Livro;
+import com.diariocultural.model.Midia;
+import com.diariocultural.model.Review;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Armazena livros e filmes fora do heap, em blocos de memória direta, na forma compacta de
+ * um registro por mídia: um cabeçalho de tamanho fixo com os campos numéricos, seguido dos
+ * textos em UTF-8 e de uma tabela com a posição de cada um. No heap ficam apenas os blocos
+ * e um {@code long} por mídia com o endereço do seu registro, de modo que um acervo de
+ * milhões de mídias não vira milhões de objetos (mídias, strings, listas de elenco, datas,
+ * reviews) para o coletor de lixo percorrer.
+ *
+ * As mídias são lidas por visões ({@link VisaoLivro}, {@link VisaoFilme}) com os mesmos
+ * getters do modelo, que decodificam cada campo do registro apenas quando ele é pedido:
+ * os numéricos sem alocação alguma, os textos criando só a string pedida. Uma visão pode
+ * ser reposicionada sobre outro registro, e as passadas ({@link #paraCadaLivro(Consumer)})
+ * usam uma única visão para todos. Quando for preciso alterar a mídia, {@code materializar}
+ * cria o objeto do modelo.
+ *
+ * Os registros são somente acrescentados: {@link #substituirLivro(int, Livro)} grava um novo
+ * registro e aponta a posição para ele. A memória é devolvida quando o armazém fecha e os
+ * blocos são recolhidos. Assim como as coleções do catálogo, o armazém não sincroniza as
+ * escritas: elas devem ser serializadas por quem o usa, e as visões só refletem registros
+ * gravados antes de serem posicionadas.
+ *
+ * É uma API de biblioteca, para quem processa acervos grandes fora do aplicativo (importações
+ * e relatórios em lote, por exemplo). O catálogo não guarda suas mídias aqui: as coleções e os
+ * índices dele, assim como as telas e o controlador, trabalham com os objetos do modelo,
+ * que são alterados e substituídos a cada edição.
+ */
+public class RegistrosForaDoHeap implements AutoCloseable {
+    private static final int TAMANHO_BLOCO = 4 << 20;
+
+    // Cabeçalho fixo de cada registro.
+    private static final int ID = 0;
+    private static final int ANO = 8;
+    private static final int DIA_CONSUMO = 12;
+    private static final int DIA_REVIEW = 16;
+    private static final int DURACAO = 20;
+    private static final int AVALIACAO = 24;
+    private static final int FLAGS = 25;
+    private static final int TEXTOS = 26;
+    private static final int POSICOES = 28;
+
+    private static final int FLAG_CONSUMIDO = 1;
+    private static final int FLAG_POSSUI_EXEMPLAR = 1 << 1;
+    private static final int FLAG_REVIEW = 1 << 2;
+    private static final int FLAG_ONDE_ASSISTIR = 1 << 3;
+    private static final int SEM_DATA = Integer.MIN_VALUE;
+
+    // Ordem dos textos nos registros: os comuns e, depois, os de cada tipo.
+    private static final int TITULO = 0;
+    private static final int GENERO = 1;
+    private static final int REVIEW = 2;
+    private static final int AUTOR = 3;
+    private static final int EDITORA = 4;
+    private static final int ISBN = 5;
+    private static final int DIRECAO = 3;
+    private static final int ROTEIRO = 4;
+    private static final int TITULO_ORIGINAL = 5;
+    private static final int ONDE_ASSISTIR = 6;
+    private static final int PRIMEIRO_ATOR = 7;
+
+    private final List<ByteBuffer> blocos = new ArrayList<>();
+    private long[] livros = new long[16];
+    private long[] filmes = new long[16];
+    private int quantidadeLivros;
+    private int quantidadeFilmes;
+    private int livre;
+    private long bytesOcupados;
+    private boolean fechado;
+
+    /**
+     * Grava um livro em um novo registro.
+     * @param livro O livro a ser gravado.
+     * @return a posição do livro no armazém.
+     */
+    public int adicionarLivro(Livro livro) {
+        livros = garantirCapacidade(livros, quantidadeLivros);
+        livros[quantidadeLivros] = gravar(livro);
+        return quantidadeLivros++;
+    }
+
+    /**
+     * Grava um filme em um novo registro.
+     * @param filme O filme a ser gravado.
+     * @return a posição do filme no armazém.
+     */
+    public int adicionarFilme(Filme filme) {
+        filmes = garantirCapacidade(filmes, quantidadeFilmes);
+        filmes[quantidadeFilmes] = gravar(filme);
+        return quantidadeFilmes++;
+    }
+
+    /**
+     * Substitui o livro de uma posição por uma nova versão. O registro anterior continua
+     * ocupando memória até o armazém ser fechado.
+     * @param posicao A posição do livro.
+     * @param livro A nova versão do livro.
+     * @throws IndexOutOfBoundsException se a posição não existir.
+     */
+    public void substituirLivro(int posicao, Livro livro) {
+        livros[verificarPosicao(posicao, quantidadeLivros)] = gravar(livro);
+    }
+
+    /**
+     * Substitui o filme de uma posição por uma nova versão. O registro anterior continua
+     * ocupando memória até o armazém ser fechado.
+     * @param posicao A posição do filme.
+     * @param filme A nova versão do filme.
+     * @throws IndexOutOfBoundsException se a posição não existir.
+     */
+    public void substituirFilme(int posicao, Filme filme) {
+        filmes[verificarPosicao(posicao, quantidadeFilmes)] = gravar(filme);
+    }
+
+    /**
+     * Retorna uma nova visão posicionada sobre o livro informado.
+     * @param posicao A posição do livro.
+     * @return a visão do livro.
+     * @throws IndexOutOfBoundsException se a posição não existir.
+     */
+    public VisaoLivro livro(int posicao) {
+        VisaoLivro visao = new VisaoLivro();
+        visao.posicionar(livros[verificarPosicao(posicao, quantidadeLivros)]);
+        return visao;
+    }
+
+    /**
+     * Retorna uma nova visão posicionada sobre o filme informado.
+     * @param posicao A posição do filme.
+     * @return a visão do filme.
+     * @throws IndexOutOfBoundsException se a posição não existir.
+     */
+    public VisaoFilme filme(int posicao) {
+        VisaoFilme visao = new VisaoFilme();
+        visao.posicionar(filmes[verificarPosicao(posicao, quantidadeFilmes)]);
+        return visao;
+    }
+
+    /**
+     * Percorre os livros em ordem de posição com uma única visão, reposicionada a cada
+     * livro: ela não deve ser guardada além da chamada da ação.
+     * @param acao A ação executada para cada livro.
+     */
+    public void paraCadaLivro(Consumer<VisaoLivro> acao) {
+        VisaoLivro visao = new VisaoLivro();
+        int quantidade = quantidadeLivros;
+        for (int i = 0; i < quantidade; i++) {
+            visao.posicionar(livros[i]);
+            acao.accept(visao);
+        }
+    }
+
+    /**
+     * Percorre os filmes em ordem de posição com uma única visão, reposicionada a cada
+     * filme: ela não deve ser guardada além da chamada da ação.
+     * @param acao A ação executada para cada filme.
+     */
+    public void paraCadaFilme(Consumer<VisaoFilme> acao) {
+        VisaoFilme visao = new VisaoFilme();
+        int quantidade = quantidadeFilmes;
+        for (int i = 0; i < quantidade; i++) {
+            visao.posicionar(filmes[i]);
+            acao.accept(visao);
+        }
+    }
+
+    /**
+     * Retorna o número de livros armazenados.
+     * @return a quantidade de livros.
+     */
+    public int getQuantidadeLivros() { return quantidadeLivros; }
+
+    /**
+     * Retorna o número de filmes armazenados.
+     * @return a quantidade de filmes.
+     */
+    public int getQuantidadeFilmes() { return quantidadeFilmes; }
+
+    /**
+     * Retorna quantos bytes os registros ocupam fora do heap, incluindo os substituídos.
+     * @return os bytes ocupados pelos registros.
+     */
+    public long getBytesOcupados() { return bytesOcupados; }
+
+    /**
+     * Descarta os blocos de memória: a memória direta é devolvida quando o coletor de lixo
+     * os recolher. Visões criadas antes não devem mais ser usadas.
+     */
+    @Override
+    public void close() {
+        fechado = true;
+        blocos.clear();
+        livros = new long[0];
+        filmes = new long[0];
+        quantidadeLivros = 0;
+        quantidadeFilmes = 0;
+    }
+
+    private long gravar(Livro livro) {
+        String[] textos = {livro.getTitulo(), livro.getGenero(), textoDaReview(livro),
+                livro.getAutor(), livro.getEditora(), livro.getIsbn()};
+        return gravar(livro, textos, livro.isPossuiExemplar() ? FLAG_POSSUI_EXEMPLAR : 0, 0);
+    }
+
+    private long gravar(Filme filme) {
+        List<String> elenco = filme.getElenco() != null ? filme.getElenco() : List.of();
+        String[] textos = new String[PRIMEIRO_ATOR + elenco.size()];
+        textos[TITULO] = filme.getTitulo();
+        textos[GENERO] = filme.getGenero();
+        textos[REVIEW] = textoDaReview(filme);
+        textos[DIRECAO] = filme.getDirecao();
+        textos[ROTEIRO] = filme.getRoteiro();
+        textos[TITULO_ORIGINAL] = filme.getTituloOriginal();
+        textos[ONDE_ASSISTIR] = filme.getOndeAssistir();
+        for (int i = 0; i < elenco.size(); i++) {
+            textos[PRIMEIRO_ATOR + i] = elenco.get(i);
+        }
+        int segundos = filme.getTempoDeDuracao() != null ? (int) filme.getTempoDeDuracao().toSeconds() : 0;
+        return gravar(filme, textos, filme.getOndeAssistir() != null ? FLAG_ONDE_ASSISTIR : 0, segundos);
+    }
+
+    /**
+     * Grava o registro de uma mídia no bloco atual (ou em um novo, se ele não couber).
+     * @return o endereço do registro: o número do bloco nos 32 bits altos e a posição nos baixos.
+     */
+    private long gravar(Midia midia, String[] textos, int flags, int segundos) {
+        if (fechado) {
+            throw new IllegalStateException("O armazém de registros já foi fechado.");
+        }
+        byte[][] codificados = new byte[textos.length][];
+        int tamanho = POSICOES + Integer.BYTES * (textos.length + 1);
+        for (int i = 0; i < textos.length; i++) {
+            codificados[i] = textos[i] != null ? textos[i].getBytes(StandardCharsets.UTF_8) : new byte[0];
+            tamanho += codificados[i].length;
+        }
+
+        ByteBuffer bloco = blocoCom(tamanho);
+        int base = livre;
+        if (midia.isConsumido()) flags |= FLAG_CONSUMIDO;
+        if (midia.getReview() != null) flags |= FLAG_REVIEW;
+        bloco.putLong(base + ID, midia.getId());
+        bloco.putInt(base + ANO, midia.getAnoLancamento());
+        bloco.putInt(base + DIA_CONSUMO, midia.getDataConsumo() != null ? (int) midia.getDataConsumo().toEpochDay() : SEM_DATA);
+        bloco.putInt(base + DIA_REVIEW, midia.getReview() != null ? (int) midia.getReview().getDataCriacao().toEpochDay() : SEM_DATA);
+        bloco.putInt(base + DURACAO, segundos);
+        bloco.put(base + AVALIACAO, (byte) midia.getAvaliacao());
+        bloco.put(base + FLAGS, (byte) flags);
+        bloco.putShort(base + TEXTOS, (short) textos.length);
+
+        int posicao = POSICOES + Integer.BYTES * (textos.length + 1);
+        for (int i = 0; i < textos.length; i++) {
+            bloco.putInt(base + POSICOES + Integer.BYTES * i, posicao);
+            bloco.put(base + posicao, codificados[i]);
+            posicao += codificados[i].length;
+        }
+        bloco.putInt(base + POSICOES + Integer.BYTES * textos.length, posicao);
+
+        livre += tamanho;
+        bytesOcupados += tamanho;
+        return (long) (blocos.size() - 1) << 32 | base;
+    }
+
+    /** Retorna o bloco atual, se houver espaço nele, ou aloca um novo. */
+    private ByteBuffer blocoCom(int tamanho) {
+        if (blocos.isEmpty() || livre + tamanho > blocos.get(blocos.size() - 1).capacity()) {
+            blocos.add(ByteBuffer.allocateDirect(Math.max(TAMANHO_BLOCO, tamanho)).order(ByteOrder.nativeOrder()));
+            livre = 0;
+        }
+        return blocos.get(blocos.size() - 1);
+    }
+
+    private static String textoDaReview(Midia midia) {
+        return midia.getReview() != null ? midia.getReview().getTexto() : null;
+    }
+
+    private static long[] garantirCapacidade(long[] enderecos, int quantidade) {
+        return quantidade < enderecos.length ? enderecos : Arrays.copyOf(enderecos, enderecos.length * 2);
+    }
+
+    private static int verificarPosicao(int posicao, int quantidade) {
+        if (posicao < 0 || posicao >= quantidade) {
+            throw new IndexOutOfBoundsException("Posição " + posicao + " fora do intervalo [0, " + quantidade + ").");
+        }
+        return posicao;
+    }
+
+    /**
+     * Visão de um registro com os getters comuns a todas as mídias. Não guarda nenhum campo
+     * da mídia: cada getter lê o registro no momento da chamada.
+     */
+    public abstract class VisaoMidia {
+        ByteBuffer bloco;
+        int base;
+
+        void posicionar(long endereco) {
+            this.bloco = blocos.get((int) (endereco >>> 32));
+            this.base = (int) endereco;
+        }
+
+        /**
+         * Retorna o identificador da mídia.
+         * @return o identificador, ou 0 se a mídia ainda não tinha um ao ser gravada.
+         */
+        public long getId() { return bloco.getLong(base + ID); }
+
+        /**
+         * Retorna o título da mídia.
+         * @return o título.
+         */
+        public String getTitulo() { return texto(TITULO); }
+
+        /**
+         * Retorna o gênero da mídia.
+         * @return o gênero.
+         */
+        public String getGenero() { return texto(GENERO); }
+
+        /**
+         * Retorna o ano de lançamento da mídia.
+         * @return o ano de lançamento.
+         */
+        public int getAnoLancamento() { return bloco.getInt(base + ANO); }
+
+        /**
+         * Retorna a avaliação da mídia.
+         * @return a nota, de 1 a 5, ou 0 se a mídia não foi avaliada.
+         */
+        public int getAvaliacao() { return bloco.get(base + AVALIACAO); }
+
+        /**
+         * Verifica se a mídia foi consumida.
+         * @return true se a mídia foi consumida.
+         */
+        public boolean isConsumido() { return possui(FLAG_CONSUMIDO); }
+
+        /**
+         * Retorna a data de consumo da mídia.
+         * @return a data de consumo, ou null se não houver.
+         */
+        public LocalDate getDataConsumo() { return data(DIA_CONSUMO); }
+
+        /**
+         * Retorna a review da mídia, criada a partir do registro.
+         * @return a review, ou null se não houver.
+         */
+        public Review getReview() {
+            if (!possui(FLAG_REVIEW)) {
+                return null;
+            }
+            LocalDate data = data(DIA_REVIEW);
+            return new Review(texto(REVIEW), data.getDayOfMonth(), data.getMonthValue(), data.getYear());
+        }
+
+        /**
+         * Retorna apenas o texto da review da mídia.
+         * @return o texto da review, ou null se não houver.
+         */
+        public String getReviewTexto() { return possui(FLAG_REVIEW) ? texto(REVIEW) : null; }
+
+        /**
+         * Restaura na mídia criada a partir do registro o estado de consumo, na mesma ordem
+         * em que o snapshot binário o restaura.
+         */
+        <T extends Midia> T comEstado(T midia) {
+            if (isConsumido()) midia.setConsumido(true);
+            LocalDate dataConsumo = getDataConsumo();
+            if (dataConsumo != null) midia.setDataConsumo(dataConsumo);
+            Review review = getReview();
+            if (review != null) midia.setReview(review);
+            if (getAvaliacao() > 0) midia.setAvaliacao(getAvaliacao());
+            if (getId() > 0) midia.setId(getId());
+            return midia;
+        }
+
+        boolean possui(int flag) {
+            return (bloco.get(base + FLAGS) & flag) != 0;
+        }
+
+        int quantidadeDeTextos() {
+            return bloco.getShort(base + TEXTOS);
+        }
+
+        String texto(int indice) {
+            int inicio = bloco.getInt(base + POSICOES + Integer.BYTES * indice);
+            int fim = bloco.getInt(base + POSICOES + Integer.BYTES * (indice + 1));
+            byte[] bytes = new byte[fim - inicio];
+            bloco.get(base + inicio, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private LocalDate data(int campo) {
+            int dia = bloco.getInt(base + campo);
+            return dia == SEM_DATA ? null : LocalDate.ofEpochDay(dia);
+        }
+    }
+
+    /**
+     * Visão de um livro gravado, com os getters de {@link Livro}.
+     */
+    public final class VisaoLivro extends VisaoMidia {
+        private VisaoLivro() {
+        }
+
+        /**
+         * Retorna o autor do livro.
+         * @return o autor.
+         */
+        public String getAutor() { return texto(AUTOR); }
+
+        /**
+         * Retorna a editora do livro.
+         * @return a editora.
+         */
+        public String getEditora() { return texto(EDITORA); }
+
+        /**
+         * Retorna o ISBN do livro.
+         * @return o ISBN.
+         */
+        public String getIsbn() { return texto(ISBN); }
+
+        /**
+         * Verifica se o usuário possui um exemplar do livro.
+         * @return true se possui um exemplar.
+         */
+        public boolean isPossuiExemplar() { return possui(FLAG_POSSUI_EXEMPLAR); }
+
+        /**
+         * Cria o livro do modelo com os dados do registro, para ser alterado ou devolvido ao catálogo.
+         * @return um novo livro, desconectado do armazém.
+         */
+        public Livro materializar() {
+            return comEstado(new Livro(getTitulo(), getAutor(), getEditora(), getIsbn(), getAnoLancamento(),
+                    getGenero(), isPossuiExemplar()));
+        }
+    }
+
+    /**
+     * Visão de um filme gravado, com os getters de {@link Filme}.
+     */
+    public final class VisaoFilme extends VisaoMidia {
+        private VisaoFilme() {
+        }
+
+        /**
+         * Retorna a duração do filme.
+         * @return a duração.
+         */
+        public Duration getTempoDeDuracao() { return Duration.ofSeconds(bloco.getInt(base + DURACAO)); }
+
+        /**
+         * Retorna a direção do filme.
+         * @return o diretor.
+         */
+        public String getDirecao() { return texto(DIRECAO); }
+
+        /**
+         * Retorna o roteiro do filme.
+         * @return o roteirista.
+         */
+        public String getRoteiro() { return texto(ROTEIRO); }
+
+        /**
+         * Retorna o título original do filme.
+         * @return o título original.
+         */
+        public String getTituloOriginal() { return texto(TITULO_ORIGINAL); }
+
+        /**
+         * Retorna onde o filme pode ser assistido.
+         * @return a plataforma, ou null se não houver.
+         */
+        public String getOndeAssistir() { return possui(FLAG_ONDE_ASSISTIR) ? texto(ONDE_ASSISTIR) : null; }
+
+        /**
+         * Retorna o elenco do filme, criado a partir do registro.
+         * @return uma nova lista com o elenco.
+         */
+        public List<String> getElenco() {
+            int atores = quantidadeDeTextos() - PRIMEIRO_ATOR;
+            List<String> elenco = new ArrayList<>(atores);
+            for (int i = 0; i < atores; i++) {
+                elenco.add(texto(PRIMEIRO_ATOR + i));
+            }
+            return elenco;
+        }
+
+        /**
+         * Cria o filme do modelo com os dados do registro, para ser alterado ou devolvido ao catálogo.
+         * @return um novo filme, desconectado do armazém.
+         */
+        public Filme materializar() {
+            Filme filme = new Filme(getTitulo(), getGenero(), getAnoLancamento(), 1, getDirecao(), getRoteiro(),
+                    getElenco(), getTituloOriginal(), getOndeAssistir());
+            filme.setTempoDeDuracao(getTempoDeDuracao());
+            return comEstado(filme);
+        }
+    }
+}
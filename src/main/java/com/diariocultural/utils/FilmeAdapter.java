@@ -0,0 +1,85 @@
+package com.diariocultural.utils;
+
+import com.diariocultural.model.Filme;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Adaptador para ensinar a Gson como converter objetos Filme para JSON e vice-versa,
+ * lendo e gravando os campos diretamente, sem reflexão.
+ * A duração é guardada como um número total de segundos, como no DurationAdapter.
+ */
+public class FilmeAdapter extends MidiaAdapter<Filme> {
+    private final DurationAdapter duracoes = new DurationAdapter();
+
+    @Override
+    public void write(JsonWriter out, Filme value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("tempoDeDuracao");
+        duracoes.write(out, value.getTempoDeDuracao());
+        out.name("direcao").value(value.getDirecao());
+        out.name("roteiro").value(value.getRoteiro());
+        out.name("elenco");
+        escreverListaDeStrings(out, value.getElenco());
+        out.name("tituloOriginal").value(value.getTituloOriginal());
+        out.name("ondeAssistir").value(value.getOndeAssistir());
+        escreverCamposComuns(out, value, true);
+        out.endObject();
+    }
+
+    @Override
+    public Filme read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        CamposComuns campos = new CamposComuns();
+        Duration tempoDeDuracao = null;
+        String direcao = null;
+        String roteiro = null;
+        List<String> elenco = null;
+        String tituloOriginal = null;
+        String ondeAssistir = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String nome = in.nextName();
+            switch (nome) {
+                case "tempoDeDuracao" -> tempoDeDuracao = duracoes.read(in);
+                case "direcao" -> direcao = lerString(in);
+                case "roteiro" -> roteiro = lerString(in);
+                case "elenco" -> elenco = lerListaDeStrings(in);
+                case "tituloOriginal" -> tituloOriginal = lerString(in);
+                case "ondeAssistir" -> ondeAssistir = lerString(in);
+                default -> {
+                    if (!lerCampoComum(nome, in, campos)) in.skipValue();
+                }
+            }
+        }
+        in.endObject();
+
+        if (tempoDeDuracao == null) {
+            throw new JsonParseException("Registro de filme inválido: tempo de duração ausente.");
+        }
+        try {
+            // O construtor recebe minutos; a duração exata, em segundos, é definida em seguida.
+            Filme filme = new Filme(campos.titulo, campos.genero, campos.anoLancamento, 1, direcao, roteiro,
+                    elenco, tituloOriginal, ondeAssistir);
+            filme.setTempoDeDuracao(tempoDeDuracao);
+            aplicarEstado(filme, campos, true);
+            return filme;
+        } catch (IllegalArgumentException e) {
+            throw registroInvalido("filme", e);
+        }
+    }
+}
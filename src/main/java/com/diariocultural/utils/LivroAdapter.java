@@ -0,0 +1,66 @@
+package com.diariocultural.utils;
+
+import com.diariocultural.model.Livro;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Adaptador para ensinar a Gson como converter objetos Livro para JSON e vice-versa,
+ * lendo e gravando os campos diretamente, sem reflexão.
+ */
+public class LivroAdapter extends MidiaAdapter<Livro> {
+
+    @Override
+    public void write(JsonWriter out, Livro value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("autor").value(value.getAutor());
+        out.name("editora").value(value.getEditora());
+        out.name("isbn").value(value.getIsbn());
+        out.name("possuiExemplar").value(value.isPossuiExemplar());
+        escreverCamposComuns(out, value, true);
+        out.endObject();
+    }
+
+    @Override
+    public Livro read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        CamposComuns campos = new CamposComuns();
+        String autor = null;
+        String editora = null;
+        String isbn = null;
+        boolean possuiExemplar = false;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String nome = in.nextName();
+            switch (nome) {
+                case "autor" -> autor = lerString(in);
+                case "editora" -> editora = lerString(in);
+                case "isbn" -> isbn = lerString(in);
+                case "possuiExemplar" -> possuiExemplar = in.nextBoolean();
+                default -> {
+                    if (!lerCampoComum(nome, in, campos)) in.skipValue();
+                }
+            }
+        }
+        in.endObject();
+
+        try {
+            Livro livro = new Livro(campos.titulo, autor, editora, isbn, campos.anoLancamento, campos.genero, possuiExemplar);
+            aplicarEstado(livro, campos, true);
+            return livro;
+        } catch (IllegalArgumentException e) {
+            throw registroInvalido("livro", e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.diariocultural.utils;
+
+import com.diariocultural.model.Midia;
+import com.diariocultural.model.Review;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base dos adaptadores escritos à mão para as mídias. Lê e grava diretamente os campos
+ * comuns a todas as mídias, sem a reflexão do adaptador padrão da Gson, mantendo os
+ * mesmos nomes de campo do JSON gerado por ela.
+ * Na leitura, os valores são acumulados e a mídia é criada pelo construtor e pelos
+ * setters do modelo, de modo que as regras de negócio continuam sendo validadas.
+ */
+abstract class MidiaAdapter<T extends Midia> extends TypeAdapter<T> {
+    protected final LocalDateAdapter datas = new LocalDateAdapter();
+    protected final ReviewAdapter reviews = new ReviewAdapter();
+
+    /**
+     * Valores dos campos comuns lidos do JSON.
+     */
+    protected static final class CamposComuns {
+        long id;
+        String titulo;
+        String genero;
+        int anoLancamento;
+        int avaliacao;
+        boolean consumido;
+        LocalDate dataConsumo;
+        Review review;
+    }
+
+    /**
+     * Lê um campo comum a todas as mídias, se o nome corresponder a um deles.
+     * @return true se o campo foi consumido.
+     */
+    protected boolean lerCampoComum(String nome, JsonReader in, CamposComuns campos) throws IOException {
+        switch (nome) {
+            case "id" -> campos.id = in.nextLong();
+            case "titulo" -> campos.titulo = lerString(in);
+            case "genero" -> campos.genero = lerString(in);
+            case "anoLancamento" -> campos.anoLancamento = in.nextInt();
+            case "avaliacao" -> campos.avaliacao = in.nextInt();
+            case "consumido" -> campos.consumido = in.nextBoolean();
+            case "dataConsumo" -> campos.dataConsumo = datas.read(in);
+            case "review" -> campos.review = reviews.read(in);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Grava os campos comuns a todas as mídias.
+     * @param comAvaliacao false para mídias cuja avaliação é derivada (séries).
+     */
+    protected void escreverCamposComuns(JsonWriter out, Midia midia, boolean comAvaliacao) throws IOException {
+        out.name("id").value(midia.getId());
+        out.name("titulo").value(midia.getTitulo());
+        out.name("genero").value(midia.getGenero());
+        out.name("anoLancamento").value(midia.getAnoLancamento());
+        if (comAvaliacao) {
+            out.name("avaliacao").value(midia.getAvaliacao());
+        }
+        out.name("consumido").value(midia.isConsumido());
+        out.name("dataConsumo");
+        datas.write(out, midia.getDataConsumo());
+        out.name("review");
+        reviews.write(out, midia.getReview());
+    }
+
+    /**
+     * Restaura o identificador e o estado de consumo pelos setters, na ordem que reproduz
+     * o estado gravado sem violar as regras de negócio (cada setter marca a mídia como consumida).
+     * @param comAvaliacao false para mídias cuja avaliação é derivada (séries).
+     */
+    protected void aplicarEstado(Midia midia, CamposComuns campos, boolean comAvaliacao) {
+        if (campos.consumido) midia.setConsumido(true);
+        if (campos.dataConsumo != null) midia.setDataConsumo(campos.dataConsumo);
+        if (campos.review != null) midia.setReview(campos.review);
+        if (comAvaliacao && campos.avaliacao > 0) midia.setAvaliacao(campos.avaliacao);
+        if (campos.id > 0) midia.setId(campos.id);
+    }
+
+    /**
+     * Converte as exceções de validação do modelo em erros de leitura do JSON.
+     */
+    protected static JsonParseException registroInvalido(String tipo, IllegalArgumentException e) {
+        return new JsonParseException("Registro de " + tipo + " inválido: " + e.getMessage(), e);
+    }
+
+    static String lerString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    static List<String> lerListaDeStrings(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<String> lista = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            lista.add(lerString(in));
+        }
+        in.endArray();
+        return lista;
+    }
+
+    static void escreverListaDeStrings(JsonWriter out, List<String> lista) throws IOException {
+        if (lista == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (String valor : lista) {
+            out.value(valor);
+        }
+        out.endArray();
+    }
+}
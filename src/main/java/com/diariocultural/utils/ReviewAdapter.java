@@ -0,0 +1,60 @@
+package com.diariocultural.utils;
+
+import com.diariocultural.model.Review;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Adaptador para ensinar a Gson como converter objetos Review para JSON e vice-versa,
+ * lendo e gravando os campos diretamente, sem reflexão.
+ */
+public class ReviewAdapter extends TypeAdapter<Review> {
+    private final LocalDateAdapter datas = new LocalDateAdapter();
+
+    @Override
+    public void write(JsonWriter out, Review value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("texto").value(value.getTexto());
+        out.name("dataCriacao");
+        datas.write(out, value.getDataCriacao());
+        out.endObject();
+    }
+
+    @Override
+    public Review read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String texto = null;
+        LocalDate dataCriacao = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "texto" -> texto = MidiaAdapter.lerString(in);
+                case "dataCriacao" -> dataCriacao = datas.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (dataCriacao == null) {
+            throw new JsonParseException("Registro de review inválido: data de criação ausente.");
+        }
+        try {
+            return new Review(texto, dataCriacao.getDayOfMonth(), dataCriacao.getMonthValue(), dataCriacao.getYear());
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException("Registro de review inválido: " + e.getMessage(), e);
+        }
+    }
+}
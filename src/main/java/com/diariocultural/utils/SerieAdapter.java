@@ -0,0 +1,95 @@
+package com.diariocultural.utils;
+
+import com.diariocultural.model.Serie;
+import com.diariocultural.model.Temporada;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptador para ensinar a Gson como converter objetos Serie para JSON e vice-versa,
+ * lendo e gravando os campos diretamente, sem reflexão.
+ * A avaliação de uma série é derivada das temporadas, por isso não é gravada.
+ */
+public class SerieAdapter extends MidiaAdapter<Serie> {
+    private final TemporadaAdapter temporadas = new TemporadaAdapter();
+
+    @Override
+    public void write(JsonWriter out, Serie value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("tituloOriginal").value(value.getTituloOriginal());
+        out.name("elenco");
+        escreverListaDeStrings(out, value.getElenco());
+        out.name("ondeAssistir").value(value.getOndeAssistir());
+        out.name("temporadasList");
+        out.beginArray();
+        for (Temporada temporada : value.getTemporadasList()) {
+            temporadas.write(out, temporada);
+        }
+        out.endArray();
+        escreverCamposComuns(out, value, false);
+        out.endObject();
+    }
+
+    @Override
+    public Serie read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        CamposComuns campos = new CamposComuns();
+        String tituloOriginal = null;
+        List<String> elenco = null;
+        String ondeAssistir = null;
+        List<Temporada> lidas = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String nome = in.nextName();
+            switch (nome) {
+                case "tituloOriginal" -> tituloOriginal = lerString(in);
+                case "elenco" -> elenco = lerListaDeStrings(in);
+                case "ondeAssistir" -> ondeAssistir = lerString(in);
+                case "temporadasList" -> lerTemporadas(in, lidas);
+                default -> {
+                    if (!lerCampoComum(nome, in, campos)) in.skipValue();
+                }
+            }
+        }
+        in.endObject();
+
+        try {
+            Serie serie = new Serie(campos.titulo, campos.genero, campos.anoLancamento, elenco, tituloOriginal, ondeAssistir);
+            aplicarEstado(serie, campos, false);
+            for (Temporada temporada : lidas) {
+                serie.adicionarTemporada(temporada);
+            }
+            return serie;
+        } catch (IllegalArgumentException e) {
+            throw registroInvalido("série", e);
+        }
+    }
+
+    private void lerTemporadas(JsonReader in, List<Temporada> destino) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return;
+        }
+        in.beginArray();
+        while (in.hasNext()) {
+            Temporada temporada = temporadas.read(in);
+            if (temporada != null) {
+                destino.add(temporada);
+            }
+        }
+        in.endArray();
+    }
+}
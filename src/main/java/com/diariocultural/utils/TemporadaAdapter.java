@@ -0,0 +1,96 @@
+package com.diariocultural.utils;
+
+import com.diariocultural.model.Review;
+import com.diariocultural.model.Temporada;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Adaptador para ensinar a Gson como converter objetos Temporada para JSON e vice-versa,
+ * lendo e gravando os campos diretamente, sem reflexão.
+ */
+public class TemporadaAdapter extends TypeAdapter<Temporada> {
+    private final LocalDateAdapter datas = new LocalDateAdapter();
+    private final ReviewAdapter reviews = new ReviewAdapter();
+
+    @Override
+    public void write(JsonWriter out, Temporada value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(value.getId());
+        out.name("numero").value(value.getNumero());
+        out.name("anoLancamento").value(value.getAnoLancamento());
+        out.name("anoEncerramento").value(value.getAnoEncerramento());
+        out.name("numeroEpisodios").value(value.getNumeroEpisodios());
+        out.name("avaliacao").value(value.getAvaliacao());
+        out.name("consumido").value(value.isConsumido());
+        out.name("dataConsumo");
+        datas.write(out, value.getDataConsumo());
+        out.name("review");
+        reviews.write(out, value.getReview());
+        out.endObject();
+    }
+
+    @Override
+    public Temporada read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        long id = 0;
+        int numero = 0;
+        Integer anoLancamento = null;
+        Integer anoEncerramento = null;
+        int numeroEpisodios = 0;
+        int avaliacao = 0;
+        boolean consumido = false;
+        LocalDate dataConsumo = null;
+        Review review = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> id = in.nextLong();
+                case "numero" -> numero = in.nextInt();
+                case "anoLancamento" -> anoLancamento = lerInteiro(in);
+                case "anoEncerramento" -> anoEncerramento = lerInteiro(in);
+                case "numeroEpisodios" -> numeroEpisodios = in.nextInt();
+                case "avaliacao" -> avaliacao = in.nextInt();
+                case "consumido" -> consumido = in.nextBoolean();
+                case "dataConsumo" -> dataConsumo = datas.read(in);
+                case "review" -> review = reviews.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        try {
+            Temporada temporada = new Temporada(numero, anoLancamento, anoEncerramento, numeroEpisodios);
+            if (consumido) temporada.setConsumido(true);
+            if (dataConsumo != null) temporada.setDataConsumo(dataConsumo);
+            if (review != null) temporada.setReview(review);
+            if (avaliacao > 0) temporada.setAvaliacao(avaliacao);
+            if (id > 0) temporada.setId(id);
+            return temporada;
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException("Registro de temporada inválido: " + e.getMessage(), e);
+        }
+    }
+
+    private static Integer lerInteiro(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextInt();
+    }
+}
@@ -4,6 +4,7 @@ package com.diariocultural.view;
 
 import com.diariocultural.controller.DiarioCultural;
 import com.diariocultural.service.Catalogo;
+import com.diariocultural.service.ConfiguracaoCatalogo;
 import com.diariocultural.view.screens.MainScreenView;
 import com.diariocultural.view.utils.UIFactory;
 import javafx.application.Application;
@@ -31,6 +32,7 @@ public class DiarioCulturalApp extends Application {
     private Stage primaryStage;
     private BorderPane rootLayout;
     private DiarioCultural controller;
+    private Catalogo catalogo;
     private final Deque<VBox> historicoNavegacao = new ArrayDeque<>();
     private VBox telaInicial; // Armazena a referência da tela inicial
 
@@ -42,6 +44,18 @@ public class DiarioCulturalApp extends Application {
         launch(args);
     }
 
+    /**
+     * Chamado pelo JavaFX na thread de lançamento, antes de start().
+     * Carrega o catálogo fora da thread da interface; as seções do arquivo são
+     * interpretadas em paralelo pelo próprio Catalogo.
+     */
+    @Override
+    public void init() {
+        // As gravações são agrupadas em segundo plano para não bloquear a thread da interface.
+        this.catalogo = new Catalogo(ConfiguracaoCatalogo.padrao().comAgendamento(500, 50));
+        this.controller = new DiarioCultural(catalogo);
+    }
+
     /**
      * Ponto de entrada principal para todos os aplicativos JavaFX.
      * @param primaryStage O Stage principal para esta aplicação.
@@ -51,9 +65,6 @@ public class DiarioCulturalApp extends Application {
         this.primaryStage = primaryStage;
         primaryStage.setTitle("Diário Cultural");
 
-        Catalogo catalogo = new Catalogo();
-        this.controller = new DiarioCultural(catalogo);
-
         rootLayout = new BorderPane();
         rootLayout.setStyle("-fx-background-color: #424242;");
 
@@ -67,6 +78,17 @@ public class DiarioCulturalApp extends Application {
         primaryStage.show();
     }
 
+    /**
+     * Chamado pelo JavaFX ao encerrar a aplicação.
+     * Garante que as mutações ainda pendentes sejam gravadas antes de sair.
+     */
+    @Override
+    public void stop() {
+        if (catalogo != null) {
+            catalogo.close();
+        }
+    }
+
     /**
      * Configura os botões globais "Voltar", "Início" e "Sair" na parte inferior da tela.
      */
@@ -6,22 +6,32 @@ import com.diariocultural.controller.DiarioCultural;
 import com.diariocultural.model.Midia;
 import com.diariocultural.model.Serie;
 import com.diariocultural.model.Temporada;
+import com.diariocultural.service.ConsultaMidias;
+import com.diariocultural.service.ConsultaTextual;
+import com.diariocultural.service.DicionarioSugestoes;
 import com.diariocultural.view.forms.TemporadaFormView;
 import com.diariocultural.view.utils.MidiaViewHelper;
 import com.diariocultural.view.utils.UIFactory;
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.geometry.Pos;
+import javafx.geometry.Side;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import javafx.util.Pair;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -29,6 +39,15 @@ import java.util.function.Consumer;
  * Representa a tela de busca de mídias, com funcionalidades de busca avançada e ações contextuais.
  */
 public class BuscaView extends VBox {
+    private static final int LIMITE_SUGESTOES = 8;
+    private static final Duration ESPERA_DIGITACAO = Duration.millis(150);
+    // Uma única thread para as sugestões: um pedido novo cancela o anterior, e nunca há dois em paralelo.
+    private static final ExecutorService EXECUTOR_SUGESTOES = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "diario-sugestoes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final Consumer<VBox> navigateTo;
     private final Stage primaryStage;
     private final BiConsumer<String, String> showMessage;
@@ -39,6 +58,16 @@ public class BuscaView extends VBox {
     private VBox painelDetalhesSerie;
     private Midia midiaSelecionada;
     private Temporada temporadaSelecionada;
+    private final ContextMenu sugestoesMenu = new ContextMenu();
+    private final PauseTransition esperaDigitacao = new PauseTransition(ESPERA_DIGITACAO);
+    private Task<List<String>> tarefaSugestoes;
+    private boolean aplicandoSugestao;
+    private ChoiceBox<String> operadorBox;
+    private ChoiceBox<String> segundoCriterioBox;
+    private TextField segundoTermoField;
+    private TextField anoInicialField;
+    private TextField anoFinalField;
+    private ChoiceBox<String> notaMinimaBox;
 
     /**
      * Construtor para a tela de busca de mídias.
@@ -81,6 +110,11 @@ public class BuscaView extends VBox {
 
         ChoiceBox<String> tipoMidiaBox = new ChoiceBox<>(FXCollections.observableArrayList("Livro", "Filme", "Série"));
         ChoiceBox<String> criterioBuscaBox = new ChoiceBox<>();
+        operadorBox = new ChoiceBox<>(FXCollections.observableArrayList("E", "OU"));
+        operadorBox.getSelectionModel().selectFirst();
+        segundoCriterioBox = new ChoiceBox<>();
+        segundoTermoField = UIFactory.criarTextFieldFormulario();
+        segundoTermoField.setPromptText("Segundo termo (opcional)");
 
         tipoMidiaBox.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
             if ("Livro".equals(newVal)) {
@@ -88,9 +122,11 @@ public class BuscaView extends VBox {
             } else if ("Filme".equals(newVal)) {
                 criterioBuscaBox.setItems(FXCollections.observableArrayList("Título", "Diretor", "Ator", "Gênero", "Ano"));
             } else if ("Série".equals(newVal)) {
-                criterioBuscaBox.setItems(FXCollections.observableArrayList("Título"));
+                criterioBuscaBox.setItems(FXCollections.observableArrayList("Título", "Ator", "Gênero", "Ano"));
             }
             criterioBuscaBox.getSelectionModel().selectFirst();
+            segundoCriterioBox.setItems(FXCollections.observableArrayList(criterioBuscaBox.getItems()));
+            segundoCriterioBox.getSelectionModel().selectFirst();
         });
         tipoMidiaBox.getSelectionModel().selectFirst();
 
@@ -104,9 +140,192 @@ public class BuscaView extends VBox {
         buscaPane.add(UIFactory.criarLabelFormulario("Termo:"), 0, 2);
         buscaPane.add(termoBuscaField, 1, 2);
 
+        CheckBox aproximadaBox = new CheckBox("Busca aproximada");
+        aproximadaBox.setTooltip(new Tooltip("Tolera erros de digitação em títulos e nomes."));
+        buscaPane.add(aproximadaBox, 1, 3);
+
+        // Filtros extras da consulta composta, respondida pelo planejador do catálogo.
+        HBox combinacaoBox = new HBox(5, operadorBox, segundoCriterioBox, segundoTermoField);
+        combinacaoBox.setAlignment(Pos.CENTER_LEFT);
+        buscaPane.add(UIFactory.criarLabelFormulario("Combinar com:"), 0, 4);
+        buscaPane.add(combinacaoBox, 1, 4);
+
+        anoInicialField = UIFactory.criarTextFieldFormulario();
+        anoInicialField.setPromptText("De");
+        anoFinalField = UIFactory.criarTextFieldFormulario();
+        anoFinalField.setPromptText("Até");
+        HBox anosBox = new HBox(5, anoInicialField, new Label("até"), anoFinalField);
+        anosBox.setAlignment(Pos.CENTER_LEFT);
+        buscaPane.add(UIFactory.criarLabelFormulario("Anos:"), 0, 5);
+        buscaPane.add(anosBox, 1, 5);
+
+        notaMinimaBox = new ChoiceBox<>(FXCollections.observableArrayList("Qualquer", "1", "2", "3", "4", "5"));
+        notaMinimaBox.getSelectionModel().selectFirst();
+        buscaPane.add(UIFactory.criarLabelFormulario("Nota mínima:"), 0, 6);
+        buscaPane.add(notaMinimaBox, 1, 6);
+
+        configurarSugestoes(buscaPane, tipoMidiaBox, criterioBuscaBox, termoBuscaField);
         return buscaPane;
     }
 
+    /**
+     * Configura as sugestões enquanto o usuário digita: cada alteração do termo reinicia uma
+     * espera curta, e só ao fim dela as sugestões são pedidas ao controller, fora da thread da interface.
+     */
+    private void configurarSugestoes(GridPane buscaPane, ChoiceBox<String> tipoMidiaBox,
+                                     ChoiceBox<String> criterioBuscaBox, TextField termoBuscaField) {
+        esperaDigitacao.setOnFinished(e -> pedirSugestoes(buscaPane,
+                fonteDasSugestoes(tipoMidiaBox.getValue(), criterioBuscaBox.getValue()), termoBuscaField));
+        termoBuscaField.textProperty().addListener((obs, oldVal, newVal) -> {
+            if (!aplicandoSugestao) {
+                esperaDigitacao.playFromStart();
+            }
+        });
+        termoBuscaField.focusedProperty().addListener((obs, oldVal, newVal) -> {
+            if (!newVal) {
+                sugestoesMenu.hide();
+            }
+        });
+        criterioBuscaBox.valueProperty().addListener((obs, oldVal, newVal) -> sugestoesMenu.hide());
+    }
+
+    /**
+     * Pede as sugestões do termo atual em segundo plano, cancelando o pedido anterior. A
+     * resposta de um pedido que deixou de ser o mais recente é descartada.
+     */
+    private void pedirSugestoes(GridPane buscaPane, DicionarioSugestoes.Fonte fonte, TextField termoBuscaField) {
+        if (tarefaSugestoes != null) {
+            tarefaSugestoes.cancel();
+            tarefaSugestoes = null;
+        }
+        String prefixo = termoBuscaField.getText();
+        if (fonte == null || prefixo == null || prefixo.isBlank()) {
+            sugestoesMenu.hide();
+            return;
+        }
+        Task<List<String>> tarefa = new Task<>() {
+            @Override
+            protected List<String> call() {
+                return controller.sugerirTermos(fonte, prefixo, LIMITE_SUGESTOES);
+            }
+        };
+        tarefa.setOnSucceeded(e -> {
+            if (tarefa == tarefaSugestoes) {
+                exibirSugestoes(buscaPane, termoBuscaField, tarefa.getValue());
+            }
+        });
+        tarefaSugestoes = tarefa;
+        EXECUTOR_SUGESTOES.execute(tarefa);
+    }
+
+    /**
+     * Mostra as sugestões abaixo do campo; escolher uma preenche o termo e executa a busca.
+     */
+    private void exibirSugestoes(GridPane buscaPane, TextField termoBuscaField, List<String> sugestoes) {
+        if (sugestoes.isEmpty() || !termoBuscaField.isFocused()) {
+            sugestoesMenu.hide();
+            return;
+        }
+        List<MenuItem> itens = new ArrayList<>(sugestoes.size());
+        for (String sugestao : sugestoes) {
+            MenuItem item = new MenuItem(sugestao);
+            item.setOnAction(e -> {
+                aplicandoSugestao = true;
+                termoBuscaField.setText(sugestao);
+                termoBuscaField.positionCaret(sugestao.length());
+                aplicandoSugestao = false;
+                realizarBusca(buscaPane);
+            });
+            itens.add(item);
+        }
+        sugestoesMenu.getItems().setAll(itens);
+        if (!sugestoesMenu.isShowing()) {
+            sugestoesMenu.show(termoBuscaField, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    /**
+     * Campo do índice textual usado pela busca aproximada para o critério selecionado, ou
+     * null se o critério não for textual (gênero, ano e ISBN seguem a busca exata).
+     */
+    private static ConsultaTextual.Campo campoDaBuscaAproximada(String criterio) {
+        if (criterio == null) return null;
+        switch (criterio) {
+            case "Título": return ConsultaTextual.Campo.TITULO;
+            case "Autor": return ConsultaTextual.Campo.AUTOR;
+            case "Diretor": return ConsultaTextual.Campo.DIRECAO;
+            case "Ator": return ConsultaTextual.Campo.ELENCO;
+            default: return null;
+        }
+    }
+
+    /**
+     * Critério da consulta composta correspondente ao critério selecionado na tela.
+     * @throws NumberFormatException se o critério for o ano e o termo não for um número.
+     */
+    private static ConsultaMidias criterioDaConsulta(String criterio, String termo) {
+        switch (criterio) {
+            case "Autor": return ConsultaMidias.autor(termo);
+            case "Diretor": return ConsultaMidias.direcao(termo);
+            case "Ator": return ConsultaMidias.ator(termo);
+            case "Gênero": return ConsultaMidias.genero(termo);
+            case "Ano": return ConsultaMidias.ano(Integer.parseInt(termo.trim()));
+            case "ISBN": return ConsultaMidias.isbn(termo);
+            default: return ConsultaMidias.titulo(termo);
+        }
+    }
+
+    /**
+     * Monta a consulta composta com o termo principal e os filtros extras preenchidos, ou
+     * retorna null se nenhum filtro extra foi preenchido (a busca simples é usada).
+     * @throws NumberFormatException se algum ano informado não for um número.
+     */
+    private static ConsultaMidias montarConsulta(String criterio, String termo, String operador,
+                                                 String segundoCriterio, String segundoTermo,
+                                                 String anoInicial, String anoFinal, String notaMinima) {
+        List<ConsultaMidias> filtros = new ArrayList<>();
+        if (!anoInicial.isBlank() || !anoFinal.isBlank()) {
+            int inicio = anoInicial.isBlank() ? Integer.MIN_VALUE : Integer.parseInt(anoInicial.trim());
+            int fim = anoFinal.isBlank() ? Integer.MAX_VALUE : Integer.parseInt(anoFinal.trim());
+            filtros.add(ConsultaMidias.anosEntre(inicio, fim));
+        }
+        if (notaMinima != null && !"Qualquer".equals(notaMinima)) {
+            filtros.add(ConsultaMidias.avaliacaoMinima(Integer.parseInt(notaMinima)));
+        }
+        boolean comSegundoTermo = segundoTermo != null && !segundoTermo.isBlank() && segundoCriterio != null;
+        if (!comSegundoTermo && filtros.isEmpty()) {
+            return null;
+        }
+
+        ConsultaMidias consulta = termo.isBlank() ? null : criterioDaConsulta(criterio, termo);
+        if (comSegundoTermo) {
+            ConsultaMidias segundo = criterioDaConsulta(segundoCriterio, segundoTermo);
+            consulta = consulta == null ? segundo : "OU".equals(operador) ? consulta.ou(segundo) : consulta.e(segundo);
+        }
+        if (consulta != null) {
+            filtros.add(0, consulta);
+        }
+        return ConsultaMidias.todas(filtros.toArray(new ConsultaMidias[0]));
+    }
+
+    /**
+     * Origem das sugestões para o tipo e o critério escolhidos, ou null para os critérios
+     * sem sugestões (gênero, ano e ISBN).
+     */
+    private static DicionarioSugestoes.Fonte fonteDasSugestoes(String tipo, String criterio) {
+        if ("Livro".equals(tipo)) {
+            if ("Título".equals(criterio)) return DicionarioSugestoes.Fonte.TITULOS_DE_LIVROS;
+            if ("Autor".equals(criterio)) return DicionarioSugestoes.Fonte.AUTORES;
+        } else if ("Filme".equals(tipo)) {
+            if ("Título".equals(criterio)) return DicionarioSugestoes.Fonte.TITULOS_DE_FILMES;
+            if ("Diretor".equals(criterio)) return DicionarioSugestoes.Fonte.DIRETORES;
+            if ("Ator".equals(criterio)) return DicionarioSugestoes.Fonte.ATORES;
+        } else if ("Série".equals(tipo)) {
+            if ("Título".equals(criterio)) return DicionarioSugestoes.Fonte.TITULOS_DE_SERIES;
+        }
+        return null;
+    }
+
     /**
      * Configura a ListView para exibir resultados detalhados e lidar com seleções.
      */
@@ -143,20 +362,44 @@ public class BuscaView extends VBox {
         ChoiceBox<String> tipoMidiaBox = (ChoiceBox<String>) buscaPane.getChildren().get(1);
         ChoiceBox<String> criterioBuscaBox = (ChoiceBox<String>) buscaPane.getChildren().get(3);
         TextField termoBuscaField = (TextField) buscaPane.getChildren().get(5);
+        CheckBox aproximadaBox = (CheckBox) buscaPane.getChildren().get(6);
 
         String tipo = tipoMidiaBox.getValue();
         String criterio = criterioBuscaBox.getValue();
-        String termo = termoBuscaField.getText();
-
-        if (termo == null || termo.trim().isEmpty()) {
-            showMessage.accept("Aviso", "Por favor, digite um termo para buscar.");
-            return;
-        }
+        String termo = termoBuscaField.getText() == null ? "" : termoBuscaField.getText();
+        esperaDigitacao.stop();
+        sugestoesMenu.hide();
 
         try {
+            ConsultaMidias consulta = montarConsulta(criterio, termo, operadorBox.getValue(),
+                    segundoCriterioBox.getValue(), segundoTermoField.getText(),
+                    anoInicialField.getText(), anoFinalField.getText(), notaMinimaBox.getValue());
+            if (consulta == null && termo.trim().isEmpty()) {
+                showMessage.accept("Aviso", "Por favor, digite um termo para buscar.");
+                return;
+            }
+            // A busca aproximada vale para o termo principal sozinho; com filtros extras, a consulta composta é usada.
+            ConsultaTextual.Campo campoAproximado = consulta == null && aproximadaBox.isSelected()
+                    ? campoDaBuscaAproximada(criterio) : null;
             List<? extends Midia> resultados = Collections.emptyList();
 
-            if ("Livro".equals(tipo)) {
+            if (consulta != null) {
+                if ("Livro".equals(tipo)) {
+                    resultados = controller.consultarLivros(consulta);
+                } else if ("Filme".equals(tipo)) {
+                    resultados = controller.consultarFilmes(consulta);
+                } else if ("Série".equals(tipo)) {
+                    resultados = controller.consultarSeries(consulta);
+                }
+            } else if (campoAproximado != null) {
+                if ("Livro".equals(tipo)) {
+                    resultados = controller.buscarLivrosAproximados(termo, campoAproximado);
+                } else if ("Filme".equals(tipo)) {
+                    resultados = controller.buscarFilmesAproximados(termo, campoAproximado);
+                } else if ("Série".equals(tipo)) {
+                    resultados = controller.buscarSeriesAproximadas(termo, campoAproximado);
+                }
+            } else if ("Livro".equals(tipo)) {
                 switch (criterio) {
                     case "Título": resultados = controller.buscarLivros(termo, null, null, null, null); break;
                     case "Autor": resultados = controller.buscarLivros(null, termo, null, null, null); break;
@@ -173,13 +416,17 @@ public class BuscaView extends VBox {
                     case "Ano": resultados = controller.buscarFilmes(null, null, null, null, Integer.parseInt(termo)); break;
                 }
             } else if ("Série".equals(tipo)) {
-                resultados = controller.buscarSeriesPorTitulo(termo);
+                resultados = "Título".equals(criterio)
+                        ? controller.buscarSeriesPorTitulo(termo)
+                        : controller.consultarSeries(criterioDaConsulta(criterio, termo));
             }
 
             exibirResultados(resultados);
 
         } catch (NumberFormatException e) {
             showMessage.accept("Erro de Entrada", "Para busca por ano, por favor, insira um número válido.");
+        } catch (IllegalArgumentException e) {
+            showMessage.accept("Erro de Entrada", e.getMessage());
         } catch (Exception e) {
             showMessage.accept("Erro", "Ocorreu um erro ao realizar a busca: " + e.getMessage());
         }
@@ -338,10 +585,9 @@ public class BuscaView extends VBox {
      */
     private void marcarComoConsumido() {
         try {
-            controller.marcarComoConsumido(midiaSelecionada);
+            Midia novaVersao = controller.marcarComoConsumido(midiaSelecionada);
             showMessage.accept("Sucesso", "'" + midiaSelecionada.getTitulo() + "' marcada como consumida!");
-            atualizarPaineisContextuais();
-            resultadosListView.refresh();
+            exibirNovaVersao(novaVersao);
         } catch (Exception e) {
             showMessage.accept("Erro", "Não foi possível marcar a mídia como consumida: " + e.getMessage());
         }
@@ -352,15 +598,30 @@ public class BuscaView extends VBox {
      */
     private void marcarTemporadaComoConsumida() {
         try {
-            controller.marcarTemporadaComoConsumida(midiaSelecionada.getTitulo(), temporadaSelecionada.getNumero());
+            Serie novaVersao = controller.marcarTemporadaComoConsumida(midiaSelecionada.getTitulo(), temporadaSelecionada.getNumero());
             showMessage.accept("Sucesso", "Temporada " + temporadaSelecionada.getNumero() + " marcada como consumida!");
-            atualizarPaineisContextuais();
-            resultadosListView.refresh();
+            exibirNovaVersao(novaVersao);
         } catch (Exception e) {
             showMessage.accept("Erro", "Não foi possível marcar a temporada como consumida: " + e.getMessage());
         }
     }
 
+    /**
+     * Troca a mídia selecionada pela sua nova versão nos resultados: o catálogo guarda uma
+     * cópia alterada, e a versão exibida até aqui deixa de ser a atual.
+     */
+    private void exibirNovaVersao(Midia novaVersao) {
+        int indice = resultadosListView.getItems().indexOf(midiaSelecionada);
+        if (indice < 0) {
+            resultadosListView.refresh();
+            return;
+        }
+        resultadosListView.getItems().set(indice, novaVersao);
+        resultadosListView.getSelectionModel().clearAndSelect(indice);
+        midiaSelecionada = novaVersao;
+        atualizarPaineisContextuais();
+    }
+
     /**
      * Abre um pop-up para o usuário inserir nota e texto da review para Livros e Filmes.
      */
@@ -409,10 +670,10 @@ public class BuscaView extends VBox {
                 int nota = Integer.parseInt(notaETexto.getKey());
                 String texto = notaETexto.getValue();
 
-                controller.avaliarMidia(midiaSelecionada, nota, texto);
+                Midia novaVersao = controller.avaliarMidia(midiaSelecionada, nota, texto);
 
                 showMessage.accept("Sucesso", "Review para '" + midiaSelecionada.getTitulo() + "' foi salva!");
-                resultadosListView.refresh();
+                exibirNovaVersao(novaVersao);
             } catch (Exception e) {
                 showMessage.accept("Erro", "Não foi possível salvar a review: " + e.getMessage());
             }
@@ -467,10 +728,10 @@ public class BuscaView extends VBox {
                 int nota = Integer.parseInt(notaETexto.getKey());
                 String texto = notaETexto.getValue();
 
-                controller.avaliarTemporadaSerie(midiaSelecionada.getTitulo(), temporadaSelecionada.getNumero(), nota, texto);
+                Serie novaVersao = controller.avaliarTemporadaSerie(midiaSelecionada.getTitulo(), temporadaSelecionada.getNumero(), nota, texto);
 
                 showMessage.accept("Sucesso", "Review para a Temporada " + temporadaSelecionada.getNumero() + " foi salva!");
-                resultadosListView.refresh();
+                exibirNovaVersao(novaVersao);
             } catch (Exception e) {
                 showMessage.accept("Erro", "Não foi possível salvar a review da temporada: " + e.getMessage());
             }
@@ -323,10 +323,9 @@ public class ListagemView extends VBox {
      */
     private void marcarComoConsumido() {
         try {
-            controller.marcarComoConsumido(midiaSelecionada);
+            Midia novaVersao = controller.marcarComoConsumido(midiaSelecionada);
             showMessage.accept("Sucesso", "'" + midiaSelecionada.getTitulo() + "' marcada como consumida!");
-            atualizarPaineisContextuais();
-            carregarTodasAsMidias((GridPane) this.getChildren().get(1));
+            exibirNovaVersao(novaVersao);
         } catch (Exception e) {
             showMessage.accept("Erro", "Não foi possível marcar a mídia como consumida: " + e.getMessage());
         }
@@ -337,15 +336,29 @@ public class ListagemView extends VBox {
      */
     private void marcarTemporadaComoConsumida() {
         try {
-            controller.marcarTemporadaComoConsumida(midiaSelecionada.getTitulo(), temporadaSelecionada.getNumero());
+            Serie novaVersao = controller.marcarTemporadaComoConsumida(midiaSelecionada.getTitulo(), temporadaSelecionada.getNumero());
             showMessage.accept("Sucesso", "Temporada " + temporadaSelecionada.getNumero() + " marcada como consumida!");
-            atualizarPaineisContextuais();
-            carregarTodasAsMidias((GridPane) this.getChildren().get(1));
+            exibirNovaVersao(novaVersao);
         } catch (Exception e) {
             showMessage.accept("Erro", "Não foi possível marcar a temporada como consumida: " + e.getMessage());
         }
     }
 
+    /**
+     * Recarrega as listas e passa a exibir a nova versão da mídia selecionada: o catálogo
+     * guarda uma cópia alterada, e a versão exibida até aqui deixa de ser a atual. A
+     * temporada selecionada é buscada de novo na nova versão da série.
+     */
+    private void exibirNovaVersao(Midia novaVersao) {
+        Integer numeroTemporada = temporadaSelecionada != null ? temporadaSelecionada.getNumero() : null;
+        carregarTodasAsMidias((GridPane) this.getChildren().get(1));
+        midiaSelecionada = novaVersao;
+        temporadaSelecionada = numeroTemporada != null && novaVersao instanceof Serie serie
+                ? serie.getTemporada(numeroTemporada).orElse(null)
+                : null;
+        atualizarPaineisContextuais();
+    }
+
     /**
      * Abre um pop-up para o usuário inserir nota e texto da review para Livros e Filmes.
      */
@@ -393,10 +406,10 @@ public class ListagemView extends VBox {
                 int nota = Integer.parseInt(notaETexto.getKey());
                 String texto = notaETexto.getValue();
 
-                controller.avaliarMidia(midiaSelecionada, nota, texto);
+                Midia novaVersao = controller.avaliarMidia(midiaSelecionada, nota, texto);
 
                 showMessage.accept("Sucesso", "Review para '" + midiaSelecionada.getTitulo() + "' foi salva!");
-                carregarTodasAsMidias((GridPane) this.getChildren().get(1));
+                exibirNovaVersao(novaVersao);
             } catch (Exception e) {
                 showMessage.accept("Erro", "Não foi possível salvar a review: " + e.getMessage());
             }
@@ -450,10 +463,10 @@ public class ListagemView extends VBox {
                 int nota = Integer.parseInt(notaETexto.getKey());
                 String texto = notaETexto.getValue();
 
-                controller.avaliarTemporadaSerie(midiaSelecionada.getTitulo(), temporadaSelecionada.getNumero(), nota, texto);
+                Serie novaVersao = controller.avaliarTemporadaSerie(midiaSelecionada.getTitulo(), temporadaSelecionada.getNumero(), nota, texto);
 
                 showMessage.accept("Sucesso", "Review para a Temporada " + temporadaSelecionada.getNumero() + " foi salva!");
-                carregarTodasAsMidias((GridPane) this.getChildren().get(1));
+                exibirNovaVersao(novaVersao);
             } catch (Exception e) {
                 showMessage.accept("Erro", "Não foi possível salvar a review da temporada: " + e.getMessage());
             }
@@ -0,0 +1,1001 @@
+// === TestesDesempenhoDiarioCultural.java ===
+
+package com.diariocultural.testes.desempenho;
+
+// Testes de Desempenho (benchmarks comparativos)
+
+import com.diariocultural.model.Filme;
+import com.diariocultural.model.ListaMidia;
+import com.diariocultural.model.Livro;
+import com.diariocultural.model.Midia;
+import com.diariocultural.model.Review;
+import com.diariocultural.model.Serie;
+import com.diariocultural.model.Temporada;
+import com.diariocultural.service.Catalogo;
+import com.diariocultural.service.CatalogoMapeado;
+import com.diariocultural.service.ConfiguracaoCatalogo;
+import com.diariocultural.service.ConsultaMidias;
+import com.diariocultural.service.ConsultaTextual;
+import com.diariocultural.service.DicionarioSugestoes;
+import com.diariocultural.service.EstatisticasMidias;
+import com.diariocultural.service.FiltroMidias;
+import com.diariocultural.service.FormatoSnapshot;
+import com.diariocultural.service.RegistrosForaDoHeap;
+import com.diariocultural.utils.DurationAdapter;
+import com.diariocultural.utils.FilmeAdapter;
+import com.diariocultural.utils.LivroAdapter;
+import com.diariocultural.utils.LocalDateAdapter;
+import com.diariocultural.utils.ReviewAdapter;
+import com.diariocultural.utils.SerieAdapter;
+import com.diariocultural.utils.TemporadaAdapter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmarks simples dos caminhos críticos do catálogo. Os tempos são apenas impressos;
+ * as asserções verificam somente a correção dos resultados, para não tornar a suíte
+ * dependente da máquina. O tamanho do catálogo pode ser ajustado com
+ * -Ddiario.benchmark.midias=N.
+ *
+ * Por serem demorados, os benchmarks ficam fora do build padrão (tag "desempenho") e só
+ * rodam com o perfil do Maven: {@code mvn test -Pdesempenho}.
+ */
+@Tag("desempenho")
+@DisplayName("Testes de Desempenho do Catálogo")
+public class TestesDesempenhoDiarioCultural {
+
+    private static final int MIDIAS = Integer.getInteger("diario.benchmark.midias", 20_000);
+    private static final int REPETICOES = 5;
+    private static final int AQUECIMENTO_INTERCALADO = 3;
+    private static final int RODADAS_INTERCALADAS = 11;
+
+    private static final String[] GENEROS = {"Drama", "Comédia", "Suspense", "Ficção Científica", "Romance", "Terror"};
+    private static final String[] PLATAFORMAS = {"Netflix", "Prime Video", "Disney+", "Max", "Star+"};
+    private static final String[] ATORES = {"Bryan Cranston", "Aaron Paul", "Uma Thurman", "John Travolta", "Louis Hofmann", "Steve Carell"};
+
+    @TempDir
+    static Path tempDir;
+
+    private static Catalogo catalogoBase;
+
+    @BeforeAll
+    static void beforeAll() {
+        catalogoBase = new Catalogo(tempDir.resolve("base.json").toString(),
+                ConfiguracaoCatalogo.padrao().comAgendamento(60_000, Integer.MAX_VALUE));
+        for (int i = 0; i < MIDIAS / 3; i++) {
+            catalogoBase.adicionarLivro(novoLivro(i));
+            catalogoBase.adicionarFilme(novoFilme(i));
+            catalogoBase.adicionarSerie(novaSerie(i));
+        }
+        catalogoBase.flush();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        catalogoBase.close();
+    }
+
+    @Test
+    @DisplayName("Benchmark: snapshot binário x JSON formatado (tamanho e tempo de carga)")
+    void benchmarkSnapshotBinarioVersusJson() throws IOException {
+        Path json = tempDir.resolve("benchmark.json");
+        Path binario = tempDir.resolve("benchmark.bin");
+        ConfiguracaoCatalogo configBinario = ConfiguracaoCatalogo.padrao().comFormato(FormatoSnapshot.BINARIO);
+
+        catalogoBase.exportarJson(json.toString());
+        new Catalogo(binario.toString(), configBinario).importarJson(json.toString());
+
+        long tamanhoJson = Files.size(json);
+        long tamanhoBinario = Files.size(binario);
+        double msJson = melhorTempoMillis(() -> new Catalogo(json.toString()));
+        double msBinario = melhorTempoMillis(() -> new Catalogo(binario.toString(), configBinario));
+
+        System.out.printf("[benchmark] %d mídias | JSON: %,d bytes, %.1f ms | binário: %,d bytes, %.1f ms (%.1fx menor, %.1fx mais rápido)%n",
+                MIDIAS, tamanhoJson, msJson, tamanhoBinario, msBinario,
+                (double) tamanhoJson / tamanhoBinario, msJson / msBinario);
+
+        Catalogo carregado = new Catalogo(binario.toString(), configBinario);
+        assertEquals(catalogoBase.getLivros(), carregado.getLivros());
+        assertEquals(catalogoBase.getFilmes(), carregado.getFilmes());
+        assertEquals(catalogoBase.getSeries(), carregado.getSeries());
+        assertTrue(tamanhoBinario < tamanhoJson, "O snapshot binário deveria ser menor que o JSON formatado.");
+    }
+
+    @Test
+    @DisplayName("Benchmark: abertura do snapshot mapeado x carga completa do binário")
+    void benchmarkAberturaMapeada() {
+        Path binario = tempDir.resolve("mapeado.bin");
+        ConfiguracaoCatalogo configBinario = ConfiguracaoCatalogo.padrao().comFormato(FormatoSnapshot.BINARIO);
+        Catalogo catalogo = new Catalogo(binario.toString(), configBinario);
+        catalogoBase.exportarJson(tempDir.resolve("mapeado.json").toString());
+        catalogo.importarJson(tempDir.resolve("mapeado.json").toString());
+
+        double msCargaCompleta = melhorTempoMillis(() -> new Catalogo(binario.toString(), configBinario));
+        double msMapeado = melhorTempoMillis(() -> {
+            try (CatalogoMapeado mapeado = new CatalogoMapeado(binario.toString())) {
+                return mapeado.getLivros().get(mapeado.getLivros().size() - 1);
+            }
+        });
+
+        System.out.printf("[benchmark] %d mídias | carga completa: %.1f ms | abertura mapeada + 1 acesso: %.2f ms%n",
+                MIDIAS, msCargaCompleta, msMapeado);
+
+        try (CatalogoMapeado mapeado = new CatalogoMapeado(binario.toString())) {
+            assertEquals(catalogoBase.getSeries().size(), mapeado.getSeries().size());
+            assertEquals(catalogoBase.getSeries().get(7), mapeado.getSeries().get(7));
+            assertEquals(1, mapeado.getMidiasMaterializadas());
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark: carregamento sequencial x paralelo por seções, com tempos por fase")
+    void benchmarkCarregamentoParalelo() {
+        Path json = tempDir.resolve("paralelo.json");
+        catalogoBase.exportarJson(json.toString());
+        ConfiguracaoCatalogo sequencial = ConfiguracaoCatalogo.padrao().comParalelismoCarregamento(1);
+        ConfiguracaoCatalogo paralelo = ConfiguracaoCatalogo.padrao()
+                .comParalelismoCarregamento(Math.max(4, Runtime.getRuntime().availableProcessors()));
+
+        double msSequencial = melhorTempoMillis(() -> new Catalogo(json.toString(), sequencial));
+        double msParalelo = melhorTempoMillis(() -> new Catalogo(json.toString(), paralelo));
+        Catalogo carregado = new Catalogo(json.toString(), paralelo);
+
+        System.out.printf("[benchmark] %d mídias | JSON sequencial: %.1f ms | paralelo (%d threads): %.1f ms | fases: %s%n",
+                MIDIAS, msSequencial, paralelo.getParalelismoCarregamento(), msParalelo, carregado.getMetricasCarregamento());
+
+        assertEquals(catalogoBase.getLivros(), carregado.getLivros());
+        assertEquals(catalogoBase.getSeries(), carregado.getSeries());
+    }
+
+    @Test
+    @DisplayName("Benchmark: TypeAdapters escritos à mão x adaptador reflexivo da Gson")
+    void benchmarkAdaptadoresVersusReflexao() {
+        int quantidade = Integer.getInteger("diario.benchmark.adaptadores", 100_000);
+        Secoes secoes = new Secoes();
+        for (int i = 0; i < quantidade / 3; i++) {
+            secoes.livros.add(novoLivro(i));
+            secoes.filmes.add(novoFilme(i));
+            secoes.series.add(novaSerie(i));
+        }
+        GsonBuilder base = new GsonBuilder()
+                .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
+                .registerTypeAdapter(Duration.class, new DurationAdapter());
+        Gson reflexivo = base.create();
+        Gson manual = base
+                .registerTypeAdapter(Livro.class, new LivroAdapter())
+                .registerTypeAdapter(Filme.class, new FilmeAdapter())
+                .registerTypeAdapter(Serie.class, new SerieAdapter())
+                .registerTypeAdapter(Temporada.class, new TemporadaAdapter())
+                .registerTypeAdapter(Review.class, new ReviewAdapter())
+                .create();
+
+        String json = reflexivo.toJson(secoes);
+        double[] escrita = medianasIntercaladasMillis(() -> reflexivo.toJson(secoes), () -> manual.toJson(secoes));
+        double[] leitura = medianasIntercaladasMillis(() -> reflexivo.fromJson(json, Secoes.class),
+                () -> manual.fromJson(json, Secoes.class));
+
+        // A leitura reflexiva não passa pelos construtores: não valida os registros, não calcula as
+        // chaves de busca nem vincula as temporadas às séries. A manual faz tudo isso.
+        System.out.printf("[benchmark] %d mídias, mediana de %d rodadas | escrita: reflexiva %.0f ms, manual %.0f ms (%.2fx) | leitura: reflexiva %.0f ms, manual %.0f ms (%.2fx)%n",
+                quantidade, RODADAS_INTERCALADAS, escrita[0], escrita[1], escrita[0] / escrita[1],
+                leitura[0], leitura[1], leitura[0] / leitura[1]);
+
+        Secoes lidas = manual.fromJson(json, Secoes.class);
+        assertEquals(secoes.livros, lidas.livros);
+        assertEquals(secoes.filmes, lidas.filmes);
+        assertEquals(secoes.series, lidas.series);
+        assertEquals(secoes.series.get(1).getTemporadasList(), lidas.series.get(1).getTemporadasList());
+        assertEquals(manual.toJson(lidas), manual.toJson(secoes), "A leitura e a escrita manuais deveriam ser simétricas.");
+    }
+
+    @Test
+    @DisplayName("Benchmark: inserções e atualizações em massa no catálogo")
+    void benchmarkInsercoesEAtualizacoesEmMassa() {
+        int quantidade = Integer.getInteger("diario.benchmark.insercoes", 100_000);
+        List<Livro> novos = new ArrayList<>();
+        List<Livro> editados = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            novos.add(novoLivro(i));
+            Livro editado = novoLivro(i);
+            editado.setAvaliacao(1 + (i + 1) % 5);
+            editados.add(editado);
+        }
+
+        long melhorInsercao = Long.MAX_VALUE;
+        long melhorAtualizacao = Long.MAX_VALUE;
+        for (int repeticao = 0; repeticao < 2; repeticao++) {
+            Path arquivo = tempDir.resolve("insercoes-" + repeticao + ".json");
+            try (Catalogo catalogo = new Catalogo(arquivo.toString(),
+                    ConfiguracaoCatalogo.padrao().comAgendamento(60_000, Integer.MAX_VALUE))) {
+                long inicio = System.nanoTime();
+                for (Livro livro : novos) {
+                    catalogo.adicionarLivro(livro);
+                }
+                long meio = System.nanoTime();
+                for (Livro livro : editados.reversed()) {
+                    catalogo.atualizarLivro(livro);
+                }
+                long fim = System.nanoTime();
+                melhorInsercao = Math.min(melhorInsercao, meio - inicio);
+                melhorAtualizacao = Math.min(melhorAtualizacao, fim - meio);
+
+                List<Livro> livros = catalogo.getLivros();
+                assertEquals(quantidade, livros.size());
+                assertEquals("Livro 0", livros.get(0).getTitulo(), "As atualizações deveriam preservar a ordem.");
+                assertEquals(editados.get(0).getAvaliacao(), livros.get(0).getAvaliacao());
+            }
+        }
+
+        System.out.printf("[benchmark] %d livros | inserção: %.0f ms (%.0f/s) | atualização: %.0f ms (%.0f/s)%n",
+                quantidade, melhorInsercao / 1e6, quantidade / (melhorInsercao / 1e9),
+                melhorAtualizacao / 1e6, quantidade / (melhorAtualizacao / 1e9));
+    }
+
+    @Test
+    @DisplayName("Benchmark: filtros por índices secundários x varredura do catálogo")
+    void benchmarkIndicesSecundariosVersusVarredura() {
+        int consultas = 200;
+        List<Filme> porVarredura = null;
+        List<Filme> porIndice = null;
+        long melhorVarredura = Long.MAX_VALUE;
+        long melhorIndice = Long.MAX_VALUE;
+        for (int repeticao = 0; repeticao < REPETICOES; repeticao++) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < consultas; i++) {
+                porVarredura = catalogoBase.getFilmes().stream()
+                        .filter(f -> f.getDirecao().toLowerCase().contains("diretor 7"))
+                        .filter(f -> f.getElenco().stream().anyMatch(a -> a.toLowerCase().contains("travolta")))
+                        .filter(f -> f.getGenero().equalsIgnoreCase("suspense"))
+                        .toList();
+            }
+            long meio = System.nanoTime();
+            for (int i = 0; i < consultas; i++) {
+                porIndice = catalogoBase.filtrarFilmes("diretor 7", "travolta", "suspense", null);
+            }
+            long fim = System.nanoTime();
+            melhorVarredura = Math.min(melhorVarredura, meio - inicio);
+            melhorIndice = Math.min(melhorIndice, fim - meio);
+        }
+
+        assertFalse(porIndice.isEmpty());
+        assertEquals(porVarredura, porIndice, "Os índices deveriam devolver os mesmos filmes da varredura.");
+        assertEquals(catalogoBase.getFilmes().stream().filter(f -> f.getAnoLancamento() == 1960).toList(),
+                catalogoBase.buscarFilmesPorAno(1960));
+        System.out.printf("[benchmark] %d filmes | %d consultas combinadas: varredura %.1f ms, índices %.1f ms (%.1fx)%n",
+                catalogoBase.getFilmes().size(), consultas, melhorVarredura / 1e6, melhorIndice / 1e6,
+                (double) melhorVarredura / melhorIndice);
+    }
+
+    @Test
+    @DisplayName("Benchmark: filtros combinados por bitmaps x passadas de streams")
+    void benchmarkFiltrosPorBitmapVersusStreams() {
+        int quantidade = Integer.getInteger("diario.benchmark.filtros", 200_000);
+        try (Catalogo catalogo = new Catalogo(tempDir.resolve("filtros.json").toString(),
+                ConfiguracaoCatalogo.padrao().comAgendamento(60_000, Integer.MAX_VALUE))) {
+            for (int i = 0; i < quantidade; i++) {
+                catalogo.adicionarLivro(novoLivro(i));
+            }
+            ListaMidia listaMidia = new ListaMidia(catalogo);
+            String genero = "Drama";
+            int ano = 1900;
+
+            List<List<Livro>> porStreams = null;
+            List<Livro>[] porBitmaps = null;
+            long melhorStreams = Long.MAX_VALUE;
+            long melhorBitmaps = Long.MAX_VALUE;
+            for (int repeticao = 0; repeticao < REPETICOES; repeticao++) {
+                long inicio = System.nanoTime();
+                porStreams = listarLivrosComStreams(catalogo.getLivros(), genero, ano);
+                long meio = System.nanoTime();
+                porBitmaps = listaMidia.listarLivros(genero, ano);
+                long fim = System.nanoTime();
+                melhorStreams = Math.min(melhorStreams, meio - inicio);
+                melhorBitmaps = Math.min(melhorBitmaps, fim - meio);
+            }
+
+            assertFalse(porBitmaps[0].isEmpty());
+            assertEquals(porStreams.get(0), porBitmaps[0], "As avaliadas deveriam coincidir, na mesma ordem.");
+            assertEquals(porStreams.get(1), porBitmaps[1], "As não avaliadas deveriam coincidir, na mesma ordem.");
+
+            FiltroMidias combinado = FiltroMidias.todas().comGeneros("Drama", "Terror").comAnosEntre(1950, 1999)
+                    .comConsumida(false).comAvaliada(false);
+            long inicio = System.nanoTime();
+            List<Livro> resultado = catalogo.filtrarLivros(combinado);
+            double msCombinado = (System.nanoTime() - inicio) / 1e6;
+            assertEquals(catalogo.getLivros().stream()
+                    .filter(l -> l.getGenero().equals("Drama") || l.getGenero().equals("Terror"))
+                    .filter(l -> l.getAnoLancamento() >= 1950 && l.getAnoLancamento() <= 1999)
+                    .filter(l -> !l.isConsumido() && l.getAvaliacao() == 0)
+                    .toList(), resultado);
+
+            System.out.printf("[benchmark] %d livros | gênero+ano+avaliação: streams %.2f ms, bitmaps %.2f ms (%.1fx) | 2 gêneros OU x 50 anos x consumo x avaliação: %.2f ms, %d livros%n",
+                    quantidade, melhorStreams / 1e6, melhorBitmaps / 1e6, (double) melhorStreams / melhorBitmaps,
+                    msCombinado, resultado.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark: estatísticas pelo espelho colunar x streams sobre os objetos")
+    void benchmarkEspelhoColunarVersusStreams() {
+        int quantidade = Integer.getInteger("diario.benchmark.colunas", 200_000);
+        try (Catalogo catalogo = new Catalogo(tempDir.resolve("colunas.json").toString(),
+                ConfiguracaoCatalogo.padrao().comAgendamento(60_000, Integer.MAX_VALUE).comEspelhoColunar(true))) {
+            for (int i = 0; i < quantidade; i++) {
+                catalogo.adicionarFilme(novoFilme(i));
+            }
+
+            long[] porStreams = null;
+            EstatisticasMidias porColunas = null;
+            long melhorStreams = Long.MAX_VALUE;
+            long melhorColunas = Long.MAX_VALUE;
+            for (int repeticao = 0; repeticao < REPETICOES; repeticao++) {
+                long inicio = System.nanoTime();
+                porStreams = estatisticasComStreams(catalogo.getFilmes());
+                long meio = System.nanoTime();
+                porColunas = catalogo.getEstatisticasFilmes();
+                long fim = System.nanoTime();
+                melhorStreams = Math.min(melhorStreams, meio - inicio);
+                melhorColunas = Math.min(melhorColunas, fim - meio);
+            }
+
+            assertEquals(porStreams[0], porColunas.getConsumidas());
+            assertEquals(porStreams[1], porColunas.getAvaliadas());
+            assertEquals(porStreams[2], porColunas.getDuracaoConsumida().toSeconds());
+            assertEquals(porStreams[3], porColunas.getQuantidadeLancadaEm(2000));
+
+            System.out.printf("[benchmark] %d filmes | consumo, notas, duração e anos: streams %.2f ms, colunas %.2f ms (%.1fx) | %s%n",
+                    quantidade, melhorStreams / 1e6, melhorColunas / 1e6, (double) melhorStreams / melhorColunas, porColunas);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark: livros como objetos no heap x registros fora do heap")
+    void benchmarkRegistrosForaDoHeap() {
+        int quantidade = Integer.getInteger("diario.benchmark.foradoheap", 200_000);
+        long antes = heapUsado();
+        List<Livro> objetos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Livro livro = novoLivro(i);
+            livro.setId(i + 1);
+            objetos.add(livro);
+        }
+        long bytesObjetos = heapUsado() - antes;
+
+        try (RegistrosForaDoHeap registros = new RegistrosForaDoHeap()) {
+            for (Livro livro : objetos) {
+                registros.adicionarLivro(livro);
+            }
+            long somaObjetos = 0;
+            long somaRegistros = 0;
+            long melhorObjetos = Long.MAX_VALUE;
+            long melhorRegistros = Long.MAX_VALUE;
+            for (int repeticao = 0; repeticao < REPETICOES; repeticao++) {
+                long inicio = System.nanoTime();
+                somaObjetos = 0;
+                for (Livro livro : objetos) {
+                    somaObjetos += livro.getAvaliacao() + livro.getAnoLancamento();
+                }
+                long meio = System.nanoTime();
+                long[] soma = new long[1];
+                registros.paraCadaLivro(visao -> soma[0] += visao.getAvaliacao() + visao.getAnoLancamento());
+                somaRegistros = soma[0];
+                long fim = System.nanoTime();
+                melhorObjetos = Math.min(melhorObjetos, meio - inicio);
+                melhorRegistros = Math.min(melhorRegistros, fim - meio);
+            }
+            assertEquals(somaObjetos, somaRegistros);
+            assertEquals(objetos.get(quantidade / 2), registros.livro(quantidade / 2).materializar());
+
+            int total = objetos.size();
+            objetos = null;
+            long depois = heapUsado();
+            System.out.printf("[benchmark] %d livros | heap: objetos %.1f MB, registros %.1f MB fora do heap + %.1f MB de endereços | passada numérica: objetos %.2f ms, visões %.2f ms (heap após descartar os objetos: %.1f MB)%n",
+                    total, bytesObjetos / 1e6, registros.getBytesOcupados() / 1e6, Long.BYTES * (double) total / 1e6,
+                    melhorObjetos / 1e6, melhorRegistros / 1e6, Math.max(0, depois - antes) / 1e6);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark: ordenação de séries pela média mantida x média recalculada")
+    void benchmarkOrdenacaoDeSeriesPorAvaliacao() {
+        int quantidade = Integer.getInteger("diario.benchmark.series", 100_000);
+        List<Serie> series = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Serie serie = novaSerie(i);
+            for (int numero = serie.getNumeroTemporadas() + 1; numero <= 12; numero++) {
+                Temporada temporada = new Temporada(numero, 2000, null, 10);
+                temporada.setAvaliacao(1 + (i * numero) % 5);
+                serie.adicionarTemporada(temporada);
+            }
+            series.add(serie);
+        }
+
+        List<Serie> recalculando = null;
+        List<Serie> mantida = null;
+        long melhorRecalculando = Long.MAX_VALUE;
+        long melhorMantida = Long.MAX_VALUE;
+        for (int repeticao = 0; repeticao < REPETICOES; repeticao++) {
+            recalculando = new ArrayList<>(series);
+            mantida = new ArrayList<>(series);
+            long inicio = System.nanoTime();
+            recalculando.sort((s1, s2) -> Double.compare(mediaRecalculada(s2), mediaRecalculada(s1)));
+            long meio = System.nanoTime();
+            mantida.sort((s1, s2) -> Double.compare(s2.getAvaliacaoMedia(), s1.getAvaliacaoMedia()));
+            long fim = System.nanoTime();
+            melhorRecalculando = Math.min(melhorRecalculando, meio - inicio);
+            melhorMantida = Math.min(melhorMantida, fim - meio);
+        }
+        assertEquals(recalculando, mantida);
+
+        System.out.printf("[benchmark] %d séries x 12 temporadas | ordenação por avaliação: recalculando %.2f ms, média mantida %.2f ms (%.1fx)%n",
+                quantidade, melhorRecalculando / 1e6, melhorMantida / 1e6, (double) melhorRecalculando / melhorMantida);
+    }
+
+    @Test
+    @DisplayName("Benchmark: temporadas indexadas pelo número x varredura da lista")
+    void benchmarkTemporadasIndexadas() {
+        int temporadas = Integer.getInteger("diario.benchmark.temporadas", 500);
+        int series = 200;
+        List<Serie> acervo = new ArrayList<>(series);
+        for (int i = 0; i < series; i++) {
+            Serie serie = new Serie("Diária " + i, "Drama", 2000, List.of("Elenco"), "Daily " + i, "TV");
+            for (int numero = temporadas; numero >= 1; numero--) {
+                serie.adicionarTemporada(new Temporada(numero, 2000, null, 200));
+            }
+            acervo.add(serie);
+        }
+
+        long somaVarredura = 0;
+        long somaIndice = 0;
+        long melhorVarredura = Long.MAX_VALUE;
+        long melhorIndice = Long.MAX_VALUE;
+        for (int repeticao = 0; repeticao < REPETICOES; repeticao++) {
+            long inicio = System.nanoTime();
+            somaVarredura = 0;
+            for (Serie serie : acervo) {
+                for (int numero = 1; numero <= temporadas; numero++) {
+                    int n = numero;
+                    somaVarredura += serie.getTemporadasList().stream().filter(t -> t.getNumero() == n)
+                            .findFirst().orElseThrow().getNumeroEpisodios();
+                }
+            }
+            long meio = System.nanoTime();
+            somaIndice = 0;
+            for (Serie serie : acervo) {
+                for (int numero = 1; numero <= temporadas; numero++) {
+                    somaIndice += serie.getTemporada(numero).orElseThrow().getNumeroEpisodios();
+                }
+            }
+            long fim = System.nanoTime();
+            melhorVarredura = Math.min(melhorVarredura, meio - inicio);
+            melhorIndice = Math.min(melhorIndice, fim - meio);
+        }
+        assertEquals(somaVarredura, somaIndice);
+
+        Serie serie = acervo.get(0);
+        long inicio = System.nanoTime();
+        for (int numero = 1; numero <= temporadas; numero += 2) {
+            serie.removerTemporada(numero);
+        }
+        for (int numero = 1; numero <= temporadas; numero += 2) {
+            serie.adicionarTemporada(new Temporada(numero, 2000, null, 200));
+        }
+        double msRemocaoEInsercao = (System.nanoTime() - inicio) / 1e6;
+        for (int i = 0; i < serie.getTemporadasList().size(); i++) {
+            assertEquals(i + 1, serie.getTemporadasList().get(i).getNumero());
+        }
+
+        System.out.printf("[benchmark] %d séries x %d temporadas | busca por número: varredura %.2f ms, índice %.2f ms (%.1fx) | %d remoções + inserções: %.2f ms%n",
+                series, temporadas, melhorVarredura / 1e6, melhorIndice / 1e6, (double) melhorVarredura / melhorIndice,
+                temporadas, msRemocaoEInsercao);
+    }
+
+    @Test
+    @DisplayName("Benchmark: busca textual pelo índice x varredura com contains")
+    void benchmarkIndiceTextualVersusVarredura() {
+        int quantidade = Integer.getInteger("diario.benchmark.textos", 100_000);
+        try (Catalogo catalogo = new Catalogo(tempDir.resolve("textos.json").toString(),
+                ConfiguracaoCatalogo.padrao().comAgendamento(60_000, Integer.MAX_VALUE))) {
+            for (int i = 0; i < quantidade; i++) {
+                catalogo.adicionarLivro(novoLivro(i));
+            }
+            String[] trechos = {"vro 1234", "livro 9876", "ro 4242", "livro 31415"};
+            int consultas = 50;
+
+            List<Livro> porVarredura = null;
+            List<Livro> porIndice = null;
+            long melhorVarredura = Long.MAX_VALUE;
+            long melhorIndice = Long.MAX_VALUE;
+            for (int repeticao = 0; repeticao < REPETICOES; repeticao++) {
+                long inicio = System.nanoTime();
+                for (int i = 0; i < consultas; i++) {
+                    String trecho = trechos[i % trechos.length];
+                    porVarredura = catalogo.getLivros().stream()
+                            .filter(l -> l.getTitulo().toLowerCase().contains(trecho.toLowerCase()))
+                            .toList();
+                }
+                long meio = System.nanoTime();
+                for (int i = 0; i < consultas; i++) {
+                    porIndice = catalogo.filtrarLivros(trechos[i % trechos.length], null, null, null);
+                }
+                long fim = System.nanoTime();
+                melhorVarredura = Math.min(melhorVarredura, meio - inicio);
+                melhorIndice = Math.min(melhorIndice, fim - meio);
+            }
+            assertFalse(porIndice.isEmpty());
+            assertEquals(porVarredura, porIndice, "O índice deveria devolver os mesmos livros da varredura.");
+
+            long inicio = System.nanoTime();
+            List<Livro> reviewsPorVarredura = catalogo.getLivros().stream()
+                    .filter(l -> l.getReviewTexto() != null && l.getReviewTexto().toLowerCase().contains("resenha do livro 3333"))
+                    .toList();
+            long meio = System.nanoTime();
+            List<Livro> reviewsPorFrase = catalogo.pesquisarLivros(ConsultaTextual.frase("resenha do livro 3333")
+                    .nosCampos(ConsultaTextual.Campo.REVIEW));
+            long fim = System.nanoTime();
+            assertEquals(reviewsPorVarredura.stream().filter(l -> l.getReviewTexto().endsWith(" 3333")).toList(), reviewsPorFrase);
+
+            System.out.printf("[benchmark] %d livros | %d buscas por trecho do título: varredura %.1f ms, índice %.1f ms (%.1fx) | frase na review: varredura %.2f ms, índice %.2f ms%n",
+                    quantidade, consultas, melhorVarredura / 1e6, melhorIndice / 1e6, (double) melhorVarredura / melhorIndice,
+                    (meio - inicio) / 1e6, (fim - meio) / 1e6);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark: sugestões por prefixo no dicionário ordenado x varredura dos títulos")
+    void benchmarkSugestoesPorPrefixo() {
+        int quantidade = Integer.getInteger("diario.benchmark.sugestoes", 200_000);
+        List<String> titulos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            titulos.add(GENEROS[i % GENEROS.length] + " Nº " + i + " " + ATORES[(i / 7) % ATORES.length]);
+        }
+        long inicio = System.nanoTime();
+        DicionarioSugestoes dicionario = DicionarioSugestoes.de(titulos);
+        double msConstrucao = (System.nanoTime() - inicio) / 1e6;
+
+        String[] prefixos = {"comed", "ficcao cien", "4242", "travol", "uma th", "1999"};
+        int consultas = 100 * prefixos.length;
+        List<String> porDicionario = null;
+        long melhorDicionario = Long.MAX_VALUE;
+        for (int repeticao = 0; repeticao < REPETICOES; repeticao++) {
+            long comeco = System.nanoTime();
+            for (int i = 0; i < consultas; i++) {
+                porDicionario = dicionario.comPrefixo(prefixos[i % prefixos.length], 8);
+            }
+            melhorDicionario = Math.min(melhorDicionario, System.nanoTime() - comeco);
+        }
+        assertEquals(8, porDicionario.size());
+        assertTrue(porDicionario.stream().allMatch(t -> t.contains(" 1999")));
+
+        long comeco = System.nanoTime();
+        List<String> porVarredura = titulos.stream()
+                .filter(t -> t.toLowerCase().contains("travol"))
+                .limit(8)
+                .toList();
+        double msVarredura = (System.nanoTime() - comeco) / 1e6;
+        assertEquals(8, porVarredura.size());
+
+        System.out.printf("[benchmark] %d títulos, %d chaves | construção %.0f ms | sugestão: dicionário %.4f ms/consulta, varredura %.2f ms%n",
+                quantidade, dicionario.getQuantidadeDeChaves(), msConstrucao, melhorDicionario / 1e6 / consultas, msVarredura);
+    }
+
+    @Test
+    @DisplayName("Benchmark: busca aproximada por trigramas x distância de edição contra cada filme")
+    void benchmarkBuscaAproximadaVersusVarredura() {
+        int quantidade = Integer.getInteger("diario.benchmark.aproximada", 50_000);
+        String[] silabas = {"ba", "ce", "di", "lo", "mu", "na", "pe", "ri", "so", "ta", "ve", "xu", "zo", "qua", "tre", "gli"};
+        try (Catalogo catalogo = new Catalogo(tempDir.resolve("aproximada.json").toString(),
+                ConfiguracaoCatalogo.padrao().comAgendamento(60_000, Integer.MAX_VALUE))) {
+            for (int i = 0; i < quantidade; i++) {
+                Filme filme = novoFilme(i);
+                filme.setTitulo(palavra(silabas, i) + " " + palavra(silabas, i * 7 + 3) + " " + i);
+                catalogo.adicionarFilme(filme);
+            }
+            // Erros de digitação: troca, transposição, letra a menos e letra a mais.
+            String[] buscas = {"bacwdi", "cdeloba", "quatrri", "glitrepe"};
+            int consultas = 20;
+
+            List<Filme> porVarredura = null;
+            List<Filme> porIndice = null;
+            long melhorVarredura = Long.MAX_VALUE;
+            long melhorIndice = Long.MAX_VALUE;
+            for (int repeticao = 0; repeticao < REPETICOES; repeticao++) {
+                long inicio = System.nanoTime();
+                for (int i = 0; i < consultas; i++) {
+                    porVarredura = aproximadosPorVarredura(catalogo.getFilmes(), buscas[i % buscas.length]);
+                }
+                long meio = System.nanoTime();
+                for (int i = 0; i < consultas; i++) {
+                    porIndice = catalogo.pesquisarFilmes(ConsultaTextual.aproximada(buscas[i % buscas.length])
+                            .nosCampos(ConsultaTextual.Campo.TITULO));
+                }
+                long fim = System.nanoTime();
+                melhorVarredura = Math.min(melhorVarredura, meio - inicio);
+                melhorIndice = Math.min(melhorIndice, fim - meio);
+            }
+            assertFalse(porIndice.isEmpty());
+            assertEquals(porVarredura, porIndice, "O índice deveria devolver os mesmos filmes, na mesma ordem, da varredura.");
+
+            System.out.printf("[benchmark] %d filmes | %d buscas aproximadas no título: distância contra cada filme %.1f ms, trigramas %.1f ms (%.1fx)%n",
+                    quantidade, consultas, melhorVarredura / 1e6, melhorIndice / 1e6, (double) melhorVarredura / melhorIndice);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark: chaves de busca guardadas nas mídias x normalização a cada comparação")
+    void benchmarkChavesDeBuscaPreCalculadas() {
+        int quantidade = Integer.getInteger("diario.benchmark.chaves", 200_000);
+        List<Filme> filmes = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            filmes.add(novoFilme(i));
+        }
+        String[] atores = {"john TRAVOLTA", "Uma Thurman", "steve carell"};
+        int consultas = 10;
+
+        long porNormalizacao = 0;
+        long porChave = 0;
+        long melhorNormalizacao = Long.MAX_VALUE;
+        long melhorChave = Long.MAX_VALUE;
+        for (int repeticao = 0; repeticao < REPETICOES; repeticao++) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < consultas; i++) {
+                String ator = atores[i % atores.length];
+                porNormalizacao = filmes.stream()
+                        .filter(f -> f.getElenco().stream().anyMatch(a -> a.toLowerCase().equals(ator.toLowerCase())))
+                        .count();
+            }
+            long meio = System.nanoTime();
+            for (int i = 0; i < consultas; i++) {
+                String chave = Midia.chaveDeBusca(atores[i % atores.length]);
+                long encontrados = 0;
+                for (Filme filme : filmes) {
+                    if (filme.getChavesElenco().contains(chave)) {
+                        encontrados++;
+                    }
+                }
+                porChave = encontrados;
+            }
+            long fim = System.nanoTime();
+            melhorNormalizacao = Math.min(melhorNormalizacao, meio - inicio);
+            melhorChave = Math.min(melhorChave, fim - meio);
+        }
+        assertEquals(porNormalizacao, porChave);
+        assertTrue(porChave > 0);
+
+        System.out.printf("[benchmark] %d filmes | %d buscas por ator: toLowerCase por comparação %.1f ms, chaves guardadas %.1f ms (%.1fx)%n",
+                quantidade, consultas, melhorNormalizacao / 1e6, melhorChave / 1e6, (double) melhorNormalizacao / melhorChave);
+    }
+
+    @Test
+    @DisplayName("Benchmark: consultas compostas pelo planejador x filtragem por streams")
+    void benchmarkConsultasCompostasVersusStreams() {
+        int quantidade = Integer.getInteger("diario.benchmark.consultas", 200_000);
+        try (Catalogo catalogo = new Catalogo(tempDir.resolve("consultas.json").toString(),
+                ConfiguracaoCatalogo.padrao().comAgendamento(60_000, Integer.MAX_VALUE))) {
+            for (int i = 0; i < quantidade; i++) {
+                catalogo.adicionarLivro(novoLivro(i));
+            }
+            // O título "Livro" está em todos: o planejador o confere só nas candidatas, sem montar o conjunto.
+            ConsultaMidias consulta = ConsultaMidias.genero("drama")
+                    .e(ConsultaMidias.anosEntre(1900, 1949))
+                    .e(ConsultaMidias.avaliacaoMinima(4))
+                    .e(ConsultaMidias.autor("autor 12"))
+                    .e(ConsultaMidias.titulo("Livro"));
+
+            List<Livro> porStreams = null;
+            List<Livro> porPlanejador = null;
+            long melhorStreams = Long.MAX_VALUE;
+            long melhorPlanejador = Long.MAX_VALUE;
+            for (int repeticao = 0; repeticao < REPETICOES; repeticao++) {
+                long inicio = System.nanoTime();
+                porStreams = catalogo.getLivros().stream()
+                        .filter(l -> l.getGenero().equalsIgnoreCase("drama"))
+                        .filter(l -> l.getAnoLancamento() >= 1900 && l.getAnoLancamento() <= 1949)
+                        .filter(l -> l.getAvaliacao() >= 4)
+                        .filter(l -> l.getAutor().toLowerCase().contains("autor 12"))
+                        .filter(l -> l.getTitulo().contains("Livro"))
+                        .toList();
+                long meio = System.nanoTime();
+                porPlanejador = catalogo.consultarLivros(consulta);
+                long fim = System.nanoTime();
+                melhorStreams = Math.min(melhorStreams, meio - inicio);
+                melhorPlanejador = Math.min(melhorPlanejador, fim - meio);
+            }
+
+            assertFalse(porPlanejador.isEmpty());
+            assertEquals(porStreams, porPlanejador, "As consultas deveriam coincidir, na mesma ordem.");
+
+            System.out.printf("[benchmark] %d livros | gênero E anos E nota E autor E título: streams %.2f ms, planejador %.2f ms (%.1fx), %d livros%n",
+                    quantidade, melhorStreams / 1e6, melhorPlanejador / 1e6, (double) melhorStreams / melhorPlanejador,
+                    porPlanejador.size());
+        }
+    }
+
+    private static String palavra(String[] silabas, int n) {
+        int codigo = Math.floorMod(n, silabas.length * silabas.length * silabas.length);
+        return silabas[codigo / (silabas.length * silabas.length)] + silabas[(codigo / silabas.length) % silabas.length]
+                + silabas[codigo % silabas.length];
+    }
+
+    /**
+     * A busca aproximada sem índice: a distância de edição da busca até cada palavra de cada
+     * título, com o mesmo limite e a mesma ordenação da consulta do catálogo.
+     */
+    private static List<Filme> aproximadosPorVarredura(List<Filme> filmes, String buscado) {
+        int limite = buscado.length() <= 2 ? 0 : buscado.length() <= 5 ? 1 : 2;
+        List<Filme> encontrados = new ArrayList<>();
+        List<Integer> distancias = new ArrayList<>();
+        for (Filme filme : filmes) {
+            int menor = Integer.MAX_VALUE;
+            for (String palavra : filme.getTitulo().toLowerCase().split(" ")) {
+                menor = Math.min(menor, distanciaDeEdicao(buscado, palavra));
+            }
+            if (menor <= limite) {
+                encontrados.add(filme);
+                distancias.add(menor);
+            }
+        }
+        Integer[] ordem = new Integer[encontrados.size()];
+        for (int i = 0; i < ordem.length; i++) {
+            ordem[i] = i;
+        }
+        Arrays.sort(ordem, Comparator.comparingInt(distancias::get));
+        List<Filme> ordenados = new ArrayList<>(ordem.length);
+        for (int i : ordem) {
+            ordenados.add(encontrados.get(i));
+        }
+        return ordenados;
+    }
+
+    /** Distância de edição com transposição de vizinhos, sem limite nem interrupção. */
+    private static int distanciaDeEdicao(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int custo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + custo);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    @Test
+    @DisplayName("Estresse: leituras concorrentes enquanto um escritor altera o catálogo")
+    void estresseLeiturasConcorrentesComEscritor() throws Exception {
+        int estaveis = MIDIAS / 3;
+        List<Livro> volateis = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            volateis.add(novoLivro(estaveis + i));
+        }
+        try (Catalogo catalogo = new Catalogo(tempDir.resolve("concorrente.json").toString(),
+                ConfiguracaoCatalogo.padrao().comAgendamento(60_000, Integer.MAX_VALUE))) {
+            for (int i = 0; i < estaveis; i++) {
+                catalogo.adicionarLivro(novoLivro(i));
+            }
+
+            StringBuilder resumo = new StringBuilder();
+            int maxLeitores = Math.max(4, Runtime.getRuntime().availableProcessors());
+            for (int leitores = 1; leitores <= maxLeitores; leitores *= 2) {
+                AtomicBoolean parar = new AtomicBoolean();
+                AtomicLong leituras = new AtomicLong();
+                AtomicLong escritas = new AtomicLong();
+                AtomicReference<Throwable> falha = new AtomicReference<>();
+                List<Thread> threads = new ArrayList<>();
+
+                threads.add(new Thread(() -> {
+                    for (int i = 0; !parar.get(); i++) {
+                        Livro livro = volateis.get(i % volateis.size());
+                        if (!catalogo.adicionarLivro(livro)) {
+                            catalogo.atualizarLivro(livro);
+                            catalogo.removerLivro(livro.getTitulo());
+                        }
+                        escritas.incrementAndGet();
+                    }
+                }));
+                for (int t = 0; t < leitores; t++) {
+                    int semente = t;
+                    threads.add(new Thread(() -> {
+                        try {
+                            long feitas = 0;
+                            for (int i = semente; !parar.get(); i += 7) {
+                                String titulo = "Livro " + (i % estaveis);
+                                if (catalogo.encontrarLivroPorTitulo(titulo).isEmpty()) {
+                                    throw new AssertionError("Livro estável não encontrado: " + titulo);
+                                }
+                                if (catalogo.getLivros().size() < estaveis) {
+                                    throw new AssertionError("Instantâneo incompleto.");
+                                }
+                                feitas += 2;
+                            }
+                            leituras.addAndGet(feitas);
+                        } catch (Throwable e) {
+                            falha.compareAndSet(null, e);
+                        }
+                    }));
+                }
+
+                threads.forEach(Thread::start);
+                Thread.sleep(500);
+                parar.set(true);
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                if (falha.get() != null) {
+                    fail("Falha em um leitor com " + leitores + " leitores.", falha.get());
+                }
+                assertTrue(escritas.get() > 0, "O escritor deveria progredir enquanto há leitores.");
+                resumo.append(String.format(" | %d leitores: %.0f leituras/s, %.0f escritas/s",
+                        leitores, leituras.get() / 0.5, escritas.get() / 0.5));
+            }
+            System.out.printf("[benchmark] %d livros, %d CPUs%s%n",
+                    estaveis, Runtime.getRuntime().availableProcessors(), resumo);
+        }
+    }
+
+    /**
+     * Estrutura equivalente ao documento do snapshot JSON.
+     */
+    static class Secoes {
+        List<Livro> livros = new ArrayList<>();
+        List<Filme> filmes = new ArrayList<>();
+        List<Serie> series = new ArrayList<>();
+    }
+
+    /**
+     * Executa a operação algumas vezes (a primeira como aquecimento) e retorna o menor tempo.
+     */
+    private static double melhorTempoMillis(Supplier<?> operacao) {
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i <= REPETICOES; i++) {
+            long inicio = System.nanoTime();
+            assertNotNull(operacao.get());
+            long decorrido = System.nanoTime() - inicio;
+            if (i > 0) {
+                melhor = Math.min(melhor, decorrido);
+            }
+        }
+        return melhor / 1_000_000.0;
+    }
+
+    /**
+     * Executa as duas operações alternadamente, descartando as primeiras rodadas como
+     * aquecimento, e retorna a mediana dos tempos de cada uma. Alternar as operações expõe as
+     * duas às mesmas coletas de lixo e à mesma compilação ao longo da medição.
+     */
+    private static double[] medianasIntercaladasMillis(Supplier<?> primeira, Supplier<?> segunda) {
+        long[] tempos1 = new long[RODADAS_INTERCALADAS];
+        long[] tempos2 = new long[RODADAS_INTERCALADAS];
+        for (int i = -AQUECIMENTO_INTERCALADO; i < RODADAS_INTERCALADAS; i++) {
+            long inicio = System.nanoTime();
+            assertNotNull(primeira.get());
+            long meio = System.nanoTime();
+            assertNotNull(segunda.get());
+            long fim = System.nanoTime();
+            if (i >= 0) {
+                tempos1[i] = meio - inicio;
+                tempos2[i] = fim - meio;
+            }
+        }
+        Arrays.sort(tempos1);
+        Arrays.sort(tempos2);
+        return new double[]{tempos1[RODADAS_INTERCALADAS / 2] / 1_000_000.0, tempos2[RODADAS_INTERCALADAS / 2] / 1_000_000.0};
+    }
+
+    /**
+     * Reproduz a listagem em várias passadas de streams usada antes dos bitmaps, como referência.
+     * @return as avaliadas e as não avaliadas, nessa ordem.
+     */
+    private static List<List<Livro>> listarLivrosComStreams(List<Livro> livros, String genero, Integer ano) {
+        List<Livro> avaliados = livros.stream().filter(l -> l.getAvaliacao() > 0).collect(Collectors.toList());
+        List<Livro> naoAvaliados = livros.stream().filter(l -> l.getAvaliacao() == 0).collect(Collectors.toList());
+        avaliados.sort((l1, l2) -> Integer.compare(l2.getAvaliacao(), l1.getAvaliacao()));
+        avaliados = avaliados.stream().filter(l -> l.getGenero().equalsIgnoreCase(genero)).collect(Collectors.toList());
+        naoAvaliados = naoAvaliados.stream().filter(l -> l.getGenero().equalsIgnoreCase(genero)).collect(Collectors.toList());
+        avaliados = avaliados.stream().filter(l -> l.getAnoLancamento() == ano).collect(Collectors.toList());
+        naoAvaliados = naoAvaliados.stream().filter(l -> l.getAnoLancamento() == ano).collect(Collectors.toList());
+        return List.of(avaliados, naoAvaliados);
+    }
+
+    /** A média das temporadas avaliadas como era calculada antes, percorrendo as temporadas. */
+    private static double mediaRecalculada(Serie serie) {
+        return serie.getTemporadasList().stream()
+                .filter(t -> t.getAvaliacao() > 0)
+                .mapToInt(Temporada::getAvaliacao)
+                .average()
+                .orElse(0.0);
+    }
+
+    /** Heap ocupado depois de uma coleta, aproximado: serve apenas para a ordem de grandeza. */
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /** Os agregados como seriam calculados sem o espelho: uma passada de stream por agregado, com boxing. */
+    private static long[] estatisticasComStreams(List<Filme> filmes) {
+        long consumidos = filmes.stream().filter(Filme::isConsumido).count();
+        long avaliados = filmes.stream().filter(f -> f.getAvaliacao() > 0).count();
+        long segundos = filmes.stream().filter(Filme::isConsumido).mapToLong(f -> f.getTempoDeDuracao().toSeconds()).sum();
+        Map<Integer, Long> porAno = filmes.stream().collect(Collectors.groupingBy(Filme::getAnoLancamento, Collectors.counting()));
+        return new long[]{consumidos, avaliados, segundos, porAno.getOrDefault(2000, 0L)};
+    }
+
+    static Livro novoLivro(int i) {
+        Livro livro = new Livro("Livro " + i, "Autor " + (i % 500), "Editora " + (i % 40),
+                String.format("978-%010d", i), 1900 + i % 125, GENEROS[i % GENEROS.length], i % 2 == 0);
+        if (i % 3 == 0) {
+            livro.setAvaliacao(1 + i % 5);
+            livro.setReview(new Review("Resenha do livro " + i, 1 + i % 28, 1 + i % 12, 2020));
+        }
+        return livro;
+    }
+
+    static Filme novoFilme(int i) {
+        Filme filme = new Filme("Filme " + i, GENEROS[i % GENEROS.length], 1950 + i % 75, 80 + i % 100,
+                "Diretor " + (i % 300), "Roteirista " + (i % 400),
+                List.of(ATORES[i % ATORES.length], ATORES[(i + 1) % ATORES.length]),
+                "Original Film " + i, PLATAFORMAS[i % PLATAFORMAS.length]);
+        if (i % 4 == 0) {
+            filme.setAvaliacao(1 + i % 5);
+        }
+        return filme;
+    }
+
+    static Serie novaSerie(int i) {
+        Serie serie = new Serie("Série " + i, GENEROS[i % GENEROS.length], 1990 + i % 35,
+                List.of(ATORES[i % ATORES.length]), "Original Series " + i, PLATAFORMAS[i % PLATAFORMAS.length]);
+        for (int numero = 1; numero <= 1 + i % 4; numero++) {
+            Temporada temporada = new Temporada(numero, 1990 + i % 35, null, 8 + numero);
+            if (numero % 2 == 1) {
+                temporada.setAvaliacao(1 + (i + numero) % 5);
+            }
+            serie.adicionarTemporada(temporada);
+        }
+        return serie;
+    }
+}
+
+/******************************************************************************************
+
+ Autor: Walace de Jesus Venas
+ Componente Curricular: EXA863 MI-PROGRAMAÇÃO
+ Concluído em: 20/05/2025
+ Declaro que este código foi elaborado por mim de forma individual e não contêm nenhum
+ trecho de código de outro colega ou de outro autor, tais como provindos de livros e
+ apostilas, e páginas ou documentos eletrônicos da Internet. Qualquer trecho de código
+ de outra autoria que não a minha está destacado com uma citação para o autor e a fonte
+ do código, e estou ciente que estes trechos não serão considerados para fins de avaliação.
+
+ *******************************************************************************************/
@@ -10,15 +10,22 @@ import com.diariocultural.model.Livro;
 import com.diariocultural.model.Serie;
 import com.diariocultural.model.Temporada;
 import com.diariocultural.service.Catalogo;
+import com.diariocultural.service.CatalogoMapeado;
+import com.diariocultural.service.ConfiguracaoCatalogo;
+import com.diariocultural.service.ConsultaMidias;
+import com.diariocultural.service.FormatoSnapshot;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -40,6 +47,15 @@ public class TestesPersistenciaDiarioCultural {
     @BeforeEach
     void setUp() throws IOException {
         Files.deleteIfExists(arquivoDeTeste);
+        Path fragmentos = Paths.get(arquivoDeTeste + ".fragmentos");
+        if (Files.exists(fragmentos)) {
+            try (var arquivos = Files.list(fragmentos)) {
+                for (Path arquivo : arquivos.toList()) {
+                    Files.delete(arquivo);
+                }
+            }
+            Files.delete(fragmentos);
+        }
         Catalogo catalogo = new Catalogo(arquivoDeTeste.toString());
         controller = new DiarioCultural(catalogo);
     }
@@ -142,6 +158,451 @@ public class TestesPersistenciaDiarioCultural {
         assertTrue(novoCatalogo.getFilmes().isEmpty());
         assertTrue(novoCatalogo.getSeries().isEmpty());
     }
+
+    @Test
+    @Order(7)
+    @DisplayName("Deve reaplicar o journal de mutações ao recarregar o catálogo")
+    void testJournalReaplicadoNaInicializacao() throws IOException {
+        Path journal = Paths.get(arquivoDeTeste + ".journal");
+        ConfiguracaoCatalogo config = ConfiguracaoCatalogo.padrao().comJournal(true);
+
+        try (Catalogo catalogo = new Catalogo(arquivoDeTeste.toString(), config)) {
+            DiarioCultural diario = new DiarioCultural(catalogo);
+            diario.cadastrarSerie("Dark", "Suspense", 2017, List.of("Louis Hofmann"), "Dark", "Netflix");
+            diario.adicionarTemporadaSerie("Dark", 1, 2017, 2017, 10);
+            diario.marcarTemporadaComoConsumida("Dark", 1);
+            diario.cadastrarLivro("Duna", "Frank Herbert", "Aleph", "978-85-7657-313-0", 1965, "Ficção Científica", true);
+            diario.removerMidia(catalogo.encontrarLivroPorTitulo("Duna").get());
+        }
+
+        assertTrue(Files.exists(journal), "As mutações deveriam estar no journal.");
+        assertTrue(Files.notExists(arquivoDeTeste), "O snapshot só deveria ser gravado no checkpoint.");
+
+        try (Catalogo recarregado = new Catalogo(arquivoDeTeste.toString(), config)) {
+            Serie dark = recarregado.encontrarSeriePorTitulo("Dark").get();
+            assertTrue(dark.getTemporada(1).get().isConsumido());
+            assertTrue(recarregado.getLivros().isEmpty());
+        }
+
+        assertTrue(Files.notExists(journal), "A reaplicação deveria gerar um checkpoint e truncar o journal.");
+        assertEquals(1, new Catalogo(arquivoDeTeste.toString()).getSeries().size());
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Deve gravar um checkpoint ao atingir o limite do journal")
+    void testCheckpointAutomaticoDoJournal() throws IOException {
+        Path journal = Paths.get(arquivoDeTeste + ".journal");
+        ConfiguracaoCatalogo config = ConfiguracaoCatalogo.padrao().comJournal(true).comLimiteCheckpoint(2);
+
+        try (Catalogo catalogo = new Catalogo(arquivoDeTeste.toString(), config)) {
+            DiarioCultural diario = new DiarioCultural(catalogo);
+            diario.cadastrarLivro("Duna", "Frank Herbert", "Aleph", "978-85-7657-313-0", 1965, "Ficção Científica", true);
+            assertTrue(Files.exists(journal));
+            diario.cadastrarLivro("Neuromancer", "William Gibson", "Aleph", "978-85-7657-049-8", 1984, "Ficção Científica", false);
+            assertTrue(Files.notExists(journal), "O segundo registro deveria disparar o checkpoint.");
+        }
+
+        assertEquals(2, new Catalogo(arquivoDeTeste.toString()).getLivros().size());
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Deve agrupar mutações em uma única escrita em segundo plano")
+    void testAgendamentoAgrupaEscritas() {
+        ConfiguracaoCatalogo config = ConfiguracaoCatalogo.padrao().comAgendamento(60_000, 1_000);
+
+        try (Catalogo catalogo = new Catalogo(arquivoDeTeste.toString(), config)) {
+            DiarioCultural diario = new DiarioCultural(catalogo);
+            diario.cadastrarSerie("The Office", "Comédia", 2005, List.of("Steve Carell"), "The Office", "Prime Video");
+            for (int numero = 1; numero <= 9; numero++) {
+                diario.adicionarTemporadaSerie("The Office", numero, 2005, null, 20);
+                diario.marcarTemporadaComoConsumida("The Office", numero);
+            }
+            assertTrue(Files.notExists(arquivoDeTeste), "Nenhuma escrita deveria ocorrer antes do fim da janela.");
+
+            catalogo.flush();
+
+            assertTrue(Files.exists(arquivoDeTeste));
+            assertEquals(18, catalogo.getEscritasEconomizadas(), "19 mutações deveriam gerar uma única escrita.");
+        }
+
+        Serie recarregada = new Catalogo(arquivoDeTeste.toString()).encontrarSeriePorTitulo("The Office").get();
+        assertEquals(9, recarregada.getNumeroTemporadas());
+        assertTrue(recarregada.isConsumido());
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Deve recuperar ou descartar o arquivo temporário de uma gravação interrompida")
+    void testRecuperacaoDeArquivoTemporario() throws IOException {
+        Path temporario = Paths.get(arquivoDeTeste + ".tmp");
+        controller.cadastrarLivro("Duna", "Frank Herbert", "Aleph", "978-85-7657-313-0", 1965, "Ficção Científica", true);
+        assertTrue(Files.notExists(temporario), "A gravação atômica não deveria deixar o temporário para trás.");
+
+        // Queda durante a primeira gravação: só o temporário completo existe.
+        Files.move(arquivoDeTeste, temporario);
+        assertEquals(1, new Catalogo(arquivoDeTeste.toString()).getLivros().size());
+        assertTrue(Files.notExists(temporario));
+
+        // Queda no meio de uma regravação: o temporário está truncado e o original permanece íntegro.
+        Files.writeString(temporario, "{\"livros\": [{\"titulo\": \"Inc");
+        assertEquals(1, new Catalogo(arquivoDeTeste.toString()).getLivros().size());
+        assertTrue(Files.notExists(temporario));
+
+        // Temporário completo, mas com a estrutura errada, durante a primeira gravação: é descartado.
+        Files.delete(arquivoDeTeste);
+        Files.writeString(temporario, "{\"livros\": \"Duna\"}");
+        assertTrue(new Catalogo(arquivoDeTeste.toString()).getLivros().isEmpty());
+        assertTrue(Files.notExists(temporario));
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Deve gravar o snapshot em segundo plano sem bloquear quem fez a mutação")
+    void testEscritaEmSegundoPlano() {
+        ConfiguracaoCatalogo config = ConfiguracaoCatalogo.padrao().comEscritaEmSegundoPlano();
+
+        try (Catalogo catalogo = new Catalogo(arquivoDeTeste.toString(), config)) {
+            DiarioCultural diario = new DiarioCultural(catalogo);
+            diario.cadastrarLivro("Duna", "Frank Herbert", "Aleph", "978-85-7657-313-0", 1965, "Ficção Científica", true);
+            diario.cadastrarLivro("Neuromancer", "William Gibson", "Aleph", "978-85-7657-049-8", 1984, "Ficção Científica", false);
+        }
+
+        assertEquals(2, new Catalogo(arquivoDeTeste.toString()).getLivros().size());
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Deve carregar em streaming arquivos vazios, seções nulas e campos desconhecidos")
+    void testCarregamentoEmStreaming() throws IOException {
+        Files.writeString(arquivoDeTeste, "");
+        assertTrue(new Catalogo(arquivoDeTeste.toString()).getLivros().isEmpty());
+
+        Files.writeString(arquivoDeTeste, """
+                {
+                  "versao": 2,
+                  "livros": [
+                    {"titulo": "Duna", "autor": "Frank Herbert", "editora": "Aleph", "isbn": "9788576573135",
+                     "genero": "Ficção Científica", "anoLancamento": 1965, "avaliacao": 4, "consumido": true,
+                     "dataConsumo": "01/02/2024"}
+                  ],
+                  "filmes": null,
+                  "series": []
+                }
+                """);
+        Catalogo catalogo = new Catalogo(arquivoDeTeste.toString());
+
+        assertEquals(1, catalogo.getLivros().size());
+        assertEquals(LocalDate.of(2024, 2, 1), catalogo.encontrarLivroPorTitulo("Duna").get().getDataConsumo());
+        assertTrue(catalogo.getFilmes().isEmpty());
+        assertTrue(catalogo.getSeries().isEmpty());
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Deve gravar e recarregar o snapshot no formato binário")
+    void testSnapshotBinario() {
+        ConfiguracaoCatalogo config = ConfiguracaoCatalogo.padrao().comFormato(FormatoSnapshot.BINARIO);
+
+        DiarioCultural diario = new DiarioCultural(new Catalogo(arquivoDeTeste.toString(), config));
+        Livro duna = diario.cadastrarLivro("Duna", "Frank Herbert", "Aleph", "978-85-7657-313-0", 1965, "Ficção Científica", true);
+        diario.avaliarMidia(duna, 4, "Épico.");
+        diario.cadastrarFilme("Pulp Fiction", "Crime", 1994, 154, "Q. Tarantino", "Q. Tarantino", List.of("John Travolta", "Uma Thurman"), "Pulp Fiction", null);
+        diario.cadastrarSerie("Dark", "Suspense", 2017, List.of("Louis Hofmann"), "Dark", "Netflix");
+        diario.adicionarTemporadaSerie("Dark", 1, 2017, 2017, 10);
+        diario.adicionarTemporadaSerie("Dark", 2, 2019, null, 8);
+        diario.avaliarTemporadaSerie("Dark", 1, 5, "Viagem no tempo!");
+
+        Catalogo recarregado = new Catalogo(arquivoDeTeste.toString(), config);
+
+        Livro livro = recarregado.encontrarLivroPorTitulo("Duna").get();
+        assertEquals(duna, livro);
+        assertEquals(4, livro.getAvaliacao());
+        assertEquals("Épico.", livro.getReview().getTexto());
+        assertEquals(LocalDate.now(), livro.getReview().getDataCriacao());
+        assertTrue(livro.isPossuiExemplar());
+
+        Filme filme = recarregado.encontrarFilmePorTitulo("Pulp Fiction").get();
+        assertEquals(154, filme.getTempoDeDuracao().toMinutes());
+        assertEquals(List.of("John Travolta", "Uma Thurman"), filme.getElenco());
+        assertNull(filme.getOndeAssistir());
+        assertFalse(filme.isConsumido());
+
+        Serie dark = recarregado.encontrarSeriePorTitulo("Dark").get();
+        assertEquals(2, dark.getNumeroTemporadas());
+        assertEquals(5, dark.getAvaliacao());
+        assertEquals("Viagem no tempo!", dark.getTemporada(1).get().getReview().getTexto());
+        assertNull(dark.getTemporada(2).get().getAnoEncerramento());
+        assertFalse(dark.getTemporada(2).get().isConsumido());
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("Deve exportar e importar o catálogo em JSON a partir do formato binário")
+    void testExportacaoEImportacaoJson() {
+        Path exportado = tempDir.resolve("exportado.json");
+        ConfiguracaoCatalogo config = ConfiguracaoCatalogo.padrao().comFormato(FormatoSnapshot.BINARIO);
+
+        Catalogo binario = new Catalogo(arquivoDeTeste.toString(), config);
+        new DiarioCultural(binario).cadastrarLivro("Duna", "Frank Herbert", "Aleph", "978-85-7657-313-0", 1965, "Ficção Científica", true);
+        binario.exportarJson(exportado.toString());
+
+        Catalogo jsonOriginal = new Catalogo(exportado.toString());
+        assertEquals(1, jsonOriginal.getLivros().size(), "O arquivo exportado deveria ser um snapshot JSON válido.");
+
+        Catalogo outro = new Catalogo(tempDir.resolve("importado.bin").toString(), config);
+        outro.importarJson(exportado.toString());
+        assertEquals(binario.getLivros(), new Catalogo(tempDir.resolve("importado.bin").toString(), config).getLivros());
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("Deve mapear o snapshot binário e materializar as mídias sob demanda")
+    void testCatalogoMapeado() {
+        ConfiguracaoCatalogo config = ConfiguracaoCatalogo.padrao().comFormato(FormatoSnapshot.BINARIO);
+        DiarioCultural diario = new DiarioCultural(new Catalogo(arquivoDeTeste.toString(), config));
+        diario.cadastrarLivro("Duna", "Frank Herbert", "Aleph", "978-85-7657-313-0", 1965, "Ficção Científica", true);
+        diario.cadastrarLivro("Neuromancer", "William Gibson", "Aleph", "978-85-7657-049-8", 1984, "Ficção Científica", false);
+        diario.cadastrarSerie("Dark", "Suspense", 2017, List.of("Louis Hofmann"), "Dark", "Netflix");
+        diario.adicionarTemporadaSerie("Dark", 1, 2017, 2017, 10);
+        diario.avaliarTemporadaSerie("Dark", 1, 4, "Confuso, mas ótimo.");
+
+        try (CatalogoMapeado mapeado = new CatalogoMapeado(arquivoDeTeste.toString())) {
+            assertEquals(2, mapeado.getLivros().size());
+            assertEquals(0, mapeado.getFilmes().size());
+            assertEquals(0, mapeado.getMidiasMaterializadas(), "Nenhuma mídia deveria ser materializada na abertura.");
+
+            assertEquals("Neuromancer", mapeado.getLivros().get(1).getTitulo());
+            assertSame(mapeado.getLivros().get(1), mapeado.getLivros().get(1));
+            assertEquals(1, mapeado.getMidiasMaterializadas());
+
+            Serie dark = mapeado.getSeries().get(0);
+            assertEquals(4, dark.getAvaliacao());
+            assertEquals("Confuso, mas ótimo.", dark.getTemporada(1).get().getReview().getTexto());
+
+            mapeado.descartarMaterializadas();
+            assertEquals(0, mapeado.getMidiasMaterializadas());
+            assertEquals("Duna", mapeado.getLivros().get(0).getTitulo());
+            assertThrows(IndexOutOfBoundsException.class, () -> mapeado.getLivros().get(2));
+        }
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("Deve recusar o mapeamento de um snapshot que não é binário")
+    void testCatalogoMapeadoRecusaJson() {
+        controller.cadastrarLivro("Duna", "Frank Herbert", "Aleph", "978-85-7657-313-0", 1965, "Ficção Científica", true);
+
+        assertThrows(UncheckedIOException.class, () -> new CatalogoMapeado(arquivoDeTeste.toString()));
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Deve regravar apenas os fragmentos alterados no armazenamento fragmentado")
+    void testArmazenamentoFragmentado() throws IOException {
+        Path diretorio = Paths.get(arquivoDeTeste + ".fragmentos");
+        ConfiguracaoCatalogo config = ConfiguracaoCatalogo.padrao().comFragmentacao(4);
+
+        DiarioCultural diario = new DiarioCultural(new Catalogo(arquivoDeTeste.toString(), config));
+        for (int i = 1; i <= 12; i++) {
+            diario.cadastrarLivro("Livro " + i, "Autor", "Editora", String.format("978850000%04d", i), 2000 + i, "Drama", false);
+        }
+        diario.cadastrarFilme("Pulp Fiction", "Crime", 1994, 154, "Q. Tarantino", "Q. Tarantino", List.of("John Travolta"), "Pulp Fiction", "Star+");
+        assertTrue(Files.notExists(arquivoDeTeste), "O catálogo fragmentado não deveria gravar o arquivo único.");
+        assertTrue(Files.exists(diretorio.resolve("filmes-" + String.format("%02d", particaoDe("Pulp Fiction", 4)) + ".json")));
+
+        FileTime antigo = FileTime.fromMillis(0);
+        try (var arquivos = Files.list(diretorio)) {
+            for (Path arquivo : arquivos.toList()) {
+                Files.setLastModifiedTime(arquivo, antigo);
+            }
+        }
+
+        diario.marcarComoConsumido(new Catalogo(arquivoDeTeste.toString(), config).encontrarLivroPorTitulo("Livro 7").get());
+
+        String alterado = String.format("livros-%02d.json", particaoDe("Livro 7", 4));
+        try (var arquivos = Files.list(diretorio)) {
+            for (Path arquivo : arquivos.toList()) {
+                boolean regravado = !Files.getLastModifiedTime(arquivo).equals(antigo);
+                assertEquals(arquivo.getFileName().toString().equals(alterado), regravado, arquivo.getFileName().toString());
+            }
+        }
+
+        Catalogo recarregado = new Catalogo(arquivoDeTeste.toString(), config);
+        assertEquals(12, recarregado.getLivros().size());
+        assertEquals(1, recarregado.getFilmes().size());
+        assertTrue(recarregado.encontrarLivroPorTitulo("Livro 7").get().isConsumido());
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("Deve migrar um arquivo único e redistribuir as partições do armazenamento fragmentado")
+    void testMigracaoParaArmazenamentoFragmentado() throws IOException {
+        Path diretorio = Paths.get(arquivoDeTeste + ".fragmentos");
+        for (int i = 1; i <= 6; i++) {
+            controller.cadastrarLivro("Livro " + i, "Autor", "Editora", String.format("978850000%04d", i), 2000 + i, "Drama", false);
+        }
+
+        assertEquals(6, new Catalogo(arquivoDeTeste.toString(), ConfiguracaoCatalogo.padrao().comFragmentacao(3)).getLivros().size());
+        assertTrue(Files.exists(diretorio.resolve("livros-02.json")), "A migração deveria gravar todos os fragmentos.");
+
+        Files.delete(arquivoDeTeste);
+        assertEquals(6, new Catalogo(arquivoDeTeste.toString(), ConfiguracaoCatalogo.padrao().comFragmentacao(1)).getLivros().size());
+        assertTrue(Files.notExists(diretorio.resolve("livros-02.json")), "Partições que não existem mais deveriam ser removidas.");
+        assertEquals(6, new Catalogo(arquivoDeTeste.toString(), ConfiguracaoCatalogo.padrao().comFragmentacao(1)).getLivros().size());
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("Deve carregar em paralelo o mesmo conteúdo do carregamento sequencial")
+    void testCarregamentoParalelo() {
+        Catalogo catalogo = new Catalogo(arquivoDeTeste.toString(), ConfiguracaoCatalogo.padrao().comAgendamento(60_000, 10_000));
+        for (int i = 0; i < 1_000; i++) {
+            catalogo.adicionarLivro(new Livro("Livro {" + i + "} \"[x]\" ção", "Autor " + i, "Editora", String.format("978850000%04d", i), 2000, "Drama", i % 2 == 0));
+        }
+        catalogo.adicionarFilme(new Filme("Pulp Fiction", "Crime", 1994, 154, "Q. Tarantino", "Q. Tarantino", List.of("John Travolta"), "Pulp Fiction", "Star+"));
+        catalogo.close();
+
+        for (FormatoSnapshot formato : FormatoSnapshot.values()) {
+            if (formato == FormatoSnapshot.BINARIO) {
+                new Catalogo(tempDir.resolve("paralelo.bin").toString(), ConfiguracaoCatalogo.padrao().comFormato(formato))
+                        .importarJson(arquivoDeTeste.toString());
+            }
+            String caminho = formato == FormatoSnapshot.BINARIO ? tempDir.resolve("paralelo.bin").toString() : arquivoDeTeste.toString();
+            Catalogo sequencial = new Catalogo(caminho, ConfiguracaoCatalogo.padrao().comFormato(formato).comParalelismoCarregamento(1));
+            Catalogo paralelo = new Catalogo(caminho, ConfiguracaoCatalogo.padrao().comFormato(formato).comParalelismoCarregamento(4));
+
+            assertEquals(1_000, paralelo.getLivros().size());
+            assertEquals(sequencial.getLivros(), paralelo.getLivros(), "A ordem e o conteúdo deveriam ser preservados.");
+            assertEquals(sequencial.getFilmes(), paralelo.getFilmes());
+            assertEquals("Livro {999} \"[x]\" ção", paralelo.getLivros().get(999).getTitulo());
+            assertTrue(paralelo.getMetricasCarregamento().getTarefas() > 1, "O arquivo deveria ser dividido em várias tarefas.");
+            assertEquals(4, paralelo.getMetricasCarregamento().getThreads());
+            assertFalse(paralelo.getMetricasCarregamento().getTotal().isNegative());
+        }
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("Deve atribuir identificadores estáveis e persisti-los nos dois formatos")
+    void testIdentificadoresPersistentes() throws IOException {
+        Files.writeString(arquivoDeTeste, """
+                {
+                  "livros": [
+                    {"titulo": "Duna", "autor": "Frank Herbert", "editora": "Aleph", "isbn": "9788576573135",
+                     "genero": "Ficção Científica", "anoLancamento": 1965},
+                    {"titulo": "Duna", "autor": "Outro Autor", "editora": "Aleph", "isbn": "9788576573136",
+                     "genero": "Ficção Científica", "anoLancamento": 1966}
+                  ],
+                  "series": [
+                    {"titulo": "Dark", "genero": "Suspense", "anoLancamento": 2017, "elenco": ["Louis Hofmann"],
+                     "tituloOriginal": "Dark", "ondeAssistir": "Netflix",
+                     "temporadasList": [{"numero": 1, "anoLancamento": 2017, "numeroEpisodios": 10}]}
+                  ]
+                }
+                """);
+        Catalogo legado = new Catalogo(arquivoDeTeste.toString());
+        long idDuna = legado.getLivros().get(0).getId();
+        long idHomonimo = legado.getLivros().get(1).getId();
+        Serie dark = legado.getSeries().get(0);
+        assertTrue(idDuna > 0 && idHomonimo > 0 && dark.getId() > 0 && dark.getTemporadasList().get(0).getId() > 0);
+        assertNotEquals(idDuna, idHomonimo);
+        assertTrue(Files.readString(arquivoDeTeste).contains("\"id\""), "Os identificadores atribuídos deveriam ser gravados.");
+
+        Catalogo recarregado = new Catalogo(arquivoDeTeste.toString());
+        assertEquals(idDuna, recarregado.getLivros().get(0).getId());
+        assertEquals(dark.getTemporadasList().get(0).getId(), recarregado.getSeries().get(0).getTemporadasList().get(0).getId());
+        assertTrue(recarregado.removerLivroPorId(idDuna));
+        Livro novo = new Livro("Neuromancer", "William Gibson", "Aleph", "9788576570000", 1984, "Ficção Científica", true);
+        assertTrue(recarregado.adicionarLivro(novo));
+        assertTrue(novo.getId() > Math.max(idHomonimo, dark.getTemporadasList().get(0).getId()), "Identificadores não deveriam ser reutilizados.");
+
+        Catalogo reaberto = new Catalogo(arquivoDeTeste.toString());
+        assertEquals(List.of(idHomonimo, novo.getId()), reaberto.getLivros().stream().map(Livro::getId).toList(),
+                "A remoção pelo identificador deveria preservar o homônimo.");
+        assertEquals("Outro Autor", reaberto.encontrarLivroPorId(idHomonimo).orElseThrow().getAutor());
+
+        Path binario = tempDir.resolve("identificadores.bin");
+        ConfiguracaoCatalogo config = ConfiguracaoCatalogo.padrao().comFormato(FormatoSnapshot.BINARIO);
+        new Catalogo(binario.toString(), config).importarJson(arquivoDeTeste.toString());
+        Catalogo doBinario = new Catalogo(binario.toString(), config);
+        assertEquals(reaberto.getLivros().stream().map(Livro::getId).toList(), doBinario.getLivros().stream().map(Livro::getId).toList());
+        assertEquals(dark.getId(), doBinario.encontrarMidiaPorId(dark.getId()).orElseThrow().getId());
+        assertEquals(1, doBinario.getSeries().get(0).getTemporadaPorId(dark.getTemporadasList().get(0).getId()).orElseThrow().getNumero());
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("Deve descartar um registro incompleto do journal antes de anexar novos registros")
+    void testJournalComRegistroIncompleto() throws IOException {
+        Path journal = Paths.get(arquivoDeTeste + ".journal");
+        ConfiguracaoCatalogo config = ConfiguracaoCatalogo.padrao().comJournal(true);
+        Files.writeString(journal, "{\"operacao\":\"ADICIONAR_LI");
+
+        try (Catalogo catalogo = new Catalogo(arquivoDeTeste.toString(), config)) {
+            assertTrue(catalogo.getLivros().isEmpty());
+            assertEquals(0, Files.size(journal), "O registro incompleto deveria ser removido do journal.");
+            new DiarioCultural(catalogo).cadastrarLivro("Duna", "Frank Herbert", "Aleph", "978-85-7657-313-0", 1965, "Ficção Científica", true);
+        }
+
+        try (Catalogo recarregado = new Catalogo(arquivoDeTeste.toString(), config)) {
+            assertEquals(1, recarregado.getLivros().size());
+        }
+        assertTrue(Files.notExists(journal));
+    }
+
+    @Test
+    @Order(22)
+    @DisplayName("Deve reindexar a série ao reaplicar a remoção de uma temporada")
+    void testJournalReindexaRemocaoDeTemporada() {
+        ConfiguracaoCatalogo config = ConfiguracaoCatalogo.padrao().comJournal(true);
+
+        try (Catalogo catalogo = new Catalogo(arquivoDeTeste.toString(), config)) {
+            DiarioCultural diario = new DiarioCultural(catalogo);
+            diario.cadastrarSerie("Dark", "Suspense", 2017, List.of("Louis Hofmann"), "Dark", "Netflix");
+            diario.adicionarTemporadaSerie("Dark", 1, 2017, 2017, 10);
+            diario.adicionarTemporadaSerie("Dark", 2, 2019, 2019, 8);
+            diario.avaliarTemporadaSerie("Dark", 1, 5, "Excelente.");
+            diario.avaliarTemporadaSerie("Dark", 2, 1, "Confusa.");
+            diario.removerTemporada("Dark", 2);
+        }
+
+        try (Catalogo recarregado = new Catalogo(arquivoDeTeste.toString(), config)) {
+            assertEquals(5, recarregado.encontrarSeriePorTitulo("Dark").get().getAvaliacao());
+            assertEquals(1, recarregado.consultarSeries(ConsultaMidias.avaliacaoMinima(5)).size(),
+                    "Os índices deveriam refletir a série sem a temporada removida.");
+        }
+    }
+
+    @Test
+    @Order(23)
+    @DisplayName("Deve tentar de novo uma escrita em segundo plano que falhou")
+    void testAgendamentoRepeteEscritaQueFalhou() throws IOException {
+        Path temporario = Paths.get(arquivoDeTeste + ".tmp");
+        ConfiguracaoCatalogo config = ConfiguracaoCatalogo.padrao().comAgendamento(60_000, 1);
+
+        try (Catalogo catalogo = new Catalogo(arquivoDeTeste.toString(), config)) {
+            // Um diretório no lugar do arquivo temporário faz a escrita falhar.
+            Files.createDirectory(temporario);
+            new DiarioCultural(catalogo).cadastrarLivro("Duna", "Frank Herbert", "Aleph", "978-85-7657-313-0", 1965, "Ficção Científica", true);
+            assertThrows(RuntimeException.class, catalogo::flush);
+            assertTrue(Files.notExists(arquivoDeTeste));
+
+            Files.delete(temporario);
+            catalogo.flush();
+        }
+
+        assertEquals(1, new Catalogo(arquivoDeTeste.toString()).getLivros().size(),
+                "As mutações da escrita que falhou deveriam continuar pendentes.");
+    }
+
+    /**
+     * Reproduz o cálculo de partição do armazenamento fragmentado.
+     */
+    private static int particaoDe(String titulo, int particoes) {
+        return Math.floorMod(titulo.toLowerCase(Locale.ROOT).hashCode(), particoes);
+    }
 }
 
 /******************************************************************************************
@@ -7,15 +7,29 @@ package com.diariocultural.testes.unitarios;
 import com.diariocultural.controller.DiarioCultural;
 import com.diariocultural.model.Filme;
 import com.diariocultural.model.Livro;
+import com.diariocultural.model.Midia;
+import com.diariocultural.model.Review;
 import com.diariocultural.model.Serie;
+import com.diariocultural.model.Temporada;
 import com.diariocultural.service.Catalogo;
+import com.diariocultural.service.ConfiguracaoCatalogo;
+import com.diariocultural.service.ConsultaMidias;
+import com.diariocultural.service.ConsultaTextual;
+import com.diariocultural.service.DicionarioSugestoes;
+import com.diariocultural.service.EstatisticasMidias;
+import com.diariocultural.service.FiltroMidias;
+import com.diariocultural.service.RegistrosForaDoHeap;
 import org.junit.jupiter.api.*;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -110,6 +124,668 @@ class TestesUnitariosDiarioCultural {
             Serie serieAvaliada = catalogo.encontrarSeriePorTitulo("Breaking Bad").get();
             assertEquals(4, serieAvaliada.getAvaliacao(), "A avaliação da série deveria ser a média arredondada (4).");
         }
+
+        @Test
+        @DisplayName("Deve buscar temporadas pelo identificador depois de atribuições e remoções")
+        void deveBuscarTemporadaPorId() {
+            Serie serie = new Serie("Dark", "Suspense", 2017, List.of("Louis Hofmann"), "Dark", "Netflix");
+            Temporada primeira = new Temporada(1, 2017, 2017, 10);
+            Temporada segunda = new Temporada(2, 2019, 2019, 8);
+            serie.adicionarTemporada(primeira);
+            serie.adicionarTemporada(segunda);
+            assertTrue(serie.getTemporadaPorId(7).isEmpty());
+
+            primeira.setId(7);
+            segunda.setId(8);
+            assertSame(primeira, serie.getTemporadaPorId(7).orElseThrow());
+            assertSame(segunda, serie.getTemporadaPorId(8).orElseThrow());
+
+            segunda.setId(9);
+            assertTrue(serie.getTemporadaPorId(8).isEmpty(), "O identificador antigo não deveria ser encontrado.");
+            assertTrue(serie.removerTemporada(1));
+            assertTrue(serie.getTemporadaPorId(7).isEmpty());
+            assertSame(segunda, serie.getTemporadaPorId(9).orElseThrow());
+        }
+
+        @Test
+        @DisplayName("Deve manter a avaliação e o consumo da série a cada alteração das temporadas")
+        void deveManterAgregadosDaSerieIncrementalmente() {
+            Serie serie = new Serie("Dark", "Suspense", 2017, List.of("Louis Hofmann"), "Dark", "Netflix");
+            Temporada primeira = new Temporada(1, 2017, 2017, 10);
+            Temporada segunda = new Temporada(2, 2019, 2019, 8);
+            Temporada terceira = new Temporada(3, 2020, 2020, 8);
+            primeira.setAvaliacao(5);
+            serie.adicionarTemporada(primeira);
+            serie.adicionarTemporada(segunda);
+            serie.adicionarTemporada(terceira);
+            assertEquals(5.0, serie.getAvaliacaoMedia());
+
+            segunda.setAvaliacao(2);
+            assertEquals(3.5, serie.getAvaliacaoMedia());
+            assertEquals(4, serie.getAvaliacao());
+            segunda.setAvaliacao(4);
+            assertEquals(4.5, serie.getAvaliacaoMedia());
+
+            terceira.setDataConsumo(LocalDate.of(2024, 5, 2));
+            primeira.setDataConsumo(LocalDate.of(2024, 5, 1));
+            serie.atualizarStatusConsumo();
+            assertTrue(serie.isConsumido());
+            assertEquals(LocalDate.of(2024, 5, 2), serie.getDataConsumo());
+
+            terceira.setConsumido(false);
+            serie.atualizarStatusConsumo();
+            assertFalse(serie.isConsumido());
+            assertNull(serie.getDataConsumo());
+            assertEquals(LocalDate.of(2024, 5, 1), serie.getUltimaDataConsumo(), "A maior data deveria ser recalculada.");
+
+            assertTrue(serie.removerTemporada(3));
+            serie.atualizarStatusConsumo();
+            assertTrue(serie.isConsumido(), "Restaram apenas temporadas consumidas.");
+            assertTrue(serie.removerTemporada(1));
+            assertEquals(4.0, serie.getAvaliacaoMedia());
+            terceira.setAvaliacao(1);
+            assertEquals(4.0, serie.getAvaliacaoMedia(), "Uma temporada removida não deveria afetar a série.");
+
+            Serie outra = new Serie("Outra", "Drama", 2020, List.of("Ator"), "Outra", "Netflix");
+            assertThrows(IllegalArgumentException.class, () -> outra.adicionarTemporada(segunda));
+            outra.adicionarTemporada(terceira);
+            assertEquals(1, outra.getAvaliacao());
+        }
+
+        @Test
+        @DisplayName("Deve indexar as temporadas pelo número e listá-las em ordem, com numeração densa ou esparsa")
+        void deveIndexarTemporadasPorNumero() {
+            Serie serie = new Serie("Antologia", "Drama", 1990, List.of("Elenco"), "Anthology", "TV");
+            for (int numero : new int[]{3, 1, 1000, 2, 40, 500}) {
+                serie.adicionarTemporada(new Temporada(numero, 1990, null, 10));
+            }
+            assertEquals(List.of(1, 2, 3, 40, 500, 1000),
+                    serie.getTemporadasList().stream().map(Temporada::getNumero).toList());
+            assertEquals(1000, serie.getTemporada(1000).orElseThrow().getNumero());
+            assertTrue(serie.getTemporada(4).isEmpty());
+            assertThrows(IllegalArgumentException.class, () -> serie.adicionarTemporada(new Temporada(40, 1990, null, 10)));
+
+            List<Temporada> visao = serie.getTemporadasList();
+            assertTrue(serie.removerTemporada(2));
+            assertFalse(serie.removerTemporada(2));
+            for (int numero = 4; numero <= 30; numero++) {
+                serie.adicionarTemporada(new Temporada(numero, 1990, null, 10));
+            }
+            assertSame(visao, serie.getTemporadasList(), "A visão deveria acompanhar as alterações.");
+            assertEquals(32, visao.size());
+            assertEquals(1, visao.get(0).getNumero());
+            assertEquals(3, visao.get(1).getNumero());
+            assertEquals(1000, visao.get(31).getNumero());
+            assertThrows(UnsupportedOperationException.class, () -> visao.add(new Temporada(7000, 1990, null, 10)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Índice de títulos do catálogo")
+    class TestesDeIndiceDeTitulos {
+        @Test
+        @DisplayName("Deve encontrar mídias pelo título sem distinção de caixa e de composição dos acentos")
+        void deveEncontrarPorTituloNormalizado() {
+            controller.cadastrarLivro("O Pequeno Príncipe", "Antoine de Saint-Exupéry", "Agir", "9788522005470", 1943, "Infantil", true);
+            controller.cadastrarSerie("Straße", "Drama", 2020, List.of("Ator"), "Straße", "Netflix");
+
+            assertTrue(catalogo.encontrarLivroPorTitulo("o pequeno PRÍNCIPE").isPresent());
+            assertTrue(catalogo.encontrarLivroPorTitulo("O Pequeno Pri\u0301ncipe").isPresent(), "Acento decomposto deveria coincidir.");
+            assertTrue(catalogo.encontrarSeriePorTitulo("STRASSE").isPresent());
+            assertFalse(catalogo.encontrarLivroPorTitulo("O Pequeno Principe").isPresent());
+            assertFalse(catalogo.encontrarFilmePorTitulo(null).isPresent());
+        }
+
+        @Test
+        @DisplayName("Deve recalcular as chaves de busca das mídias a cada alteração dos atributos")
+        void deveRecalcularChavesDeBusca() {
+            Filme filme = controller.cadastrarFilme("Straße", "Ação", 2020, 100, "Fatih Akın", "Fatih Akın", List.of("Diane KRUGER", "Denis Moschitto"), "Straße", "Netflix");
+            assertEquals("strasse", filme.getChaveTitulo());
+            assertEquals("ação", filme.getChaveGenero());
+            assertEquals(Midia.chaveDeBusca("FATIH AKIN"), filme.getChaveDirecao());
+            assertEquals(List.of("diane kruger", "denis moschitto"), filme.getChavesElenco());
+            assertEquals("\u03bcm", Midia.chaveDeBusca("\u00B5M"), "O micro vira a letra grega, como na dupla conversão.");
+
+            filme.setTitulo("Pri\u0301ncipe");
+            filme.setElenco(List.of("Sibel Kekilli"));
+            assertEquals("príncipe", filme.getChaveTitulo(), "A chave usa a forma composta do acento.");
+            assertEquals(List.of("sibel kekilli"), filme.getChavesElenco());
+            assertThrows(UnsupportedOperationException.class, () -> filme.getChavesElenco().add("outro"));
+
+            Livro livro = controller.cadastrarLivro("Capitães da Areia", "Jorge AMADO", "Record", "9788535914061", 1937, "Romance", true);
+            livro.setAutor("Zélia Gattai");
+            assertEquals("zélia gattai", livro.getChaveAutor());
+        }
+
+        @Test
+        @DisplayName("Deve manter o índice sincronizado em adições, atualizações e remoções")
+        void deveManterIndiceSincronizado() {
+            Livro primeiro = controller.cadastrarLivro("Duna", "Frank Herbert", "Aleph", "9788576573135", 1965, "Ficção", true);
+            controller.cadastrarLivro("Duna", "Outro Autor", "Outra", "9788576573136", 1999, "Ficção", false);
+            assertSame(primeiro, catalogo.encontrarLivroPorTitulo("duna").get(), "O primeiro homônimo cadastrado deveria ser o encontrado.");
+
+            Livro atualizado = new Livro("Duna", "Frank Herbert", "Aleph", "9788576573135", 1965, "Ficção", true);
+            atualizado.setAvaliacao(5);
+            catalogo.atualizarLivro(atualizado);
+            assertSame(atualizado, catalogo.encontrarLivroPorTitulo("Duna").get(),
+                    "A atualização deveria manter o livro na mesma posição.");
+            assertEquals(List.of("Frank Herbert", "Outro Autor"), catalogo.getLivros().stream().map(Livro::getAutor).toList());
+
+            assertTrue(catalogo.removerLivro("DUNA"));
+            assertFalse(catalogo.encontrarLivroPorTitulo("Duna").isPresent());
+            assertTrue(catalogo.getLivros().isEmpty(), "Todos os homônimos deveriam ser removidos.");
+            assertFalse(catalogo.removerLivro("Duna"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Instantâneos do catálogo")
+    class TestesDeInstantaneos {
+        @Test
+        @DisplayName("Deve compartilhar o instantâneo entre leituras e publicar um novo a cada alteração")
+        void deveCompartilharInstantaneoAteAProximaAlteracao() {
+            controller.cadastrarLivro("1984", "George Orwell", "Cia", "1111111111111", 1949, "Distopia", true);
+            List<Livro> antes = catalogo.getLivros();
+            long versaoAntes = catalogo.getVersao();
+
+            assertSame(antes, catalogo.getLivros(), "Sem alterações, as leituras deveriam compartilhar o instantâneo.");
+            assertThrows(UnsupportedOperationException.class, () -> antes.add(antes.get(0)));
+
+            controller.cadastrarLivro("Duna", "Frank Herbert", "Aleph", "9788576573135", 1965, "Ficção", true);
+            List<Livro> depois = catalogo.getLivros();
+
+            assertNotSame(antes, depois);
+            assertEquals(1, antes.size(), "O instantâneo antigo não deveria ver a alteração.");
+            assertEquals(2, depois.size());
+            assertTrue(catalogo.getVersao() > versaoAntes);
+            assertSame(catalogo.getFilmes(), catalogo.getFilmes());
+        }
+
+        @Test
+        @DisplayName("Deve aplicar as alterações do controller em uma cópia, sem alterar os instantâneos publicados")
+        void deveAlterarUmaCopia() {
+            Livro livro = controller.cadastrarLivro("1984", "George Orwell", "Cia", "1111111111111", 1949, "Distopia", true);
+            List<Livro> antes = catalogo.getLivros();
+
+            Midia avaliado = controller.avaliarMidia(livro, 5, "Excelente livro!");
+            assertNotSame(livro, avaliado);
+            assertEquals(0, antes.get(0).getAvaliacao(), "A versão publicada antes não deveria ser alterada.");
+            assertNull(antes.get(0).getReview());
+            assertSame(avaliado, catalogo.getLivros().get(0));
+            assertEquals(livro.getId(), avaliado.getId());
+
+            assertThrows(IllegalArgumentException.class, () -> controller.avaliarMidia(avaliado, 9, "Nota inválida."));
+            assertEquals(5, catalogo.getLivros().get(0).getAvaliacao(), "Uma alteração recusada não deveria mudar o catálogo.");
+            assertEquals("Excelente livro!", catalogo.getLivros().get(0).getReview().getTexto());
+        }
+
+        @Test
+        @DisplayName("Deve remover temporadas em uma cópia e recusar alterações de mídias removidas")
+        void deveRemoverTemporadaEmUmaCopia() {
+            controller.cadastrarSerie("Dark", "Suspense", 2017, List.of("Louis Hofmann"), "Dark", "Netflix");
+            controller.adicionarTemporadaSerie("Dark", 1, 2017, 2017, 10);
+            controller.adicionarTemporadaSerie("Dark", 2, 2019, 2019, 8);
+            Serie publicada = catalogo.getSeries().get(0);
+
+            assertTrue(catalogo.removerTemporada("Dark", 2));
+            assertEquals(2, publicada.getNumeroTemporadas(), "A versão publicada antes não deveria ser alterada.");
+            assertEquals(1, catalogo.getSeries().get(0).getNumeroTemporadas());
+            assertFalse(catalogo.removerTemporada("Dark", 2));
+
+            assertTrue(catalogo.removerSerie("Dark"));
+            assertThrows(IllegalArgumentException.class, () -> catalogo.alterarSerie(publicada, serie -> serie.setOndeAssistir("Prime Video")));
+            assertTrue(catalogo.getSeries().isEmpty(), "Alterar uma mídia removida não deveria recolocá-la no catálogo.");
+        }
+    }
+
+    @Nested
+    @DisplayName("Índices secundários do catálogo")
+    class TestesDeIndicesSecundarios {
+        @Test
+        @DisplayName("Deve manter os índices de gênero, ano, direção e elenco a cada alteração")
+        void deveManterIndicesAtualizados() {
+            Filme inception = controller.cadastrarFilme("Inception", "Sci-Fi", 2010, 148, "C. Nolan", "C. Nolan", List.of("Leo DiCaprio", "Tom Hardy"), "Inception", "Netflix");
+            Filme dunkirk = controller.cadastrarFilme("Dunkirk", "Guerra", 2017, 106, "C. Nolan", "C. Nolan", List.of("Tom Hardy"), "Dunkirk", "Netflix");
+            controller.cadastrarFilme("Pulp Fiction", "Crime", 1994, 154, "Q. Tarantino", "Q. Tarantino", List.of("John Travolta"), "Pulp Fiction", "Star+");
+
+            assertEquals(List.of(inception, dunkirk), catalogo.buscarFilmesPorAtor("TOM HARDY"));
+            assertEquals(List.of(inception, dunkirk), catalogo.buscarFilmesPorDiretor("c. nolan"));
+            assertEquals(List.of(dunkirk), catalogo.filtrarFilmes("nolan", "hardy", null, 2017));
+
+            // Alterações no lugar, seguidas da atualização, como faz o controller.
+            inception.setGenero("Ação");
+            inception.setElenco(List.of("Leo DiCaprio"));
+            catalogo.atualizarFilme(inception);
+
+            assertEquals(List.of(dunkirk), catalogo.buscarFilmesPorAtor("Tom Hardy"), "O ator removido do elenco deveria sair do índice.");
+            assertTrue(catalogo.buscarFilmesPorGenero("Sci-Fi").isEmpty());
+            assertEquals(List.of(inception), catalogo.buscarFilmesPorGenero("ação"));
+
+            controller.removerMidia(dunkirk);
+            assertTrue(catalogo.buscarFilmesPorAtor("Tom Hardy").isEmpty());
+            assertTrue(catalogo.buscarFilmesPorAno(2017).isEmpty());
+            assertEquals(List.of(inception), controller.buscarFilmes(null, "Nolan", null, null, null));
+            assertTrue(catalogo.buscarFilmesPorDiretor(null).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Filtros combinados por bitmaps")
+    class TestesDeFiltrosPorBitmap {
+        @Test
+        @DisplayName("Deve combinar gênero, ano, consumo e avaliação como os filtros em memória")
+        void deveCombinarFiltrosComoAVarredura() throws IOException {
+            Path arquivo = Paths.get("data", "diario_unit_bitmap.json");
+            try (Catalogo catalogo = new Catalogo(arquivo.toString(),
+                    ConfiguracaoCatalogo.padrao().comAgendamento(60_000, Integer.MAX_VALUE))) {
+                verificarFiltrosCombinados(catalogo);
+            } finally {
+                Files.deleteIfExists(arquivo);
+            }
+        }
+
+        private void verificarFiltrosCombinados(Catalogo catalogo) {
+            String[] generos = {"Drama", "Terror", "Comédia"};
+            // Volume suficiente para que os blocos densos virem bitmaps e voltem a vetores.
+            for (int i = 0; i < 12_000; i++) {
+                Livro livro = new Livro("Livro " + i, "Autor " + i % 7, "Editora", String.format("%013d", i),
+                        2000 + i % 5, generos[i % 3], false);
+                if (i % 4 == 0) {
+                    livro.setAvaliacao(1 + i % 5);
+                }
+                catalogo.adicionarLivro(livro);
+            }
+            for (Livro livro : catalogo.getLivros()) {
+                if (livro.getId() % 3 == 0) {
+                    catalogo.removerLivroPorId(livro.getId());
+                } else if (livro.getId() % 7 == 0) {
+                    livro.setDataConsumo(LocalDate.of(2024, 1, 1));
+                    catalogo.atualizarLivro(livro);
+                }
+            }
+
+            FiltroMidias filtro = FiltroMidias.todas().comGeneros("drama", "TERROR").comAnosEntre(2001, 2003)
+                    .comConsumida(true).comAvaliada(false);
+            List<Livro> esperados = catalogo.getLivros().stream()
+                    .filter(l -> l.getGenero().equals("Drama") || l.getGenero().equals("Terror"))
+                    .filter(l -> l.getAnoLancamento() >= 2001 && l.getAnoLancamento() <= 2003)
+                    .filter(l -> l.isConsumido() && l.getAvaliacao() == 0)
+                    .toList();
+
+            assertFalse(esperados.isEmpty());
+            assertEquals(esperados, catalogo.filtrarLivros(filtro));
+            assertEquals(catalogo.getLivros().stream().filter(Livro::isConsumido).toList(),
+                    catalogo.filtrarLivros(FiltroMidias.todas().comConsumida(true)));
+            assertEquals(catalogo.getLivros(), catalogo.filtrarLivros(FiltroMidias.todas()));
+            assertTrue(catalogo.filtrarLivros(FiltroMidias.todas().comAnos(1999)).isEmpty());
+
+            for (Livro livro : catalogo.getLivros()) {
+                if (livro.getId() % 6 != 1) {
+                    catalogo.removerLivroPorId(livro.getId());
+                }
+            }
+            assertEquals(catalogo.getLivros().stream().filter(l -> l.getAvaliacao() == 0).toList(),
+                    catalogo.filtrarLivros(FiltroMidias.todas().comAvaliada(false)),
+                    "Os blocos que encolheram deveriam continuar corretos.");
+        }
+    }
+
+    @Nested
+    @DisplayName("Índice textual de títulos e reviews")
+    class TestesDeIndiceTextual {
+        @Test
+        @DisplayName("Deve encontrar títulos, frases e reviews sem distinção de acentos")
+        void deveBuscarSemDistincaoDeAcentos() {
+            Filme cidade = controller.cadastrarFilme("Cidade de Deus", "Ação", 2002, 130, "F. Meirelles", "B. Mantovani", List.of("Alexandre Rodrigues"), "City of God", "Globoplay");
+            Filme central = controller.cadastrarFilme("Central do Brasil", "Drama", 1998, 113, "W. Salles", "J. E. Carneiro", List.of("Fernanda Montenegro"), "Central Station", "Globoplay");
+            Livro memorias = controller.cadastrarLivro("Memórias Póstumas de Brás Cubas", "Machado de Assis", "Garnier", "3333333333333", 1891, "Romance", true);
+            controller.avaliarMidia(central, 5, "Uma viagem de ação contida pelo sertão.");
+
+            assertEquals(List.of(memorias), controller.buscarLivros("bras cub", null, null, null, null));
+            assertEquals(List.of(memorias), controller.buscarLivros("POSTUMAS", "machado", null, null, null));
+            assertEquals(List.of(cidade), controller.buscarFilmes("de deus", null, null, null, null));
+            assertEquals(List.of(cidade, central), controller.buscarFilmes("", null, null, null, null));
+            assertEquals(List.of(central), catalogo.pesquisarFilmes(ConsultaTextual.termos("sertao acao")));
+            assertEquals(List.of(central), catalogo.pesquisarFilmes(ConsultaTextual.frase("viagem de ação")));
+            assertTrue(catalogo.pesquisarFilmes(ConsultaTextual.frase("viagem ação")).isEmpty());
+            assertEquals(List.of(cidade), catalogo.pesquisarFilmes(ConsultaTextual.termos("city")
+                    .nosCampos(ConsultaTextual.Campo.TITULO_ORIGINAL)));
+            assertTrue(catalogo.pesquisarFilmes(ConsultaTextual.termos("de")).isEmpty(), "Palavras vazias não são indexadas.");
+
+            // Alteração em uma cópia, publicada de uma vez, como faz o controller.
+            catalogo.alterarFilme(central, filme -> filme.setReviewTexto("Reencontro comovente.", 1, 1, 2024));
+            assertTrue(catalogo.pesquisarFilmes(ConsultaTextual.termos("sertão")).isEmpty());
+            assertEquals(List.of(central), catalogo.pesquisarFilmes(ConsultaTextual.trecho("comove")));
+
+            controller.cadastrarSerie("Anne with an E", "Drama", 2017, List.of("Amybeth McNulty"), "Anne", "Netflix");
+            controller.adicionarTemporadaSerie("Anne with an E", 1, 2017, 2017, 7);
+            Serie anne = controller.avaliarTemporadaSerie("Anne with an E", 1, 4, "Imaginação e coração.");
+            assertEquals(List.of(anne), catalogo.pesquisarSeries(ConsultaTextual.termos("imaginacao")));
+            assertEquals(List.of(anne), controller.buscarSeriesPorTitulo("ANNE"));
+
+            controller.removerMidia(cidade);
+            assertTrue(controller.buscarFilmes("Deus", null, null, null, null).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sugestões por prefixo")
+    class TestesDeSugestoes {
+        @Test
+        @DisplayName("Deve sugerir pelo início de qualquer palavra e acompanhar as alterações do catálogo")
+        void deveSugerirPorPrefixo() {
+            controller.cadastrarLivro("O Senhor dos Anéis", "J.R.R. Tolkien", "WMF", "2222222222222", 1954, "Fantasia", true);
+            controller.cadastrarLivro("Senhora", "José de Alencar", "Garnier", "4444444444444", 2005, "Romance", false);
+            controller.cadastrarLivro("Sentimento do Mundo", "Carlos Drummond de Andrade", "Pongetti", "5555555555555", 1940, "Poesia", false);
+
+            assertEquals(List.of("O Senhor dos Anéis", "Senhora"),
+                    controller.sugerirTermos(DicionarioSugestoes.Fonte.TITULOS_DE_LIVROS, "SENH", 8));
+            assertEquals(List.of("O Senhor dos Anéis"), controller.sugerirTermos(DicionarioSugestoes.Fonte.TITULOS_DE_LIVROS, "ane", 8));
+            assertTrue(controller.sugerirTermos(DicionarioSugestoes.Fonte.TITULOS_DE_LIVROS, "dos", 8).isEmpty(),
+                    "Palavras vazias não abrem sugestões.");
+            assertEquals(List.of("José de Alencar"), controller.sugerirTermos(DicionarioSugestoes.Fonte.AUTORES, "jose", 8));
+            assertEquals(1, controller.sugerirTermos(DicionarioSugestoes.Fonte.TITULOS_DE_LIVROS, "sen", 1).size());
+            assertTrue(controller.sugerirTermos(DicionarioSugestoes.Fonte.TITULOS_DE_LIVROS, " ", 8).isEmpty());
+
+            DicionarioSugestoes antes = catalogo.getSugestoes(DicionarioSugestoes.Fonte.TITULOS_DE_LIVROS);
+            assertSame(antes, catalogo.getSugestoes(DicionarioSugestoes.Fonte.TITULOS_DE_LIVROS), "Sem alterações, o dicionário é reaproveitado.");
+
+            controller.cadastrarFilme("Senna", "Documentário", 2010, 106, "A. Kapadia", "M. Pinkey", List.of("Ayrton Senna"), "Senna", "Netflix");
+            assertEquals(List.of("Ayrton Senna"), controller.sugerirTermos(DicionarioSugestoes.Fonte.ATORES, "senn", 8));
+            assertSame(antes, catalogo.getSugestoes(DicionarioSugestoes.Fonte.TITULOS_DE_LIVROS), "Alterar os filmes não afeta os livros.");
+
+            controller.removerMidia(catalogo.encontrarLivroPorTitulo("Senhora").orElseThrow());
+            assertEquals(List.of("O Senhor dos Anéis"), controller.sugerirTermos(DicionarioSugestoes.Fonte.TITULOS_DE_LIVROS, "senh", 8));
+        }
+    }
+
+    @Nested
+    @DisplayName("Busca aproximada")
+    class TestesDeBuscaAproximada {
+        @Test
+        @DisplayName("Deve tolerar erros de digitação e ordenar pelos resultados mais próximos")
+        void deveEncontrarComErrosDeDigitacao() {
+            Filme oppenheimer = controller.cadastrarFilme("Oppenheimer", "Drama", 2023, 180, "Christopher Nolan", "Christopher Nolan", List.of("Cillian Murphy"), "Oppenheimer", "Cinema");
+            Filme inception = controller.cadastrarFilme("Inception", "Sci-Fi", 2010, 148, "Christopher Nolan", "Christopher Nolan", List.of("Leonardo DiCaprio"), "Inception", "Netflix");
+            Filme lobo = controller.cadastrarFilme("O Lobo de Wall Street", "Drama", 2013, 180, "Martin Scorsese", "Terence Winter", List.of("Leonardo DiCaprio", "Jonah Hill"), "The Wolf of Wall Street", "Prime Video");
+            Filme noland = controller.cadastrarFilme("Curta", "Drama", 2015, 20, "Kevin Noland", "Kevin Noland", List.of("Ator"), "Curta", "YouTube");
+            controller.cadastrarLivro("Dom Casmurro", "Machado de Assis", "Garnier", "1111111111111", 1899, "Romance", true);
+
+            assertEquals(List.of(oppenheimer, inception), controller.buscarFilmesAproximados("Nolam", ConsultaTextual.Campo.DIRECAO));
+            assertEquals(List.of(oppenheimer, inception, noland), controller.buscarFilmesAproximados("nolan", ConsultaTextual.Campo.DIRECAO),
+                    "A correspondência exata vem antes das aproximadas.");
+            assertEquals(List.of(inception, lobo), controller.buscarFilmesAproximados("Leonardo Dicapiro", ConsultaTextual.Campo.ELENCO));
+            assertEquals(List.of(inception), controller.buscarFilmesAproximados("Incepiton", ConsultaTextual.Campo.TITULO));
+            assertEquals("Dom Casmurro", controller.buscarLivrosAproximados("Machdo", ConsultaTextual.Campo.AUTOR).get(0).getTitulo());
+            assertTrue(controller.buscarFilmesAproximados("Nolan Scorsese", ConsultaTextual.Campo.DIRECAO).isEmpty(),
+                    "Todos os termos precisam ser encontrados.");
+            assertTrue(controller.buscarFilmesAproximados("de", ConsultaTextual.Campo.TITULO).isEmpty());
+
+            controller.removerMidia(noland);
+            assertEquals(List.of(oppenheimer, inception), controller.buscarFilmesAproximados("nolan", ConsultaTextual.Campo.DIRECAO));
+            assertTrue(controller.buscarFilmesAproximados("Noland", ConsultaTextual.Campo.DIRECAO).stream().noneMatch(noland::equals));
+        }
+    }
+
+    @Nested
+    @DisplayName("Consultas compostas")
+    class TestesDeConsultasCompostas {
+        @Test
+        @DisplayName("Deve combinar critérios de campos diferentes com E e OU")
+        void deveCombinarCriteriosComEOu() {
+            Livro dom = controller.cadastrarLivro("Dom Casmurro", "Machado de Assis", "Garnier", "1111111111111", 1899, "Romance", true);
+            Livro bras = controller.cadastrarLivro("Memórias Póstumas de Brás Cubas", "Machado de Assis", "Tipografia", "2222222222222", 1889, "Romance", true);
+            Livro alienista = controller.cadastrarLivro("O Alienista", "Machado de Assis", "Lombaerts", "3333333333333", 1888, "Conto", false);
+            Livro cortico = controller.cadastrarLivro("O Cortiço", "Aluísio Azevedo", "Garnier", "4444444444444", 1890, "Romance", true);
+            controller.avaliarMidia(dom, 5, "Clássico.");
+            controller.avaliarMidia(bras, 4, "Ótimo.");
+            controller.avaliarMidia(cortico, 3, "Bom.");
+
+            assertEquals(List.of(dom, bras), controller.consultarLivros(ConsultaMidias.autor("machado")
+                    .e(ConsultaMidias.genero("romance")).e(ConsultaMidias.avaliacaoMinima(4))));
+            assertEquals(List.of(bras, alienista, cortico), controller.consultarLivros(ConsultaMidias.anosEntre(1885, 1890)));
+            assertEquals(List.of(dom, alienista, cortico), controller.consultarLivros(ConsultaMidias.isbn("1111111111111")
+                    .ou(ConsultaMidias.titulo("cortico")).ou(ConsultaMidias.genero("Conto"))),
+                    "O ISBN, sem índice, é conferido junto com as outras partes do OU.");
+            assertEquals(List.of(dom, cortico), controller.consultarLivros(ConsultaMidias.genero("Romance")
+                    .e(ConsultaMidias.titulo("Dom").ou(ConsultaMidias.autor("Azevedo")))));
+            assertEquals(List.of(alienista), controller.consultarLivros(ConsultaMidias.consumida(false)));
+            assertTrue(controller.consultarLivros(ConsultaMidias.autor("Machado").e(ConsultaMidias.ano(1890))).isEmpty());
+
+            Filme oppenheimer = controller.cadastrarFilme("Oppenheimer", "Drama", 2023, 180, "Christopher Nolan", "Christopher Nolan", List.of("Cillian Murphy"), "Oppenheimer", "Cinema");
+            controller.cadastrarFilme("Inception", "Sci-Fi", 2010, 148, "Christopher Nolan", "Christopher Nolan", List.of("Leonardo DiCaprio"), "Inception", "Netflix");
+            Filme lobo = controller.cadastrarFilme("O Lobo de Wall Street", "Drama", 2013, 180, "Martin Scorsese", "Terence Winter", List.of("Leonardo DiCaprio", "Jonah Hill"), "The Wolf of Wall Street", "Prime Video");
+            assertEquals(List.of(oppenheimer, lobo), controller.consultarFilmes(ConsultaMidias.genero("Drama")
+                    .e(ConsultaMidias.direcao("nolan").ou(ConsultaMidias.ator("jonah")))));
+
+            Serie dark = controller.cadastrarSerie("Dark", "Ficção", 2017, List.of("Louis Hofmann"), "Dark", "Netflix");
+            controller.cadastrarSerie("Friends", "Comédia", 1994, List.of("Jennifer Aniston"), "Friends", "HBO Max");
+            assertEquals(List.of(dark), controller.consultarSeries(ConsultaMidias.ator("hofmann").e(ConsultaMidias.anosEntre(2010, 2020))));
+
+            controller.avaliarMidia(alienista, 5, "Genial.");
+            assertEquals(List.of(dom, alienista), controller.consultarLivros(ConsultaMidias.autor("Machado").e(ConsultaMidias.avaliacaoMinima(5))),
+                    "A consulta deve refletir a avaliação atualizada.");
+        }
+
+        @Test
+        @DisplayName("Deve dar o mesmo resultado da filtragem direta das mídias")
+        void deveEquivalerAFiltragemDireta() {
+            String[] generos = {"Romance", "Drama", "Conto", "Poesia"};
+            String[] autores = {"Machado de Assis", "Clarice Lispector", "Jorge Amado"};
+            for (int i = 0; i < 120; i++) {
+                Livro livro = controller.cadastrarLivro("Livro " + i, autores[i % autores.length], "Editora",
+                        String.format("%013d", i), 1950 + i % 40, generos[i % generos.length], true);
+                if (i % 5 > 0) {
+                    controller.avaliarMidia(livro, i % 5, "Review " + i);
+                }
+            }
+
+            ConsultaMidias consulta = ConsultaMidias.genero("romance")
+                    .e(ConsultaMidias.anosEntre(1960, 1979))
+                    .e(ConsultaMidias.avaliacaoMinima(2).ou(ConsultaMidias.autor("amado")));
+            List<Livro> esperado = controller.listarLivros(null, null, false, true).stream()
+                    .filter(l -> l.getGenero().equals("Romance"))
+                    .filter(l -> l.getAnoLancamento() >= 1960 && l.getAnoLancamento() <= 1979)
+                    .filter(l -> l.getAvaliacao() >= 2 || l.getAutor().contains("Amado"))
+                    .sorted(Comparator.comparingLong(Livro::getId))
+                    .toList();
+            assertFalse(esperado.isEmpty());
+            assertEquals(esperado, controller.consultarLivros(consulta));
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar critérios inválidos ou de outro tipo de mídia")
+        void deveRejeitarCriteriosInvalidos() {
+            assertThrows(IllegalArgumentException.class, () -> controller.consultarLivros(ConsultaMidias.direcao("Nolan")));
+            assertThrows(IllegalArgumentException.class, () -> controller.consultarSeries(ConsultaMidias.isbn("1111111111111")));
+            assertThrows(IllegalArgumentException.class, () -> ConsultaMidias.avaliacaoMinima(6));
+            assertThrows(IllegalArgumentException.class, () -> ConsultaMidias.anosEntre(2000, 1990));
+            assertThrows(IllegalArgumentException.class, () -> ConsultaMidias.titulo(" "));
+            assertThrows(IllegalArgumentException.class, ConsultaMidias::todas);
+        }
+    }
+
+    @Nested
+    @DisplayName("Espelho colunar e estatísticas")
+    class TestesDeEspelhoColunar {
+        @Test
+        @DisplayName("Deve calcular pelo espelho as mesmas estatísticas da passada pelas mídias")
+        void deveCalcularAsMesmasEstatisticasComESemEspelho() throws IOException {
+            Path comEspelho = Paths.get("data", "diario_unit_colunas.json");
+            Path semEspelho = Paths.get("data", "diario_unit_sem_colunas.json");
+            try (Catalogo colunar = new Catalogo(comEspelho.toString(),
+                    ConfiguracaoCatalogo.padrao().comAgendamento(60_000, Integer.MAX_VALUE).comEspelhoColunar(true));
+                 Catalogo objetos = new Catalogo(semEspelho.toString(),
+                         ConfiguracaoCatalogo.padrao().comAgendamento(60_000, Integer.MAX_VALUE))) {
+                for (Catalogo catalogo : List.of(colunar, objetos)) {
+                    popular(catalogo);
+                }
+
+                LocalDate inicio = LocalDate.of(2024, 1, 10);
+                LocalDate fim = LocalDate.of(2024, 2, 20);
+                assertMesmasEstatisticas(objetos.getEstatisticasLivros(), colunar.getEstatisticasLivros());
+                assertMesmasEstatisticas(objetos.getEstatisticasFilmes(), colunar.getEstatisticasFilmes());
+                assertMesmasEstatisticas(objetos.getEstatisticasLivros(inicio, fim), colunar.getEstatisticasLivros(inicio, fim));
+                assertMesmasEstatisticas(objetos.getEstatisticasFilmes(null, fim), colunar.getEstatisticasFilmes(null, fim));
+
+                List<Livro> livros = colunar.getLivros();
+                EstatisticasMidias estatisticas = colunar.getEstatisticasLivros();
+                assertEquals(livros.size(), estatisticas.getTotal());
+                assertEquals(livros.stream().filter(Livro::isConsumido).count(), estatisticas.getConsumidas());
+                assertEquals(livros.stream().filter(l -> l.getAvaliacao() > 0).mapToInt(Livro::getAvaliacao).average().orElse(0),
+                        estatisticas.getMediaAvaliacao(), 1e-9);
+                assertEquals(livros.stream().filter(l -> l.getAnoLancamento() == 2003).count(), estatisticas.getQuantidadeLancadaEm(2003));
+                assertEquals(colunar.getFilmes().stream().filter(Filme::isConsumido)
+                                .mapToLong(f -> f.getTempoDeDuracao().toSeconds()).sum(),
+                        colunar.getEstatisticasFilmes().getDuracaoConsumida().toSeconds());
+                assertEquals(livros.stream().filter(l -> l.getDataConsumo() != null && !l.getDataConsumo().isBefore(inicio)
+                        && !l.getDataConsumo().isAfter(fim)).count(), colunar.getEstatisticasLivros(inicio, fim).getTotal());
+                assertThrows(IllegalArgumentException.class, () -> colunar.getEstatisticasLivros(fim, inicio));
+            } finally {
+                Files.deleteIfExists(comEspelho);
+                Files.deleteIfExists(semEspelho);
+            }
+        }
+
+        @Test
+        @DisplayName("Deve carregar o espelho com as mídias já persistidas")
+        void deveCarregarOEspelhoComAsMidiasPersistidas() throws IOException {
+            Path arquivo = Paths.get("data", "diario_unit_colunas_carga.json");
+            try {
+                try (Catalogo catalogo = new Catalogo(arquivo.toString())) {
+                    Livro livro = new Livro("Livro Colunar", "Autor", "Editora", "9780000000001", 1999, "Drama", false);
+                    livro.setAvaliacao(4);
+                    catalogo.adicionarLivro(livro);
+                    catalogo.adicionarLivro(new Livro("Outro Livro", "Autor", "Editora", "9780000000002", 2001, "Drama", false));
+                }
+                try (Catalogo catalogo = new Catalogo(arquivo.toString(), ConfiguracaoCatalogo.padrao().comEspelhoColunar(true))) {
+                    EstatisticasMidias estatisticas = catalogo.getEstatisticasLivros();
+                    assertEquals(2, estatisticas.getTotal());
+                    assertEquals(1, estatisticas.getQuantidadeComNota(4));
+                    assertEquals(Optional.of(1999), estatisticas.getAnoMaisAntigo());
+                    assertEquals(Optional.of(2001), estatisticas.getAnoMaisRecente());
+                    assertEquals(0, catalogo.getEstatisticasSeries().getTotal());
+                }
+            } finally {
+                Files.deleteIfExists(arquivo);
+            }
+        }
+
+        private void popular(Catalogo catalogo) {
+            String[] generos = {"Drama", "Terror", "Comédia"};
+            for (int i = 0; i < 5_000; i++) {
+                Livro livro = new Livro("Livro " + i, "Autor " + i % 7, "Editora", String.format("%013d", i),
+                        2000 + i % 9, generos[i % 3], false);
+                if (i % 4 == 0) {
+                    livro.setAvaliacao(1 + i % 5);
+                }
+                if (i % 5 == 0) {
+                    livro.setDataConsumo(LocalDate.of(2024, 1, 1).plusDays(i % 90));
+                }
+                catalogo.adicionarLivro(livro);
+
+                Filme filme = new Filme("Filme " + i, generos[i % 3], 1990 + i % 30, 80 + i % 60, "Diretor " + i % 11,
+                        "Roteiro", List.of("Ator " + i % 13), "Original " + i, "Cinema");
+                if (i % 3 == 0) {
+                    filme.setDataConsumo(LocalDate.of(2024, 1, 1).plusDays(i % 60));
+                }
+                catalogo.adicionarFilme(filme);
+            }
+            // Remoções suficientes para compactar o espelho e atualizações no lugar.
+            for (Livro livro : catalogo.getLivros()) {
+                if (livro.getId() % 3 == 0) {
+                    catalogo.removerLivroPorId(livro.getId());
+                } else if (livro.getId() % 7 == 0) {
+                    livro.setConsumido(false);
+                    catalogo.atualizarLivro(livro);
+                }
+            }
+            for (Filme filme : catalogo.getFilmes()) {
+                if (filme.getId() % 4 == 0) {
+                    filme.setAvaliacao(5);
+                    catalogo.atualizarFilme(filme);
+                }
+            }
+        }
+
+        private void assertMesmasEstatisticas(EstatisticasMidias esperadas, EstatisticasMidias obtidas) {
+            assertTrue(esperadas.getTotal() > 0);
+            assertEquals(esperadas.getTotal(), obtidas.getTotal());
+            assertEquals(esperadas.getConsumidas(), obtidas.getConsumidas());
+            assertEquals(esperadas.getAvaliadas(), obtidas.getAvaliadas());
+            assertEquals(esperadas.getMediaAvaliacao(), obtidas.getMediaAvaliacao(), 1e-9);
+            for (int nota = 1; nota <= 5; nota++) {
+                assertEquals(esperadas.getQuantidadeComNota(nota), obtidas.getQuantidadeComNota(nota));
+            }
+            for (int ano = 1985; ano <= 2025; ano++) {
+                assertEquals(esperadas.getQuantidadeLancadaEm(ano), obtidas.getQuantidadeLancadaEm(ano));
+            }
+            assertEquals(esperadas.getAnoMaisAntigo(), obtidas.getAnoMaisAntigo());
+            assertEquals(esperadas.getAnoMaisRecente(), obtidas.getAnoMaisRecente());
+            assertEquals(esperadas.getPrimeiroConsumo(), obtidas.getPrimeiroConsumo());
+            assertEquals(esperadas.getUltimoConsumo(), obtidas.getUltimoConsumo());
+            assertEquals(esperadas.getDuracaoTotal(), obtidas.getDuracaoTotal());
+            assertEquals(esperadas.getDuracaoConsumida(), obtidas.getDuracaoConsumida());
+        }
+    }
+
+    @Nested
+    @DisplayName("Registros fora do heap")
+    class TestesDeRegistrosForaDoHeap {
+        @Test
+        @DisplayName("Deve ler pelas visões os mesmos dados das mídias gravadas")
+        void deveLerPelasVisoesOsMesmosDados() {
+            Livro livro = new Livro("Quincas Borba", "Machado de Assis", "Garnier", "9788535910663", 1891, "Romance", true);
+            livro.setId(42);
+            livro.setDataConsumo(LocalDate.of(2024, 3, 15));
+            livro.setReview(new Review("Humanitas e ao vencedor, as batatas.", 16, 3, 2024));
+            livro.setAvaliacao(5);
+            Filme filme = new Filme("Central do Brasil", "Drama", 1998, 113, "Walter Salles", "João Emanuel Carneiro",
+                    List.of("Fernanda Montenegro", "Vinícius de Oliveira"), "Central Station", null);
+
+            RegistrosForaDoHeap fechados;
+            try (RegistrosForaDoHeap registros = new RegistrosForaDoHeap()) {
+                fechados = registros;
+                assertEquals(0, registros.adicionarLivro(livro));
+                assertEquals(0, registros.adicionarFilme(filme));
+                registros.adicionarLivro(new Livro("Dom Casmurro", "Machado de Assis", "Garnier", "9788535911664", 1899, "Romance", false));
+
+                RegistrosForaDoHeap.VisaoLivro visaoLivro = registros.livro(0);
+                assertEquals(42, visaoLivro.getId());
+                assertEquals("Quincas Borba", visaoLivro.getTitulo());
+                assertEquals("Machado de Assis", visaoLivro.getAutor());
+                assertEquals("9788535910663", visaoLivro.getIsbn());
+                assertEquals(5, visaoLivro.getAvaliacao());
+                assertTrue(visaoLivro.isConsumido());
+                assertTrue(visaoLivro.isPossuiExemplar());
+                assertEquals(LocalDate.of(2024, 3, 15), visaoLivro.getDataConsumo());
+                assertEquals(livro.getReview(), visaoLivro.getReview());
+                Livro materializado = visaoLivro.materializar();
+                assertEquals(livro, materializado);
+                assertEquals(livro.getReview(), materializado.getReview());
+                assertEquals(livro.getId(), materializado.getId());
+
+                RegistrosForaDoHeap.VisaoFilme visaoFilme = registros.filme(0);
+                assertEquals(filme.getTempoDeDuracao(), visaoFilme.getTempoDeDuracao());
+                assertEquals(filme.getElenco(), visaoFilme.getElenco());
+                assertNull(visaoFilme.getOndeAssistir());
+                assertNull(visaoFilme.getReview());
+                assertNull(visaoFilme.getDataConsumo());
+                assertFalse(visaoFilme.isConsumido());
+                assertEquals(filme, visaoFilme.materializar());
+
+                livro.setConsumido(false);
+                registros.substituirLivro(0, livro);
+                assertFalse(registros.livro(0).isConsumido());
+                assertNull(registros.livro(0).getReview());
+
+                List<String> titulos = new ArrayList<>();
+                registros.paraCadaLivro(visao -> titulos.add(visao.getTitulo()));
+                assertEquals(List.of("Quincas Borba", "Dom Casmurro"), titulos);
+                assertThrows(IndexOutOfBoundsException.class, () -> registros.livro(2));
+            }
+            assertThrows(IllegalStateException.class, () -> fechados.adicionarLivro(livro));
+        }
     }
 
     @Nested